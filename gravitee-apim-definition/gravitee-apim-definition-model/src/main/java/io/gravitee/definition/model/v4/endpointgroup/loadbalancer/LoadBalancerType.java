@@ -30,7 +30,9 @@ public enum LoadBalancerType {
     ROUND_ROBIN("round-robin"),
     RANDOM("random"),
     WEIGHTED_ROUND_ROBIN("weighted-round-robin"),
-    WEIGHTED_RANDOM("weighted-random");
+    WEIGHTED_RANDOM("weighted-random"),
+    LEAST_REQUESTS("least-requests"),
+    PEAK_EWMA("peak-ewma");
 
     @JsonValue
     private final String label;
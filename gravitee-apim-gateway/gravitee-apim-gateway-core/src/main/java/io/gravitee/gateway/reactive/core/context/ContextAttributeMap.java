@@ -18,20 +18,36 @@ package io.gravitee.gateway.reactive.core.context;
 import static io.gravitee.gateway.reactive.api.context.ContextAttributes.ATTR_PREFIX;
 
 import java.io.Serial;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import org.jetbrains.annotations.NotNull;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * Special {@link java.util.Map} implementation allowing to retrieve attributes prefixed with #ATTR_PREFIX without having to specify it explicitly.
+ *
+ * The prefixed keys are registered, once for all the maps, when an attribute is stored with such a key. Looking an
+ * attribute up by its short name then finds the prefixed key instead of building it on each call.
  */
 public class ContextAttributeMap extends HashMap<String, Object> {
 
     @Serial
     private static final long serialVersionUID = -8914016743809221307L;
 
+    /**
+     * Attribute keys are mostly constants, the number of registered keys is capped to protect from an unbounded growth
+     * caused by dynamically built keys. Over this limit, the prefixed key is built on lookup.
+     */
+    private static final int MAX_REGISTERED_KEYS = 4096;
+
+    /**
+     * Prefixed keys indexed by their short name, shared by all the maps.
+     */
+    private static final Map<String, String> PREFIXED_KEYS = new ConcurrentHashMap<>();
+    private static final Set<String> REGISTERED_KEYS = ConcurrentHashMap.newKeySet();
+
     private boolean enableGraviteePrefix = true;
 
     private Map<String, Object> fallbackContextAttributeMap;
@@ -65,8 +81,9 @@ public class ContextAttributeMap extends HashMap<String, Object> {
         if (value != null) {
             return value;
         }
-        if (enableGraviteePrefix) {
-            value = super.get(ATTR_PREFIX + key);
+        final String prefixedKey = prefixedKey(key);
+        if (prefixedKey != null) {
+            value = super.get(prefixedKey);
             if (value != null) {
                 return value;
             }
@@ -76,14 +93,77 @@ public class ContextAttributeMap extends HashMap<String, Object> {
 
     @Override
     public boolean containsKey(Object key) {
+        if (super.containsKey(key)) {
+            return true;
+        }
+        final String prefixedKey = prefixedKey(key);
         return (
-            super.containsKey(key) ||
-            (enableGraviteePrefix && super.containsKey(ATTR_PREFIX + key)) ||
+            (prefixedKey != null && super.containsKey(prefixedKey)) ||
             (fallbackContextAttributeMap != null && fallbackContextAttributeMap.containsKey(key))
         );
     }
 
+    @Override
+    public Object put(String key, Object value) {
+        registerAlias(key);
+        return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        // HashMap.putAll doesn't go through put(), each key has to be registered.
+        m.forEach(this::put);
+    }
+
+    @Override
+    public Object putIfAbsent(String key, Object value) {
+        registerAlias(key);
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public Object computeIfAbsent(String key, Function<? super String, ?> mappingFunction) {
+        registerAlias(key);
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public Object compute(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        registerAlias(key);
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public Object merge(String key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        registerAlias(key);
+        return super.merge(key, value, remappingFunction);
+    }
+
     public Map<String, Object> getFallbackContextAttributeMap() {
         return fallbackContextAttributeMap;
     }
+
+    private void registerAlias(String key) {
+        if (
+            enableGraviteePrefix &&
+            key != null &&
+            key.startsWith(ATTR_PREFIX) &&
+            !REGISTERED_KEYS.contains(key) &&
+            REGISTERED_KEYS.size() < MAX_REGISTERED_KEYS
+        ) {
+            PREFIXED_KEYS.putIfAbsent(key.substring(ATTR_PREFIX.length()), key);
+            REGISTERED_KEYS.add(key);
+        }
+    }
+
+    private String prefixedKey(Object key) {
+        if (!enableGraviteePrefix) {
+            return null;
+        }
+        final String prefixedKey = key != null ? PREFIXED_KEYS.get(key) : null;
+        if (prefixedKey == null && REGISTERED_KEYS.size() >= MAX_REGISTERED_KEYS) {
+            return ATTR_PREFIX + key;
+        }
+        return prefixedKey;
+    }
 }
@@ -38,6 +38,11 @@ import lombok.Setter;
 @RequiredArgsConstructor
 public class LoggingContext implements ConditionSupplier {
 
+    /** Body logged in place of the one dropped by the log guard. */
+    public static final String BODY_NOT_CAPTURED = "BODY NOT CAPTURED";
+
+    static final String ATTR_INTERNAL_BODY_LOGGABLE = "analytics.logging.bodyLoggable";
+
     protected final Logging logging;
 
     @Getter
@@ -154,13 +159,42 @@ public class LoggingContext implements ConditionSupplier {
     }
 
     /**
-     * Determines if body can be logged by asking the logGuardService
+     * Determines if the bodies of the request can be logged by asking the logGuardService
      * if the guard is activated (if logGuardService not available, always
-     * return true)
-     * @return true if the body can be logged
+     * return true).
+     * The guard is only asked once per request, so that its bodies are either all logged or all dropped, and a sampling
+     * guard counts the request once.
+     * @param ctx the context of the request
+     * @return true if the bodies can be logged
+     */
+    public boolean isBodyLoggable(final BaseExecutionContext ctx) {
+        if (logGuardService == null) {
+            return true;
+        }
+        Boolean bodyLoggable = ctx.getInternalAttribute(ATTR_INTERNAL_BODY_LOGGABLE);
+        if (bodyLoggable == null) {
+            bodyLoggable = !logGuardService.isLogGuardActive();
+            ctx.setInternalAttribute(ATTR_INTERNAL_BODY_LOGGABLE, bodyLoggable);
+        }
+        return bodyLoggable;
+    }
+
+    /**
+     * Same as {@link #isBodyLoggable(BaseExecutionContext)}, for the error message of a failed request, which the log guard strategy may
+     * keep even when it drops the other bodies.
+     * @return true if the error message can be logged
+     */
+    public boolean isErrorBodyLoggable() {
+        return logGuardService == null || !logGuardService.isLogGuardActive(true);
+    }
+
+    /**
+     * Creates the capture of a request or response payload, limited to the max size of a log message and accounted in the
+     * budget of the log guard service.
+     * @return a new payload capture, to release once the log body has been set
      */
-    public boolean isBodyLoggable() {
-        return logGuardService == null || !logGuardService.isLogGuardActive();
+    public PayloadCapture newPayloadCapture() {
+        return new PayloadCapture(maxSizeLogMessage, logGuardService != null ? logGuardService.getPayloadCaptureBudget() : null);
     }
 
     private static final Set<ReportTarget> TRACING_ONLY = EnumSet.of(ReportTarget.TRACING);
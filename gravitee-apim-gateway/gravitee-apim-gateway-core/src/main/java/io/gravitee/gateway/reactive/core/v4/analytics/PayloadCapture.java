@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.core.v4.analytics;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.report.guard.PayloadCaptureBudget;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Payload of a request or a response captured for logging. The chunks are copied into a direct buffer taken from the
+ * Netty pooled allocator, capped to the max size of a log message, instead of a heap buffer growing with the payload.
+ * The buffer is given back to the pool, and its bytes to the {@link PayloadCaptureBudget}, as soon as the captured
+ * payload has been turned into the body of the log.
+ *
+ * Not thread-safe: the chunks of a payload are appended one after the other.
+ *
+ * @author GraviteeSource Team
+ */
+public class PayloadCapture {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ByteBufAllocator allocator;
+    private final int maxLength;
+    private final PayloadCaptureBudget budget;
+
+    private ByteBuf captured;
+    private long reserved;
+
+    /**
+     * Once the budget is exhausted, the next chunks are dropped even if some bytes have been given back in the meantime,
+     * so that the captured payload is truncated rather than missing a part.
+     */
+    private boolean truncated;
+
+    public PayloadCapture(final int maxLength, final PayloadCaptureBudget budget) {
+        this(PooledByteBufAllocator.DEFAULT, maxLength, budget);
+    }
+
+    PayloadCapture(final ByteBufAllocator allocator, final int maxLength, final PayloadCaptureBudget budget) {
+        this.allocator = allocator;
+        this.maxLength = maxLength;
+        this.budget = budget;
+    }
+
+    public void append(final Buffer chunk) {
+        if (truncated) {
+            return;
+        }
+        int length = chunk.length();
+        if (maxLength != -1) {
+            length = Math.min(length, maxLength - length());
+        }
+        if (budget != null && length > 0) {
+            final int granted = budget.reserve(length);
+            truncated = granted < length;
+            reserved += granted;
+            length = granted;
+        }
+        if (length <= 0) {
+            return;
+        }
+        if (captured == null) {
+            final int maxCapacity = maxLength == -1 ? Integer.MAX_VALUE : maxLength;
+            captured = allocator.directBuffer(Math.min(Math.max(length, INITIAL_CAPACITY), maxCapacity), maxCapacity);
+        }
+        final Object nativeBuffer = chunk.getNativeBuffer();
+        if (nativeBuffer instanceof ByteBuf byteBuf) {
+            captured.writeBytes(byteBuf, byteBuf.readerIndex(), length);
+        } else {
+            captured.writeBytes(chunk.getBytes(), 0, length);
+        }
+    }
+
+    public int length() {
+        return captured == null ? 0 : captured.readableBytes();
+    }
+
+    /**
+     * @return the captured payload, decoded as UTF-8.
+     */
+    @Override
+    public String toString() {
+        return captured == null ? "" : captured.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gives the buffer back to the pool and its bytes back to the budget. The capture is then empty, and can be released
+     * again safely, e.g. both when the payload completes and when it is cancelled.
+     */
+    public void release() {
+        if (captured != null) {
+            captured.release();
+            captured = null;
+        }
+        if (budget != null) {
+            budget.release(reserved);
+        }
+        reserved = 0;
+        truncated = false;
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.gravitee.gateway.reactive.core.v4.endpoint;
 
+import io.gravitee.common.component.Lifecycle;
 import io.gravitee.common.service.AbstractService;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.definition.model.v4.Api;
@@ -23,6 +24,7 @@ import io.gravitee.definition.model.v4.endpointgroup.EndpointGroup;
 import io.gravitee.el.TemplateContext;
 import io.gravitee.el.TemplateVariableProvider;
 import io.gravitee.gateway.env.GatewayConfiguration;
+import io.gravitee.gateway.env.OutlierDetectionConfiguration;
 import io.gravitee.gateway.reactive.api.connector.endpoint.BaseEndpointConnector;
 import io.gravitee.gateway.reactive.api.connector.endpoint.BaseEndpointConnectorFactory;
 import io.gravitee.gateway.reactive.api.context.DeploymentContext;
@@ -55,6 +57,12 @@ public class DefaultEndpointManager extends AbstractService<EndpointManager> imp
     private final Map<String, String> endpointVariables;
     private final Map<String, BiConsumer<Event, ManagedEndpoint>> listeners;
     private final Optional<String> tenant;
+    private final OutlierDetector outlierDetector;
+    private final Set<BaseEndpointConnector<?>> handedOverConnectors;
+    private final Set<BaseEndpointConnector<?>> takenOverConnectors;
+    private DefaultEndpointManager previous;
+    private Set<BaseEndpointConnector<?>> previousHandedOverConnectors = Set.of();
+    private Set<String> takenOverGroups = Set.of();
 
     public DefaultEndpointManager(
         final Api api,
@@ -70,7 +78,41 @@ public class DefaultEndpointManager extends AbstractService<EndpointManager> imp
         this.endpointConnectorPluginManager = endpointConnectorPluginManager;
         this.deploymentContext = deploymentContext;
         this.disabledEndpoints = ConcurrentHashMap.newKeySet(0);
+        this.handedOverConnectors = ConcurrentHashMap.newKeySet(0);
+        this.takenOverConnectors = ConcurrentHashMap.newKeySet(0);
         this.tenant = gatewayConfiguration.tenant();
+
+        final OutlierDetectionConfiguration outlierDetection = gatewayConfiguration.outlierDetection();
+        this.outlierDetector = outlierDetection != null && outlierDetection.enabled()
+            ? new OutlierDetector(outlierDetection, this::groupSize, this::eject, this::readmit)
+            : null;
+    }
+
+    /**
+     * Reuse the connectors of the endpoints of the given groups, as started by the endpoint manager of the previous
+     * revision of the API, instead of creating new ones: their connection pools stay warm across the redeployment. The
+     * groups must be defined the same way in both revisions.
+     *
+     * Must be called before starting. The previous endpoint manager keeps using these connectors until it is stopped,
+     * but does not stop them anymore.
+     */
+    public void takeOver(final DefaultEndpointManager previous, final Set<String> groupNames) {
+        this.previous = previous;
+        this.previousHandedOverConnectors = previous.handedOverConnectors;
+        this.takenOverGroups = groupNames;
+    }
+
+    /**
+     * Give the connectors taken over back to the endpoint manager of the previous revision, when this one could not be
+     * put in service. The previous endpoint manager stops them again, and this one never does.
+     */
+    public void cancelTakeOver() {
+        previous = null;
+        if (!takenOverConnectors.isEmpty()) {
+            previousHandedOverConnectors.removeAll(takenOverConnectors);
+            handedOverConnectors.addAll(takenOverConnectors);
+            takenOverConnectors.clear();
+        }
     }
 
     @Override
@@ -98,6 +140,10 @@ public class DefaultEndpointManager extends AbstractService<EndpointManager> imp
 
     @Override
     public ManagedEndpoint next(final EndpointCriteria criteria) {
+        if (outlierDetector != null) {
+            outlierDetector.readmitExpired();
+        }
+
         final String name = criteria.getName();
 
         if (name == null) {
@@ -140,10 +186,53 @@ public class DefaultEndpointManager extends AbstractService<EndpointManager> imp
 
     @Override
     public void enable(ManagedEndpoint endpoint) {
+        if (outlierDetector != null) {
+            // Enabling an ejected endpoint re-admits it right away, it must not be re-admitted a second time later.
+            outlierDetector.forget(endpoint);
+        }
         endpoint.getGroup().addManagedEndpoint(endpoint);
         disabledEndpoints.remove(endpoint);
     }
 
+    @Override
+    public boolean isOutlierDetectionEnabled() {
+        return outlierDetector != null;
+    }
+
+    @Override
+    public void reportOutcome(ManagedEndpoint endpoint, boolean failure, long responseTimeNanos) {
+        if (outlierDetector != null) {
+            outlierDetector.record(endpoint, failure, responseTimeNanos);
+        }
+    }
+
+    /**
+     * Number of endpoints of the group able to serve requests, ejected ones included but not the ones disabled by the
+     * health check.
+     */
+    private int groupSize(ManagedEndpointGroup group) {
+        int size = 0;
+        for (ManagedEndpoint managedEndpoint : endpointsByName.values()) {
+            if (managedEndpoint.getGroup() == group && !disabledEndpoints.contains(managedEndpoint)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private void eject(ManagedEndpoint endpoint) {
+        log.warn("Endpoint [{}] is failing on live traffic, ejecting it from its load balancer", endpoint.getDefinition().getName());
+        endpoint.getGroup().removeManagedEndpoint(endpoint);
+    }
+
+    private void readmit(ManagedEndpoint endpoint) {
+        // The endpoint may have been removed or disabled by the health check while ejected.
+        if (endpointsByName.get(endpoint.getDefinition().getName()) == endpoint && !disabledEndpoints.contains(endpoint)) {
+            log.info("Ejection time of endpoint [{}] is elapsed, re-admitting it", endpoint.getDefinition().getName());
+            endpoint.getGroup().addManagedEndpoint(endpoint);
+        }
+    }
+
     @Override
     protected void doStart() throws Exception {
         for (EndpointGroup endpointGroup : api.getEndpointGroups()) {
@@ -153,11 +242,17 @@ public class DefaultEndpointManager extends AbstractService<EndpointManager> imp
                 defaultGroup = managedEndpointGroup;
             }
         }
+
+        // Do not retain the previous revision once its connectors have been taken over.
+        previous = null;
     }
 
     @Override
     public DefaultEndpointManager preStop() {
         for (ManagedEndpoint managedEndpoint : endpointsByName.values()) {
+            if (handedOverConnectors.contains(managedEndpoint.getConnector())) {
+                continue;
+            }
             try {
                 managedEndpoint.getConnector().preStop();
             } catch (Exception e) {
@@ -210,8 +305,13 @@ public class DefaultEndpointManager extends AbstractService<EndpointManager> imp
             endpointVariables.remove(name);
 
             if (managedEndpoint != null) {
+                if (outlierDetector != null) {
+                    outlierDetector.forget(managedEndpoint);
+                }
                 managedEndpoint.getGroup().removeManagedEndpoint(managedEndpoint);
-                managedEndpoint.getConnector().stop();
+                if (!handedOverConnectors.remove(managedEndpoint.getConnector())) {
+                    managedEndpoint.getConnector().stop();
+                }
 
                 listeners.values().forEach(l -> l.accept(Event.REMOVE, managedEndpoint));
             }
@@ -235,33 +335,15 @@ public class DefaultEndpointManager extends AbstractService<EndpointManager> imp
 
     private void createAndStartEndpoint(final ManagedEndpointGroup managedEndpointGroup, final Endpoint endpoint) {
         try {
-            final String configuration = getEndpointConfiguration(endpoint);
-            final String sharedConfiguration = getSharedConfiguration(managedEndpointGroup.getDefinition(), endpoint);
-            final BaseEndpointConnectorFactory<BaseEndpointConnector<?>> connectorFactory = endpointConnectorPluginManager.getFactoryById(
-                endpoint.getType()
-            );
-
-            if (connectorFactory == null) {
-                log.warn(
-                    "Endpoint connector {} cannot be instantiated (no factory of type [{}] found). Skipped.",
-                    endpoint.getName(),
-                    endpoint.getType()
-                );
-                return;
-            }
-
-            final BaseEndpointConnector<?> connector = connectorFactory.createConnector(
-                deploymentContext,
-                configuration,
-                sharedConfiguration
-            );
+            BaseEndpointConnector<?> connector = takeOverConnector(managedEndpointGroup, endpoint);
 
             if (connector == null) {
-                log.warn("Endpoint connector {} cannot be started. Skipped.", endpoint.getName());
-                return;
-            }
+                connector = createAndStartConnector(managedEndpointGroup, endpoint);
 
-            connector.start();
+                if (connector == null) {
+                    return;
+                }
+            }
 
             final ManagedEndpoint managedEndpoint = new DefaultManagedEndpoint(endpoint, managedEndpointGroup, connector);
             managedEndpointGroup.addManagedEndpoint(managedEndpoint);
@@ -275,6 +357,58 @@ public class DefaultEndpointManager extends AbstractService<EndpointManager> imp
         }
     }
 
+    private BaseEndpointConnector<?> createAndStartConnector(final ManagedEndpointGroup managedEndpointGroup, final Endpoint endpoint)
+        throws Exception {
+        final String configuration = getEndpointConfiguration(endpoint);
+        final String sharedConfiguration = getSharedConfiguration(managedEndpointGroup.getDefinition(), endpoint);
+        final BaseEndpointConnectorFactory<BaseEndpointConnector<?>> connectorFactory = endpointConnectorPluginManager.getFactoryById(
+            endpoint.getType()
+        );
+
+        if (connectorFactory == null) {
+            log.warn(
+                "Endpoint connector {} cannot be instantiated (no factory of type [{}] found). Skipped.",
+                endpoint.getName(),
+                endpoint.getType()
+            );
+            return null;
+        }
+
+        final BaseEndpointConnector<?> connector = connectorFactory.createConnector(deploymentContext, configuration, sharedConfiguration);
+
+        if (connector == null) {
+            log.warn("Endpoint connector {} cannot be started. Skipped.", endpoint.getName());
+            return null;
+        }
+
+        connector.start();
+        return connector;
+    }
+
+    private BaseEndpointConnector<?> takeOverConnector(final ManagedEndpointGroup managedEndpointGroup, final Endpoint endpoint) {
+        if (previous == null || !takenOverGroups.contains(managedEndpointGroup.getDefinition().getName())) {
+            return null;
+        }
+        final BaseEndpointConnector<?> connector = previous.handOver(endpoint.getName());
+        if (connector != null) {
+            takenOverConnectors.add(connector);
+        }
+        return connector;
+    }
+
+    private BaseEndpointConnector<?> handOver(final String endpointName) {
+        if (lifecycleState() != Lifecycle.State.STARTED) {
+            return null;
+        }
+        final ManagedEndpoint managedEndpoint = endpointsByName.get(endpointName);
+        if (managedEndpoint == null) {
+            return null;
+        }
+        log.debug("Endpoint connector [{}] is handed over to the new revision of the API", endpointName);
+        handedOverConnectors.add(managedEndpoint.getConnector());
+        return managedEndpoint.getConnector();
+    }
+
     private String getEndpointConfiguration(Endpoint endpoint) {
         return endpoint.getConfiguration();
     }
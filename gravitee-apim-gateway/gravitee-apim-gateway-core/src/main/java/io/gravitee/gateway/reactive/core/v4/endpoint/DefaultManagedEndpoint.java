@@ -29,12 +29,14 @@ public class DefaultManagedEndpoint implements ManagedEndpoint {
     private final Endpoint definition;
     private final ManagedEndpointGroup group;
     private final BaseEndpointConnector connector;
+    private final EndpointLoad load;
     private Status status;
 
     public DefaultManagedEndpoint(Endpoint definition, ManagedEndpointGroup group, BaseEndpointConnector connector) {
         this.definition = definition;
         this.group = group;
         this.connector = connector;
+        this.load = group != null && group.isLoadTracked() ? new EndpointLoad() : null;
         this.status = Status.UP;
     }
 
@@ -62,4 +64,9 @@ public class DefaultManagedEndpoint implements ManagedEndpoint {
     public void setStatus(Status status) {
         this.status = status;
     }
+
+    @Override
+    public EndpointLoad getLoad() {
+        return load;
+    }
 }
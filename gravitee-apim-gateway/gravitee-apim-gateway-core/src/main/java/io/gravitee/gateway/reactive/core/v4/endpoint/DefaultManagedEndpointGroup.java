@@ -130,4 +130,9 @@ public class DefaultManagedEndpointGroup implements ManagedEndpointGroup {
     public ApiType supportedApi() {
         return supportedApi;
     }
+
+    @Override
+    public boolean isLoadTracked() {
+        return primaryLB.isLoadAware();
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.core.v4.endpoint;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Load observed on an endpoint: the number of requests in flight and a peak-sensitive exponentially weighted moving
+ * average (peak EWMA) of its response time. It feeds the load-aware load balancers.
+ *
+ * The average jumps to any response time higher than its value, so a slowing down endpoint is penalized immediately,
+ * and decays toward the new response times otherwise. It also decays with time, so an endpoint set aside because of
+ * past response times is given a new chance.
+ *
+ * Updates are not atomic with each other: concurrent responses may lose a sample, which is acceptable for an estimate
+ * and avoids serializing the event loops on the endpoint.
+ *
+ * @author GraviteeSource Team
+ */
+public class EndpointLoad {
+
+    static final long DEFAULT_DECAY_TIME_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * Cost of an endpoint with requests in flight but no response time known yet, high enough to wait for a first
+     * response before sending more requests to it.
+     */
+    static final double PENALTY = Integer.MAX_VALUE;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongSupplier nanoClock;
+    private final double decayTimeNanos;
+
+    private volatile double responseTimeNanos;
+    private volatile long lastUpdateNanos;
+
+    public EndpointLoad() {
+        this(System::nanoTime, DEFAULT_DECAY_TIME_NANOS);
+    }
+
+    public EndpointLoad(final LongSupplier nanoClock, final long decayTimeNanos) {
+        this.nanoClock = nanoClock;
+        this.decayTimeNanos = decayTimeNanos;
+        this.lastUpdateNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Record a request sent to the endpoint.
+     *
+     * @return the start time of the request, to give back to {@link #requestEnded(long)}.
+     */
+    public long requestStarted() {
+        inFlight.incrementAndGet();
+        return nanoClock.getAsLong();
+    }
+
+    /**
+     * Record the end of a request, successful or not, and sample its response time.
+     *
+     * @param startNanos the start time returned by {@link #requestStarted()}.
+     */
+    public void requestEnded(final long startNanos) {
+        inFlight.decrementAndGet();
+
+        final long now = nanoClock.getAsLong();
+        final double sample = Math.max(0, now - startNanos);
+        final double weight = weight(now);
+        final double current = responseTimeNanos * weight;
+
+        responseTimeNanos = sample > current ? sample : current + sample * (1 - weight);
+        lastUpdateNanos = now;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return the current peak EWMA of the response time, in nanoseconds.
+     */
+    public double responseTime() {
+        return responseTimeNanos * weight(nanoClock.getAsLong());
+    }
+
+    /**
+     * Cost of sending one more request to the endpoint: the expected response time multiplied by the requests which would
+     * be in flight, the lower the better.
+     */
+    public double cost() {
+        final double responseTime = responseTime();
+        final int pending = inFlight.get();
+
+        if (responseTime == 0 && pending != 0) {
+            return PENALTY + pending;
+        }
+        return responseTime * (pending + 1);
+    }
+
+    private double weight(final long now) {
+        return Math.exp(-Math.max(0, now - lastUpdateNanos) / decayTimeNanos);
+    }
+}
@@ -81,6 +81,24 @@ public interface EndpointManager extends LifecycleComponent<EndpointManager> {
 
     void enable(ManagedEndpoint endpoint);
 
+    /**
+     * @return <code>true</code> if the outcome of the requests sent to the endpoints must be reported with
+     * {@link #reportOutcome(ManagedEndpoint, boolean, long)}.
+     */
+    default boolean isOutlierDetectionEnabled() {
+        return false;
+    }
+
+    /**
+     * Report the outcome of a request sent to an endpoint, so that an endpoint failing on live traffic can be ejected
+     * without waiting for an active health check.
+     *
+     * @param endpoint the endpoint which handled the request.
+     * @param failure <code>true</code> if the request failed because of the endpoint (5xx, connection failure).
+     * @param responseTimeNanos the response time of the endpoint.
+     */
+    default void reportOutcome(ManagedEndpoint endpoint, boolean failure, long responseTimeNanos) {}
+
     enum Event {
         ADD,
         REMOVE,
@@ -33,6 +33,13 @@ public interface ManagedEndpoint {
 
     void setStatus(Status status);
 
+    /**
+     * @return the load observed on this endpoint or <code>null</code> if it is not tracked.
+     */
+    default EndpointLoad getLoad() {
+        return null;
+    }
+
     enum Status {
         UP(3),
         DOWN(0),
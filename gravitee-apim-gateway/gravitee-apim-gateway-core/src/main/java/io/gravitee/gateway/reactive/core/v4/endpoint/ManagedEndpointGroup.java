@@ -38,4 +38,11 @@ public interface ManagedEndpointGroup {
     Set<ConnectorMode> supportedModes();
 
     ApiType supportedApi();
+
+    /**
+     * @return <code>true</code> if the load balancer of the group needs the load of its endpoints to be tracked.
+     */
+    default boolean isLoadTracked() {
+        return false;
+    }
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.core.v4.endpoint;
+
+import io.gravitee.gateway.env.OutlierDetectionConfiguration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Passive outlier detection: eject an endpoint from its load balancer once it has failed a given number of times in a
+ * row on live traffic, and re-admit it once its ejection time is elapsed. The ejection time doubles each time the same
+ * endpoint is ejected again, up to a maximum, and is reset once the endpoint has stayed admitted for that maximum.
+ *
+ * Re-admission is lazy: it is checked when an endpoint is requested, which costs a single volatile read as long as no
+ * endpoint is ejected.
+ *
+ * The maximum ejection percent applies to each endpoint group, as each group has its own load balancer, and the last
+ * endpoint of a group is never ejected.
+ *
+ * @author GraviteeSource Team
+ */
+class OutlierDetector {
+
+    private final int consecutiveFailures;
+    private final long baseEjectionTimeNanos;
+    private final long maxEjectionTimeNanos;
+    private final int maxEjectionPercent;
+    private final long slowResponseThresholdNanos;
+    private final LongSupplier nanoClock;
+    private final ToIntFunction<ManagedEndpointGroup> groupSize;
+    private final Consumer<ManagedEndpoint> onEject;
+    private final Consumer<ManagedEndpoint> onReadmit;
+    private final Map<ManagedEndpoint, Outlier> outliers = new ConcurrentHashMap<>();
+
+    private volatile int ejectedCount;
+    private long nextReadmissionNanos;
+
+    OutlierDetector(
+        final OutlierDetectionConfiguration configuration,
+        final ToIntFunction<ManagedEndpointGroup> groupSize,
+        final Consumer<ManagedEndpoint> onEject,
+        final Consumer<ManagedEndpoint> onReadmit
+    ) {
+        this(configuration, System::nanoTime, groupSize, onEject, onReadmit);
+    }
+
+    OutlierDetector(
+        final OutlierDetectionConfiguration configuration,
+        final LongSupplier nanoClock,
+        final ToIntFunction<ManagedEndpointGroup> groupSize,
+        final Consumer<ManagedEndpoint> onEject,
+        final Consumer<ManagedEndpoint> onReadmit
+    ) {
+        this.consecutiveFailures = configuration.consecutiveFailures();
+        this.baseEjectionTimeNanos = TimeUnit.MILLISECONDS.toNanos(configuration.baseEjectionTimeMs());
+        this.maxEjectionTimeNanos = TimeUnit.MILLISECONDS.toNanos(configuration.maxEjectionTimeMs());
+        this.maxEjectionPercent = configuration.maxEjectionPercent();
+        this.slowResponseThresholdNanos = TimeUnit.MILLISECONDS.toNanos(configuration.slowResponseThresholdMs());
+        this.nanoClock = nanoClock;
+        this.groupSize = groupSize;
+        this.onEject = onEject;
+        this.onReadmit = onReadmit;
+    }
+
+    /**
+     * Record the outcome of a request sent to the endpoint, ejecting it if it is the last straw.
+     *
+     * @param endpoint the endpoint which handled the request.
+     * @param failure <code>true</code> if the request failed because of the endpoint.
+     * @param responseTimeNanos the response time of the endpoint.
+     */
+    void record(final ManagedEndpoint endpoint, final boolean failure, final long responseTimeNanos) {
+        final Outlier outlier = outliers.computeIfAbsent(endpoint, e -> new Outlier());
+
+        if (failure || (slowResponseThresholdNanos > 0 && responseTimeNanos > slowResponseThresholdNanos)) {
+            if (outlier.consecutiveFailures.incrementAndGet() >= consecutiveFailures) {
+                eject(endpoint, outlier);
+            }
+        } else if (outlier.consecutiveFailures.get() != 0) {
+            outlier.consecutiveFailures.set(0);
+        }
+    }
+
+    /**
+     * Re-admit the ejected endpoints whose ejection time is elapsed.
+     */
+    void readmitExpired() {
+        if (ejectedCount == 0) {
+            return;
+        }
+
+        synchronized (this) {
+            final long now = nanoClock.getAsLong();
+            if (ejectedCount == 0 || now - nextReadmissionNanos < 0) {
+                return;
+            }
+
+            long next = Long.MAX_VALUE;
+            for (Map.Entry<ManagedEndpoint, Outlier> entry : outliers.entrySet()) {
+                final Outlier outlier = entry.getValue();
+                if (outlier.ejected) {
+                    if (now - outlier.ejectedUntilNanos >= 0) {
+                        outlier.ejected = false;
+                        outlier.readmittedAtNanos = now;
+                        ejectedCount--;
+                        onReadmit.accept(entry.getKey());
+                    } else {
+                        next = Math.min(next, outlier.ejectedUntilNanos - now);
+                    }
+                }
+            }
+            nextReadmissionNanos = now + next;
+        }
+    }
+
+    /**
+     * Forget everything about the endpoint, typically because it has been removed or re-enabled by someone else.
+     */
+    synchronized void forget(final ManagedEndpoint endpoint) {
+        final Outlier outlier = outliers.remove(endpoint);
+        if (outlier != null && outlier.ejected) {
+            ejectedCount--;
+        }
+    }
+
+    boolean isEjected(final ManagedEndpoint endpoint) {
+        final Outlier outlier = outliers.get(endpoint);
+        return outlier != null && outlier.ejected;
+    }
+
+    private synchronized void eject(final ManagedEndpoint endpoint, final Outlier outlier) {
+        // Requests still in flight when the endpoint has been ejected must not eject it again.
+        if (outlier.ejected || outliers.get(endpoint) != outlier) {
+            return;
+        }
+        final ManagedEndpointGroup group = endpoint.getGroup();
+        final int size = groupSize.applyAsInt(group);
+        final int ejectedInGroup = ejectedCount(group) + 1;
+        if (ejectedInGroup >= size || ejectedInGroup * 100 > size * maxEjectionPercent) {
+            return;
+        }
+
+        final long now = nanoClock.getAsLong();
+        if (outlier.ejections > 0 && now - outlier.readmittedAtNanos > maxEjectionTimeNanos) {
+            outlier.ejections = 0;
+        }
+
+        long ejectionTimeNanos = baseEjectionTimeNanos;
+        for (int i = 0; i < outlier.ejections && ejectionTimeNanos < maxEjectionTimeNanos; i++) {
+            ejectionTimeNanos <<= 1;
+        }
+        ejectionTimeNanos = Math.min(ejectionTimeNanos, maxEjectionTimeNanos);
+        outlier.ejections++;
+        outlier.ejected = true;
+        outlier.ejectedUntilNanos = now + ejectionTimeNanos;
+        outlier.consecutiveFailures.set(0);
+
+        if (ejectedCount == 0 || outlier.ejectedUntilNanos - nextReadmissionNanos < 0) {
+            nextReadmissionNanos = outlier.ejectedUntilNanos;
+        }
+        ejectedCount++;
+        onEject.accept(endpoint);
+    }
+
+    private int ejectedCount(final ManagedEndpointGroup group) {
+        if (ejectedCount == 0) {
+            return 0;
+        }
+
+        int count = 0;
+        for (Map.Entry<ManagedEndpoint, Outlier> entry : outliers.entrySet()) {
+            if (entry.getValue().ejected && entry.getKey().getGroup() == group) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static final class Outlier {
+
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+        // Guarded by the detector.
+        private int ejections;
+        private volatile boolean ejected;
+        private long ejectedUntilNanos;
+        private long readmittedAtNanos;
+    }
+}
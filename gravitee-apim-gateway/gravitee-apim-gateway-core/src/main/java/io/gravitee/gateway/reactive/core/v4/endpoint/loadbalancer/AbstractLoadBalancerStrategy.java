@@ -44,7 +44,7 @@ public abstract class AbstractLoadBalancerStrategy implements LoadBalancerStrate
             }
             return getManagedEndpoint();
         } catch (IndexOutOfBoundsException exception) {
-            // This has been implemented to avoid putting the method in synchronized and avoid TooManyException
+            // The endpoints may be removed while selecting one, retrying avoids putting the method in synchronized
             if (attempt < 2) {
                 log.debug("Load balancer encountered IndexOutOfBoundsException (attempt {}/3), retrying", attempt + 1);
                 attempt++;
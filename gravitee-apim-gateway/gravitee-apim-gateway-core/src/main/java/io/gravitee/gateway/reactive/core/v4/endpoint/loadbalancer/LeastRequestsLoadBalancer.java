@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.core.v4.endpoint.loadbalancer;
+
+import io.gravitee.gateway.reactive.core.v4.endpoint.EndpointLoad;
+import io.gravitee.gateway.reactive.core.v4.endpoint.ManagedEndpoint;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This loadbalancer will choose the endpoint with the fewest requests in flight.
+ *
+ * A slow endpoint accumulates requests in flight and naturally receives less traffic until it recovers. Endpoints having
+ * the same number of requests in flight are chosen one after another.
+ *
+ * @author GraviteeSource Team
+ */
+public class LeastRequestsLoadBalancer extends AbstractLoadBalancerStrategy {
+
+    private final AtomicInteger counter = new AtomicInteger(0);
+
+    public LeastRequestsLoadBalancer(final List<ManagedEndpoint> endpoints) {
+        super(endpoints);
+    }
+
+    @Override
+    public boolean isLoadAware() {
+        return true;
+    }
+
+    @Override
+    protected ManagedEndpoint getManagedEndpoint() {
+        final int size = endpoints.size();
+        final int start = Math.floorMod(counter.getAndIncrement(), size);
+
+        ManagedEndpoint selected = null;
+        int selectedInFlight = Integer.MAX_VALUE;
+        for (int i = 0; i < size && selectedInFlight > 0; i++) {
+            final ManagedEndpoint managedEndpoint = endpoints.get((start + i) % size);
+            final int inFlight = inFlight(managedEndpoint);
+            if (inFlight < selectedInFlight) {
+                selected = managedEndpoint;
+                selectedInFlight = inFlight;
+            }
+        }
+        return selected;
+    }
+
+    private static int inFlight(final ManagedEndpoint managedEndpoint) {
+        final EndpointLoad load = managedEndpoint.getLoad();
+        return load != null ? load.inFlight() : 0;
+    }
+}
@@ -25,4 +25,12 @@ public interface LoadBalancerStrategy {
     ManagedEndpoint next();
 
     void refresh();
+
+    /**
+     * @return <code>true</code> if the strategy relies on the {@link io.gravitee.gateway.reactive.core.v4.endpoint.EndpointLoad}
+     * of the endpoints, which then has to be tracked.
+     */
+    default boolean isLoadAware() {
+        return false;
+    }
 }
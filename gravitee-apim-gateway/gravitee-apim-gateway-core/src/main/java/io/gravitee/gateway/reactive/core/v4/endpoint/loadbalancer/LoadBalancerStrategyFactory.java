@@ -36,6 +36,10 @@ public final class LoadBalancerStrategyFactory {
                 return new WeightedRoundRobinLoadBalancer(endpoints);
             case WEIGHTED_RANDOM:
                 return new WeightedRandomLoadBalancer(endpoints);
+            case LEAST_REQUESTS:
+                return new LeastRequestsLoadBalancer(endpoints);
+            case PEAK_EWMA:
+                return new PeakEwmaLoadBalancer(endpoints);
             default:
             case ROUND_ROBIN:
                 return new RoundRobinLoadBalancer(endpoints);
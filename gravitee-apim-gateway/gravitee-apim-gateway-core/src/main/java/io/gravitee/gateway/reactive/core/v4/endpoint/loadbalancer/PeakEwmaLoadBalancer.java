@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.core.v4.endpoint.loadbalancer;
+
+import io.gravitee.gateway.reactive.core.v4.endpoint.EndpointLoad;
+import io.gravitee.gateway.reactive.core.v4.endpoint.ManagedEndpoint;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This loadbalancer will randomly pick two endpoints and choose the one with the lowest cost, the cost being the peak EWMA
+ * of its response time multiplied by its requests in flight (see {@link EndpointLoad#cost()}).
+ *
+ * Comparing two random endpoints (power of two choices) instead of looking for the best one avoids sending all the
+ * concurrent requests to the same endpoint while still steering the traffic away from slow or overloaded endpoints.
+ *
+ * @author GraviteeSource Team
+ */
+public class PeakEwmaLoadBalancer extends AbstractLoadBalancerStrategy {
+
+    public PeakEwmaLoadBalancer(final List<ManagedEndpoint> endpoints) {
+        super(endpoints);
+    }
+
+    @Override
+    public boolean isLoadAware() {
+        return true;
+    }
+
+    @Override
+    protected ManagedEndpoint getManagedEndpoint() {
+        final int size = endpoints.size();
+        if (size == 1) {
+            return endpoints.get(0);
+        }
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current(); //NOSONAR the random value is not used for security purposes here
+        final int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        final ManagedEndpoint firstEndpoint = endpoints.get(first);
+        final ManagedEndpoint secondEndpoint = endpoints.get(second);
+        return cost(secondEndpoint) < cost(firstEndpoint) ? secondEndpoint : firstEndpoint;
+    }
+
+    private static double cost(final ManagedEndpoint managedEndpoint) {
+        final EndpointLoad load = managedEndpoint.getLoad();
+        return load != null ? load.cost() : 0;
+    }
+}
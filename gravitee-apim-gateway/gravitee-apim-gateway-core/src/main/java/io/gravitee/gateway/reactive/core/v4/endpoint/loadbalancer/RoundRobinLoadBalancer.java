@@ -25,7 +25,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class RoundRobinLoadBalancer extends AbstractLoadBalancerStrategy {
 
-    private final AtomicInteger counter = new AtomicInteger(0);
+    final AtomicInteger counter = new AtomicInteger(0);
 
     public RoundRobinLoadBalancer(final List<ManagedEndpoint> endpoints) {
         super(endpoints);
@@ -40,6 +40,7 @@ public class RoundRobinLoadBalancer extends AbstractLoadBalancerStrategy {
 
     protected ManagedEndpoint getManagedEndpoint() {
         int size = endpoints.size();
-        return endpoints.get(counter.getAndIncrement() % size);
+        // floorMod keeps a valid index once the counter overflows.
+        return endpoints.get(Math.floorMod(counter.getAndIncrement(), size));
     }
 }
@@ -18,7 +18,6 @@ package io.gravitee.gateway.reactive.core.v4.endpoint.loadbalancer;
 import io.gravitee.gateway.reactive.core.v4.endpoint.ManagedEndpoint;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
-import lombok.CustomLog;
 
 /**
  *
@@ -32,13 +31,20 @@ import lombok.CustomLog;
  * </ul>
  * Endpoint 1 is selected 9 times out of 10, whereas Endpoint 2 is selected only 1 time out of 10.
  *
+ * The sequence of selections of a whole cycle is computed on {@link #refresh()}, selecting an endpoint is then a single
+ * atomic increment without any lock, whatever the number of event loops sharing the load balancer. Weights are divided by
+ * their greatest common divisor and, if their sum still exceeds {@link #MAX_SCHEDULE_LENGTH}, scaled down proportionally so
+ * the cycle stays small whatever the configured weights.
+ *
  * @author Guillaume LAMIRAND (guillaume.lamirand at graviteesource.com)
  * @author GraviteeSource Team
  */
-@CustomLog
 public class WeightedRoundRobinLoadBalancer extends WeightedLoadBalancer {
 
+    static final int MAX_SCHEDULE_LENGTH = 10_000;
+
     final AtomicInteger counter = new AtomicInteger(0);
+    volatile Schedule schedule = new Schedule(0, new int[0]);
 
     public WeightedRoundRobinLoadBalancer(final List<ManagedEndpoint> endpoints) {
         super(endpoints);
@@ -48,42 +54,89 @@ public class WeightedRoundRobinLoadBalancer extends WeightedLoadBalancer {
     @Override
     public void refresh() {
         super.refresh();
+        schedule = computeSchedule(weightDistributions.get());
         counter.set(0);
     }
 
     @Override
-    protected synchronized ManagedEndpoint getManagedEndpoint() {
-        WeightDistributions currentWeightDistributions = weightDistributions.get();
-        if (endpoints.size() != currentWeightDistributions.getDistributions().size()) {
+    protected ManagedEndpoint getManagedEndpoint() {
+        Schedule currentSchedule = schedule;
+        if (endpoints.size() != currentSchedule.endpointCount()) {
             refresh();
-            currentWeightDistributions = weightDistributions.get();
+            currentSchedule = schedule;
         }
 
-        List<WeightDistributions.WeightDistribution> distributions = currentWeightDistributions.getDistributions();
-        int maxAttempts = distributions.size() + 1;
+        final int[] positions = currentSchedule.positions();
+        return endpoints.get(positions[Math.floorMod(counter.getAndIncrement(), positions.length)]);
+    }
 
-        for (int attempt = 0; attempt < maxAttempts; attempt++) {
-            if (currentWeightDistributions.tryResetRemaining()) {
-                counter.set(0);
-            }
-            int position = Math.floorMod(counter.getAndIncrement(), distributions.size());
-            WeightDistributions.WeightDistribution weightDistribution = distributions.get(position);
-            if (weightDistribution.getRemaining() > 0) {
-                weightDistribution.setRemaining(weightDistribution.getRemaining() - 1);
-                currentWeightDistributions.decreaseRemaining();
-                return endpoints.get(weightDistribution.getPosition());
+    /**
+     * Play a whole cycle of the selection: endpoints are visited one after another, skipping the ones without remaining
+     * weight, until all the weights are consumed.
+     */
+    private static Schedule computeSchedule(final WeightDistributions weightDistributions) {
+        final List<WeightDistributions.WeightDistribution> distributions = weightDistributions.getDistributions();
+        final int size = distributions.size();
+        final int[] remaining = reduceWeights(distributions);
+        long length = 0;
+        for (int weight : remaining) {
+            length += weight;
+        }
+
+        final int[] positions = new int[(int) length];
+        int cursor = 0;
+        for (int i = 0; i < positions.length; i++) {
+            while (remaining[cursor] == 0) {
+                cursor = (cursor + 1) % size;
             }
+            remaining[cursor]--;
+            positions[i] = distributions.get(cursor).getPosition();
+            cursor = (cursor + 1) % size;
         }
 
-        // Safety fallback: force reset all distributions and return first endpoint
-        log.warn("Weighted round-robin load balancer exceeded max attempts, forcing distribution reset");
-        distributions.forEach(WeightDistributions.WeightDistribution::reset);
-        currentWeightDistributions.setRemainingSum(currentWeightDistributions.getWeightSum());
-        counter.set(0);
+        return new Schedule(size, positions);
+    }
+
+    /**
+     * Divide the weights by their greatest common divisor, then scale them down proportionally (keeping each one at least 1)
+     * when their sum is still larger than {@link #MAX_SCHEDULE_LENGTH}. Sums are computed on longs as configured weights
+     * may add up beyond {@link Integer#MAX_VALUE}.
+     */
+    private static int[] reduceWeights(final List<WeightDistributions.WeightDistribution> distributions) {
+        final int size = distributions.size();
+        final int[] weights = new int[size];
+        int gcd = 0;
+        for (int i = 0; i < size; i++) {
+            weights[i] = distributions.get(i).getWeight();
+            gcd = gcd(gcd, weights[i]);
+        }
+
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            weights[i] /= gcd;
+            sum += weights[i];
+        }
 
-        WeightDistributions.WeightDistribution first = distributions.get(0);
-        first.setRemaining(first.getRemaining() - 1);
-        currentWeightDistributions.decreaseRemaining();
-        return endpoints.get(first.getPosition());
+        if (sum > MAX_SCHEDULE_LENGTH) {
+            final long budget = Math.max(MAX_SCHEDULE_LENGTH - size, 0);
+            for (int i = 0; i < size; i++) {
+                weights[i] = (int) Math.max(1, weights[i] * budget / sum);
+            }
+        }
+        return weights;
     }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int tmp = a % b;
+            a = b;
+            b = tmp;
+        }
+        return a;
+    }
+
+    /**
+     * Positions of the endpoints to select during a cycle, computed for the given number of endpoints.
+     */
+    record Schedule(int endpointCount, int[] positions) {}
 }
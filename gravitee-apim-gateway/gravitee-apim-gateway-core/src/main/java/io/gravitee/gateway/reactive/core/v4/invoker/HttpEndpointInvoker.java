@@ -29,11 +29,14 @@ import io.gravitee.gateway.reactive.api.context.ExecutionContext;
 import io.gravitee.gateway.reactive.api.context.http.HttpExecutionContext;
 import io.gravitee.gateway.reactive.api.invoker.HttpInvoker;
 import io.gravitee.gateway.reactive.api.invoker.Invoker;
+import io.gravitee.gateway.reactive.core.context.interruption.InterruptionFailureException;
 import io.gravitee.gateway.reactive.core.v4.endpoint.EndpointCriteria;
+import io.gravitee.gateway.reactive.core.v4.endpoint.EndpointLoad;
 import io.gravitee.gateway.reactive.core.v4.endpoint.EndpointManager;
 import io.gravitee.gateway.reactive.core.v4.endpoint.ManagedEndpoint;
 import io.reactivex.rxjava3.core.Completable;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -54,6 +57,7 @@ public class HttpEndpointInvoker implements HttpInvoker, Invoker {
     public static final String NO_ENDPOINT_FOUND_KEY = "NO_ENDPOINT_FOUND";
     public static final String INVALID_HTTP_METHOD = "INVALID_HTTP_METHOD";
     public static final String ATTR_INTERNAL_FAILOVER_MANAGED_ENDPOINT = "failover.managedEndpoint";
+    public static final String ATTR_INTERNAL_ENDPOINT_REQUEST_ENDED = "endpoint.requestEnded";
 
     private final EndpointManager endpointManager;
 
@@ -73,9 +77,9 @@ public class HttpEndpointInvoker implements HttpInvoker, Invoker {
 
     @Override
     public Completable invoke(final HttpExecutionContext ctx) {
-        final HttpEndpointConnector endpointConnector = resolveConnector(ctx);
+        final ManagedEndpoint managedEndpoint = resolveManagedEndpoint(ctx);
 
-        if (endpointConnector == null) {
+        if (managedEndpoint == null) {
             final String endpointTarget = ctx.getAttribute(ATTR_REQUEST_ENDPOINT);
 
             final StringBuilder errorMessage = new StringBuilder("Endpoint resolution failed - check endpoint configuration");
@@ -90,13 +94,17 @@ public class HttpEndpointInvoker implements HttpInvoker, Invoker {
             );
         }
 
+        final HttpEndpointConnector endpointConnector = managedEndpoint.getConnector();
+        final Completable connection;
         if (endpointConnector instanceof EndpointConnector legacyEndpointConnector) {
-            return connect((legacyEndpointConnector), ((ExecutionContext) ctx));
+            connection = connect((legacyEndpointConnector), ((ExecutionContext) ctx));
+        } else {
+            connection = connect(endpointConnector, ctx);
         }
-        return connect(endpointConnector, ctx);
+        return reportOutcome(managedEndpoint, ctx, trackLoad(managedEndpoint, ctx, connection));
     }
 
-    private <T extends HttpEndpointConnector> T resolveConnector(final HttpExecutionContext ctx) {
+    private ManagedEndpoint resolveManagedEndpoint(final HttpExecutionContext ctx) {
         final HttpEntrypointConnector entrypointConnector = ctx.getInternalAttribute(ATTR_INTERNAL_ENTRYPOINT_CONNECTOR);
 
         final EndpointCriteria endpointCriteria = new EndpointCriteria(
@@ -129,10 +137,85 @@ public class HttpEndpointInvoker implements HttpInvoker, Invoker {
             HttpEndpointConnector endpointConnector = managedEndpoint.getConnector();
             ctx.setInternalAttribute(ATTR_INTERNAL_ENDPOINT_CONNECTOR_ID, endpointConnector.id());
             ctx.setInternalAttribute(ATTR_INTERNAL_FAILOVER_MANAGED_ENDPOINT, managedEndpoint);
-            return (T) endpointConnector;
         }
 
-        return null;
+        return managedEndpoint;
+    }
+
+    /**
+     * Record the request in flight and its response time on the endpoint, for the load-aware load balancers. The connection
+     * completes as soon as the response headers are received, so the request is only ended by {@link #endRequest(HttpExecutionContext)}
+     * once the response has been sent, or when the connection fails. The response body is left untouched.
+     */
+    private Completable trackLoad(final ManagedEndpoint managedEndpoint, final HttpExecutionContext ctx, final Completable connection) {
+        final EndpointLoad load = managedEndpoint.getLoad();
+        if (load == null) {
+            return connection;
+        }
+
+        return Completable.defer(() -> {
+            final long startNanos = load.requestStarted();
+            final AtomicBoolean ended = new AtomicBoolean(false);
+            final Runnable requestEnded = () -> {
+                if (ended.compareAndSet(false, true)) {
+                    load.requestEnded(startNanos);
+                }
+            };
+
+            return connection
+                .doOnComplete(() -> {
+                    // A previous attempt on another endpoint (e.g. failover) is over.
+                    endRequest(ctx);
+                    ctx.setInternalAttribute(ATTR_INTERNAL_ENDPOINT_REQUEST_ENDED, requestEnded);
+                })
+                .doOnError(throwable -> requestEnded.run())
+                .doOnDispose(requestEnded::run);
+        });
+    }
+
+    /**
+     * End the request tracked on the endpoint which has responded, if any. It must be called once the execution is over,
+     * whatever its outcome, so the request is not left in flight when the response body is replaced or never consumed.
+     *
+     * @param ctx the context of the execution.
+     */
+    public static void endRequest(final HttpExecutionContext ctx) {
+        final Runnable requestEnded = ctx.getInternalAttribute(ATTR_INTERNAL_ENDPOINT_REQUEST_ENDED);
+        if (requestEnded != null) {
+            ctx.removeInternalAttribute(ATTR_INTERNAL_ENDPOINT_REQUEST_ENDED);
+            requestEnded.run();
+        }
+    }
+
+    /**
+     * Report the outcome of the request to the endpoint manager, for the passive outlier detection. A request is failed
+     * because of the endpoint when it ends with a server error, either returned by the endpoint or raised by the
+     * connector when the endpoint cannot be reached.
+     */
+    private Completable reportOutcome(final ManagedEndpoint managedEndpoint, final HttpExecutionContext ctx, final Completable connection) {
+        if (!endpointManager.isOutlierDetectionEnabled()) {
+            return connection;
+        }
+
+        return Completable.defer(() -> {
+            final long startNanos = System.nanoTime();
+            return connection
+                .doOnComplete(() ->
+                    endpointManager.reportOutcome(managedEndpoint, isServerError(ctx.response().status()), System.nanoTime() - startNanos)
+                )
+                .doOnError(throwable ->
+                    endpointManager.reportOutcome(
+                        managedEndpoint,
+                        throwable instanceof InterruptionFailureException interruption &&
+                        isServerError(interruption.getExecutionFailure().statusCode()),
+                        System.nanoTime() - startNanos
+                    )
+                );
+        });
+    }
+
+    private static boolean isServerError(final int status) {
+        return status >= HttpStatusCode.INTERNAL_SERVER_ERROR_500;
     }
 
     // Do not remove this method until all connectors are migrated to HttpEndpointConnectors#connect(HttpExecutionContext ctx)
@@ -18,6 +18,7 @@ package io.gravitee.gateway.reactive.core.context;
 import static io.gravitee.gateway.reactive.api.context.ContextAttributes.ATTR_PREFIX;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Map;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -54,6 +55,33 @@ class ContextAttributeMapTest {
             assertEquals("fallbackValue", contextAttributeMap.get(ATTR_PREFIX + "fallback"));
             assertTrue(contextAttributeMap.containsKey(ATTR_PREFIX + "fallback"));
         }
+
+        @Test
+        void should_retrieve_attribute_with_prefix_whatever_the_way_it_has_been_stored() {
+            var contextAttributeMap = new ContextAttributeMap();
+            contextAttributeMap.putAll(Map.of(ATTR_PREFIX + "putAll", "value1"));
+            contextAttributeMap.putIfAbsent(ATTR_PREFIX + "putIfAbsent", "value2");
+            contextAttributeMap.computeIfAbsent(ATTR_PREFIX + "computeIfAbsent", key -> "value3");
+            contextAttributeMap.compute(ATTR_PREFIX + "compute", (key, value) -> "value4");
+            contextAttributeMap.merge(ATTR_PREFIX + "merge", "value5", (value1, value2) -> value2);
+
+            assertEquals("value1", contextAttributeMap.get("putAll"));
+            assertEquals("value2", contextAttributeMap.get("putIfAbsent"));
+            assertEquals("value3", contextAttributeMap.get("computeIfAbsent"));
+            assertEquals("value4", contextAttributeMap.get("compute"));
+            assertEquals("value5", contextAttributeMap.get("merge"));
+        }
+
+        @Test
+        void should_not_retrieve_removed_attribute_with_prefix() {
+            var contextAttributeMap = new ContextAttributeMap();
+            contextAttributeMap.put(ATTR_PREFIX + "removed", "value");
+            contextAttributeMap.remove(ATTR_PREFIX + "removed");
+
+            assertNull(contextAttributeMap.get("removed"));
+            assertFalse(contextAttributeMap.containsKey("removed"));
+            assertNull(new ContextAttributeMap().get("removed"));
+        }
     }
 
     @Nested
@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.core.context.benchmark;
+
+import static io.gravitee.gateway.reactive.api.context.ContextAttributes.ATTR_API;
+import static io.gravitee.gateway.reactive.api.context.ContextAttributes.ATTR_PLAN;
+import static io.gravitee.gateway.reactive.api.context.ContextAttributes.ATTR_PREFIX;
+
+import io.gravitee.gateway.reactive.core.context.ContextAttributeMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measure the time and the allocations of the attribute lookups done by policies and EL, compared with a lookup building
+ * the prefixed key on each call. Should be run with the gc profiler (<code>-prof gc</code>), as done by {@link #main(String[])}.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class ContextAttributeMapBenchmark {
+
+    private static final String API = ATTR_API.substring(ATTR_PREFIX.length());
+    private static final String PLAN = ATTR_PLAN.substring(ATTR_PREFIX.length());
+    private static final String UNKNOWN = "unknown";
+
+    private ContextAttributeMap attributes;
+    private Map<String, Object> concatenatingAttributes;
+
+    // used to run benchmark directly from IDE
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(ContextAttributeMapBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .build();
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() {
+        attributes = new ContextAttributeMap(new ContextAttributeMap());
+        concatenatingAttributes = new HashMap<>();
+        for (Map<String, Object> map : List.of(attributes, concatenatingAttributes)) {
+            map.put(ATTR_API, "my-api");
+            map.put(ATTR_PLAN, "my-plan");
+            map.put("custom", "value");
+        }
+    }
+
+    @Benchmark
+    public void get_short_name(Blackhole blackhole) {
+        blackhole.consume(attributes.get(API));
+        blackhole.consume(attributes.get(PLAN));
+    }
+
+    @Benchmark
+    public void get_prefixed_name(Blackhole blackhole) {
+        blackhole.consume(attributes.get(ATTR_API));
+        blackhole.consume(attributes.get(ATTR_PLAN));
+    }
+
+    @Benchmark
+    public void get_unknown(Blackhole blackhole) {
+        blackhole.consume(attributes.get(UNKNOWN));
+    }
+
+    @Benchmark
+    public void concatenating_get_short_name(Blackhole blackhole) {
+        blackhole.consume(concatenatingGet(API));
+        blackhole.consume(concatenatingGet(PLAN));
+    }
+
+    @Benchmark
+    public void concatenating_get_unknown(Blackhole blackhole) {
+        blackhole.consume(concatenatingGet(UNKNOWN));
+    }
+
+    /**
+     * Lookup as it was done before the prefixed keys were registered.
+     */
+    private Object concatenatingGet(String key) {
+        final Object value = concatenatingAttributes.get(key);
+        return value != null ? value : concatenatingAttributes.get(ATTR_PREFIX + key);
+    }
+}
@@ -16,11 +16,17 @@
 package io.gravitee.gateway.reactive.core.v4.analytics;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import io.gravitee.definition.model.v4.analytics.logging.Logging;
 import io.gravitee.definition.model.v4.analytics.logging.LoggingContent;
 import io.gravitee.definition.model.v4.analytics.logging.LoggingMode;
 import io.gravitee.definition.model.v4.analytics.logging.LoggingPhase;
+import io.gravitee.gateway.reactive.core.context.DefaultExecutionContext;
+import io.gravitee.gateway.report.guard.LogGuardService;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -120,4 +126,25 @@ class LoggingContextTest {
 
         assertThat(ctx.getCondition()).isEqualTo("{#response.status == 200}");
     }
+
+    @Test
+    void should_ask_the_log_guard_once_per_request() {
+        var logGuardService = mock(LogGuardService.class);
+        when(logGuardService.isLogGuardActive()).thenReturn(false, true);
+        var loggingContext = new LoggingContext(null);
+        loggingContext.setLogGuardService(logGuardService);
+        var request = new DefaultExecutionContext(null, null);
+        var otherRequest = new DefaultExecutionContext(null, null);
+
+        assertThat(loggingContext.isBodyLoggable(request)).isTrue();
+        assertThat(loggingContext.isBodyLoggable(request)).isTrue();
+        assertThat(loggingContext.isBodyLoggable(otherRequest)).isFalse();
+        assertThat(loggingContext.isBodyLoggable(otherRequest)).isFalse();
+        verify(logGuardService, times(2)).isLogGuardActive();
+    }
+
+    @Test
+    void should_log_the_bodies_without_log_guard() {
+        assertThat(new LoggingContext(null).isBodyLoggable(new DefaultExecutionContext(null, null))).isTrue();
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.core.v4.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.report.guard.PayloadCaptureBudget;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PayloadCaptureTest {
+
+    @Test
+    void should_capture_all_the_chunks() {
+        var capture = new PayloadCapture(-1, null);
+
+        capture.append(Buffer.buffer("Hello "));
+        capture.append(Buffer.buffer("Gravitee"));
+
+        assertThat(capture.length()).isEqualTo(14);
+        assertThat(capture).hasToString("Hello Gravitee");
+    }
+
+    @Test
+    void should_truncate_to_the_max_length() {
+        var capture = new PayloadCapture(8, null);
+
+        capture.append(Buffer.buffer("Hello "));
+        capture.append(Buffer.buffer("Gravitee"));
+        capture.append(Buffer.buffer("!"));
+
+        assertThat(capture).hasToString("Hello Gr");
+    }
+
+    @Test
+    void should_be_empty_without_chunk() {
+        var capture = new PayloadCapture(-1, null);
+
+        assertThat(capture.length()).isZero();
+        assertThat(capture).hasToString("");
+    }
+
+    @Test
+    void should_truncate_when_the_budget_is_exhausted() {
+        var budget = new PayloadCaptureBudget(10);
+        var first = new PayloadCapture(-1, budget);
+        var second = new PayloadCapture(-1, budget);
+
+        first.append(Buffer.buffer("Hello "));
+        second.append(Buffer.buffer("Gravitee"));
+
+        assertThat(first).hasToString("Hello ");
+        assertThat(second).hasToString("Grav");
+        assertThat(budget.inFlightBytes()).isEqualTo(10);
+        assertThat(budget.saturations()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_resume_once_truncated_by_the_budget() {
+        var budget = new PayloadCaptureBudget(10);
+        var first = new PayloadCapture(-1, budget);
+        var second = new PayloadCapture(-1, budget);
+        first.append(Buffer.buffer("Hello "));
+        second.append(Buffer.buffer("Gravitee"));
+
+        first.release();
+        second.append(Buffer.buffer("!"));
+
+        assertThat(second).hasToString("Grav");
+        assertThat(budget.inFlightBytes()).isEqualTo(4);
+    }
+
+    @Test
+    void should_give_the_bytes_back_to_the_budget_on_release() {
+        var budget = new PayloadCaptureBudget(10);
+        var capture = new PayloadCapture(-1, budget);
+        capture.append(Buffer.buffer("Hello "));
+
+        capture.release();
+        capture.release();
+
+        assertThat(capture.length()).isZero();
+        assertThat(budget.inFlightBytes()).isZero();
+    }
+
+    @Test
+    void should_capture_again_after_release() {
+        var capture = new PayloadCapture(-1, null);
+        capture.append(Buffer.buffer("first"));
+        capture.release();
+
+        capture.append(Buffer.buffer("second"));
+
+        assertThat(capture).hasToString("second");
+        capture.release();
+    }
+}
@@ -27,6 +27,7 @@ import io.gravitee.definition.model.v4.endpointgroup.Endpoint;
 import io.gravitee.definition.model.v4.endpointgroup.EndpointGroup;
 import io.gravitee.el.TemplateContext;
 import io.gravitee.gateway.env.GatewayConfiguration;
+import io.gravitee.gateway.env.OutlierDetectionConfiguration;
 import io.gravitee.gateway.reactive.api.ApiType;
 import io.gravitee.gateway.reactive.api.ConnectorMode;
 import io.gravitee.gateway.reactive.api.connector.endpoint.EndpointConnector;
@@ -39,6 +40,7 @@ import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -328,6 +330,158 @@ class DefaultEndpointManagerTest {
         }
     }
 
+    @Nested
+    class TakeOver {
+
+        @Test
+        void should_reuse_connectors_of_taken_over_groups() throws Exception {
+            final Api api = buildApi();
+
+            final EndpointConnector connector1 = mock(EndpointConnector.class);
+            final EndpointConnector connector2 = mock(EndpointConnector.class);
+            final EndpointConnector connector3 = mock(EndpointConnector.class);
+            final EndpointConnector connector4 = mock(EndpointConnector.class);
+            final EndpointConnector connector5 = mock(EndpointConnector.class);
+            final EndpointConnector connector6 = mock(EndpointConnector.class);
+
+            when(connectorFactory.createConnector(deploymentContext, ENDPOINT_CONFIG, ENDPOINT_GROUP_SHARED_CONFIG)).thenReturn(
+                connector1,
+                connector2,
+                connector3,
+                connector4,
+                connector5,
+                connector6
+            );
+
+            final DefaultEndpointManager previous = new DefaultEndpointManager(api, pluginManager, deploymentContext, gatewayConfiguration);
+            previous.start();
+
+            final DefaultEndpointManager cut = new DefaultEndpointManager(api, pluginManager, deploymentContext, gatewayConfiguration);
+            cut.takeOver(previous, Set.of(api.getEndpointGroups().get(0).getName()));
+            cut.start();
+
+            // Only the endpoints of the second group are created again.
+            verify(connectorFactory, times(6)).createConnector(deploymentContext, ENDPOINT_CONFIG, ENDPOINT_GROUP_SHARED_CONFIG);
+            verify(connector1).start();
+            verify(connector2).start();
+            assertThat(cut.all())
+                .extracting(ManagedEndpoint::getConnector)
+                .containsExactlyInAnyOrder(connector1, connector2, connector5, connector6);
+        }
+
+        @Test
+        void should_not_stop_connectors_handed_over_to_the_next_endpoint_manager() throws Exception {
+            final Api api = buildApi();
+
+            final EndpointConnector connector1 = mock(EndpointConnector.class);
+            final EndpointConnector connector2 = mock(EndpointConnector.class);
+            final EndpointConnector connector3 = mock(EndpointConnector.class);
+            final EndpointConnector connector4 = mock(EndpointConnector.class);
+            final EndpointConnector connector5 = mock(EndpointConnector.class);
+            final EndpointConnector connector6 = mock(EndpointConnector.class);
+
+            when(connectorFactory.createConnector(deploymentContext, ENDPOINT_CONFIG, ENDPOINT_GROUP_SHARED_CONFIG)).thenReturn(
+                connector1,
+                connector2,
+                connector3,
+                connector4,
+                connector5,
+                connector6
+            );
+
+            final DefaultEndpointManager previous = new DefaultEndpointManager(api, pluginManager, deploymentContext, gatewayConfiguration);
+            previous.start();
+
+            final DefaultEndpointManager cut = new DefaultEndpointManager(api, pluginManager, deploymentContext, gatewayConfiguration);
+            cut.takeOver(previous, Set.of(api.getEndpointGroups().get(0).getName()));
+            cut.start();
+
+            previous.preStop();
+            previous.stop();
+
+            verify(connector1, never()).preStop();
+            verify(connector2, never()).preStop();
+            verify(connector1, never()).stop();
+            verify(connector2, never()).stop();
+            verify(connector3).stop();
+            verify(connector4).stop();
+
+            cut.stop();
+
+            verify(connector1).stop();
+            verify(connector2).stop();
+            verify(connector5).stop();
+            verify(connector6).stop();
+        }
+
+        @Test
+        void should_give_connectors_back_to_the_previous_endpoint_manager_when_take_over_is_cancelled() throws Exception {
+            final Api api = buildApi();
+
+            final EndpointConnector connector1 = mock(EndpointConnector.class);
+            final EndpointConnector connector2 = mock(EndpointConnector.class);
+            final EndpointConnector connector3 = mock(EndpointConnector.class);
+            final EndpointConnector connector4 = mock(EndpointConnector.class);
+            final EndpointConnector connector5 = mock(EndpointConnector.class);
+            final EndpointConnector connector6 = mock(EndpointConnector.class);
+
+            when(connectorFactory.createConnector(deploymentContext, ENDPOINT_CONFIG, ENDPOINT_GROUP_SHARED_CONFIG)).thenReturn(
+                connector1,
+                connector2,
+                connector3,
+                connector4,
+                connector5,
+                connector6
+            );
+
+            final DefaultEndpointManager previous = new DefaultEndpointManager(api, pluginManager, deploymentContext, gatewayConfiguration);
+            previous.start();
+
+            final DefaultEndpointManager cut = new DefaultEndpointManager(api, pluginManager, deploymentContext, gatewayConfiguration);
+            cut.takeOver(previous, Set.of(api.getEndpointGroups().get(0).getName()));
+            cut.start();
+            cut.cancelTakeOver();
+
+            cut.preStop();
+            cut.stop();
+
+            verify(connector1, never()).preStop();
+            verify(connector2, never()).preStop();
+            verify(connector1, never()).stop();
+            verify(connector2, never()).stop();
+            verify(connector5).stop();
+            verify(connector6).stop();
+
+            previous.preStop();
+            previous.stop();
+
+            verify(connector1).stop();
+            verify(connector2).stop();
+            verify(connector3).stop();
+            verify(connector4).stop();
+        }
+
+        @Test
+        void should_create_all_connectors_when_previous_endpoint_manager_is_stopped() throws Exception {
+            final Api api = buildApi();
+
+            when(connectorFactory.createConnector(deploymentContext, ENDPOINT_CONFIG, ENDPOINT_GROUP_SHARED_CONFIG)).thenAnswer(i ->
+                mock(EndpointConnector.class)
+            );
+
+            final DefaultEndpointManager previous = new DefaultEndpointManager(api, pluginManager, deploymentContext, gatewayConfiguration);
+            previous.start();
+            previous.stop();
+
+            final DefaultEndpointManager cut = new DefaultEndpointManager(api, pluginManager, deploymentContext, gatewayConfiguration);
+            cut.takeOver(previous, Set.of(api.getEndpointGroups().get(0).getName(), api.getEndpointGroups().get(1).getName()));
+            cut.start();
+
+            verify(connectorFactory, times(8)).createConnector(deploymentContext, ENDPOINT_CONFIG, ENDPOINT_GROUP_SHARED_CONFIG);
+            assertThat(cut.all()).hasSize(4);
+        }
+    }
+
     @Nested
     @ExtendWith(VertxExtension.class)
     class AddOrUpdateEndpoint {
@@ -775,6 +929,133 @@ class DefaultEndpointManagerTest {
         }
     }
 
+    @Nested
+    class OutlierDetection {
+
+        private static final int CONSECUTIVE_FAILURES = 2;
+
+        @Test
+        void should_not_detect_outliers_when_disabled() throws Exception {
+            final EndpointConnector connector = mock(EndpointConnector.class);
+            when(connectorFactory.createConnector(deploymentContext, ENDPOINT_CONFIG, ENDPOINT_GROUP_SHARED_CONFIG)).thenReturn(connector);
+
+            final Api api = buildApi();
+            final DefaultEndpointManager cut = new DefaultEndpointManager(api, pluginManager, deploymentContext, gatewayConfiguration);
+            cut.start();
+            final ManagedEndpoint failing = cut.next();
+            reportFailures(cut, failing);
+
+            assertThat(cut.isOutlierDetectionEnabled()).isFalse();
+            assertThat(nextEndpoints(cut, 4)).contains(failing);
+        }
+
+        @Test
+        void should_eject_failing_endpoint() throws Exception {
+            final DefaultEndpointManager cut = startWithOutlierDetection(60_000);
+            final ManagedEndpoint failing = cut.next();
+            reportFailures(cut, failing);
+
+            assertThat(cut.isOutlierDetectionEnabled()).isTrue();
+            assertThat(nextEndpoints(cut, 4)).isNotEmpty().doesNotContain(failing);
+        }
+
+        @Test
+        void should_not_eject_endpoint_succeeding_in_between_failures() throws Exception {
+            final DefaultEndpointManager cut = startWithOutlierDetection(60_000);
+            final ManagedEndpoint failing = cut.next();
+            cut.reportOutcome(failing, true, 0);
+            cut.reportOutcome(failing, false, 0);
+            cut.reportOutcome(failing, true, 0);
+
+            assertThat(nextEndpoints(cut, 4)).contains(failing);
+        }
+
+        @Test
+        void should_readmit_ejected_endpoint_once_ejection_time_is_elapsed() throws Exception {
+            final DefaultEndpointManager cut = startWithOutlierDetection(1);
+            final ManagedEndpoint failing = cut.next();
+            reportFailures(cut, failing);
+
+            Thread.sleep(10);
+
+            assertThat(nextEndpoints(cut, 4)).contains(failing);
+        }
+
+        @Test
+        void should_not_readmit_ejected_endpoint_disabled_in_the_meantime() throws Exception {
+            final DefaultEndpointManager cut = startWithOutlierDetection(1);
+            final ManagedEndpoint failing = cut.next();
+            reportFailures(cut, failing);
+            cut.disable(failing);
+
+            Thread.sleep(10);
+
+            assertThat(nextEndpoints(cut, 4)).doesNotContain(failing);
+        }
+
+        @Test
+        void should_readmit_ejected_endpoint_only_once_when_enabled_in_the_meantime() throws Exception {
+            final DefaultEndpointManager cut = startWithOutlierDetection(1);
+            final ManagedEndpoint failing = cut.next();
+            reportFailures(cut, failing);
+            cut.enable(failing);
+
+            Thread.sleep(10);
+
+            final List<ManagedEndpoint> next = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                next.add(cut.next());
+            }
+            assertThat(next).filteredOn(endpoint -> endpoint == failing).hasSize(3);
+        }
+
+        @Test
+        void should_not_eject_the_only_endpoint_of_a_group() throws Exception {
+            final Api api = new Api();
+            api.setEndpointGroups(
+                List.of(
+                    anEndpointGroupFromEndpoints(() -> List.of(anEndpointWithInheritedConfig())),
+                    anEndpointGroupFromEndpoints(() -> List.of(anEndpointWithInheritedConfig()))
+                )
+            );
+            final DefaultEndpointManager cut = startWithOutlierDetection(60_000, api);
+            final ManagedEndpoint failing = cut.next();
+            reportFailures(cut, failing);
+
+            assertThat(nextEndpoints(cut, 4)).containsExactly(failing);
+        }
+
+        private DefaultEndpointManager startWithOutlierDetection(long ejectionTimeMs) throws Exception {
+            return startWithOutlierDetection(ejectionTimeMs, buildApi());
+        }
+
+        private DefaultEndpointManager startWithOutlierDetection(long ejectionTimeMs, Api api) throws Exception {
+            final EndpointConnector connector = mock(EndpointConnector.class);
+            when(connectorFactory.createConnector(deploymentContext, ENDPOINT_CONFIG, ENDPOINT_GROUP_SHARED_CONFIG)).thenReturn(connector);
+            when(gatewayConfiguration.outlierDetection()).thenReturn(
+                new OutlierDetectionConfiguration(true, CONSECUTIVE_FAILURES, ejectionTimeMs, ejectionTimeMs, 50, 0)
+            );
+
+            final DefaultEndpointManager cut = new DefaultEndpointManager(api, pluginManager, deploymentContext, gatewayConfiguration);
+            cut.start();
+            return cut;
+        }
+
+        private void reportFailures(DefaultEndpointManager cut, ManagedEndpoint endpoint) {
+            for (int i = 0; i < CONSECUTIVE_FAILURES; i++) {
+                cut.reportOutcome(endpoint, true, 0);
+            }
+        }
+
+        private Set<ManagedEndpoint> nextEndpoints(DefaultEndpointManager cut, int count) {
+            final Set<ManagedEndpoint> next = new HashSet<>();
+            for (int i = 0; i < count; i++) {
+                next.add(cut.next());
+            }
+            return next;
+        }
+    }
+
     private Api buildApi() {
         return buildApi(this::anEndpointWithInheritedConfig);
     }
@@ -21,9 +21,13 @@ import static org.mockito.Mockito.mock;
 
 import io.gravitee.definition.model.v4.endpointgroup.Endpoint;
 import io.gravitee.definition.model.v4.endpointgroup.EndpointGroup;
+import io.gravitee.definition.model.v4.endpointgroup.loadbalancer.LoadBalancer;
+import io.gravitee.definition.model.v4.endpointgroup.loadbalancer.LoadBalancerType;
 import io.gravitee.gateway.reactive.api.connector.endpoint.EndpointConnector;
 import java.util.ArrayList;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 /**
  * @author Jeoffrey HAEYAERT (jeoffrey.haeyaert at graviteesource.com)
@@ -111,6 +115,20 @@ class DefaultManagedEndpointGroupTest {
         assertThat(cut.next()).isNull();
     }
 
+    @ParameterizedTest
+    @EnumSource(LoadBalancerType.class)
+    void shouldTrackEndpointLoadOnlyForLoadAwareLoadBalancers(final LoadBalancerType loadBalancerType) {
+        final EndpointGroup endpointGroup = buildEndpointGroup();
+        endpointGroup.setLoadBalancer(LoadBalancer.builder().type(loadBalancerType).build());
+        final ManagedEndpointGroup cut = new DefaultManagedEndpointGroup(endpointGroup);
+
+        final ManagedEndpoint managedEndpoint = mockManagedEndpoint(endpointGroup.getEndpoints().get(0), cut);
+        final boolean loadAware = loadBalancerType == LoadBalancerType.LEAST_REQUESTS || loadBalancerType == LoadBalancerType.PEAK_EWMA;
+
+        assertThat(cut.isLoadTracked()).isEqualTo(loadAware);
+        assertThat(managedEndpoint.getLoad() != null).isEqualTo(loadAware);
+    }
+
     private EndpointGroup buildEndpointGroup() {
         final EndpointGroup endpointGroup = new EndpointGroup();
         final ArrayList<Endpoint> endpoints = new ArrayList<>();
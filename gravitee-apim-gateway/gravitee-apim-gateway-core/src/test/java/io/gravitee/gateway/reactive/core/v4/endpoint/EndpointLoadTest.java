@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.core.v4.endpoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class EndpointLoadTest {
+
+    private static final long DECAY = TimeUnit.SECONDS.toNanos(10);
+
+    private long now;
+    private final EndpointLoad cut = new EndpointLoad(() -> now, DECAY);
+
+    @Test
+    void should_count_requests_in_flight() {
+        final long start1 = cut.requestStarted();
+        final long start2 = cut.requestStarted();
+        assertThat(cut.inFlight()).isEqualTo(2);
+
+        cut.requestEnded(start1);
+        cut.requestEnded(start2);
+        assertThat(cut.inFlight()).isZero();
+    }
+
+    @Test
+    void should_jump_to_peak_response_time() {
+        request(10);
+        request(100);
+
+        assertThat(cut.responseTime()).isEqualTo(millis(100));
+    }
+
+    @Test
+    void should_move_slowly_toward_lower_response_times() {
+        request(100);
+        request(10);
+
+        assertThat(cut.responseTime()).isLessThan(millis(100)).isGreaterThan(millis(90));
+    }
+
+    @Test
+    void should_decay_with_time() {
+        request(100);
+        now += DECAY;
+
+        assertThat(cut.responseTime()).isCloseTo(millis(100) / Math.E, within(1d));
+    }
+
+    @Test
+    void should_penalize_endpoint_without_response_time() {
+        assertThat(cut.cost()).isZero();
+
+        cut.requestStarted();
+
+        assertThat(cut.cost()).isEqualTo(EndpointLoad.PENALTY + 1);
+    }
+
+    @Test
+    void should_cost_response_time_multiplied_by_requests() {
+        request(10);
+        cut.requestStarted();
+
+        assertThat(cut.cost()).isEqualTo(millis(10) * 2);
+    }
+
+    private void request(long durationMillis) {
+        final long start = cut.requestStarted();
+        now += TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        cut.requestEnded(start);
+    }
+
+    private static double millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
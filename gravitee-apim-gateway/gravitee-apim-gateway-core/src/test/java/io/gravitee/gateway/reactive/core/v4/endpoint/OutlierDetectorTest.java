@@ -0,0 +1,206 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.core.v4.endpoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.gateway.env.OutlierDetectionConfiguration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class OutlierDetectorTest {
+
+    private static final long BASE_EJECTION_MS = 1_000;
+    private static final long MAX_EJECTION_MS = 3_000;
+
+    private final ManagedEndpointGroup group = mock(ManagedEndpointGroup.class);
+    private final ManagedEndpoint endpoint = mock(ManagedEndpoint.class);
+    private final ManagedEndpoint other = mock(ManagedEndpoint.class);
+    private final List<ManagedEndpoint> ejected = new ArrayList<>();
+    private final List<ManagedEndpoint> readmitted = new ArrayList<>();
+    private final Map<ManagedEndpointGroup, Integer> groupSizes = new HashMap<>();
+    private long now;
+
+    private final OutlierDetector cut = new OutlierDetector(
+        new OutlierDetectionConfiguration(true, 3, BASE_EJECTION_MS, MAX_EJECTION_MS, 50, 500),
+        () -> now,
+        group -> groupSizes.getOrDefault(group, 0),
+        ejected::add,
+        readmitted::add
+    );
+
+    @BeforeEach
+    void setUp() {
+        when(endpoint.getGroup()).thenReturn(group);
+        when(other.getGroup()).thenReturn(group);
+        groupSizes.put(group, 2);
+    }
+
+    @Test
+    void should_eject_after_consecutive_failures() {
+        fail(endpoint, 2);
+        assertThat(ejected).isEmpty();
+
+        fail(endpoint, 1);
+        assertThat(ejected).containsExactly(endpoint);
+        assertThat(cut.isEjected(endpoint)).isTrue();
+    }
+
+    @Test
+    void should_reset_failures_on_success() {
+        fail(endpoint, 2);
+        cut.record(endpoint, false, 0);
+        fail(endpoint, 2);
+
+        assertThat(ejected).isEmpty();
+    }
+
+    @Test
+    void should_count_slow_responses_as_failures() {
+        for (int i = 0; i < 3; i++) {
+            cut.record(endpoint, false, TimeUnit.MILLISECONDS.toNanos(501));
+        }
+
+        assertThat(ejected).containsExactly(endpoint);
+    }
+
+    @Test
+    void should_not_eject_more_than_max_ejection_percent() {
+        fail(endpoint, 3);
+        fail(other, 3);
+
+        assertThat(ejected).containsExactly(endpoint);
+    }
+
+    @Test
+    void should_never_eject_a_single_endpoint() {
+        groupSizes.put(group, 1);
+        fail(endpoint, 3);
+
+        assertThat(ejected).isEmpty();
+    }
+
+    @Test
+    void should_never_eject_the_last_endpoint_of_a_group() {
+        final ManagedEndpointGroup otherGroup = mock(ManagedEndpointGroup.class);
+        when(other.getGroup()).thenReturn(otherGroup);
+        groupSizes.put(group, 1);
+        groupSizes.put(otherGroup, 1);
+
+        fail(endpoint, 3);
+        fail(other, 3);
+
+        assertThat(ejected).isEmpty();
+        assertThat(cut.isEjected(endpoint)).isFalse();
+        assertThat(cut.isEjected(other)).isFalse();
+    }
+
+    @Test
+    void should_apply_max_ejection_percent_per_group() {
+        final ManagedEndpointGroup otherGroup = mock(ManagedEndpointGroup.class);
+        final ManagedEndpoint third = mock(ManagedEndpoint.class);
+        final ManagedEndpoint fourth = mock(ManagedEndpoint.class);
+        when(third.getGroup()).thenReturn(otherGroup);
+        when(fourth.getGroup()).thenReturn(otherGroup);
+        groupSizes.put(otherGroup, 2);
+
+        fail(endpoint, 3);
+        fail(third, 3);
+        fail(other, 3);
+        fail(fourth, 3);
+
+        assertThat(ejected).containsExactly(endpoint, third);
+    }
+
+    @Test
+    void should_readmit_once_ejection_time_is_elapsed() {
+        fail(endpoint, 3);
+
+        advance(BASE_EJECTION_MS - 1);
+        cut.readmitExpired();
+        assertThat(readmitted).isEmpty();
+
+        advance(1);
+        cut.readmitExpired();
+        assertThat(readmitted).containsExactly(endpoint);
+        assertThat(cut.isEjected(endpoint)).isFalse();
+    }
+
+    @Test
+    void should_double_ejection_time_up_to_max() {
+        // 1s, then 2s, then capped to 3s.
+        for (long ejectionTime : new long[] { 1_000, 2_000, 3_000, 3_000 }) {
+            fail(endpoint, 3);
+            advance(ejectionTime - 1);
+            cut.readmitExpired();
+            assertThat(cut.isEjected(endpoint)).isTrue();
+
+            advance(1);
+            cut.readmitExpired();
+            assertThat(cut.isEjected(endpoint)).isFalse();
+        }
+    }
+
+    @Test
+    void should_reset_ejection_time_once_admitted_long_enough() {
+        fail(endpoint, 3);
+        advance(BASE_EJECTION_MS);
+        cut.readmitExpired();
+
+        advance(MAX_EJECTION_MS + 1);
+        fail(endpoint, 3);
+        advance(BASE_EJECTION_MS);
+        cut.readmitExpired();
+
+        assertThat(cut.isEjected(endpoint)).isFalse();
+    }
+
+    @Test
+    void should_forget_ejected_endpoint() {
+        fail(endpoint, 3);
+        cut.forget(endpoint);
+
+        advance(BASE_EJECTION_MS);
+        cut.readmitExpired();
+
+        assertThat(cut.isEjected(endpoint)).isFalse();
+        assertThat(readmitted).isEmpty();
+
+        // The ejection slot is released.
+        fail(other, 3);
+        assertThat(ejected).containsExactly(endpoint, other);
+    }
+
+    private void fail(ManagedEndpoint managedEndpoint, int times) {
+        for (int i = 0; i < times; i++) {
+            cut.record(managedEndpoint, true, 0);
+        }
+    }
+
+    private void advance(long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.core.v4.endpoint.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.gravitee.definition.model.v4.endpointgroup.Endpoint;
+import io.gravitee.definition.model.v4.endpointgroup.EndpointGroup;
+import io.gravitee.definition.model.v4.endpointgroup.loadbalancer.LoadBalancer;
+import io.gravitee.definition.model.v4.endpointgroup.loadbalancer.LoadBalancerType;
+import io.gravitee.gateway.reactive.api.connector.endpoint.EndpointConnector;
+import io.gravitee.gateway.reactive.core.v4.endpoint.DefaultManagedEndpoint;
+import io.gravitee.gateway.reactive.core.v4.endpoint.DefaultManagedEndpointGroup;
+import io.gravitee.gateway.reactive.core.v4.endpoint.ManagedEndpoint;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class LeastRequestsLoadBalancerTest {
+
+    @Test
+    void should_return_null_with_empty_endpoints() {
+        LeastRequestsLoadBalancer cut = new LeastRequestsLoadBalancer(List.of());
+        assertThat(cut.next()).isNull();
+    }
+
+    @Test
+    void should_return_endpoint_with_fewest_requests_in_flight() {
+        List<ManagedEndpoint> endpoints = buildEndpoints(3);
+        endpoints.get(0).getLoad().requestStarted();
+        endpoints.get(0).getLoad().requestStarted();
+        endpoints.get(2).getLoad().requestStarted();
+        LeastRequestsLoadBalancer cut = new LeastRequestsLoadBalancer(endpoints);
+
+        assertThat(cut.next()).isEqualTo(endpoints.get(1));
+        endpoints.get(1).getLoad().requestStarted();
+        endpoints.get(1).getLoad().requestStarted();
+
+        assertThat(cut.next()).isEqualTo(endpoints.get(2));
+    }
+
+    @Test
+    void should_return_endpoints_in_turn_when_they_have_the_same_requests_in_flight() {
+        List<ManagedEndpoint> endpoints = buildEndpoints(3);
+        LeastRequestsLoadBalancer cut = new LeastRequestsLoadBalancer(endpoints);
+
+        assertThat(List.of(cut.next(), cut.next(), cut.next())).containsExactlyElementsOf(endpoints);
+    }
+
+    private static List<ManagedEndpoint> buildEndpoints(int count) {
+        EndpointGroup endpointGroup = new EndpointGroup();
+        endpointGroup.setLoadBalancer(LoadBalancer.builder().type(LoadBalancerType.LEAST_REQUESTS).build());
+        return IntStream.range(0, count)
+            .<ManagedEndpoint>mapToObj(i ->
+                new DefaultManagedEndpoint(new Endpoint(), new DefaultManagedEndpointGroup(endpointGroup), mock(EndpointConnector.class))
+            )
+            .toList();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.core.v4.endpoint.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.definition.model.v4.endpointgroup.loadbalancer.LoadBalancerType;
+import io.gravitee.gateway.reactive.core.v4.endpoint.EndpointLoad;
+import io.gravitee.gateway.reactive.core.v4.endpoint.ManagedEndpoint;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Replay the same traffic against simulated backends, one of them being ten times slower than the others, and compare the
+ * tail latency obtained with the different load balancers. The simulation runs on a virtual clock: requests arrive at a
+ * constant average rate and each backend answers after a random time depending on its speed.
+ *
+ * @author GraviteeSource Team
+ */
+class LoadAwareLoadBalancerSimulationTest {
+
+    private static final int REQUESTS = 50_000;
+    private static final double ARRIVAL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double[] BACKEND_RESPONSE_TIME_NANOS = {
+        TimeUnit.MILLISECONDS.toNanos(10),
+        TimeUnit.MILLISECONDS.toNanos(10),
+        TimeUnit.MILLISECONDS.toNanos(10),
+        TimeUnit.MILLISECONDS.toNanos(100),
+    };
+
+    @Test
+    void should_reduce_tail_latency_with_least_requests() {
+        final long roundRobinP99 = simulate(LoadBalancerType.ROUND_ROBIN).p99();
+        final long leastRequestsP99 = simulate(LoadBalancerType.LEAST_REQUESTS).p99();
+
+        assertThat(leastRequestsP99).isLessThan(roundRobinP99 / 2);
+    }
+
+    @Test
+    void should_reduce_tail_latency_with_peak_ewma() {
+        final long roundRobinP99 = simulate(LoadBalancerType.ROUND_ROBIN).p99();
+        final long peakEwmaP99 = simulate(LoadBalancerType.PEAK_EWMA).p99();
+
+        assertThat(peakEwmaP99).isLessThan(roundRobinP99 / 2);
+    }
+
+    @Test
+    void should_send_less_traffic_to_the_slow_backend() {
+        assertThat(simulate(LoadBalancerType.ROUND_ROBIN).slowBackendShare()).isEqualTo(0.25);
+        assertThat(simulate(LoadBalancerType.LEAST_REQUESTS).slowBackendShare()).isLessThan(0.1);
+        assertThat(simulate(LoadBalancerType.PEAK_EWMA).slowBackendShare()).isLessThan(0.1);
+    }
+
+    private static Result simulate(final LoadBalancerType type) {
+        final long[] clock = new long[1];
+        final List<ManagedEndpoint> endpoints = new ArrayList<>();
+        final Map<ManagedEndpoint, Double> responseTimes = new HashMap<>();
+        for (double responseTime : BACKEND_RESPONSE_TIME_NANOS) {
+            final EndpointLoad load = new EndpointLoad(() -> clock[0], TimeUnit.SECONDS.toNanos(10));
+            final ManagedEndpoint endpoint = mock(ManagedEndpoint.class);
+            when(endpoint.getLoad()).thenReturn(load);
+            endpoints.add(endpoint);
+            responseTimes.put(endpoint, responseTime);
+        }
+        final ManagedEndpoint slowBackend = endpoints.get(endpoints.size() - 1);
+        final LoadBalancerStrategy loadBalancer = LoadBalancerStrategyFactory.create(type, endpoints);
+
+        // Same seed for all the load balancers: same arrivals and same response time draws.
+        final Random random = new Random(42);
+        final PriorityQueue<Response> responses = new PriorityQueue<>();
+        final long[] latencies = new long[REQUESTS];
+        int slowBackendRequests = 0;
+        long arrival = 0;
+
+        for (int i = 0; i < REQUESTS; i++) {
+            arrival += exponential(random, ARRIVAL_INTERVAL_NANOS);
+
+            while (!responses.isEmpty() && responses.peek().time() <= arrival) {
+                final Response response = responses.poll();
+                clock[0] = response.time();
+                response.endpoint().getLoad().requestEnded(response.start());
+            }
+            clock[0] = arrival;
+
+            final ManagedEndpoint endpoint = loadBalancer.next();
+            if (endpoint == slowBackend) {
+                slowBackendRequests++;
+            }
+            final long start = endpoint.getLoad().requestStarted();
+            final long latency = exponential(random, responseTimes.get(endpoint));
+            responses.add(new Response(arrival + latency, start, endpoint));
+            latencies[i] = latency;
+        }
+
+        Arrays.sort(latencies);
+        return new Result(latencies, (double) slowBackendRequests / REQUESTS);
+    }
+
+    private static long exponential(final Random random, final double mean) {
+        return (long) (-Math.log(1 - random.nextDouble()) * mean);
+    }
+
+    private record Response(long time, long start, ManagedEndpoint endpoint) implements Comparable<Response> {
+        @Override
+        public int compareTo(Response other) {
+            return Long.compare(time, other.time);
+        }
+    }
+
+    private record Result(long[] sortedLatencies, double slowBackendShare) {
+        long p99() {
+            return sortedLatencies[(int) (sortedLatencies.length * 0.99)];
+        }
+    }
+}
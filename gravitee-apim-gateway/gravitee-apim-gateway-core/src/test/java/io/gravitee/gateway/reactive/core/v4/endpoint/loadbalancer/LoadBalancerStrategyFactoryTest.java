@@ -50,4 +50,16 @@ class LoadBalancerStrategyFactoryTest {
         LoadBalancerStrategy balancerStrategy = LoadBalancerStrategyFactory.create(LoadBalancerType.WEIGHTED_ROUND_ROBIN, List.of());
         assertThat(balancerStrategy).isInstanceOf(WeightedRoundRobinLoadBalancer.class);
     }
+
+    @Test
+    void shouldReturnLeastRequestsStrategy() {
+        LoadBalancerStrategy balancerStrategy = LoadBalancerStrategyFactory.create(LoadBalancerType.LEAST_REQUESTS, List.of());
+        assertThat(balancerStrategy).isInstanceOf(LeastRequestsLoadBalancer.class);
+    }
+
+    @Test
+    void shouldReturnPeakEwmaStrategy() {
+        LoadBalancerStrategy balancerStrategy = LoadBalancerStrategyFactory.create(LoadBalancerType.PEAK_EWMA, List.of());
+        assertThat(balancerStrategy).isInstanceOf(PeakEwmaLoadBalancer.class);
+    }
 }
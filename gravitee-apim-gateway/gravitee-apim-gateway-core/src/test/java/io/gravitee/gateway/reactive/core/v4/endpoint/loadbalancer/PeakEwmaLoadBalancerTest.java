@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.core.v4.endpoint.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.gateway.reactive.core.v4.endpoint.EndpointLoad;
+import io.gravitee.gateway.reactive.core.v4.endpoint.ManagedEndpoint;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class PeakEwmaLoadBalancerTest {
+
+    private long now;
+
+    @Test
+    void should_return_null_with_empty_endpoints() {
+        PeakEwmaLoadBalancer cut = new PeakEwmaLoadBalancer(List.of());
+        assertThat(cut.next()).isNull();
+    }
+
+    @Test
+    void should_return_single_endpoint() {
+        ManagedEndpoint endpoint = endpointRespondingIn(100);
+        PeakEwmaLoadBalancer cut = new PeakEwmaLoadBalancer(List.of(endpoint));
+
+        assertThat(cut.next()).isEqualTo(endpoint);
+    }
+
+    @Test
+    void should_return_endpoint_with_lowest_cost() {
+        ManagedEndpoint slow = endpointRespondingIn(100);
+        ManagedEndpoint fast = endpointRespondingIn(10);
+        PeakEwmaLoadBalancer cut = new PeakEwmaLoadBalancer(List.of(slow, fast));
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(cut.next()).isEqualTo(fast);
+        }
+    }
+
+    @Test
+    void should_take_requests_in_flight_into_account() {
+        ManagedEndpoint slow = endpointRespondingIn(20);
+        ManagedEndpoint busy = endpointRespondingIn(10);
+        busy.getLoad().requestStarted();
+        busy.getLoad().requestStarted();
+        PeakEwmaLoadBalancer cut = new PeakEwmaLoadBalancer(List.of(slow, busy));
+
+        assertThat(cut.next()).isEqualTo(slow);
+    }
+
+    @Test
+    void should_ignore_endpoints_without_load() {
+        ManagedEndpoint endpoint = mock(ManagedEndpoint.class);
+        PeakEwmaLoadBalancer cut = new PeakEwmaLoadBalancer(List.of(endpoint, endpoint));
+
+        assertThat(cut.next()).isEqualTo(endpoint);
+    }
+
+    private ManagedEndpoint endpointRespondingIn(long millis) {
+        EndpointLoad load = new EndpointLoad(() -> now, TimeUnit.SECONDS.toNanos(10));
+        long start = load.requestStarted();
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+        load.requestEnded(start);
+
+        ManagedEndpoint endpoint = mock(ManagedEndpoint.class);
+        when(endpoint.getLoad()).thenReturn(load);
+        return endpoint;
+    }
+}
@@ -64,4 +64,23 @@ class RoundRobinLoadBalancerTest {
             prevEndpoint = next;
         }
     }
+
+    @Test
+    void shouldReturnEndpointWhenCounterOverflows() {
+        List<ManagedEndpoint> endpoints = IntStream.range(0, 3)
+            .mapToObj(i ->
+                new DefaultManagedEndpoint(
+                    new Endpoint(),
+                    new DefaultManagedEndpointGroup(new EndpointGroup()),
+                    mock(EndpointConnector.class)
+                )
+            )
+            .collect(Collectors.toList());
+        RoundRobinLoadBalancer cut = new RoundRobinLoadBalancer(endpoints);
+        cut.counter.set(Integer.MAX_VALUE);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(cut.next()).isIn(endpoints);
+        }
+    }
 }
@@ -73,9 +73,10 @@ public class WeightedRoundRobinLoadBalancerJCStressTest {
     }
 
     @JCStressTest
-    @Outcome(id = "0, 2, 0, 2", expect = Expect.ACCEPTABLE, desc = "Good")
-    @Outcome(id = "0, 2, 1, 1", expect = Expect.ACCEPTABLE, desc = "Good")
-    @Outcome(id = "1, 1, 0, 2", expect = Expect.ACCEPTABLE, desc = "Good")
+    @Outcome(id = "0, 1, 1, 2", expect = Expect.ACCEPTABLE, desc = "Good")
+    @Outcome(id = "1, 2, 0, 1", expect = Expect.ACCEPTABLE, desc = "Good")
+    @Outcome(id = "0, 2, 1, 2", expect = Expect.ACCEPTABLE, desc = "Good")
+    @Outcome(id = "1, 2, 0, 2", expect = Expect.ACCEPTABLE, desc = "Good")
     @Outcome(expect = Expect.FORBIDDEN, desc = "Oups")
     @State
     public static class ShouldNextBeCompliant {
@@ -94,15 +95,13 @@ public class WeightedRoundRobinLoadBalancerJCStressTest {
 
         @Actor
         public void actor1(IIII_Result r) {
-            loadBalancer.next();
-            r.r1 = loadBalancer.weightDistributions.get().getRemainingSum();
+            r.r1 = endpoints.indexOf(loadBalancer.next());
             r.r2 = loadBalancer.counter.get();
         }
 
         @Actor
         public void actor2(IIII_Result r) {
-            loadBalancer.next();
-            r.r3 = loadBalancer.weightDistributions.get().getRemainingSum();
+            r.r3 = endpoints.indexOf(loadBalancer.next());
             r.r4 = loadBalancer.counter.get();
         }
     }
@@ -16,6 +16,7 @@
 package io.gravitee.gateway.reactive.core.v4.endpoint.loadbalancer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.Mockito.mock;
 
 import io.gravitee.definition.model.v4.endpointgroup.Endpoint;
@@ -25,6 +26,7 @@ import io.gravitee.gateway.reactive.core.v4.endpoint.DefaultManagedEndpoint;
 import io.gravitee.gateway.reactive.core.v4.endpoint.DefaultManagedEndpointGroup;
 import io.gravitee.gateway.reactive.core.v4.endpoint.ManagedEndpoint;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
@@ -295,6 +297,71 @@ class WeightedRoundRobinLoadBalancerTest {
         }
     }
 
+    @Test
+    void should_respect_weights_when_counter_overflows() {
+        List<ManagedEndpoint> endpoints = buildEndpoints(1, 3);
+        WeightedRoundRobinLoadBalancer cut = new WeightedRoundRobinLoadBalancer(endpoints);
+        cut.counter.set(Integer.MAX_VALUE - 1);
+
+        List<ManagedEndpoint> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(cut.next());
+        }
+
+        assertThat(results).allMatch(endpoints::contains);
+        assertThat(results.stream().filter(endpoints.get(1)::equals).count()).isBetween(5L, 7L);
+    }
+
+    @Test
+    void should_refresh_when_endpoints_change() {
+        List<ManagedEndpoint> endpoints = new CopyOnWriteArrayList<>(buildEndpoints(1));
+        WeightedRoundRobinLoadBalancer cut = new WeightedRoundRobinLoadBalancer(endpoints);
+        assertThat(cut.next()).isEqualTo(endpoints.get(0));
+
+        endpoints.addAll(buildEndpoints(2));
+
+        assertThat(List.of(cut.next(), cut.next(), cut.next())).containsExactly(endpoints.get(0), endpoints.get(1), endpoints.get(1));
+    }
+
+    @Test
+    void should_reduce_large_weights_by_their_gcd() {
+        List<ManagedEndpoint> endpoints = buildEndpoints(1_000_000, 3_000_000);
+        WeightedRoundRobinLoadBalancer cut = new WeightedRoundRobinLoadBalancer(endpoints);
+
+        assertThat(cut.schedule.positions()).hasSize(4);
+        assertThat(List.of(cut.next(), cut.next(), cut.next(), cut.next())).containsExactly(
+            endpoints.get(0),
+            endpoints.get(1),
+            endpoints.get(1),
+            endpoints.get(1)
+        );
+    }
+
+    @Test
+    void should_cap_schedule_length_with_coprime_large_weights() {
+        List<ManagedEndpoint> endpoints = buildEndpoints(1_000_003, 2_000_003, 1);
+        WeightedRoundRobinLoadBalancer cut = new WeightedRoundRobinLoadBalancer(endpoints);
+
+        int[] positions = cut.schedule.positions();
+        assertThat(positions.length).isLessThanOrEqualTo(WeightedRoundRobinLoadBalancer.MAX_SCHEDULE_LENGTH);
+        long first = Arrays.stream(positions).filter(position -> position == 0).count();
+        long second = Arrays.stream(positions).filter(position -> position == 1).count();
+        long third = Arrays.stream(positions).filter(position -> position == 2).count();
+        assertThat((double) second / first).isCloseTo(2.0, within(0.01));
+        assertThat(third).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_fail_when_weights_sum_overflows_an_int() {
+        List<ManagedEndpoint> endpoints = buildEndpoints(Integer.MAX_VALUE, Integer.MAX_VALUE - 1, 2);
+        WeightedRoundRobinLoadBalancer cut = new WeightedRoundRobinLoadBalancer(endpoints);
+
+        assertThat(cut.schedule.positions().length).isBetween(3, WeightedRoundRobinLoadBalancer.MAX_SCHEDULE_LENGTH);
+        for (int i = 0; i < 100; i++) {
+            assertThat(cut.next()).isIn(endpoints);
+        }
+    }
+
     private List<ManagedEndpoint> buildEndpoints(int... weights) {
         List<ManagedEndpoint> endpoints = new ArrayList<>();
         for (int weight : weights) {
@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.core.v4.endpoint.loadbalancer.benchmark;
+
+import static org.mockito.Mockito.mock;
+
+import io.gravitee.definition.model.v4.endpointgroup.Endpoint;
+import io.gravitee.definition.model.v4.endpointgroup.EndpointGroup;
+import io.gravitee.gateway.reactive.api.connector.endpoint.EndpointConnector;
+import io.gravitee.gateway.reactive.core.v4.endpoint.DefaultManagedEndpoint;
+import io.gravitee.gateway.reactive.core.v4.endpoint.DefaultManagedEndpointGroup;
+import io.gravitee.gateway.reactive.core.v4.endpoint.ManagedEndpoint;
+import io.gravitee.gateway.reactive.core.v4.endpoint.loadbalancer.RoundRobinLoadBalancer;
+import io.gravitee.gateway.reactive.core.v4.endpoint.loadbalancer.WeightedRoundRobinLoadBalancer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measure the selection of an endpoint by load balancers shared by many threads, as they are by the event loops of the
+ * gateway. The lock-free weighted round-robin is compared with the same selection done under a monitor.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoadBalancerBenchmark {
+
+    private RoundRobinLoadBalancer roundRobin;
+    private WeightedRoundRobinLoadBalancer weightedRoundRobin;
+    private WeightedRoundRobinLoadBalancer synchronizedWeightedRoundRobin;
+
+    // used to run benchmark directly from IDE
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] { 8, 16, 32 }) {
+            Options opt = new OptionsBuilder().include(LoadBalancerBenchmark.class.getSimpleName()).threads(threads).forks(1).build();
+            new Runner(opt).run();
+        }
+    }
+
+    @Setup
+    public void setup() {
+        final List<ManagedEndpoint> endpoints = new ArrayList<>();
+        for (int weight : new int[] { 1, 5, 3, 10 }) {
+            final Endpoint endpoint = new Endpoint();
+            endpoint.setWeight(weight);
+            endpoints.add(
+                new DefaultManagedEndpoint(endpoint, new DefaultManagedEndpointGroup(new EndpointGroup()), mock(EndpointConnector.class))
+            );
+        }
+
+        roundRobin = new RoundRobinLoadBalancer(endpoints);
+        weightedRoundRobin = new WeightedRoundRobinLoadBalancer(endpoints);
+        synchronizedWeightedRoundRobin = new SynchronizedWeightedRoundRobinLoadBalancer(endpoints);
+    }
+
+    @Benchmark
+    public ManagedEndpoint round_robin() {
+        return roundRobin.next();
+    }
+
+    @Benchmark
+    public ManagedEndpoint weighted_round_robin() {
+        return weightedRoundRobin.next();
+    }
+
+    @Benchmark
+    public ManagedEndpoint synchronized_weighted_round_robin() {
+        return synchronizedWeightedRoundRobin.next();
+    }
+
+    /**
+     * Same selection, serialized on the load balancer monitor as it was before the schedule was precomputed.
+     */
+    private static class SynchronizedWeightedRoundRobinLoadBalancer extends WeightedRoundRobinLoadBalancer {
+
+        SynchronizedWeightedRoundRobinLoadBalancer(final List<ManagedEndpoint> endpoints) {
+            super(endpoints);
+        }
+
+        @Override
+        protected synchronized ManagedEndpoint getManagedEndpoint() {
+            return super.getManagedEndpoint();
+        }
+    }
+}
@@ -18,10 +18,12 @@ package io.gravitee.gateway.reactive.core.v4.invoker;
 import static io.gravitee.gateway.api.ExecutionContext.ATTR_REQUEST_METHOD;
 import static io.gravitee.gateway.reactive.api.context.ContextAttributes.ATTR_REQUEST_ENDPOINT;
 import static io.gravitee.gateway.reactive.api.context.InternalContextAttributes.ATTR_INTERNAL_ENTRYPOINT_CONNECTOR;
+import static io.gravitee.gateway.reactive.core.v4.invoker.HttpEndpointInvoker.ATTR_INTERNAL_ENDPOINT_REQUEST_ENDED;
 import static io.gravitee.gateway.reactive.core.v4.invoker.HttpEndpointInvoker.NO_ENDPOINT_FOUND_KEY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 import io.gravitee.common.http.HttpMethod;
@@ -35,6 +37,7 @@ import io.gravitee.gateway.reactive.api.context.Request;
 import io.gravitee.gateway.reactive.api.context.Response;
 import io.gravitee.gateway.reactive.core.context.interruption.InterruptionFailureException;
 import io.gravitee.gateway.reactive.core.v4.endpoint.EndpointCriteria;
+import io.gravitee.gateway.reactive.core.v4.endpoint.EndpointLoad;
 import io.gravitee.gateway.reactive.core.v4.endpoint.EndpointManager;
 import io.gravitee.gateway.reactive.core.v4.endpoint.ManagedEndpoint;
 import io.reactivex.rxjava3.core.Completable;
@@ -50,6 +53,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.opentest4j.AssertionFailedError;
@@ -316,6 +320,131 @@ class HttpEndpointInvokerTest {
             });
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = { 200, 404, 500, 502 })
+    void shouldReportResponseStatusWhenOutlierDetectionIsEnabled(int status) {
+        final HttpEntrypointAsyncConnector httpEntrypointAsyncConnector = mock(HttpEntrypointAsyncConnector.class);
+        when(ctx.getInternalAttribute(ATTR_INTERNAL_ENTRYPOINT_CONNECTOR)).thenReturn(httpEntrypointAsyncConnector);
+        when(endpointManager.next(any(EndpointCriteria.class))).thenReturn(managedEndpoint);
+        when(endpointManager.isOutlierDetectionEnabled()).thenReturn(true);
+        when(managedEndpoint.getConnector()).thenReturn(endpointConnector);
+        when(endpointConnector.connect(ctx)).thenReturn(Completable.complete());
+        when(ctx.response()).thenReturn(response);
+        when(response.status()).thenReturn(status);
+
+        cut.invoke(ctx).test().assertComplete();
+
+        verify(endpointManager).reportOutcome(eq(managedEndpoint), eq(status >= 500), anyLong());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 400, 502, 504 })
+    void shouldReportInterruptionWhenOutlierDetectionIsEnabled(int status) {
+        final HttpEntrypointAsyncConnector httpEntrypointAsyncConnector = mock(HttpEntrypointAsyncConnector.class);
+        when(ctx.getInternalAttribute(ATTR_INTERNAL_ENTRYPOINT_CONNECTOR)).thenReturn(httpEntrypointAsyncConnector);
+        when(endpointManager.next(any(EndpointCriteria.class))).thenReturn(managedEndpoint);
+        when(endpointManager.isOutlierDetectionEnabled()).thenReturn(true);
+        when(managedEndpoint.getConnector()).thenReturn(endpointConnector);
+        when(endpointConnector.connect(ctx)).thenReturn(Completable.error(new InterruptionFailureException(new ExecutionFailure(status))));
+
+        cut.invoke(ctx).test().assertError(InterruptionFailureException.class);
+
+        verify(endpointManager).reportOutcome(eq(managedEndpoint), eq(status >= 500), anyLong());
+    }
+
+    @Test
+    void shouldNotReportOutcomeWhenOutlierDetectionIsDisabled() {
+        final HttpEntrypointAsyncConnector httpEntrypointAsyncConnector = mock(HttpEntrypointAsyncConnector.class);
+        when(ctx.getInternalAttribute(ATTR_INTERNAL_ENTRYPOINT_CONNECTOR)).thenReturn(httpEntrypointAsyncConnector);
+        when(endpointManager.next(any(EndpointCriteria.class))).thenReturn(managedEndpoint);
+        when(managedEndpoint.getConnector()).thenReturn(endpointConnector);
+        when(endpointConnector.connect(ctx)).thenReturn(Completable.complete());
+
+        cut.invoke(ctx).test().assertComplete();
+
+        verify(endpointManager, never()).reportOutcome(any(), anyBoolean(), anyLong());
+    }
+
+    @Test
+    void shouldKeepRequestInFlightUntilExecutionEnds() {
+        final EndpointLoad load = new EndpointLoad();
+        final HttpEntrypointAsyncConnector httpEntrypointAsyncConnector = mock(HttpEntrypointAsyncConnector.class);
+        when(ctx.getInternalAttribute(ATTR_INTERNAL_ENTRYPOINT_CONNECTOR)).thenReturn(httpEntrypointAsyncConnector);
+        when(endpointManager.next(any(EndpointCriteria.class))).thenReturn(managedEndpoint);
+        when(managedEndpoint.getConnector()).thenReturn(endpointConnector);
+        when(managedEndpoint.getLoad()).thenReturn(load);
+        when(endpointConnector.connect(ctx)).thenReturn(Completable.complete());
+
+        cut.invoke(ctx).test().assertComplete();
+        assertThat(load.inFlight()).isEqualTo(1);
+        verify(response, never()).chunks(any());
+
+        when(ctx.getInternalAttribute(ATTR_INTERNAL_ENDPOINT_REQUEST_ENDED)).thenReturn(captureRequestEnded());
+        HttpEndpointInvoker.endRequest(ctx);
+        assertThat(load.inFlight()).isZero();
+        verify(ctx).removeInternalAttribute(ATTR_INTERNAL_ENDPOINT_REQUEST_ENDED);
+
+        HttpEndpointInvoker.endRequest(ctx);
+        assertThat(load.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldEndPreviousRequestWhenAnotherEndpointResponds() {
+        final Runnable previousRequestEnded = mock(Runnable.class);
+        final HttpEntrypointAsyncConnector httpEntrypointAsyncConnector = mock(HttpEntrypointAsyncConnector.class);
+        when(ctx.getInternalAttribute(ATTR_INTERNAL_ENTRYPOINT_CONNECTOR)).thenReturn(httpEntrypointAsyncConnector);
+        when(ctx.getInternalAttribute(ATTR_INTERNAL_ENDPOINT_REQUEST_ENDED)).thenReturn(previousRequestEnded);
+        when(endpointManager.next(any(EndpointCriteria.class))).thenReturn(managedEndpoint);
+        when(managedEndpoint.getConnector()).thenReturn(endpointConnector);
+        when(managedEndpoint.getLoad()).thenReturn(new EndpointLoad());
+        when(endpointConnector.connect(ctx)).thenReturn(Completable.complete());
+
+        cut.invoke(ctx).test().assertComplete();
+
+        verify(previousRequestEnded).run();
+        verify(ctx).setInternalAttribute(eq(ATTR_INTERNAL_ENDPOINT_REQUEST_ENDED), any(Runnable.class));
+    }
+
+    @Test
+    void shouldEndRequestWhenInvocationIsDisposed() {
+        final EndpointLoad load = new EndpointLoad();
+        final HttpEntrypointAsyncConnector httpEntrypointAsyncConnector = mock(HttpEntrypointAsyncConnector.class);
+        when(ctx.getInternalAttribute(ATTR_INTERNAL_ENTRYPOINT_CONNECTOR)).thenReturn(httpEntrypointAsyncConnector);
+        when(endpointManager.next(any(EndpointCriteria.class))).thenReturn(managedEndpoint);
+        when(managedEndpoint.getConnector()).thenReturn(endpointConnector);
+        when(managedEndpoint.getLoad()).thenReturn(load);
+        when(endpointConnector.connect(ctx)).thenReturn(Completable.never());
+
+        final TestObserver<Void> obs = cut.invoke(ctx).test();
+        assertThat(load.inFlight()).isEqualTo(1);
+
+        obs.dispose();
+        assertThat(load.inFlight()).isZero();
+        verify(ctx, never()).setInternalAttribute(eq(ATTR_INTERNAL_ENDPOINT_REQUEST_ENDED), any());
+    }
+
+    @Test
+    void shouldEndRequestWhenConnectionFails() {
+        final EndpointLoad load = new EndpointLoad();
+        final HttpEntrypointAsyncConnector httpEntrypointAsyncConnector = mock(HttpEntrypointAsyncConnector.class);
+        when(ctx.getInternalAttribute(ATTR_INTERNAL_ENTRYPOINT_CONNECTOR)).thenReturn(httpEntrypointAsyncConnector);
+        when(endpointManager.next(any(EndpointCriteria.class))).thenReturn(managedEndpoint);
+        when(managedEndpoint.getConnector()).thenReturn(endpointConnector);
+        when(managedEndpoint.getLoad()).thenReturn(load);
+        when(endpointConnector.connect(ctx)).thenReturn(Completable.error(new RuntimeException("Connection refused")));
+
+        cut.invoke(ctx).test().assertError(RuntimeException.class);
+
+        assertThat(load.inFlight()).isZero();
+        verify(ctx, never()).setInternalAttribute(eq(ATTR_INTERNAL_ENDPOINT_REQUEST_ENDED), any());
+    }
+
+    private Runnable captureRequestEnded() {
+        final ArgumentCaptor<Runnable> requestEndedCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(ctx).setInternalAttribute(eq(ATTR_INTERNAL_ENDPOINT_REQUEST_ENDED), requestEndedCaptor.capture());
+        return requestEndedCaptor.getValue();
+    }
+
     private static Stream<Arguments> provideOverrideMethodAttributes() {
         return Stream.of(
             Arguments.of(HttpMethod.PUT, "Gravitee Common - HttpMethod"),
@@ -53,6 +53,9 @@ public class GatewayConfiguration implements InitializingBean {
     static final String HEALTHCHECK_JITTER_PROPERTY = "services.healthcheck.jitterInMs";
     static final int DEFAULT_HEALTHCHECK_JITTER_MS = 900;
     private static final int MAX_HEALTHCHECK_JITTER_MS = 5000;
+    static final String HEALTHCHECK_SHARE_PROBES_PROPERTY = "services.healthcheck.shareProbes";
+
+    static final String OUTLIER_DETECTION_PROPERTY_PREFIX = "services.outlierDetection.";
 
     private Optional<List<String>> shardingTags;
     private Optional<String> zone;
@@ -192,6 +195,65 @@ public class GatewayConfiguration implements InitializingBean {
         return healthCheckJitterMs;
     }
 
+    /**
+     * Whether endpoints of different APIs having the same health check against the same backend share a single probe.
+     */
+    public boolean shareHealthCheckProbes() {
+        return configuration.getProperty(HEALTHCHECK_SHARE_PROBES_PROPERTY, Boolean.class, true);
+    }
+
+    /**
+     * Passive outlier detection settings, read from <code>services.outlierDetection.*</code>. Invalid values fall back
+     * to their default.
+     */
+    public OutlierDetectionConfiguration outlierDetection() {
+        if (!configuration.getProperty(OUTLIER_DETECTION_PROPERTY_PREFIX + "enabled", Boolean.class, false)) {
+            return OutlierDetectionConfiguration.DISABLED;
+        }
+
+        final long baseEjectionTimeMs = positiveOutlierDetectionProperty(
+            "baseEjectionTimeInMs",
+            OutlierDetectionConfiguration.DEFAULT_BASE_EJECTION_TIME_MS
+        );
+        final long maxEjectionTimeMs = positiveOutlierDetectionProperty(
+            "maxEjectionTimeInMs",
+            OutlierDetectionConfiguration.DEFAULT_MAX_EJECTION_TIME_MS
+        );
+        final long maxEjectionPercent = positiveOutlierDetectionProperty(
+            "maxEjectionPercent",
+            OutlierDetectionConfiguration.DEFAULT_MAX_EJECTION_PERCENT
+        );
+        return new OutlierDetectionConfiguration(
+            true,
+            (int) positiveOutlierDetectionProperty("consecutiveFailures", OutlierDetectionConfiguration.DEFAULT_CONSECUTIVE_FAILURES),
+            baseEjectionTimeMs,
+            Math.max(baseEjectionTimeMs, maxEjectionTimeMs),
+            (int) Math.min(100, maxEjectionPercent),
+            Math.max(
+                0,
+                configuration.getProperty(
+                    OUTLIER_DETECTION_PROPERTY_PREFIX + "slowResponseThresholdInMs",
+                    Long.class,
+                    OutlierDetectionConfiguration.DEFAULT_SLOW_RESPONSE_THRESHOLD_MS
+                )
+            )
+        );
+    }
+
+    private long positiveOutlierDetectionProperty(String name, long defaultValue) {
+        final long value = configuration.getProperty(OUTLIER_DETECTION_PROPERTY_PREFIX + name, Long.class, defaultValue);
+        if (value <= 0) {
+            log.warn(
+                "Invalid {} value: {}. Must be positive. Falling back to default: {}.",
+                OUTLIER_DETECTION_PROPERTY_PREFIX + name,
+                value,
+                defaultValue
+            );
+            return defaultValue;
+        }
+        return value;
+    }
+
     public boolean hasMatchingTags(Set<String> tags) {
         return EnvironmentUtils.hasMatchingTags(shardingTags(), tags);
     }
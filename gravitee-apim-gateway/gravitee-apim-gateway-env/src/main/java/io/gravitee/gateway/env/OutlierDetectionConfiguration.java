@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.env;
+
+/**
+ * Settings of the passive outlier detection: endpoints failing on live traffic are temporarily ejected from their
+ * load balancer, without waiting for an active health check to notice it.
+ *
+ * @param enabled <code>true</code> to detect and eject outliers.
+ * @param consecutiveFailures number of consecutive failures (5xx, connection failures, slow responses) ejecting an endpoint.
+ * @param baseEjectionTimeMs duration of the first ejection, doubled on each new ejection of the same endpoint.
+ * @param maxEjectionTimeMs maximum duration of an ejection.
+ * @param maxEjectionPercent maximum percentage of the endpoints of an api which can be ejected at the same time.
+ * @param slowResponseThresholdMs response time above which a response is counted as a failure, <code>0</code> to disable.
+ *
+ * @author GraviteeSource Team
+ */
+public record OutlierDetectionConfiguration(
+    boolean enabled,
+    int consecutiveFailures,
+    long baseEjectionTimeMs,
+    long maxEjectionTimeMs,
+    int maxEjectionPercent,
+    long slowResponseThresholdMs
+) {
+    public static final int DEFAULT_CONSECUTIVE_FAILURES = 5;
+    public static final long DEFAULT_BASE_EJECTION_TIME_MS = 30_000L;
+    public static final long DEFAULT_MAX_EJECTION_TIME_MS = 300_000L;
+    public static final int DEFAULT_MAX_EJECTION_PERCENT = 50;
+    public static final long DEFAULT_SLOW_RESPONSE_THRESHOLD_MS = 0L;
+
+    public static final OutlierDetectionConfiguration DISABLED = new OutlierDetectionConfiguration(
+        false,
+        DEFAULT_CONSECUTIVE_FAILURES,
+        DEFAULT_BASE_EJECTION_TIME_MS,
+        DEFAULT_MAX_EJECTION_TIME_MS,
+        DEFAULT_MAX_EJECTION_PERCENT,
+        DEFAULT_SLOW_RESPONSE_THRESHOLD_MS
+    );
+}
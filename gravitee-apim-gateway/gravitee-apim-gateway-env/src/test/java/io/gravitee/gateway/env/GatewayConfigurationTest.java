@@ -179,4 +179,41 @@ public class GatewayConfigurationTest {
 
         Assertions.assertEquals("asia", tenantOpt.get());
     }
+
+    @Test
+    public void shouldDisableOutlierDetectionByDefault() {
+        when(configuration.getProperty("services.outlierDetection.enabled", Boolean.class, false)).thenReturn(false);
+
+        Assertions.assertEquals(OutlierDetectionConfiguration.DISABLED, gatewayConfiguration.outlierDetection());
+    }
+
+    @Test
+    public void shouldConfigureOutlierDetection() {
+        when(configuration.getProperty("services.outlierDetection.enabled", Boolean.class, false)).thenReturn(true);
+        when(configuration.getProperty("services.outlierDetection.consecutiveFailures", Long.class, 5L)).thenReturn(3L);
+        when(configuration.getProperty("services.outlierDetection.baseEjectionTimeInMs", Long.class, 30_000L)).thenReturn(1_000L);
+        when(configuration.getProperty("services.outlierDetection.maxEjectionTimeInMs", Long.class, 300_000L)).thenReturn(8_000L);
+        when(configuration.getProperty("services.outlierDetection.maxEjectionPercent", Long.class, 50L)).thenReturn(30L);
+        when(configuration.getProperty("services.outlierDetection.slowResponseThresholdInMs", Long.class, 0L)).thenReturn(2_000L);
+
+        Assertions.assertEquals(
+            new OutlierDetectionConfiguration(true, 3, 1_000L, 8_000L, 30, 2_000L),
+            gatewayConfiguration.outlierDetection()
+        );
+    }
+
+    @Test
+    public void shouldFallbackToDefaultOutlierDetectionSettingsWhenInvalid() {
+        when(configuration.getProperty("services.outlierDetection.enabled", Boolean.class, false)).thenReturn(true);
+        when(configuration.getProperty("services.outlierDetection.consecutiveFailures", Long.class, 5L)).thenReturn(0L);
+        when(configuration.getProperty("services.outlierDetection.baseEjectionTimeInMs", Long.class, 30_000L)).thenReturn(-1L);
+        when(configuration.getProperty("services.outlierDetection.maxEjectionTimeInMs", Long.class, 300_000L)).thenReturn(10_000L);
+        when(configuration.getProperty("services.outlierDetection.maxEjectionPercent", Long.class, 50L)).thenReturn(500L);
+        when(configuration.getProperty("services.outlierDetection.slowResponseThresholdInMs", Long.class, 0L)).thenReturn(-5L);
+
+        Assertions.assertEquals(
+            new OutlierDetectionConfiguration(true, 5, 30_000L, 30_000L, 100, 0L),
+            gatewayConfiguration.outlierDetection()
+        );
+    }
 }
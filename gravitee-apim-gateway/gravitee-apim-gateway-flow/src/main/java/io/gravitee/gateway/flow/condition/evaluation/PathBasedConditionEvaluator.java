@@ -19,7 +19,6 @@ import io.gravitee.definition.model.flow.Flow;
 import io.gravitee.definition.model.flow.Operator;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.core.condition.ConditionEvaluator;
-import java.util.regex.Pattern;
 
 /**
  * This {@link ConditionEvaluator} evaluates to true if the path of the request is matching the
@@ -38,8 +37,8 @@ public class PathBasedConditionEvaluator implements ConditionEvaluator<Flow> {
     }
 
     protected boolean evaluate(String pathInfo, Flow flow) {
-        Pattern pattern = pathPatterns.getOrCreate(flow.getPath());
+        PathMatcher matcher = pathPatterns.getOrCreateMatcher(flow.getPath());
 
-        return (flow.getOperator() == Operator.EQUALS) ? pattern.matcher(pathInfo).matches() : pattern.matcher(pathInfo).lookingAt();
+        return (flow.getOperator() == Operator.EQUALS) ? matcher.matches(pathInfo) : matcher.lookingAt(pathInfo);
     }
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.flow.condition.evaluation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Matcher of a flow path compiled once, when the flow is first evaluated, instead of running the regular expression built
+ * by {@link PathPatterns} on each request.
+ *
+ * The path is compiled into its literal and path parameter segments, evaluated in a single pass over the request path
+ * without any allocation. Paths relying on regular expression constructs (e.g. <code>/(.*)/products</code>) keep being
+ * evaluated with the {@link Pattern}. In both cases, {@link #matches(String)} and {@link #lookingAt(String)} give the same
+ * result as {@link java.util.regex.Matcher#matches()} and {@link java.util.regex.Matcher#lookingAt()} on the pattern.
+ *
+ * @author GraviteeSource Team
+ */
+public final class PathMatcher {
+
+    private static final char PATH_SEPARATOR = '/';
+    private static final String PATH_PARAM_PREFIX = ":";
+    private static final String PATH_PARAM_CHARS = "-._~%!$&'()* +,;=:@|";
+    private static final String LITERAL_CHARS = "-_~%,;@&'=:";
+
+    /**
+     * Segments of the path, a <code>null</code> item standing for a path parameter. <code>null</code> when the path has to
+     * be evaluated with the regular expression.
+     */
+    private final String[] segments;
+    private final Pattern pattern;
+
+    private PathMatcher(String[] segments, Pattern pattern) {
+        this.segments = segments;
+        this.pattern = pattern;
+    }
+
+    static PathMatcher compile(String path, PathPatterns pathPatterns) {
+        final List<String> segments = new ArrayList<>();
+        for (String branch : path.split(String.valueOf(PATH_SEPARATOR))) {
+            if (branch.isEmpty()) {
+                continue;
+            }
+            if (branch.startsWith(PATH_PARAM_PREFIX)) {
+                segments.add(null);
+            } else if (isLiteral(branch)) {
+                segments.add(branch);
+            } else {
+                return new PathMatcher(null, pathPatterns.getOrCreate(path));
+            }
+        }
+        return new PathMatcher(segments.toArray(new String[0]), null);
+    }
+
+    /**
+     * @return <code>true</code> if the whole request path matches the flow path (<code>EQUALS</code> operator).
+     */
+    public boolean matches(String path) {
+        if (segments == null) {
+            return pattern.matcher(path).matches();
+        }
+        final int end = matchSegments(path);
+        return end >= 0 && (end == path.length() || (end == path.length() - 1 && path.charAt(end) == PATH_SEPARATOR));
+    }
+
+    /**
+     * @return <code>true</code> if the beginning of the request path matches the flow path (<code>STARTS_WITH</code> operator).
+     */
+    public boolean lookingAt(String path) {
+        if (segments == null) {
+            return pattern.matcher(path).lookingAt();
+        }
+        return matchSegments(path) >= 0;
+    }
+
+    /**
+     * Match all the segments, each one but the last followed by a separator, against the beginning of the request path.
+     *
+     * @return the position following the last matched segment or <code>-1</code> if the request path doesn't match.
+     */
+    private int matchSegments(String path) {
+        if (segments.length == 0) {
+            return 0;
+        }
+
+        final int length = path.length();
+        if (length == 0 || path.charAt(0) != PATH_SEPARATOR) {
+            return -1;
+        }
+
+        int position = 1;
+        for (int i = 0; i < segments.length; i++) {
+            final String segment = segments[i];
+            if (segment == null) {
+                final int start = position;
+                while (position < length && isPathParamChar(path.charAt(position))) {
+                    position++;
+                }
+                if (position == start) {
+                    return -1;
+                }
+            } else if (path.regionMatches(position, segment, 0, segment.length())) {
+                position += segment.length();
+            } else {
+                return -1;
+            }
+
+            if (i < segments.length - 1) {
+                if (position == length || path.charAt(position) != PATH_SEPARATOR) {
+                    return -1;
+                }
+                position++;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Same characters as the path parameter regular expression of {@link PathPatterns}.
+     */
+    private static boolean isPathParamChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || PATH_PARAM_CHARS.indexOf(c) >= 0;
+    }
+
+    /**
+     * A branch can be matched as a plain string if it doesn't contain any character having a meaning in a regular expression.
+     */
+    private static boolean isLiteral(String branch) {
+        for (int i = 0; i < branch.length(); i++) {
+            final char c = branch.charAt(i);
+            if (!Character.isLetterOrDigit(c) && LITERAL_CHARS.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -34,11 +34,20 @@ public class PathPatterns {
     private static final Pattern SEPARATOR_SPLITTER = Pattern.compile(PATH_SEPARATOR);
 
     private final Map<String, Pattern> cache = new ConcurrentHashMap<>();
+    private final Map<String, PathMatcher> matchers = new ConcurrentHashMap<>();
 
     public Pattern getOrCreate(final String path) {
         return cache.computeIfAbsent(path, this::transform);
     }
 
+    /**
+     * Get the {@link PathMatcher} compiled for the given path, which should be preferred over the {@link Pattern} to
+     * evaluate a request path.
+     */
+    public PathMatcher getOrCreateMatcher(final String path) {
+        return matchers.computeIfAbsent(path, p -> PathMatcher.compile(p, this));
+    }
+
     private Pattern transform(String path) {
         String[] branches = SEPARATOR_SPLITTER.split(path);
         StringBuilder buffer = new StringBuilder(PATH_SEPARATOR);
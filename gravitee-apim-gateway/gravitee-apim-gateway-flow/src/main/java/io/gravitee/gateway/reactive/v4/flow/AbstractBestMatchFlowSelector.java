@@ -16,7 +16,9 @@
 package io.gravitee.gateway.reactive.v4.flow;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
@@ -27,7 +29,17 @@ import java.util.regex.Pattern;
 public abstract class AbstractBestMatchFlowSelector<T> {
 
     private static final String PATH_PARAM_PREFIX = ":";
-    private static final Pattern SEPARATOR_SPLITTER = Pattern.compile("/");
+    private static final char SEPARATOR = '/';
+    private static final Pattern SEPARATOR_SPLITTER = Pattern.compile(String.valueOf(SEPARATOR));
+    private static final String[] NO_SPLITS = new String[0];
+    private static final int SCORE_MATCH = 2;
+    private static final int SCORE_PATH_PARAM = 1;
+    private static final int SCORE_NO_MATCH = 0;
+
+    /**
+     * Flow paths are split once and for all, the request path is never split.
+     */
+    private final Map<String, String[]> flowPathSplits = new ConcurrentHashMap<>();
 
     /**
      * Filters the flows to get the one best matching the request.
@@ -105,40 +117,17 @@ public abstract class AbstractBestMatchFlowSelector<T> {
             return null;
         }
 
+        final int[] pathSeparators = separators(path);
         T selectedFlow = null;
-        Float[] selectedFlowScore = null;
+        String[] selectedFlowSplits = null;
 
         for (T flow : flows) {
-            String[] splits = splitFlowPath(flow);
-            final String[] pathSplits = splitPath(path);
-            final Float[] scores = new Float[splits.length];
-
-            for (int i = 0; i < splits.length; i++) {
-                // First, compute a score foreach split
-                if (i >= pathSplits.length || splits[i].equals(pathSplits[i])) {
-                    scores[i] = 1.0f;
-                } else if (splits[i].startsWith(PATH_PARAM_PREFIX)) {
-                    scores[i] = 0.5f;
-                } else {
-                    scores[i] = 0f;
-                }
-                if (selectedFlow == null) {
-                    selectedFlow = flow;
-                    selectedFlowScore = scores;
-                }
-
-                // Then, if current splits array is longer than selected flow one, the current flow is selected as best
-                if (i == selectedFlowScore.length) {
-                    selectedFlow = flow;
-                    selectedFlowScore = scores;
-                }
-                // Finally, if split score is fewer than selected, no need to continue, else we have a better matching, so we can select the flow
-                if (scores[i] < selectedFlowScore[i]) {
-                    break;
-                } else if (scores[i] > selectedFlowScore[i]) {
-                    selectedFlow = flow;
-                    selectedFlowScore = scores;
-                }
+            final String[] splits = splitFlowPath(flow);
+
+            // A flow without any split has no score and can never be selected.
+            if (splits.length > 0 && (selectedFlow == null || isBetterMatch(splits, selectedFlowSplits, path, pathSeparators))) {
+                selectedFlow = flow;
+                selectedFlowSplits = splits;
             }
         }
 
@@ -147,8 +136,50 @@ public abstract class AbstractBestMatchFlowSelector<T> {
 
     protected abstract Optional<String> providePath(T flow);
 
+    /**
+     * Compare the scores of the splits of a flow against the ones of the currently selected flow, reading from left to right.
+     * The first greater score wins, and when all the scores are equal, the flow having more splits wins.
+     */
+    private static boolean isBetterMatch(String[] splits, String[] selectedFlowSplits, String path, int[] pathSeparators) {
+        for (int i = 0; i < splits.length; i++) {
+            if (i == selectedFlowSplits.length) {
+                return true;
+            }
+
+            final int score = score(splits[i], i, path, pathSeparators);
+            final int selectedScore = score(selectedFlowSplits[i], i, path, pathSeparators);
+            if (score < selectedScore) {
+                return false;
+            } else if (score > selectedScore) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Score of a flow path split against the split of the request path at the same position, doubled to stay on integers:
+     * 2 if equal (or no more split in the request path), 1 for a path parameter, 0 otherwise.
+     */
+    private static int score(String split, int index, String path, int[] pathSeparators) {
+        if (index >= pathSeparators.length - 1) {
+            return SCORE_MATCH;
+        }
+
+        final int start = pathSeparators[index] + 1;
+        final int length = pathSeparators[index + 1] - start;
+        if (split.length() == length && path.regionMatches(start, split, 0, length)) {
+            return SCORE_MATCH;
+        } else if (split.startsWith(PATH_PARAM_PREFIX)) {
+            return SCORE_PATH_PARAM;
+        }
+        return SCORE_NO_MATCH;
+    }
+
     private String[] splitFlowPath(T flow) {
-        return providePath(flow).map(AbstractBestMatchFlowSelector::splitPath).orElse(new String[0]);
+        return providePath(flow)
+            .map(flowPath -> flowPathSplits.computeIfAbsent(flowPath, AbstractBestMatchFlowSelector::splitPath))
+            .orElse(NO_SPLITS);
     }
 
     /**
@@ -167,4 +198,29 @@ public abstract class AbstractBestMatchFlowSelector<T> {
     private static String[] splitPath(String path) {
         return SEPARATOR_SPLITTER.split(path, -1);
     }
+
+    /**
+     * Locate the splits of the request path without creating them: split <code>i</code> is between the separators at
+     * <code>i</code> and <code>i + 1</code> (exclusive), the first and last entries being virtual separators at
+     * <code>-1</code> and <code>path.length()</code>. This gives the same splits as {@link #splitPath(String)}.
+     */
+    private static int[] separators(String path) {
+        int count = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == SEPARATOR) {
+                count++;
+            }
+        }
+
+        final int[] separators = new int[count + 2];
+        separators[0] = -1;
+        int index = 1;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == SEPARATOR) {
+                separators[index++] = i;
+            }
+        }
+        separators[index] = path.length();
+        return separators;
+    }
 }
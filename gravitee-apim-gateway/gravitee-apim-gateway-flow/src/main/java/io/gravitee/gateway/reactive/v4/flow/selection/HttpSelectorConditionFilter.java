@@ -18,14 +18,16 @@ package io.gravitee.gateway.reactive.v4.flow.selection;
 import io.gravitee.definition.model.flow.Operator;
 import io.gravitee.definition.model.v4.flow.Flow;
 import io.gravitee.definition.model.v4.flow.selector.HttpSelector;
+import io.gravitee.definition.model.v4.flow.selector.Selector;
 import io.gravitee.definition.model.v4.flow.selector.SelectorType;
+import io.gravitee.gateway.flow.condition.evaluation.PathMatcher;
 import io.gravitee.gateway.flow.condition.evaluation.PathPatterns;
 import io.gravitee.gateway.reactive.api.context.base.BaseExecutionContext;
 import io.gravitee.gateway.reactive.api.context.http.HttpBaseExecutionContext;
 import io.gravitee.gateway.reactive.core.condition.ConditionFilter;
 import io.gravitee.gateway.reactive.core.condition.http.HttpConditionFilter;
 import io.reactivex.rxjava3.core.Maybe;
-import java.util.regex.Pattern;
+import java.util.Optional;
 
 /**
  * This {@link ConditionFilter} evaluates to true if the request is matching the
@@ -40,25 +42,20 @@ public class HttpSelectorConditionFilter implements HttpConditionFilter<Flow> {
 
     @Override
     public Maybe<Flow> filter(final HttpBaseExecutionContext ctx, final Flow flow) {
-        return flow
-            .selectorByType(SelectorType.HTTP)
-            .map(selector -> {
-                HttpSelector httpSelector = (HttpSelector) selector;
-                if (isMethodMatches(ctx, httpSelector) && isPathMatches(ctx, httpSelector)) {
-                    return Maybe.just(flow);
-                } else {
-                    return Maybe.<Flow>empty();
-                }
-            })
-            .orElse(Maybe.just(flow));
+        final Optional<Selector> selector = flow.selectorByType(SelectorType.HTTP);
+
+        if (selector.isEmpty()) {
+            return Maybe.just(flow);
+        }
+
+        final HttpSelector httpSelector = (HttpSelector) selector.get();
+        return isMethodMatches(ctx, httpSelector) && isPathMatches(ctx, httpSelector) ? Maybe.just(flow) : Maybe.empty();
     }
 
     private boolean isPathMatches(final HttpBaseExecutionContext ctx, final HttpSelector httpSelector) {
-        Pattern pattern = pathPatterns.getOrCreate(httpSelector.getPath());
+        PathMatcher matcher = pathPatterns.getOrCreateMatcher(httpSelector.getPath());
         String pathInfo = ctx.request().pathInfo();
-        return (httpSelector.getPathOperator() == Operator.EQUALS)
-            ? pattern.matcher(pathInfo).matches()
-            : pattern.matcher(pathInfo).lookingAt();
+        return (httpSelector.getPathOperator() == Operator.EQUALS) ? matcher.matches(pathInfo) : matcher.lookingAt(pathInfo);
     }
 
     private boolean isMethodMatches(final HttpBaseExecutionContext ctx, final HttpSelector httpSelector) {
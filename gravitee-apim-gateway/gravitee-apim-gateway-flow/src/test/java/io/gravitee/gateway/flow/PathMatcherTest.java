@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.flow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.gateway.flow.condition.evaluation.PathMatcher;
+import io.gravitee.gateway.flow.condition.evaluation.PathPatterns;
+import java.util.Random;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class PathMatcherTest {
+
+    private final PathPatterns pathPatterns = new PathPatterns();
+
+    @Test
+    void should_match_literal_path() {
+        PathMatcher matcher = pathPatterns.getOrCreateMatcher("/my/path");
+
+        assertThat(matcher.matches("/my/path")).isTrue();
+        assertThat(matcher.matches("/my/path/")).isTrue();
+        assertThat(matcher.matches("/my/path2")).isFalse();
+        assertThat(matcher.matches("/my")).isFalse();
+        assertThat(matcher.lookingAt("/my/path/subpath")).isTrue();
+        assertThat(matcher.lookingAt("/my/path2")).isTrue();
+        assertThat(matcher.lookingAt("/my/other")).isFalse();
+    }
+
+    @Test
+    void should_match_path_param() {
+        PathMatcher matcher = pathPatterns.getOrCreateMatcher("/my/:param/subpath");
+
+        assertThat(matcher.matches("/my/a|b'(*+)/subpath")).isTrue();
+        assertThat(matcher.matches("/my//subpath")).isFalse();
+        assertThat(matcher.matches("/my/a#b/subpath")).isFalse();
+        assertThat(matcher.lookingAt("/my/123/subpath/456")).isTrue();
+    }
+
+    @Test
+    void should_match_root_path() {
+        PathMatcher matcher = pathPatterns.getOrCreateMatcher("/");
+
+        assertThat(matcher.matches("/")).isTrue();
+        assertThat(matcher.matches("")).isTrue();
+        assertThat(matcher.matches("/my")).isFalse();
+        assertThat(matcher.lookingAt("/my/path")).isTrue();
+    }
+
+    @Test
+    void should_match_regular_expression_path() {
+        PathMatcher matcher = pathPatterns.getOrCreateMatcher("/(.*)/products");
+
+        assertThat(matcher.lookingAt("/300/products/123")).isTrue();
+        assertThat(matcher.lookingAt("/300/purchase-orders")).isFalse();
+    }
+
+    @Test
+    void should_match_as_the_regular_expression() {
+        final Random random = new Random(42);
+        final String[] flowSegments = { "a", "ab", "v1", "a-b", ":id", ":", "a.b", "(.*)", "é" };
+        final String[] requestSegments = { "a", "ab", "v1", "a-b", "a.b", "axb", "12", "a|b", "x%20y", "a:b", "#", "?q", " ", "é", "" };
+
+        for (int i = 0; i < 20000; i++) {
+            final String flowPath = randomPath(random, flowSegments);
+            final String requestPath = randomPath(random, requestSegments);
+            final Pattern pattern = pathPatterns.getOrCreate(flowPath);
+            final PathMatcher matcher = pathPatterns.getOrCreateMatcher(flowPath);
+
+            assertThat(matcher.matches(requestPath))
+                .as("matches flow[%s] request[%s]", flowPath, requestPath)
+                .isEqualTo(pattern.matcher(requestPath).matches());
+            assertThat(matcher.lookingAt(requestPath))
+                .as("lookingAt flow[%s] request[%s]", flowPath, requestPath)
+                .isEqualTo(pattern.matcher(requestPath).lookingAt());
+        }
+    }
+
+    private static String randomPath(Random random, String[] segments) {
+        final StringBuilder path = new StringBuilder();
+        final int depth = random.nextInt(5);
+        for (int i = 0; i < depth; i++) {
+            if (random.nextInt(8) > 0) {
+                path.append('/');
+            }
+            path.append(segments[random.nextInt(segments.length)]);
+        }
+        if (random.nextBoolean()) {
+            path.append('/');
+        }
+        return path.toString();
+    }
+}
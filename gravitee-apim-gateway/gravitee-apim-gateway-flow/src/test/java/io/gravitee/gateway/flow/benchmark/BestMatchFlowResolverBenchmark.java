@@ -39,8 +39,10 @@ import io.gravitee.gateway.flow.condition.ConditionalFlowResolver;
 import io.gravitee.gateway.flow.condition.evaluation.PathBasedConditionEvaluator;
 import io.gravitee.reporter.api.http.Metrics;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.net.ssl.SSLSession;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.runner.Runner;
@@ -58,8 +60,14 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 @Fork(value = 1)
 public class BestMatchFlowResolverBenchmark {
 
+    private static final String REQUEST_PATH = "/book/99/chapter/888/page/7777/paragraph/6666/line/5/char/10";
+
+    @Param({ "10", "100", "1000" })
+    int flowCount;
+
     FlowResolver flowResolver;
     SimpleExecutionContext executionContext;
+    BestMatchFlowSelector bestMatchFlowSelector;
 
     private final ConditionEvaluator evaluator = new CompositeConditionEvaluator(new PathBasedConditionEvaluator());
 
@@ -73,10 +81,9 @@ public class BestMatchFlowResolverBenchmark {
     @Setup
     public void setUp() {
         flowResolver = new TestFlowResolver(evaluator, buildFlows());
-        executionContext = new SimpleExecutionContext(
-            new TestRequest("/book/99/chapter/888/page/7777/paragraph/6666/line/5/char/10"),
-            null
-        );
+        executionContext = new SimpleExecutionContext(new TestRequest(REQUEST_PATH), null);
+        // The selector is created once per gateway, flow paths are split on first use only.
+        bestMatchFlowSelector = new BestMatchFlowSelector();
     }
 
     @Benchmark
@@ -86,31 +93,28 @@ public class BestMatchFlowResolverBenchmark {
 
     @Benchmark
     public void benchBestMatch() {
-        new BestMatchFlowResolver(flowResolver, new BestMatchFlowSelector()).resolve(executionContext);
+        new BestMatchFlowResolver(flowResolver, bestMatchFlowSelector).resolve(executionContext);
     }
 
+    /**
+     * Build flows all matching the request path (as they would after the {@link PathBasedConditionEvaluator}), mixing
+     * static segments and path parameters at random depths.
+     */
     private List<Flow> buildFlows() {
-        return List.of(
-            "/book",
-            "/book/99",
-            "/book/:id",
-            "/book/99/chapter/888",
-            "/book/:id/chapter/:chapterId",
-            "/book/99/chapter/888",
-            "/book/:id/chapter/:chapterId/page/:pageId",
-            "/book/99/chapter/888/page/7777",
-            "/book/:id/chapter/:chapterId/page/:pageId/paragraph/:paragraphId",
-            "/book/99/chapter/888/page/7777/paragraph/6666",
-            "/book/:id/chapter/:chapterId/page/:pageId/paragraph/:paragraphId/line/:lineId",
-            "/book/99/chapter/888/page/7777/paragraph/6666/line/5",
-            "/book/:id/chapter/:chapterId/page/:pageId/paragraph/:paragraphId/line/:lineId/char/:charid",
-            "/book/99/chapter/888/page/7777/paragraph/6666/line/5/char/1"
-        )
-            .stream()
-            .map(path -> {
+        final String[] requestSplits = REQUEST_PATH.substring(1).split("/");
+        final Random random = new Random(42);
+
+        return IntStream.range(0, flowCount)
+            .mapToObj(i -> {
+                final StringBuilder path = new StringBuilder();
+                final int depth = 1 + random.nextInt(requestSplits.length);
+                for (int d = 0; d < depth; d++) {
+                    path.append('/').append(d % 2 == 1 && random.nextBoolean() ? ":param" + d : requestSplits[d]);
+                }
+
                 Flow flow = new Flow();
                 PathOperator pathOperator = new PathOperator();
-                pathOperator.setPath(path);
+                pathOperator.setPath(path.toString());
                 // No need to test different operator in this test.
                 // Input of BestMatchPolicyResolver is already filtered by PathBasedConditionEvaluator
                 pathOperator.setOperator(Operator.STARTS_WITH);
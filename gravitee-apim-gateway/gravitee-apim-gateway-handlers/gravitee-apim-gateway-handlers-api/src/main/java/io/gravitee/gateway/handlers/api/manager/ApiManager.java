@@ -39,6 +39,15 @@ public interface ApiManager {
      */
     boolean register(ReactableApi<?> api);
 
+    /**
+     * Register several API definitions at once, each one as with {@link #register(ReactableApi)}. The reactor creates
+     * the handlers of the deployed APIs together instead of one by one.
+     * @param apis the API definitions to register.
+     */
+    default void registerAll(Collection<? extends ReactableApi<?>> apis) {
+        apis.forEach(this::register);
+    }
+
     void unregister(String apiId);
 
     void refresh();
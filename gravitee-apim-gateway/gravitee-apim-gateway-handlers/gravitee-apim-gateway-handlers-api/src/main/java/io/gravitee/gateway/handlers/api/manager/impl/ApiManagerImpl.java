@@ -32,6 +32,7 @@ import io.gravitee.gateway.handlers.api.manager.Deployer;
 import io.gravitee.gateway.handlers.api.manager.deployer.ApiDeployer;
 import io.gravitee.gateway.handlers.api.registry.ApiProductRegistry;
 import io.gravitee.gateway.reactor.ReactableApi;
+import io.gravitee.gateway.reactor.ReactorBatchEvent;
 import io.gravitee.gateway.reactor.ReactorEvent;
 import io.gravitee.node.api.license.ForbiddenFeatureException;
 import io.gravitee.node.api.license.InvalidLicenseException;
@@ -292,6 +293,16 @@ public class ApiManagerImpl implements ApiManager {
         return register(api, false);
     }
 
+    @Override
+    public void registerAll(Collection<? extends ReactableApi<?>> apis) {
+        eventManager.publishEvent(ReactorBatchEvent.BEGIN, null);
+        try {
+            apis.forEach(api -> register(api, false));
+        } finally {
+            eventManager.publishEvent(ReactorBatchEvent.END, null);
+        }
+    }
+
     @Override
     public void unregister(String apiId) {
         withPerApiLock(apiId, () -> undeploy(apiId));
@@ -69,6 +69,7 @@ import io.gravitee.gateway.reactive.core.tracing.TracingHook;
 import io.gravitee.gateway.reactive.core.v4.analytics.AnalyticsContext;
 import io.gravitee.gateway.reactive.core.v4.analytics.AnalyticsUtils;
 import io.gravitee.gateway.reactive.core.v4.analytics.LoggingContext;
+import io.gravitee.gateway.reactive.core.v4.endpoint.DefaultEndpointManager;
 import io.gravitee.gateway.reactive.core.v4.endpoint.EndpointManager;
 import io.gravitee.gateway.reactive.core.v4.entrypoint.DefaultEntrypointConnectorResolver;
 import io.gravitee.gateway.reactive.core.v4.invoker.HttpEndpointInvoker;
@@ -82,6 +83,7 @@ import io.gravitee.gateway.reactive.policy.PolicyManager;
 import io.gravitee.gateway.reactor.handler.Acceptor;
 import io.gravitee.gateway.reactor.handler.HttpAcceptor;
 import io.gravitee.gateway.reactor.handler.HttpAcceptorFactory;
+import io.gravitee.gateway.reactor.handler.ReactorHandler;
 import io.gravitee.gateway.reactor.handler.http.AccessPointHttpAcceptor;
 import io.gravitee.gateway.report.ReporterService;
 import io.gravitee.gateway.report.guard.LogGuardService;
@@ -404,7 +406,11 @@ public class DefaultApiReactor extends AbstractApiReactor {
                 endPhaseTracing(ctx, REQUEST, null);
                 endPhaseTracing(ctx, RESPONSE, null);
             })
-            .doFinally(pendingRequests::decrementAndGet);
+            .doFinally(() -> {
+                // The response has been sent (or the execution aborted): the endpoint which has responded is not busy anymore.
+                HttpEndpointInvoker.endRequest(ctx);
+                pendingRequests.decrementAndGet();
+            });
     }
 
     protected Completable startPhaseTracing(final MutableExecutionContext ctx, final ExecutionPhase executionPhase) {
@@ -639,6 +645,30 @@ public class DefaultApiReactor extends AbstractApiReactor {
         return lifecycleState;
     }
 
+    /**
+     * When the API is redeployed, the endpoint groups which have not changed keep the connectors of the previous revision,
+     * along with their connection pools. Everything else is created again.
+     */
+    @Override
+    public void takeOver(final ReactorHandler previous) {
+        if (
+            previous instanceof DefaultApiReactor previousReactor &&
+            endpointManager instanceof DefaultEndpointManager defaultEndpointManager &&
+            previousReactor.endpointManager instanceof DefaultEndpointManager previousEndpointManager
+        ) {
+            final Set<String> reusableGroups = ReusableEndpointGroups.between(previousReactor.api.getDefinition(), api.getDefinition());
+            log.debug("API [{}] is redeployed, endpoint groups kept from the previous revision: {}", api.getId(), reusableGroups);
+            defaultEndpointManager.takeOver(previousEndpointManager, reusableGroups);
+        }
+    }
+
+    @Override
+    public void cancelTakeOver() {
+        if (endpointManager instanceof DefaultEndpointManager defaultEndpointManager) {
+            defaultEndpointManager.cancelTakeOver();
+        }
+    }
+
     @Override
     protected void doStart() throws Exception {
         log.debug("API reactor is now starting, preparing API context...");
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.handlers.api.v4;
+
+import io.gravitee.definition.model.v4.Api;
+import io.gravitee.definition.model.v4.endpointgroup.EndpointGroup;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Find the endpoint groups of a v4 API whose endpoint connectors can be kept when the API is redeployed: the groups
+ * defined the same way in both revisions.
+ *
+ * @author GraviteeSource Team
+ */
+public final class ReusableEndpointGroups {
+
+    private ReusableEndpointGroups() {}
+
+    /**
+     * The endpoint connectors are created with the deployment context of the API, which exposes its properties: they are
+     * only reused when the properties have not changed either.
+     *
+     * @return the name of the endpoint groups whose endpoint connectors can be kept.
+     */
+    public static Set<String> between(final Api previous, final Api next) {
+        if (!Objects.equals(previous.getProperties(), next.getProperties())) {
+            return Set.of();
+        }
+        return unchangedEndpointGroups(previous.getEndpointGroups(), next.getEndpointGroups());
+    }
+
+    private static Set<String> unchangedEndpointGroups(final List<EndpointGroup> previous, final List<EndpointGroup> next) {
+        if (previous == null || next == null) {
+            return Set.of();
+        }
+        final Map<String, EndpointGroup> previousByName = previous
+            .stream()
+            .collect(Collectors.toMap(EndpointGroup::getName, Function.identity(), (first, second) -> first));
+        final Set<String> unchanged = new HashSet<>();
+        for (EndpointGroup group : next) {
+            if (group.equals(previousByName.get(group.getName()))) {
+                unchanged.add(group.getName());
+            }
+        }
+        return Collections.unmodifiableSet(unchanged);
+    }
+}
@@ -15,14 +15,13 @@
  */
 package io.gravitee.gateway.reactive.handlers.api.v4.analytics.logging.request;
 
-import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.http.HttpHeaderNames;
 import io.gravitee.gateway.api.http.HttpHeaders;
 import io.gravitee.gateway.reactive.api.context.http.HttpPlainRequest;
 import io.gravitee.gateway.reactive.core.context.HttpExecutionContextInternal;
 import io.gravitee.gateway.reactive.core.context.HttpRequestInternal;
-import io.gravitee.gateway.reactive.core.v4.analytics.BufferUtils;
 import io.gravitee.gateway.reactive.core.v4.analytics.LoggingContext;
+import io.gravitee.gateway.reactive.core.v4.analytics.PayloadCapture;
 import io.gravitee.reporter.api.v4.metric.Metrics;
 
 /**
@@ -45,16 +44,18 @@ public class LogEndpointRequest extends LogRequest {
             this.setSpanId(tracer.spanId());
         }
 
-        final Buffer buffer = Buffer.buffer();
-
         if (isLogPayload() && loggingContext.isContentTypeLoggable(request.headers().get(HttpHeaderNames.CONTENT_TYPE), ctx)) {
             request.registerBuffersInterceptor(chunks -> {
-                if (loggingContext.isBodyLoggable()) {
+                if (loggingContext.isBodyLoggable(ctx)) {
+                    final PayloadCapture capture = loggingContext.newPayloadCapture();
                     chunks = chunks
-                        .doOnNext(chunk -> BufferUtils.appendBuffer(buffer, chunk, loggingContext.getMaxSizeLogMessage()))
-                        .doFinally(() -> this.setBody(buffer.toString()));
+                        .doOnNext(capture::append)
+                        .doFinally(() -> {
+                            this.setBody(capture.toString());
+                            capture.release();
+                        });
                 } else {
-                    this.setBody("BODY NOT CAPTURED");
+                    this.setBody(LoggingContext.BODY_NOT_CAPTURED);
                 }
 
                 return chunks;
@@ -15,13 +15,12 @@
  */
 package io.gravitee.gateway.reactive.handlers.api.v4.analytics.logging.request;
 
-import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.http.HttpHeaderNames;
 import io.gravitee.gateway.api.http.HttpHeaders;
 import io.gravitee.gateway.reactive.core.context.HttpExecutionContextInternal;
 import io.gravitee.gateway.reactive.core.context.HttpRequestInternal;
-import io.gravitee.gateway.reactive.core.v4.analytics.BufferUtils;
 import io.gravitee.gateway.reactive.core.v4.analytics.LoggingContext;
+import io.gravitee.gateway.reactive.core.v4.analytics.PayloadCapture;
 
 /**
  * Allows to log the response status, headers and body sent by the client depending on what is configured on the {@link LoggingContext}.
@@ -44,17 +43,17 @@ public class LogEntrypointRequest extends LogRequest {
         }
 
         if (isLogPayload() && loggingContext.isContentTypeLoggable(request.headers().get(HttpHeaderNames.CONTENT_TYPE), ctx)) {
-            final Buffer buffer = Buffer.buffer();
-
-            if (loggingContext.isBodyLoggable()) {
+            if (loggingContext.isBodyLoggable(ctx)) {
+                final PayloadCapture capture = loggingContext.newPayloadCapture();
                 request.chunks(
                     request
                         .chunks()
-                        .doOnNext(chunk -> BufferUtils.appendBuffer(buffer, chunk, loggingContext.getMaxSizeLogMessage()))
-                        .doOnComplete(() -> this.setBody(buffer.toString()))
+                        .doOnNext(capture::append)
+                        .doOnComplete(() -> this.setBody(capture.toString()))
+                        .doFinally(capture::release)
                 );
             } else {
-                this.setBody("BODY NOT CAPTURED");
+                this.setBody(LoggingContext.BODY_NOT_CAPTURED);
             }
         }
 
@@ -15,15 +15,14 @@
  */
 package io.gravitee.gateway.reactive.handlers.api.v4.analytics.logging.response;
 
-import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.http.HttpHeaderNames;
 import io.gravitee.gateway.reactive.api.ExecutionFailure;
 import io.gravitee.gateway.reactive.api.context.InternalContextAttributes;
 import io.gravitee.gateway.reactive.api.context.http.HttpPlainExecutionContext;
 import io.gravitee.gateway.reactive.core.context.HttpExecutionContextInternal;
 import io.gravitee.gateway.reactive.core.context.HttpResponseInternal;
-import io.gravitee.gateway.reactive.core.v4.analytics.BufferUtils;
 import io.gravitee.gateway.reactive.core.v4.analytics.LoggingContext;
+import io.gravitee.gateway.reactive.core.v4.analytics.PayloadCapture;
 import io.gravitee.gateway.reactive.handlers.api.v4.analytics.logging.LogHeadersCaptor;
 
 /**
@@ -47,15 +46,16 @@ public class LogEndpointResponse extends LogResponse {
         response.registerBuffersInterceptor(chunks -> {
             // Nothing to prepare for the endpoint response.
             if (isLogPayload() && loggingContext.isContentTypeLoggable(response.headers().get(HttpHeaderNames.CONTENT_TYPE), ctx)) {
-                final Buffer buffer = Buffer.buffer();
-                if (loggingContext.isBodyLoggable()) {
+                if (loggingContext.isBodyLoggable(ctx)) {
+                    final PayloadCapture capture = loggingContext.newPayloadCapture();
                     chunks = chunks
-                        .doOnNext(chunk -> BufferUtils.appendBuffer(buffer, chunk, loggingContext.getMaxSizeLogMessage()))
+                        .doOnNext(capture::append)
                         .doFinally(() -> {
-                            if (buffer.length() > 0) this.setBody(buffer.toString());
+                            if (capture.length() > 0) this.setBody(capture.toString());
+                            capture.release();
                         });
                 } else {
-                    this.setBody("BODY NOT CAPTURED");
+                    this.setBody(LoggingContext.BODY_NOT_CAPTURED);
                 }
             }
 
@@ -79,7 +79,12 @@ public class LogEndpointResponse extends LogResponse {
             final ExecutionFailure executionFailure = ctx.getInternalAttribute(InternalContextAttributes.ATTR_INTERNAL_EXECUTION_FAILURE);
             if (executionFailure != null) {
                 status = executionFailure.statusCode();
-                if (isLogPayload() && loggingContext.isBodyLoggable() && executionFailure.message() != null && this.getBody() == null) {
+                if (
+                    isLogPayload() &&
+                    executionFailure.message() != null &&
+                    (this.getBody() == null || LoggingContext.BODY_NOT_CAPTURED.equals(this.getBody())) &&
+                    loggingContext.isErrorBodyLoggable()
+                ) {
                     this.setBody(executionFailure.message());
                 }
             }
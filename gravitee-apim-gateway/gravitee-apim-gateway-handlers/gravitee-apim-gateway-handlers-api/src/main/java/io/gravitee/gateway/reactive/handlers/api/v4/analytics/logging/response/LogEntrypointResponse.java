@@ -15,14 +15,13 @@
  */
 package io.gravitee.gateway.reactive.handlers.api.v4.analytics.logging.response;
 
-import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.http.HttpHeaderNames;
 import io.gravitee.gateway.reactive.api.ExecutionFailure;
 import io.gravitee.gateway.reactive.api.context.InternalContextAttributes;
 import io.gravitee.gateway.reactive.core.context.HttpExecutionContextInternal;
 import io.gravitee.gateway.reactive.core.context.HttpResponseInternal;
-import io.gravitee.gateway.reactive.core.v4.analytics.BufferUtils;
 import io.gravitee.gateway.reactive.core.v4.analytics.LoggingContext;
+import io.gravitee.gateway.reactive.core.v4.analytics.PayloadCapture;
 
 /**
  * Allows to log the response status, headers and body returned to the client depending on what is configured on the {@link LoggingContext}.
@@ -44,18 +43,19 @@ public class LogEntrypointResponse extends LogResponse {
         }
 
         if (isLogPayload() && loggingContext.isContentTypeLoggable(response.headers().get(HttpHeaderNames.CONTENT_TYPE), ctx)) {
-            final Buffer buffer = Buffer.buffer();
-            if (loggingContext.isBodyLoggable()) {
+            if (loggingContext.isBodyLoggable(ctx)) {
+                final PayloadCapture capture = loggingContext.newPayloadCapture();
                 response.chunks(
                     response
                         .chunks()
-                        .doOnNext(chunk -> BufferUtils.appendBuffer(buffer, chunk, loggingContext.getMaxSizeLogMessage()))
+                        .doOnNext(capture::append)
                         .doOnComplete(() -> {
-                            if (buffer.length() > 0) this.setBody(buffer.toString());
+                            if (capture.length() > 0) this.setBody(capture.toString());
                         })
+                        .doFinally(capture::release)
                 );
             } else {
-                this.setBody("BODY NOT CAPTURED");
+                this.setBody(LoggingContext.BODY_NOT_CAPTURED);
             }
         }
 
@@ -67,10 +67,10 @@ public class LogEntrypointResponse extends LogResponse {
         this.setStatus(executionFailure != null ? executionFailure.statusCode() : response.status());
         if (
             isLogPayload() &&
-            loggingContext.isBodyLoggable() &&
             executionFailure != null &&
             executionFailure.message() != null &&
-            this.getBody() == null
+            (this.getBody() == null || LoggingContext.BODY_NOT_CAPTURED.equals(this.getBody())) &&
+            loggingContext.isErrorBodyLoggable()
         ) {
             this.setBody(executionFailure.message());
         }
@@ -68,9 +68,9 @@ public class LogResponseProcessor implements Processor {
                         endpointResponse.setStatus(executionFailure.statusCode());
                         if (
                             loggingContext.endpointResponsePayload() &&
-                            loggingContext.isBodyLoggable() &&
                             executionFailure.message() != null &&
-                            endpointResponse.getBody() == null
+                            (endpointResponse.getBody() == null || LoggingContext.BODY_NOT_CAPTURED.equals(endpointResponse.getBody())) &&
+                            loggingContext.isErrorBodyLoggable()
                         ) {
                             endpointResponse.setBody(executionFailure.message());
                         }
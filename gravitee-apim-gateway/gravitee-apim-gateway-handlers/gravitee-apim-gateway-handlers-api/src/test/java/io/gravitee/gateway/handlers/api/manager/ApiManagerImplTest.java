@@ -21,6 +21,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -49,6 +50,7 @@ import io.gravitee.gateway.handlers.api.manager.impl.ApiManagerImpl;
 import io.gravitee.gateway.handlers.api.registry.ApiProductRegistry;
 import io.gravitee.gateway.reactive.handlers.api.v4.NativeApi;
 import io.gravitee.gateway.reactor.ReactableApi;
+import io.gravitee.gateway.reactor.ReactorBatchEvent;
 import io.gravitee.gateway.reactor.ReactorEvent;
 import io.gravitee.node.api.license.ForbiddenFeatureException;
 import io.gravitee.node.api.license.InvalidLicenseException;
@@ -71,6 +73,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -262,6 +265,20 @@ public class ApiManagerImplTest {
                     verify(eventManager).publishEvent(ReactorEvent.DEPLOY, api);
                 }
 
+                @Test
+                public void should_deploy_apis_within_a_batch() {
+                    var api = buildTestApi();
+                    setPlans(api, singletonList(buildMockPlan()));
+
+                    apiManager.registerAll(List.of(api));
+
+                    InOrder inOrder = inOrder(eventManager);
+                    inOrder.verify(eventManager).publishEvent(ReactorBatchEvent.BEGIN, null);
+                    inOrder.verify(eventManager).publishEvent(ReactorEvent.DEPLOY, api);
+                    inOrder.verify(eventManager).publishEvent(ReactorBatchEvent.END, null);
+                    assertThat(apiManager.apis()).hasSize(1);
+                }
+
                 @ParameterizedTest(name = "{2}")
                 @CsvSource(
                     delimiter = '|',
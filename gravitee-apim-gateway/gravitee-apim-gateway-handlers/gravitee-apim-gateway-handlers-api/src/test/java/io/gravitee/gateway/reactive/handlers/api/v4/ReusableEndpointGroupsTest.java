@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.handlers.api.v4;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.definition.model.v4.Api;
+import io.gravitee.definition.model.v4.endpointgroup.Endpoint;
+import io.gravitee.definition.model.v4.endpointgroup.EndpointGroup;
+import io.gravitee.definition.model.v4.plan.Plan;
+import io.gravitee.definition.model.v4.property.Property;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ReusableEndpointGroupsTest {
+
+    @Test
+    void should_keep_all_endpoint_groups_between_same_definitions() {
+        assertThat(ReusableEndpointGroups.between(anApi(), anApi())).containsExactlyInAnyOrder("group-1", "group-2");
+    }
+
+    @Test
+    void should_keep_endpoint_groups_when_only_a_plan_is_added() {
+        final Api next = anApi();
+        next.setPlans(Map.of("plan-1", aPlan("plan-1"), "plan-2", aPlan("plan-2")));
+
+        assertThat(ReusableEndpointGroups.between(anApi(), next)).containsExactlyInAnyOrder("group-1", "group-2");
+    }
+
+    @Test
+    void should_not_keep_an_endpoint_group_whose_endpoint_changed() {
+        final Api next = anApi();
+        next.getEndpointGroups().get(1).getEndpoints().get(0).setConfiguration("{\"target\":\"https://other.gravitee.io\"}");
+
+        assertThat(ReusableEndpointGroups.between(anApi(), next)).containsExactly("group-1");
+    }
+
+    @Test
+    void should_not_keep_a_new_endpoint_group() {
+        final Api next = anApi();
+        next.setEndpointGroups(List.of(anEndpointGroup("group-1"), anEndpointGroup("group-3")));
+
+        assertThat(ReusableEndpointGroups.between(anApi(), next)).containsExactly("group-1");
+    }
+
+    @Test
+    void should_not_keep_any_endpoint_group_when_properties_changed() {
+        final Api next = anApi();
+        next.setProperties(List.of(new Property("key", "other value")));
+
+        assertThat(ReusableEndpointGroups.between(anApi(), next)).isEmpty();
+    }
+
+    private static Api anApi() {
+        return Api.builder()
+            .id("api-id")
+            .endpointGroups(List.of(anEndpointGroup("group-1"), anEndpointGroup("group-2")))
+            .plans(Map.of("plan-1", aPlan("plan-1")))
+            .properties(List.of(new Property("key", "value")))
+            .build();
+    }
+
+    private static EndpointGroup anEndpointGroup(final String name) {
+        return EndpointGroup.builder()
+            .name(name)
+            .type("http-proxy")
+            .sharedConfiguration("{}")
+            .endpoints(
+                List.of(
+                    Endpoint.builder()
+                        .name(name + "-endpoint")
+                        .type("http-proxy")
+                        .configuration("{\"target\":\"https://api.gravitee.io\"}")
+                        .inheritConfiguration(true)
+                        .build()
+                )
+            )
+            .build();
+    }
+
+    private static Plan aPlan(final String id) {
+        return Plan.builder().id(id).name(id).build();
+    }
+}
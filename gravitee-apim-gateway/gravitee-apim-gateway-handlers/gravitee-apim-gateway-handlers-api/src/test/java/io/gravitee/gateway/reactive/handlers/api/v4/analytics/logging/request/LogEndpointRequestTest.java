@@ -30,6 +30,7 @@ import io.gravitee.gateway.reactive.api.tracing.Tracer;
 import io.gravitee.gateway.reactive.core.context.HttpExecutionContextInternal;
 import io.gravitee.gateway.reactive.core.context.HttpRequestInternal;
 import io.gravitee.gateway.reactive.core.v4.analytics.LoggingContext;
+import io.gravitee.gateway.reactive.core.v4.analytics.PayloadCapture;
 import io.gravitee.reporter.api.v4.metric.Metrics;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.FlowableTransformer;
@@ -143,8 +144,8 @@ class LogEndpointRequestTest {
         initializeHeaders(HttpHeaders.create());
         when(loggingContext.endpointRequestHeaders()).thenReturn(false);
         when(loggingContext.endpointRequestPayload()).thenReturn(true);
-        when(loggingContext.getMaxSizeLogMessage()).thenReturn(-1);
-        when(loggingContext.isBodyLoggable()).thenReturn(true);
+        when(loggingContext.newPayloadCapture()).thenReturn(new PayloadCapture(-1, null));
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(true);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         cut.setupCapture(ctx);
@@ -161,8 +162,8 @@ class LogEndpointRequestTest {
         initializeHeaders(HttpHeaders.create());
         when(loggingContext.endpointRequestHeaders()).thenReturn(true);
         when(loggingContext.endpointRequestPayload()).thenReturn(true);
-        when(loggingContext.getMaxSizeLogMessage()).thenReturn(-1);
-        when(loggingContext.isBodyLoggable()).thenReturn(true);
+        when(loggingContext.newPayloadCapture()).thenReturn(new PayloadCapture(-1, null));
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(true);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         cut.setupCapture(ctx);
@@ -196,8 +197,8 @@ class LogEndpointRequestTest {
         initializeHeaders(HttpHeaders.create());
         when(loggingContext.endpointRequestHeaders()).thenReturn(false);
         when(loggingContext.endpointRequestPayload()).thenReturn(true);
-        when(loggingContext.getMaxSizeLogMessage()).thenReturn(maxPayloadSize);
-        when(loggingContext.isBodyLoggable()).thenReturn(true);
+        when(loggingContext.newPayloadCapture()).thenReturn(new PayloadCapture(maxPayloadSize, null));
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(true);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         cut.setupCapture(ctx);
@@ -212,7 +213,7 @@ class LogEndpointRequestTest {
         initializeHeaders(HttpHeaders.create());
         when(loggingContext.endpointRequestHeaders()).thenReturn(false);
         when(loggingContext.endpointRequestPayload()).thenReturn(true);
-        when(loggingContext.isBodyLoggable()).thenReturn(false);
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(false);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         cut.setupCapture(ctx);
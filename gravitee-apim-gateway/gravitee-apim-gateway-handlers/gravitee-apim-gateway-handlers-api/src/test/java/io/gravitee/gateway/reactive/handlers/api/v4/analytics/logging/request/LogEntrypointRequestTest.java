@@ -34,6 +34,7 @@ import io.gravitee.gateway.reactive.api.tracing.Tracer;
 import io.gravitee.gateway.reactive.core.context.HttpExecutionContextInternal;
 import io.gravitee.gateway.reactive.core.context.HttpRequestInternal;
 import io.gravitee.gateway.reactive.core.v4.analytics.LoggingContext;
+import io.gravitee.gateway.reactive.core.v4.analytics.PayloadCapture;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.subscribers.TestSubscriber;
 import io.vertx.core.http.impl.headers.HeadersMultiMap;
@@ -112,8 +113,8 @@ class LogEntrypointRequestTest {
         when(request.headers()).thenReturn(HttpHeaders.create());
         when(loggingContext.entrypointRequestHeaders()).thenReturn(false);
         when(loggingContext.entrypointRequestPayload()).thenReturn(true);
-        when(loggingContext.getMaxSizeLogMessage()).thenReturn(-1);
-        when(loggingContext.isBodyLoggable()).thenReturn(true);
+        when(loggingContext.newPayloadCapture()).thenReturn(new PayloadCapture(-1, null));
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(true);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         final var logRequest = new LogEntrypointRequest(loggingContext, request);
@@ -153,8 +154,8 @@ class LogEntrypointRequestTest {
         when(request.headers()).thenReturn(HttpHeaders.create());
         when(loggingContext.entrypointRequestHeaders()).thenReturn(false);
         when(loggingContext.entrypointRequestPayload()).thenReturn(true);
-        when(loggingContext.getMaxSizeLogMessage()).thenReturn(maxPayloadSize);
-        when(loggingContext.isBodyLoggable()).thenReturn(true);
+        when(loggingContext.newPayloadCapture()).thenReturn(new PayloadCapture(maxPayloadSize, null));
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(true);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         final var logRequest = new LogEntrypointRequest(loggingContext, request);
@@ -173,7 +174,7 @@ class LogEntrypointRequestTest {
         when(request.headers()).thenReturn(HttpHeaders.create());
         when(loggingContext.entrypointRequestHeaders()).thenReturn(false);
         when(loggingContext.entrypointRequestPayload()).thenReturn(true);
-        when(loggingContext.isBodyLoggable()).thenReturn(false);
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(false);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         final var logRequest = new LogEntrypointRequest(loggingContext, request);
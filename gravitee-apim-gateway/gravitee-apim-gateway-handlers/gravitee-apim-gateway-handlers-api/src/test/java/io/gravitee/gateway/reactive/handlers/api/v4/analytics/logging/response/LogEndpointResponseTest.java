@@ -37,6 +37,7 @@ import io.gravitee.gateway.reactive.api.tracing.Tracer;
 import io.gravitee.gateway.reactive.core.context.HttpExecutionContextInternal;
 import io.gravitee.gateway.reactive.core.context.HttpResponseInternal;
 import io.gravitee.gateway.reactive.core.v4.analytics.LoggingContext;
+import io.gravitee.gateway.reactive.core.v4.analytics.PayloadCapture;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.FlowableTransformer;
 import io.vertx.core.http.impl.headers.HeadersMultiMap;
@@ -166,8 +167,8 @@ class LogEndpointResponseTest {
         initializeHeaders(HttpHeaders.create());
         when(loggingContext.endpointResponseHeaders()).thenReturn(false);
         when(loggingContext.endpointResponsePayload()).thenReturn(true);
-        when(loggingContext.getMaxSizeLogMessage()).thenReturn(-1);
-        when(loggingContext.isBodyLoggable()).thenReturn(true);
+        when(loggingContext.newPayloadCapture()).thenReturn(new PayloadCapture(-1, null));
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(true);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         cut.setupCapture(ctx);
@@ -184,8 +185,8 @@ class LogEndpointResponseTest {
         initializeHeaders(HttpHeaders.create());
         when(loggingContext.endpointResponseHeaders()).thenReturn(true);
         when(loggingContext.endpointResponsePayload()).thenReturn(true);
-        when(loggingContext.getMaxSizeLogMessage()).thenReturn(-1);
-        when(loggingContext.isBodyLoggable()).thenReturn(true);
+        when(loggingContext.newPayloadCapture()).thenReturn(new PayloadCapture(-1, null));
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(true);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         cut.setupCapture(ctx);
@@ -219,8 +220,8 @@ class LogEndpointResponseTest {
         initializeHeaders(HttpHeaders.create());
         when(loggingContext.endpointResponseHeaders()).thenReturn(false);
         when(loggingContext.endpointResponsePayload()).thenReturn(true);
-        when(loggingContext.getMaxSizeLogMessage()).thenReturn(maxPayloadSize);
-        when(loggingContext.isBodyLoggable()).thenReturn(true);
+        when(loggingContext.newPayloadCapture()).thenReturn(new PayloadCapture(maxPayloadSize, null));
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(true);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         cut.setupCapture(ctx);
@@ -235,8 +236,8 @@ class LogEndpointResponseTest {
         initializeHeaders(HttpHeaders.create());
         when(loggingContext.endpointResponseHeaders()).thenReturn(false);
         when(loggingContext.endpointResponsePayload()).thenReturn(true);
-        when(loggingContext.getMaxSizeLogMessage()).thenReturn(-1);
-        when(loggingContext.isBodyLoggable()).thenReturn(true);
+        when(loggingContext.newPayloadCapture()).thenReturn(new PayloadCapture(-1, null));
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(true);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         cut.setupCapture(ctx);
@@ -300,7 +301,7 @@ class LogEndpointResponseTest {
         initializeHeaders(HttpHeaders.create());
         when(loggingContext.endpointResponseHeaders()).thenReturn(false);
         when(loggingContext.endpointResponsePayload()).thenReturn(true);
-        when(loggingContext.isBodyLoggable()).thenReturn(false);
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(false);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         cut.setupCapture(ctx);
@@ -331,7 +332,7 @@ class LogEndpointResponseTest {
         initializeHeaders(HttpHeaders.create());
         when(loggingContext.endpointResponseHeaders()).thenReturn(false);
         when(loggingContext.endpointResponsePayload()).thenReturn(true);
-        when(loggingContext.isBodyLoggable()).thenReturn(true);
+        when(loggingContext.isErrorBodyLoggable()).thenReturn(true);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(false);
         when(response.status()).thenReturn(OK_200);
         when(ctx.getInternalAttribute(InternalContextAttributes.ATTR_INTERNAL_EXECUTION_FAILURE)).thenReturn(
@@ -345,6 +346,27 @@ class LogEndpointResponseTest {
         assertThat(cut.getBody()).isEqualTo(errorMessage);
     }
 
+    @Test
+    void should_set_failure_message_as_body_when_body_is_not_loggable() {
+        final String errorMessage = "{\"message\":\"Bad gateway\"}";
+        initializeHeaders(HttpHeaders.create());
+        when(loggingContext.endpointResponseHeaders()).thenReturn(false);
+        when(loggingContext.endpointResponsePayload()).thenReturn(true);
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(false);
+        when(loggingContext.isErrorBodyLoggable()).thenReturn(true);
+        when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
+        when(response.status()).thenReturn(502);
+        when(ctx.getInternalAttribute(InternalContextAttributes.ATTR_INTERNAL_EXECUTION_FAILURE)).thenReturn(
+            new ExecutionFailure(502).message(errorMessage)
+        );
+
+        cut.setupCapture(ctx);
+        triggerResponseFromBackend(HttpHeaders.create());
+
+        assertThat(cut.getStatus()).isEqualTo(502);
+        assertThat(cut.getBody()).isEqualTo(errorMessage);
+    }
+
     @Test
     void should_keep_status_zero_when_backend_did_not_respond_despite_failure() {
         when(response.status()).thenReturn(0);
@@ -37,6 +37,7 @@ import io.gravitee.gateway.reactive.api.tracing.Tracer;
 import io.gravitee.gateway.reactive.core.context.HttpExecutionContextInternal;
 import io.gravitee.gateway.reactive.core.context.HttpResponseInternal;
 import io.gravitee.gateway.reactive.core.v4.analytics.LoggingContext;
+import io.gravitee.gateway.reactive.core.v4.analytics.PayloadCapture;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.subscribers.TestSubscriber;
 import io.vertx.core.http.impl.headers.HeadersMultiMap;
@@ -111,8 +112,8 @@ class LogEntrypointResponseTest {
         when(response.headers()).thenReturn(HttpHeaders.create());
         when(loggingContext.entrypointResponseHeaders()).thenReturn(false);
         when(loggingContext.entrypointResponsePayload()).thenReturn(true);
-        when(loggingContext.getMaxSizeLogMessage()).thenReturn(-1);
-        when(loggingContext.isBodyLoggable()).thenReturn(true);
+        when(loggingContext.newPayloadCapture()).thenReturn(new PayloadCapture(-1, null));
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(true);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         final var logResponse = new LogEntrypointResponse(loggingContext, response);
@@ -153,8 +154,8 @@ class LogEntrypointResponseTest {
         when(response.headers()).thenReturn(HttpHeaders.create());
         when(loggingContext.entrypointResponseHeaders()).thenReturn(false);
         when(loggingContext.entrypointResponsePayload()).thenReturn(true);
-        when(loggingContext.getMaxSizeLogMessage()).thenReturn(maxPayloadSize);
-        when(loggingContext.isBodyLoggable()).thenReturn(true);
+        when(loggingContext.newPayloadCapture()).thenReturn(new PayloadCapture(maxPayloadSize, null));
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(true);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         final var logResponse = new LogEntrypointResponse(loggingContext, response);
@@ -187,7 +188,7 @@ class LogEntrypointResponseTest {
         when(response.headers()).thenReturn(HttpHeaders.create());
         when(loggingContext.entrypointResponseHeaders()).thenReturn(false);
         when(loggingContext.entrypointResponsePayload()).thenReturn(true);
-        when(loggingContext.isBodyLoggable()).thenReturn(true);
+        when(loggingContext.isErrorBodyLoggable()).thenReturn(true);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(false);
         when(ctx.getInternalAttribute(InternalContextAttributes.ATTR_INTERNAL_EXECUTION_FAILURE)).thenReturn(
             new ExecutionFailure(400).message(errorMessage)
@@ -200,6 +201,26 @@ class LogEntrypointResponseTest {
         assertThat(logResponse.getBody()).isEqualTo(errorMessage);
     }
 
+    @Test
+    void should_set_failure_message_as_body_when_body_is_not_loggable() {
+        final String errorMessage = "{\"message\":\"Bad gateway\"}";
+        when(response.headers()).thenReturn(HttpHeaders.create());
+        when(loggingContext.entrypointResponseHeaders()).thenReturn(false);
+        when(loggingContext.entrypointResponsePayload()).thenReturn(true);
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(false);
+        when(loggingContext.isErrorBodyLoggable()).thenReturn(true);
+        when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
+        when(ctx.getInternalAttribute(InternalContextAttributes.ATTR_INTERNAL_EXECUTION_FAILURE)).thenReturn(
+            new ExecutionFailure(502).message(errorMessage)
+        );
+
+        final var logResponse = new LogEntrypointResponse(loggingContext, response);
+        logResponse.capture(ctx);
+
+        assertThat(logResponse.getStatus()).isEqualTo(502);
+        assertThat(logResponse.getBody()).isEqualTo(errorMessage);
+    }
+
     @Test
     void should_capture_traceId_and_spanId_from_tracer() {
         var mockTracer = mock(Tracer.class);
@@ -236,7 +257,7 @@ class LogEntrypointResponseTest {
         when(response.headers()).thenReturn(HttpHeaders.create());
         when(loggingContext.entrypointResponseHeaders()).thenReturn(false);
         when(loggingContext.entrypointResponsePayload()).thenReturn(true);
-        when(loggingContext.isBodyLoggable()).thenReturn(false);
+        when(loggingContext.isBodyLoggable(ctx)).thenReturn(false);
         when(loggingContext.isContentTypeLoggable(any(), any())).thenReturn(true);
 
         final var logResponse = new LogEntrypointResponse(loggingContext, response);
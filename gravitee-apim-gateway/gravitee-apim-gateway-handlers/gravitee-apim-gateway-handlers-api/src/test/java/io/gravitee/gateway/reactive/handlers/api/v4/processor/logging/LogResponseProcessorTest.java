@@ -171,7 +171,7 @@ class LogResponseProcessorTest extends AbstractV4ProcessorTest {
         when(loggingContext.entrypointResponse()).thenReturn(false);
         when(loggingContext.endpointResponse()).thenReturn(true);
         when(loggingContext.endpointResponsePayload()).thenReturn(true);
-        when(loggingContext.isBodyLoggable()).thenReturn(true);
+        when(loggingContext.isErrorBodyLoggable()).thenReturn(true);
         ctx.setInternalAttribute(
             InternalContextAttributes.ATTR_INTERNAL_EXECUTION_FAILURE,
             new ExecutionFailure(400).message(errorMessage)
@@ -183,6 +183,30 @@ class LogResponseProcessorTest extends AbstractV4ProcessorTest {
         assertThat(log.getEndpointResponse().getBody()).isEqualTo(errorMessage);
     }
 
+    @Test
+    void shouldReplaceBodyNotCapturedWithFailureMessageForMessageApi() {
+        final String errorMessage = "{\"message\":\"Bad gateway\"}";
+        Log log = Log.builder().timestamp(System.currentTimeMillis()).build();
+        log.setEndpointResponse(new LogEndpointResponse(loggingContext, mockResponse));
+        log.getEndpointResponse().setStatus(200);
+        log.getEndpointResponse().setBody(LoggingContext.BODY_NOT_CAPTURED);
+        when(mockMetrics.getLog()).thenReturn(log);
+        when(mockMetrics.getApiType()).thenReturn(ApiType.MESSAGE.getLabel());
+        when(loggingContext.entrypointResponse()).thenReturn(false);
+        when(loggingContext.endpointResponse()).thenReturn(true);
+        when(loggingContext.endpointResponsePayload()).thenReturn(true);
+        when(loggingContext.isErrorBodyLoggable()).thenReturn(true);
+        ctx.setInternalAttribute(
+            InternalContextAttributes.ATTR_INTERNAL_EXECUTION_FAILURE,
+            new ExecutionFailure(502).message(errorMessage)
+        );
+
+        cut.execute(ctx).test().assertComplete();
+
+        assertThat(log.getEndpointResponse().getStatus()).isEqualTo(502);
+        assertThat(log.getEndpointResponse().getBody()).isEqualTo(errorMessage);
+    }
+
     @Test
     void shouldCaptureEntrypointResponseWhenOtelLogsEnabledWithoutLoggingConfigured() {
         LoggingContext realLoggingContext = new LoggingContext(null); // no ES logging
@@ -0,0 +1,225 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.http.vertx;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.vertx.core.Handler;
+import io.vertx.core.streams.Pipe;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Body read as is from a Vert.x stream, typically the response of an endpoint. Subscribed to, these chunks behave exactly
+ * as the given flowable. But when nothing has been composed on them by the time the response is sent, i.e. no policy, no
+ * logging and no other interceptor reads or transforms the body, {@link VertxHttpServerResponse} pipes the stream straight
+ * to the client instead: the Netty buffers are written as they are read, with the back-pressure of the Vert.x pipe, and
+ * without going through the flowable operators.
+ *
+ * @author GraviteeSource Team
+ */
+public class PassThroughChunks extends Flowable<Buffer> {
+
+    private final ReadStream<io.vertx.core.buffer.Buffer> source;
+    private final Flowable<Buffer> chunks;
+    private final Listener listener;
+
+    /**
+     * @param source the stream to pipe, paused until the chunks are either subscribed to or piped.
+     * @param chunks the chunks of the same stream, notifying the listener the same way as the pipe.
+     * @param listener notified of the progress of the pipe.
+     */
+    public PassThroughChunks(
+        final ReadStream<io.vertx.core.buffer.Buffer> source,
+        final Flowable<Buffer> chunks,
+        final Listener listener
+    ) {
+        this.source = source;
+        this.chunks = chunks;
+        this.listener = listener;
+    }
+
+    @Override
+    protected void subscribeActual(final Subscriber<? super Buffer> subscriber) {
+        chunks.subscribe(subscriber);
+    }
+
+    /**
+     * Pipes the stream to the destination, then ends it. A failure of the source is handed to the listener and ends the
+     * destination, as the chunks do by completing; a failure of the destination cancels the source.
+     *
+     * @param destination where to write the chunks, not ended yet.
+     * @param onChunk notified of the length of each chunk written.
+     * @param onWriteFailure notified when the destination fails, e.g. because the client has closed the connection.
+     * @return a completable completing once the destination is ended, and cancelling the pipe when disposed.
+     */
+    Completable pipeTo(
+        final WriteStream<io.vertx.core.buffer.Buffer> destination,
+        final IntConsumer onChunk,
+        final Consumer<Throwable> onWriteFailure
+    ) {
+        return Completable.create(emitter -> {
+            final AtomicBoolean done = new AtomicBoolean();
+            final ObservedStream observedSource = new ObservedStream(onChunk);
+            // The destination is ended here, once the listener knows of the completion, and only when it has not failed.
+            final Pipe<io.vertx.core.buffer.Buffer> pipe = observedSource.pipe().endOnSuccess(false).endOnFailure(false);
+
+            pipe
+                .to(destination)
+                .onComplete(result -> {
+                    if (!done.compareAndSet(false, true)) {
+                        return;
+                    }
+                    final Throwable readFailure = observedSource.readFailure.get();
+                    if (result.succeeded() || readFailure != null) {
+                        if (result.succeeded()) {
+                            listener.onComplete();
+                        } else {
+                            listener.onError(readFailure);
+                        }
+                        listener.onFinally();
+                        destination
+                            .end()
+                            .onComplete(end -> {
+                                if (end.failed()) {
+                                    onWriteFailure.accept(end.cause());
+                                }
+                                emitter.onComplete();
+                            });
+                    } else {
+                        listener.onCancel();
+                        listener.onFinally();
+                        onWriteFailure.accept(writeFailure(result.cause()));
+                        emitter.onComplete();
+                    }
+                });
+
+            emitter.setCancellable(() -> {
+                if (done.compareAndSet(false, true)) {
+                    pipe.close();
+                    listener.onCancel();
+                    listener.onFinally();
+                }
+            });
+        });
+    }
+
+    /**
+     * The pipe wraps the failures of the destination, while the callers expect the one raised by the connection.
+     */
+    private static Throwable writeFailure(final Throwable failure) {
+        if (!(failure instanceof IOException) && failure.getCause() != null) {
+            return failure.getCause();
+        }
+        return failure;
+    }
+
+    /**
+     * Notified of the progress of the chunks, whether they are subscribed to or piped.
+     */
+    public interface Listener {
+        default void onChunk() {}
+
+        default void onComplete() {}
+
+        /**
+         * The source has failed: the chunks read so far have been sent, and the response is ended anyway.
+         */
+        default void onError(Throwable throwable) {}
+
+        /**
+         * The response has been disposed, or the client is gone, before the source was fully read.
+         */
+        default void onCancel() {}
+
+        /**
+         * Last notification, whatever the outcome.
+         */
+        default void onFinally() {}
+    }
+
+    /**
+     * Source notifying the listener of each chunk, and remembering its failure to tell it apart from the one of the
+     * destination.
+     */
+    private final class ObservedStream implements ReadStream<io.vertx.core.buffer.Buffer> {
+
+        private final IntConsumer onChunk;
+        private final AtomicReference<Throwable> readFailure = new AtomicReference<>();
+
+        private ObservedStream(final IntConsumer onChunk) {
+            this.onChunk = onChunk;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> exceptionHandler(final Handler<Throwable> handler) {
+            source.exceptionHandler(
+                handler == null
+                    ? null
+                    : throwable -> {
+                        readFailure.compareAndSet(null, throwable);
+                        handler.handle(throwable);
+                    }
+            );
+            return this;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> handler(final Handler<io.vertx.core.buffer.Buffer> handler) {
+            source.handler(
+                handler == null
+                    ? null
+                    : chunk -> {
+                        listener.onChunk();
+                        onChunk.accept(chunk.length());
+                        handler.handle(chunk);
+                    }
+            );
+            return this;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> pause() {
+            source.pause();
+            return this;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> resume() {
+            source.resume();
+            return this;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> fetch(final long amount) {
+            source.fetch(amount);
+            return this;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> endHandler(final Handler<Void> endHandler) {
+            source.endHandler(endHandler);
+            return this;
+        }
+    }
+}
@@ -103,9 +103,22 @@ public class VertxHttpServerResponse extends AbstractResponse {
             final AtomicReference<Subscription> subscriptionRef = new AtomicReference<>();
 
             if (lazyBufferFlow().hasChunks()) {
+                final Flowable<io.gravitee.gateway.api.buffer.Buffer> chunks = chunks();
+                if (chunks instanceof PassThroughChunks passThroughChunks) {
+                    // Nothing has read or transformed the body of the endpoint: pipe it straight to the client.
+                    if (!nativeResponse.headWritten() && !headers.contains(HttpHeaders.CONTENT_LENGTH)) {
+                        nativeResponse.setChunked(true);
+                    }
+                    return passThroughChunks.pipeTo(
+                        nativeResponse.getDelegate(),
+                        length -> ctx.metrics().setResponseContentLength(ctx.metrics().getResponseContentLength() + length),
+                        throwable -> onSendFailure(ctx, throwable)
+                    );
+                }
+
                 return nativeResponse
                     .rxSend(
-                        chunks()
+                        chunks
                             .doOnSubscribe(subscriptionRef::set)
                             .map(buffer -> BufferInternal.buffer(buffer.getNativeBuffer()))
                             .cast(Buffer.class)
@@ -114,17 +127,7 @@ public class VertxHttpServerResponse extends AbstractResponse {
                             )
                     )
                     .onErrorResumeNext(throwable -> {
-                        if (throwable instanceof IOException && ClientCloseClassifier.isClientConnectionClose(throwable)) {
-                            // The client closed the connection while the response was being streamed. The write
-                            // failure surfaces here BEFORE the connection-level handlers run, and completing below
-                            // makes the dispatch end normally — so the abort must be recorded on the metrics now with
-                            // its actual reason (TCP reset, broken pipe), or the request would be reported as a clean
-                            // success (APIM-12769).
-                            ClientCloseClassifier.decorate(ctx, throwable);
-                            ctx.withLogger(log).debug("Client has closed the connection: {}", throwable.getMessage());
-                        } else {
-                            ctx.withLogger(log).error("An error occurred while sending response chunks", throwable);
-                        }
+                        onSendFailure(ctx, throwable);
                         return Completable.complete();
                     })
                     .doOnDispose(() -> {
@@ -140,6 +143,20 @@ public class VertxHttpServerResponse extends AbstractResponse {
         });
     }
 
+    private void onSendFailure(final HttpBaseExecutionContext ctx, final Throwable throwable) {
+        if (throwable instanceof IOException && ClientCloseClassifier.isClientConnectionClose(throwable)) {
+            // The client closed the connection while the response was being streamed. The write
+            // failure surfaces here BEFORE the connection-level handlers run, and completing the send
+            // makes the dispatch end normally — so the abort must be recorded on the metrics now with
+            // its actual reason (TCP reset, broken pipe), or the request would be reported as a clean
+            // success (APIM-12769).
+            ClientCloseClassifier.decorate(ctx, throwable);
+            ctx.withLogger(log).debug("Client has closed the connection: {}", throwable.getMessage());
+        } else {
+            ctx.withLogger(log).error("An error occurred while sending response chunks", throwable);
+        }
+    }
+
     @Override
     public void messages(final Flowable<Message> messages) {
         super.messages(messages);
@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.http.vertx;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.reactivex.rxjava3.core.Flowable;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.internal.buffer.BufferInternal;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare proxying a body through the chunks flowable, with the operators of the endpoint connector and of the server
+ * response, and piping it as is. The body is split in 8 KB chunks, already in memory, so that only the cost of the
+ * proxying is measured. Run with <code>-prof gc</code> for the allocation per operation.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class PassThroughChunksBenchmark {
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    @Param({ "1024", "65536", "10485760" })
+    private int payloadSize;
+
+    private List<io.vertx.core.buffer.Buffer> chunks;
+
+    // used to run benchmark directly from IDE
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(PassThroughChunksBenchmark.class.getSimpleName()).addProfiler("gc").forks(1).build();
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() {
+        chunks = new ArrayList<>();
+        for (int offset = 0; offset < payloadSize; offset += CHUNK_SIZE) {
+            chunks.add(io.vertx.core.buffer.Buffer.buffer(new byte[Math.min(CHUNK_SIZE, payloadSize - offset)]));
+        }
+    }
+
+    @Benchmark
+    public void flowable(final Blackhole blackhole) {
+        final long[] length = new long[1];
+        Flowable
+            .fromIterable(chunks)
+            .doOnNext(chunk -> blackhole.consume(System.nanoTime()))
+            .map(Buffer::buffer)
+            .doOnComplete(() -> blackhole.consume(length))
+            .onErrorResumeNext(throwable -> Flowable.empty())
+            .doOnCancel(() -> blackhole.consume(length))
+            .doFinally(() -> blackhole.consume(length))
+            .map(buffer -> BufferInternal.buffer(buffer.getNativeBuffer()))
+            .cast(io.vertx.core.buffer.Buffer.class)
+            .doOnNext(buffer -> length[0] += buffer.length())
+            .blockingSubscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    public void pipe(final Blackhole blackhole) {
+        final long[] length = new long[1];
+        final PassThroughChunks passThroughChunks = new PassThroughChunks(
+            new InMemoryReadStream(chunks),
+            Flowable.empty(),
+            new PassThroughChunks.Listener() {
+                @Override
+                public void onChunk() {
+                    blackhole.consume(System.nanoTime());
+                }
+            }
+        );
+        passThroughChunks
+            .pipeTo(new BlackholeWriteStream(blackhole), chunkLength -> length[0] += chunkLength, blackhole::consume)
+            .blockingAwait();
+    }
+
+    private static class InMemoryReadStream implements ReadStream<io.vertx.core.buffer.Buffer> {
+
+        private final List<io.vertx.core.buffer.Buffer> chunks;
+        private Handler<io.vertx.core.buffer.Buffer> handler;
+        private Handler<Void> endHandler;
+        private int index;
+        private boolean paused;
+
+        private InMemoryReadStream(final List<io.vertx.core.buffer.Buffer> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> exceptionHandler(Handler<Throwable> handler) {
+            return this;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> handler(Handler<io.vertx.core.buffer.Buffer> handler) {
+            this.handler = handler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> pause() {
+            paused = true;
+            return this;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> resume() {
+            paused = false;
+            while (!paused && handler != null && index < chunks.size()) {
+                handler.handle(chunks.get(index++));
+            }
+            if (index == chunks.size() && endHandler != null) {
+                index++;
+                endHandler.handle(null);
+            }
+            return this;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> fetch(long amount) {
+            return resume();
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> endHandler(Handler<Void> endHandler) {
+            this.endHandler = endHandler;
+            return this;
+        }
+    }
+
+    private record BlackholeWriteStream(Blackhole blackhole) implements WriteStream<io.vertx.core.buffer.Buffer> {
+        @Override
+        public WriteStream<io.vertx.core.buffer.Buffer> exceptionHandler(Handler<Throwable> handler) {
+            return this;
+        }
+
+        @Override
+        public Future<Void> write(io.vertx.core.buffer.Buffer data) {
+            blackhole.consume(data);
+            return Future.succeededFuture();
+        }
+
+        @Override
+        public Future<Void> end() {
+            return Future.succeededFuture();
+        }
+
+        @Override
+        public WriteStream<io.vertx.core.buffer.Buffer> setWriteQueueMaxSize(int maxSize) {
+            return this;
+        }
+
+        @Override
+        public boolean writeQueueFull() {
+            return false;
+        }
+
+        @Override
+        public WriteStream<io.vertx.core.buffer.Buffer> drainHandler(Handler<Void> handler) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.http.vertx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.reactivex.rxjava3.core.Flowable;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PassThroughChunksTest {
+
+    private final List<String> notifications = new ArrayList<>();
+    private final PassThroughChunks.Listener listener = new PassThroughChunks.Listener() {
+        @Override
+        public void onChunk() {
+            notifications.add("chunk");
+        }
+
+        @Override
+        public void onComplete() {
+            notifications.add("complete");
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            notifications.add("error: " + throwable.getMessage());
+        }
+
+        @Override
+        public void onCancel() {
+            notifications.add("cancel");
+        }
+
+        @Override
+        public void onFinally() {
+            notifications.add("finally");
+        }
+    };
+
+    @Test
+    void should_behave_as_the_chunks_when_subscribed() {
+        var cut = new PassThroughChunks(new FakeReadStream(null, "ignored"), Flowable.just(Buffer.buffer("chunk")), listener);
+
+        cut.test().assertValue(buffer -> buffer.toString().equals("chunk"));
+    }
+
+    @Test
+    void should_pipe_the_source_to_the_destination() {
+        var destination = new FakeWriteStream(null);
+        var bytes = new AtomicLong();
+        var cut = new PassThroughChunks(new FakeReadStream(null, "chunk1", "chunk2"), Flowable.empty(), listener);
+
+        cut.pipeTo(destination, bytes::addAndGet, throwable -> notifications.add("write failure")).test().assertComplete();
+
+        assertThat(destination.written).containsExactly("chunk1", "chunk2");
+        assertThat(destination.ended).isTrue();
+        assertThat(bytes).hasValue(12);
+        assertThat(notifications).containsExactly("chunk", "chunk", "complete", "finally");
+    }
+
+    @Test
+    void should_end_the_destination_when_the_source_fails() {
+        var destination = new FakeWriteStream(null);
+        var cut = new PassThroughChunks(new FakeReadStream(new RuntimeException("reset"), "chunk1"), Flowable.empty(), listener);
+
+        cut.pipeTo(destination, length -> {}, throwable -> notifications.add("write failure")).test().assertComplete();
+
+        assertThat(destination.written).containsExactly("chunk1");
+        assertThat(destination.ended).isTrue();
+        assertThat(notifications).containsExactly("chunk", "error: reset", "finally");
+    }
+
+    @Test
+    void should_cancel_the_source_when_the_destination_fails() {
+        var destination = new FakeWriteStream(new IOException("Connection reset"));
+        var writeFailure = new AtomicReference<Throwable>();
+        var cut = new PassThroughChunks(new FakeReadStream(null, "chunk1", "chunk2"), Flowable.empty(), listener);
+
+        cut.pipeTo(destination, length -> {}, writeFailure::set).test().assertComplete();
+
+        assertThat(destination.ended).isFalse();
+        assertThat(writeFailure.get()).isInstanceOf(IOException.class).hasMessage("Connection reset");
+        assertThat(notifications).containsExactly("chunk", "cancel", "finally");
+    }
+
+    @Test
+    void should_cancel_the_source_when_disposed() {
+        var destination = new FakeWriteStream(null);
+        var source = new FakeReadStream(null, "chunk1", "chunk2");
+        source.stalled = true;
+        var cut = new PassThroughChunks(source, Flowable.empty(), listener);
+
+        cut.pipeTo(destination, length -> {}, throwable -> notifications.add("write failure")).test().dispose();
+
+        assertThat(destination.ended).isFalse();
+        assertThat(notifications).containsExactly("cancel", "finally");
+    }
+
+    /**
+     * Emits its chunks synchronously as they are demanded, then fails or ends.
+     */
+    private static class FakeReadStream implements ReadStream<io.vertx.core.buffer.Buffer> {
+
+        private final Throwable failure;
+        private final List<String> chunks;
+        private Handler<io.vertx.core.buffer.Buffer> handler;
+        private Handler<Void> endHandler;
+        private Handler<Throwable> exceptionHandler;
+        private long demand;
+        private int index;
+        private boolean emitting;
+        private boolean stalled;
+
+        private FakeReadStream(final Throwable failure, final String... chunks) {
+            this.failure = failure;
+            this.chunks = List.of(chunks);
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> exceptionHandler(Handler<Throwable> handler) {
+            this.exceptionHandler = handler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> handler(Handler<io.vertx.core.buffer.Buffer> handler) {
+            this.handler = handler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> pause() {
+            demand = 0;
+            return this;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> resume() {
+            return fetch(Long.MAX_VALUE);
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> fetch(long amount) {
+            demand = Long.MAX_VALUE - demand < amount ? Long.MAX_VALUE : demand + amount;
+            emit();
+            return this;
+        }
+
+        @Override
+        public ReadStream<io.vertx.core.buffer.Buffer> endHandler(Handler<Void> endHandler) {
+            this.endHandler = endHandler;
+            return this;
+        }
+
+        private void emit() {
+            if (emitting || stalled || handler == null) {
+                return;
+            }
+            emitting = true;
+            while (demand > 0 && index < chunks.size() && handler != null) {
+                demand--;
+                handler.handle(io.vertx.core.buffer.Buffer.buffer(chunks.get(index++)));
+            }
+            if (index == chunks.size()) {
+                index++;
+                if (failure != null) {
+                    exceptionHandler.handle(failure);
+                } else {
+                    endHandler.handle(null);
+                }
+            }
+            emitting = false;
+        }
+    }
+
+    /**
+     * Records the chunks written, or fails on the first one.
+     */
+    private static class FakeWriteStream implements WriteStream<io.vertx.core.buffer.Buffer> {
+
+        private final Throwable failure;
+        private final List<String> written = new ArrayList<>();
+        private boolean ended;
+
+        private FakeWriteStream(final Throwable failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public WriteStream<io.vertx.core.buffer.Buffer> exceptionHandler(Handler<Throwable> handler) {
+            return this;
+        }
+
+        @Override
+        public Future<Void> write(io.vertx.core.buffer.Buffer data) {
+            if (failure != null) {
+                return Future.failedFuture(failure);
+            }
+            written.add(data.toString());
+            return Future.succeededFuture();
+        }
+
+        @Override
+        public Future<Void> end() {
+            ended = true;
+            return Future.succeededFuture();
+        }
+
+        @Override
+        public WriteStream<io.vertx.core.buffer.Buffer> setWriteQueueMaxSize(int maxSize) {
+            return this;
+        }
+
+        @Override
+        public boolean writeQueueFull() {
+            return false;
+        }
+
+        @Override
+        public WriteStream<io.vertx.core.buffer.Buffer> drainHandler(Handler<Void> handler) {
+            return this;
+        }
+    }
+}
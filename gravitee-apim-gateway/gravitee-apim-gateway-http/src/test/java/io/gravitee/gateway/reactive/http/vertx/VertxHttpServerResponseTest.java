@@ -15,6 +15,7 @@
  */
 package io.gravitee.gateway.reactive.http.vertx;
 
+import static io.gravitee.gateway.reactive.api.context.InternalContextAttributes.ATTR_INTERNAL_ENTRYPOINT_CONNECTOR;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,11 +29,18 @@ import static org.mockito.Mockito.when;
 
 import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.http.utils.RequestUtils;
+import io.gravitee.gateway.reactive.api.connector.endpoint.HttpEndpointConnector;
+import io.gravitee.gateway.reactive.api.connector.entrypoint.HttpEntrypointConnector;
 import io.gravitee.gateway.reactive.api.context.GenericExecutionContext;
 import io.gravitee.gateway.reactive.api.context.Response;
+import io.gravitee.gateway.reactive.api.context.http.HttpExecutionContext;
 import io.gravitee.gateway.reactive.api.message.Message;
 import io.gravitee.gateway.reactive.core.MessageFlow;
 import io.gravitee.gateway.reactive.core.context.OnMessagesInterceptor;
+import io.gravitee.gateway.reactive.core.v4.endpoint.EndpointLoad;
+import io.gravitee.gateway.reactive.core.v4.endpoint.EndpointManager;
+import io.gravitee.gateway.reactive.core.v4.endpoint.ManagedEndpoint;
+import io.gravitee.gateway.reactive.core.v4.invoker.HttpEndpointInvoker;
 import io.gravitee.reporter.api.v4.metric.Metrics;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
@@ -40,6 +48,7 @@ import io.reactivex.rxjava3.core.FlowableTransformer;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.observers.TestObserver;
 import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.rxjava3.core.http.HttpHeaders;
 import io.vertx.rxjava3.core.http.HttpServerRequest;
 import io.vertx.rxjava3.core.http.HttpServerResponse;
@@ -405,6 +414,68 @@ class VertxHttpServerResponseTest {
         }
     }
 
+    @Nested
+    class PassThroughTest {
+
+        @Mock
+        private ReadStream<io.vertx.core.buffer.Buffer> source;
+
+        @Mock
+        private io.vertx.core.http.HttpServerResponse nativeDelegate;
+
+        @Test
+        void should_pipe_pass_through_chunks_left_untouched() {
+            when(httpServerResponse.getDelegate()).thenReturn(nativeDelegate);
+            cut.chunks(new PassThroughChunks(source, cut.chunks(), new PassThroughChunks.Listener() {}));
+
+            cut.end(ctx).test().assertNotComplete();
+
+            verify(httpServerResponse).setChunked(true);
+            verify(source).handler(any());
+            verify(httpServerResponse, never()).rxSend(any(Flowable.class));
+            assertEquals(0, subscriptionCount.get());
+        }
+
+        @Test
+        void should_pipe_pass_through_chunks_of_a_load_tracked_endpoint() {
+            final EndpointManager endpointManager = mock(EndpointManager.class);
+            final ManagedEndpoint managedEndpoint = mock(ManagedEndpoint.class);
+            final HttpEndpointConnector endpointConnector = mock(HttpEndpointConnector.class);
+            final HttpExecutionContext invocationCtx = mock(HttpExecutionContext.class);
+            final EndpointLoad load = new EndpointLoad();
+            when(invocationCtx.getInternalAttribute(ATTR_INTERNAL_ENTRYPOINT_CONNECTOR)).thenReturn(mock(HttpEntrypointConnector.class));
+            when(endpointManager.next(any())).thenReturn(managedEndpoint);
+            when(managedEndpoint.getConnector()).thenReturn(endpointConnector);
+            when(managedEndpoint.getLoad()).thenReturn(load);
+            when(endpointConnector.connect(invocationCtx)).thenReturn(
+                Completable.fromRunnable(() -> cut.chunks(new PassThroughChunks(source, cut.chunks(), new PassThroughChunks.Listener() {})))
+            );
+            when(httpServerResponse.getDelegate()).thenReturn(nativeDelegate);
+
+            new HttpEndpointInvoker(endpointManager).invoke(invocationCtx).test().assertComplete();
+            assertTrue(cut.chunks() instanceof PassThroughChunks);
+            assertEquals(1, load.inFlight());
+
+            cut.end(ctx).test().assertNotComplete();
+
+            verify(source).handler(any());
+            verify(httpServerResponse, never()).rxSend(any(Flowable.class));
+            assertEquals(0, subscriptionCount.get());
+        }
+
+        @Test
+        void should_send_pass_through_chunks_once_transformed() {
+            cut.chunks(new PassThroughChunks(source, cut.chunks(), new PassThroughChunks.Listener() {}));
+            cut.chunks(cut.chunks().map(buffer -> Buffer.buffer(buffer.toString().toUpperCase())));
+
+            cut.end(ctx).test().assertComplete();
+
+            verify(httpServerResponse).rxSend(chunksCaptor.capture());
+            chunksCaptor.getValue().test().assertValueCount(3);
+            verify(source, never()).handler(any());
+        }
+    }
+
     @Nested
     class StreamingRequestTest {
 
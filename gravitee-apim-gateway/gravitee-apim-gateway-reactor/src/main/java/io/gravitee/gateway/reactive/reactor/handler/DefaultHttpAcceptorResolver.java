@@ -17,6 +17,8 @@ package io.gravitee.gateway.reactive.reactor.handler;
 
 import io.gravitee.gateway.reactor.handler.HttpAcceptor;
 import io.gravitee.gateway.reactor.handler.ReactorHandlerRegistry;
+import io.gravitee.gateway.reactor.handler.http.IndexedHttpAcceptors;
+import java.util.Collection;
 
 /**
  * @author Jeoffrey HAEYAERT (jeoffrey.haeyaert at graviteesource.com)
@@ -32,7 +34,13 @@ public class DefaultHttpAcceptorResolver implements HttpAcceptorResolver {
 
     @Override
     public HttpAcceptor resolve(String host, String path, String serverId) {
-        for (HttpAcceptor httpAcceptor : handlerRegistry.getAcceptors(HttpAcceptor.class)) {
+        final Collection<HttpAcceptor> httpAcceptors = handlerRegistry.getAcceptors(HttpAcceptor.class);
+
+        if (httpAcceptors instanceof IndexedHttpAcceptors indexedHttpAcceptors) {
+            return indexedHttpAcceptors.resolve(host, path, serverId);
+        }
+
+        for (HttpAcceptor httpAcceptor : httpAcceptors) {
             if (httpAcceptor.accept(host, path, serverId)) {
                 return httpAcceptor;
             }
@@ -17,6 +17,8 @@ package io.gravitee.gateway.reactive.reactor.handler;
 
 import io.gravitee.gateway.reactor.handler.ReactorHandlerRegistry;
 import io.gravitee.gateway.reactor.handler.TcpAcceptor;
+import io.gravitee.gateway.reactor.handler.tcp.IndexedTcpAcceptors;
+import java.util.Collection;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -31,11 +33,18 @@ public class DefaultTcpAcceptorResolver implements TcpAcceptorResolver {
 
     @Override
     public TcpAcceptor resolve(String sni, String serverId) {
-        return handlerRegistry
-            .getAcceptors(TcpAcceptor.class)
-            .stream()
-            .filter(tcpAcceptor -> tcpAcceptor.accept(sni, serverId))
-            .findFirst()
-            .orElse(null);
+        final Collection<TcpAcceptor> tcpAcceptors = handlerRegistry.getAcceptors(TcpAcceptor.class);
+
+        if (tcpAcceptors instanceof IndexedTcpAcceptors indexedTcpAcceptors) {
+            return indexedTcpAcceptors.resolve(sni, serverId);
+        }
+
+        for (TcpAcceptor tcpAcceptor : tcpAcceptors) {
+            if (tcpAcceptor.accept(sni, serverId)) {
+                return tcpAcceptor;
+            }
+        }
+
+        return null;
     }
 }
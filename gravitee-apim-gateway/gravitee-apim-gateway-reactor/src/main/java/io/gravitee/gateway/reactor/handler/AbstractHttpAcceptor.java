@@ -20,7 +20,6 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Pattern;
 import lombok.EqualsAndHashCode;
 
 /**
@@ -32,8 +31,6 @@ public abstract class AbstractHttpAcceptor implements HttpAcceptor {
 
     private static final int HOST_MASK = 1000;
 
-    private static final Pattern DUPLICATE_SLASH_REMOVER = Pattern.compile("/+");
-
     private static final String URI_PATH_SEPARATOR = "/";
 
     private static final char URI_PATH_SEPARATOR_CHAR = '/';
@@ -55,21 +52,8 @@ public abstract class AbstractHttpAcceptor implements HttpAcceptor {
     protected final int priority;
 
     protected AbstractHttpAcceptor(String host, String path, Collection<String> serverIds) {
-        if (path == null || path.isEmpty()) {
-            path = URI_PATH_SEPARATOR;
-        }
-
-        if (path.length() > 1 && path.lastIndexOf(URI_PATH_SEPARATOR_CHAR) == path.length() - 1) {
-            pathWithoutTrailingSlash = path.substring(0, path.length() - 1);
-        } else {
-            pathWithoutTrailingSlash = path;
-        }
-
-        if (path.lastIndexOf(URI_PATH_SEPARATOR_CHAR) != path.length() - 1) {
-            path += URI_PATH_SEPARATOR;
-        }
-
-        this.path = DUPLICATE_SLASH_REMOVER.matcher(path).replaceAll(URI_PATH_SEPARATOR);
+        this.path = normalizePath(path);
+        this.pathWithoutTrailingSlash = this.path.length() > 1 ? this.path.substring(0, this.path.length() - 1) : this.path;
 
         if (host != null && !host.isEmpty()) {
             priority =
@@ -92,6 +76,31 @@ public abstract class AbstractHttpAcceptor implements HttpAcceptor {
         this.reactor = reactor;
     }
 
+    /**
+     * Normalize an acceptor path: always end with a separator and never contain consecutive separators. The path
+     * without its trailing separator, which is also accepted, is derived from the normalized path.
+     */
+    public static String normalizePath(String path) {
+        if (path == null || path.isEmpty()) {
+            return URI_PATH_SEPARATOR;
+        }
+
+        final StringBuilder normalized = new StringBuilder(path.length() + 1);
+        char previous = 0;
+        for (int i = 0; i < path.length(); i++) {
+            final char c = path.charAt(i);
+            if (c != URI_PATH_SEPARATOR_CHAR || previous != URI_PATH_SEPARATOR_CHAR) {
+                normalized.append(c);
+            }
+            previous = c;
+        }
+
+        if (previous != URI_PATH_SEPARATOR_CHAR) {
+            normalized.append(URI_PATH_SEPARATOR_CHAR);
+        }
+        return normalized.toString();
+    }
+
     abstract boolean matchHost(String host);
 
     @Override
@@ -20,7 +20,10 @@ import io.gravitee.common.event.EventListener;
 import io.gravitee.common.event.EventManager;
 import io.gravitee.common.service.AbstractService;
 import io.gravitee.gateway.reactor.Reactable;
+import io.gravitee.gateway.reactor.ReactorBatchEvent;
 import io.gravitee.gateway.reactor.ReactorEvent;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -31,6 +34,12 @@ public class ReactorEventListener extends AbstractService<ReactorEventListener>
     protected final EventManager eventManager;
     protected final ReactorHandlerRegistry reactorHandlerRegistry;
 
+    /**
+     * Reactables deployed by the current thread since it began a batch, created when the batch ends.
+     */
+    private final ThreadLocal<List<Reactable>> batch = new ThreadLocal<>();
+    private final EventListener<ReactorBatchEvent, Void> batchListener = this::onBatchEvent;
+
     public ReactorEventListener(EventManager eventManager, ReactorHandlerRegistry reactorHandlerRegistry) {
         this.eventManager = eventManager;
         this.reactorHandlerRegistry = reactorHandlerRegistry;
@@ -38,23 +47,54 @@ public class ReactorEventListener extends AbstractService<ReactorEventListener>
 
     @Override
     public void onEvent(Event<ReactorEvent, Reactable> event) {
+        final List<Reactable> deployed = batch.get();
         switch (event.type()) {
             case DEPLOY:
-                reactorHandlerRegistry.create(event.content());
+                if (deployed != null) {
+                    deployed.add(event.content());
+                } else {
+                    reactorHandlerRegistry.create(event.content());
+                }
                 break;
             case UPDATE:
+                createDeployed(deployed);
                 reactorHandlerRegistry.update(event.content());
                 break;
             case UNDEPLOY:
+                createDeployed(deployed);
                 reactorHandlerRegistry.remove(event.content());
                 break;
         }
     }
 
+    public void onBatchEvent(Event<ReactorBatchEvent, Void> event) {
+        switch (event.type()) {
+            case BEGIN:
+                batch.set(new ArrayList<>());
+                break;
+            case END:
+                final List<Reactable> deployed = batch.get();
+                batch.remove();
+                createDeployed(deployed);
+                break;
+        }
+    }
+
+    /**
+     * The reactables deployed so far in the batch are created before any other change, to keep the order of the events.
+     */
+    private void createDeployed(final List<Reactable> deployed) {
+        if (deployed != null && !deployed.isEmpty()) {
+            reactorHandlerRegistry.createAll(List.copyOf(deployed));
+            deployed.clear();
+        }
+    }
+
     @Override
     protected void doStart() throws Exception {
         super.doStart();
         eventManager.subscribeForEvents(this, ReactorEvent.class);
+        eventManager.subscribeForEvents(batchListener, ReactorBatchEvent.class);
     }
 
     @Override
@@ -62,6 +102,7 @@ public class ReactorEventListener extends AbstractService<ReactorEventListener>
         super.doStop();
 
         eventManager.unsubscribeForEvents(this, ReactorEvent.class);
+        eventManager.unsubscribeForEvents(batchListener, ReactorBatchEvent.class);
         reactorHandlerRegistry.clear();
     }
 }
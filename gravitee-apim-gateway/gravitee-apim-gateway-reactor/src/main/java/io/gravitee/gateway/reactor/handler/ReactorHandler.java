@@ -37,5 +37,20 @@ public interface ReactorHandler extends LifecycleComponent<ReactorHandler> {
         return TracingContext.noop();
     }
 
+    /**
+     * Called before this handler is started, when it replaces the given handler of the previous revision of the same
+     * reactable. Lets this handler keep the components of the previous one whose configuration has not changed, rather
+     * than creating them again.
+     *
+     * @param previous the handler being replaced, still running until this one is started.
+     */
+    default void takeOver(ReactorHandler previous) {}
+
+    /**
+     * Called when this handler could not be started after having taken over the previous one. Gives the components it
+     * kept back to the previous handler, which remains in service and in charge of stopping them.
+     */
+    default void cancelTakeOver() {}
+
     void handle(ExecutionContext context, Handler<ExecutionContext> endHandler);
 }
@@ -29,6 +29,26 @@ public interface ReactorHandlerRegistry {
 
     void remove(Reactable reactable);
 
+    /**
+     * Create the handlers of all the given reactables. Implementations may publish the acceptors of the whole batch at
+     * once, which is far cheaper than creating reactables one by one when deploying a large number of them.
+     *
+     * @param reactables the reactables to create.
+     */
+    default void createAll(Collection<? extends Reactable> reactables) {
+        reactables.forEach(this::create);
+    }
+
+    /**
+     * Remove the handlers of all the given reactables. Implementations may unpublish the acceptors of the whole batch at
+     * once.
+     *
+     * @param reactables the reactables to remove.
+     */
+    default void removeAll(Collection<? extends Reactable> reactables) {
+        reactables.forEach(this::remove);
+    }
+
     void clear();
 
     boolean contains(Reactable reactable);
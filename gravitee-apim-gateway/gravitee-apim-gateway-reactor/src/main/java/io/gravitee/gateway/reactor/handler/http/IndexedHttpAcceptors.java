@@ -0,0 +1,336 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactor.handler.http;
+
+import io.gravitee.gateway.reactor.handler.AbstractHttpAcceptor;
+import io.gravitee.gateway.reactor.handler.DefaultHttpAcceptor;
+import io.gravitee.gateway.reactor.handler.HttpAcceptor;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+
+/**
+ * Immutable, sorted collection of {@link HttpAcceptor} carrying a routing index used to resolve the acceptor of a request
+ * without scanning all the registered acceptors.
+ *
+ * The index is a compressed radix tree built on the (normalized) acceptor paths. Each node of the tree holding acceptors
+ * buckets them by virtual host when the host can be matched exactly, the other ones (no host, wildcard host, access point
+ * acceptors whose hosts can change at runtime, custom implementations) being kept in a bucket matching any host.
+ * Resolving a request walks the request path once and only tests the acceptors attached to the nodes crossed on the way.
+ *
+ * The result is strictly the same as iterating the sorted acceptors and keeping the first one accepting the request: every
+ * candidate keeps its rank in the sorted collection and {@link HttpAcceptor#accept(String, String, String)} stays the final
+ * arbiter, the index only prunes the acceptors that cannot match.
+ *
+ * @author GraviteeSource Team
+ */
+public final class IndexedHttpAcceptors extends AbstractList<HttpAcceptor> implements RandomAccess {
+
+    private static final char PATH_SEPARATOR = '/';
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final HttpAcceptor[] acceptors;
+    private final Node root;
+
+    /**
+     * Acceptors whose path cannot be trusted to reflect their matching rules. They are tested on every resolution.
+     */
+    private final Entry[] unindexed;
+
+    /**
+     * Build the index for the given acceptors. The list must already be sorted in the expected resolution order.
+     *
+     * @param sortedAcceptors the acceptors, sorted.
+     */
+    public IndexedHttpAcceptors(List<HttpAcceptor> sortedAcceptors) {
+        this.acceptors = sortedAcceptors.toArray(new HttpAcceptor[0]);
+
+        final MutableNode mutableRoot = new MutableNode("");
+        final List<Entry> mutableUnindexed = new ArrayList<>();
+
+        for (int rank = 0; rank < acceptors.length; rank++) {
+            final HttpAcceptor acceptor = acceptors[rank];
+            final Entry entry = new Entry(rank, acceptor);
+
+            if (acceptor instanceof AbstractHttpAcceptor || acceptor instanceof AccessPointHttpAcceptor) {
+                mutableRoot.insert(AbstractHttpAcceptor.normalizePath(acceptor.path()), 0).add(indexableHost(acceptor), entry);
+            } else {
+                mutableUnindexed.add(entry);
+            }
+        }
+
+        this.root = mutableRoot.freeze();
+        this.unindexed = mutableUnindexed.toArray(NO_ENTRIES);
+    }
+
+    /**
+     * Find the first acceptor, in sort order, able to handle the given host, path and server id.
+     *
+     * @param host the request's host.
+     * @param path the request's path.
+     * @param serverId the id of the server handling the request.
+     *
+     * @return the matching {@link HttpAcceptor} or <code>null</code> if none matches.
+     */
+    public HttpAcceptor resolve(String host, String path, String serverId) {
+        final String hostKey = foldHost(host);
+        final Candidate best = new Candidate(host, path, serverId);
+
+        best.test(unindexed);
+
+        final int length = path.length();
+        Node node = root;
+        int position = 0;
+
+        while (true) {
+            best.test(node, hostKey);
+
+            if (position == length) {
+                // An acceptor listening on '/a/' also accepts the request path '/a'.
+                final Node child = node.child(PATH_SEPARATOR);
+                if (child != null && child.label.length() == 1) {
+                    best.test(child, hostKey);
+                }
+                break;
+            }
+
+            final Node child = node.child(path.charAt(position));
+            if (child == null) {
+                break;
+            }
+
+            final String label = child.label;
+            final int labelLength = label.length();
+
+            if (path.regionMatches(position, label, 0, labelLength)) {
+                position += labelLength;
+                node = child;
+            } else {
+                // Same as above, the remaining of the request path may only miss the trailing separator.
+                final int remaining = length - position;
+                if (
+                    labelLength == remaining + 1 &&
+                    label.charAt(remaining) == PATH_SEPARATOR &&
+                    path.regionMatches(position, label, 0, remaining)
+                ) {
+                    best.test(child, hostKey);
+                }
+                break;
+            }
+        }
+
+        return best.acceptor;
+    }
+
+    @Override
+    public HttpAcceptor get(int index) {
+        return acceptors[index];
+    }
+
+    @Override
+    public int size() {
+        return acceptors.length;
+    }
+
+    /**
+     * Only {@link DefaultHttpAcceptor} matches its host with a plain case-insensitive comparison and can be bucketed by host.
+     */
+    private static String indexableHost(HttpAcceptor acceptor) {
+        if (acceptor instanceof DefaultHttpAcceptor && acceptor.host() != null) {
+            return foldHost(acceptor.host());
+        }
+        return null;
+    }
+
+    /**
+     * Fold a host so that two hosts equal with {@link String#equalsIgnoreCase(String)} give the same key. The host itself
+     * is returned (no allocation) when it is already folded, which is the case of the usual lower-cased hosts.
+     */
+    static String foldHost(String host) {
+        if (host == null) {
+            return null;
+        }
+
+        for (int i = 0; i < host.length(); i++) {
+            final char c = host.charAt(i);
+            if (fold(c) != c) {
+                final char[] folded = host.toCharArray();
+                for (int j = i; j < folded.length; j++) {
+                    folded[j] = fold(folded[j]);
+                }
+                return new String(folded);
+            }
+        }
+        return host;
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private record Entry(int rank, HttpAcceptor acceptor) {}
+
+    /**
+     * Keep track of the best (lowest rank) acceptor found so far while walking the tree.
+     */
+    private static final class Candidate {
+
+        private final String host;
+        private final String path;
+        private final String serverId;
+        private HttpAcceptor acceptor;
+        private int rank = Integer.MAX_VALUE;
+
+        private Candidate(String host, String path, String serverId) {
+            this.host = host;
+            this.path = path;
+            this.serverId = serverId;
+        }
+
+        private void test(Node node, String hostKey) {
+            if (node.anyHost.length > 0) {
+                test(node.anyHost);
+            }
+            if (hostKey != null && node.byHost != null) {
+                final Entry[] entries = node.byHost.get(hostKey);
+                if (entries != null) {
+                    test(entries);
+                }
+            }
+        }
+
+        private void test(Entry[] entries) {
+            // Entries are sorted by rank, no need to go further once the current best rank is reached.
+            for (Entry entry : entries) {
+                if (entry.rank >= rank) {
+                    return;
+                }
+                if (entry.acceptor.accept(host, path, serverId)) {
+                    acceptor = entry.acceptor;
+                    rank = entry.rank;
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Node {
+
+        private final String label;
+        private final char[] childKeys;
+        private final Node[] children;
+        private final Entry[] anyHost;
+        private final Map<String, Entry[]> byHost;
+
+        private Node(String label, char[] childKeys, Node[] children, Entry[] anyHost, Map<String, Entry[]> byHost) {
+            this.label = label;
+            this.childKeys = childKeys;
+            this.children = children;
+            this.anyHost = anyHost;
+            this.byHost = byHost;
+        }
+
+        private Node child(char c) {
+            final int index = Arrays.binarySearch(childKeys, c);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    private static final class MutableNode {
+
+        private String label;
+        private final TreeMap<Character, MutableNode> children = new TreeMap<>();
+        private final List<Entry> anyHost = new ArrayList<>();
+        private Map<String, List<Entry>> byHost;
+
+        private MutableNode(String label) {
+            this.label = label;
+        }
+
+        private MutableNode insert(String key, int position) {
+            if (position == key.length()) {
+                return this;
+            }
+
+            final char first = key.charAt(position);
+            final MutableNode child = children.get(first);
+
+            if (child == null) {
+                final MutableNode leaf = new MutableNode(key.substring(position));
+                children.put(first, leaf);
+                return leaf;
+            }
+
+            final int common = commonPrefixLength(child.label, key, position);
+            if (common == child.label.length()) {
+                return child.insert(key, position + common);
+            }
+
+            // Split the edge on the common prefix.
+            final MutableNode split = new MutableNode(child.label.substring(0, common));
+            child.label = child.label.substring(common);
+            split.children.put(child.label.charAt(0), child);
+            children.put(first, split);
+            return split.insert(key, position + common);
+        }
+
+        private void add(String hostKey, Entry entry) {
+            if (hostKey == null) {
+                anyHost.add(entry);
+            } else {
+                if (byHost == null) {
+                    byHost = new HashMap<>();
+                }
+                byHost.computeIfAbsent(hostKey, k -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        private Node freeze() {
+            final char[] childKeys = new char[children.size()];
+            final Node[] frozenChildren = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, MutableNode> child : children.entrySet()) {
+                childKeys[i] = child.getKey();
+                frozenChildren[i] = child.getValue().freeze();
+                i++;
+            }
+
+            Map<String, Entry[]> frozenByHost = null;
+            if (byHost != null) {
+                frozenByHost = new HashMap<>(byHost.size() * 2);
+                for (Map.Entry<String, List<Entry>> hostEntries : byHost.entrySet()) {
+                    frozenByHost.put(hostEntries.getKey(), hostEntries.getValue().toArray(NO_ENTRIES));
+                }
+            }
+
+            return new Node(label, childKeys, frozenChildren, anyHost.toArray(NO_ENTRIES), frozenByHost);
+        }
+
+        private static int commonPrefixLength(String label, String key, int position) {
+            final int max = Math.min(label.length(), key.length() - position);
+            int i = 0;
+            while (i < max && label.charAt(i) == key.charAt(position + i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
@@ -18,14 +18,21 @@ package io.gravitee.gateway.reactor.handler.impl;
 import io.gravitee.gateway.reactive.reactor.v4.reactor.ReactorFactoryManager;
 import io.gravitee.gateway.reactor.Reactable;
 import io.gravitee.gateway.reactor.handler.Acceptor;
+import io.gravitee.gateway.reactor.handler.HttpAcceptor;
 import io.gravitee.gateway.reactor.handler.ReactorHandler;
 import io.gravitee.gateway.reactor.handler.ReactorHandlerRegistry;
+import io.gravitee.gateway.reactor.handler.TcpAcceptor;
+import io.gravitee.gateway.reactor.handler.http.IndexedHttpAcceptors;
+import io.gravitee.gateway.reactor.handler.tcp.IndexedTcpAcceptors;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import lombok.CustomLog;
 import lombok.RequiredArgsConstructor;
 
@@ -41,6 +48,7 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
     private final Map<Reactable, List<ReactableAcceptors>> reactables = new ConcurrentHashMap<>();
     private final Map<Class<? extends Acceptor<?>>, List<Acceptor<?>>> acceptors = new ConcurrentHashMap<>();
     private final Map<Class<? extends Acceptor<?>>, Class<? extends Acceptor<?>>> acceptorsClassMapping = new ConcurrentHashMap<>();
+    private final Queue<AcceptorsChange> pendingChanges = new ConcurrentLinkedQueue<>();
 
     @Override
     public void create(Reactable reactable) {
@@ -52,17 +60,40 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
         }
     }
 
+    @Override
+    public void createAll(Collection<? extends Reactable> reactables) {
+        log.debug("Creating new handlers for {} reactables", reactables.size());
+
+        // Acceptors of all the reactables are published at once.
+        final List<Acceptor<?>> newAcceptors = new ArrayList<>();
+        for (Reactable reactable : reactables) {
+            if (this.reactables.containsKey(reactable)) {
+                // Updated meanwhile, do not deploy a second handler for it.
+                update(reactable);
+                continue;
+            }
+            prepare(reactable).forEach(reactorHandler -> newAcceptors.addAll(associate(reactable, reactorHandler)));
+        }
+        registerAcceptors(newAcceptors);
+    }
+
     private List<ReactorHandler> prepare(Reactable reactable) {
+        return prepare(reactable, List.of());
+    }
+
+    private List<ReactorHandler> prepare(Reactable reactable, List<ReactableAcceptors> previousReactableAcceptors) {
         log.debug("Preparing a new reactor handler for: {}", reactable);
         List<ReactorHandler> reactorHandlers = reactorFactoryManager.create(reactable);
         List<ReactorHandler> startedReactorHandlers = new ArrayList<>();
         if (reactorHandlers != null) {
             reactorHandlers.forEach(reactorHandler -> {
                 try {
+                    takeOver(reactorHandler, previousReactableAcceptors);
                     reactorHandler.start();
                     startedReactorHandlers.add(reactorHandler);
                 } catch (Exception ex) {
                     log.error("Unable to start the new reactor handler: " + reactorHandler, ex);
+                    cancelTakeOver(reactorHandler);
                 }
             });
         }
@@ -70,7 +101,40 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
         return startedReactorHandlers;
     }
 
+    /**
+     * Let the new handler reuse what is unchanged from the handler of the same kind it replaces.
+     */
+    private void takeOver(ReactorHandler reactorHandler, List<ReactableAcceptors> previousReactableAcceptors) {
+        previousReactableAcceptors
+            .stream()
+            .map(ReactableAcceptors::handler)
+            .filter(previousHandler -> previousHandler.getClass() == reactorHandler.getClass())
+            .findFirst()
+            .ifPresent(previousHandler -> {
+                try {
+                    reactorHandler.takeOver(previousHandler);
+                } catch (Exception ex) {
+                    log.warn("Unable to take over the previous reactor handler: {}", previousHandler, ex);
+                }
+            });
+    }
+
+    /**
+     * The previous handler stays in service when the new one fails to start: give it back what was taken over.
+     */
+    private void cancelTakeOver(ReactorHandler reactorHandler) {
+        try {
+            reactorHandler.cancelTakeOver();
+        } catch (Exception ex) {
+            log.warn("Unable to cancel the take over of the previous reactor handler by: {}", reactorHandler, ex);
+        }
+    }
+
     private void register(Reactable reactable, ReactorHandler handler) {
+        registerAcceptors(associate(reactable, handler));
+    }
+
+    private List<Acceptor<?>> associate(Reactable reactable, ReactorHandler handler) {
         log.debug("Registering a new handler: {}", handler);
 
         // Associate the handler to the acceptors
@@ -84,7 +148,7 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
             return copy;
         });
 
-        registerAcceptors(handlerAcceptors);
+        return handlerAcceptors;
     }
 
     @Override
@@ -100,7 +164,7 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
                 });
             }
 
-            List<ReactorHandler> newReactorHandlers = prepare(reactable);
+            List<ReactorHandler> newReactorHandlers = prepare(reactable, reactableAcceptors);
 
             // Do not update handler if the new ones are not correctly initialized
             if (!newReactorHandlers.isEmpty()) {
@@ -129,13 +193,24 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
         removeClaimedAcceptors(reactable, reactableAcceptors);
     }
 
+    @Override
+    public void removeAll(Collection<? extends Reactable> reactables) {
+        final Map<Reactable, List<ReactableAcceptors>> claimed = new HashMap<>();
+        for (Reactable reactable : reactables) {
+            // Same atomic-claim pattern as remove().
+            final List<ReactableAcceptors> reactableAcceptors = this.reactables.remove(reactable);
+            if (reactableAcceptors != null) {
+                claimed.put(reactable, reactableAcceptors);
+            }
+        }
+        removeClaimedAcceptors(claimed);
+    }
+
     @Override
     public void clear() {
         // Same atomic-claim pattern as remove(): map.remove(key) returns the current value,
         // where iterating entries could observe one made stale by a concurrent register().
-        for (Reactable reactable : reactables.keySet()) {
-            removeClaimedAcceptors(reactable, reactables.remove(reactable));
-        }
+        removeAll(reactables.keySet());
     }
 
     @Override
@@ -154,6 +229,26 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
         }
     }
 
+    private void removeClaimedAcceptors(final Map<Reactable, List<ReactableAcceptors>> claimed) {
+        if (!claimed.isEmpty()) {
+            try {
+                // Remove the acceptors of all the reactables at once before stopping the handlers.
+                unregisterAcceptors(
+                    claimed
+                        .values()
+                        .stream()
+                        .flatMap(List::stream)
+                        .flatMap(reactableAcceptor -> reactableAcceptor.acceptors.stream())
+                        .toList()
+                );
+                claimed.forEach(this::stopHandlers);
+                log.debug("{} handlers have been unregistered from the proxy", claimed.size());
+            } catch (Exception e) {
+                log.error("Unable to un-register handlers", e);
+            }
+        }
+    }
+
     private void removeAcceptors(final Reactable reactable, final List<ReactableAcceptors> reactableAcceptors) {
         // Remove the http acceptors before stopping the handler to avoid 500 errors.
         List<? extends Acceptor<?>> handlersAcceptors = reactableAcceptors
@@ -162,7 +257,10 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
             .toList();
 
         unregisterAcceptors(handlersAcceptors);
+        stopHandlers(reactable, reactableAcceptors);
+    }
 
+    private void stopHandlers(final Reactable reactable, final List<ReactableAcceptors> reactableAcceptors) {
         reactableAcceptors.forEach(reactableHttpAcceptor -> {
             try {
                 log.debug("Stopping previous handler for: {}", reactable);
@@ -199,44 +297,152 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
 
     private void registerAcceptors(List<? extends Acceptor<?>> newAcceptors) {
         if (!newAcceptors.isEmpty()) {
-            synchronized (this) {
-                newAcceptors.forEach(acceptor -> {
-                    Class<? extends Acceptor<?>> acceptorType = resolve(acceptor.getClass());
-                    if (acceptorType != null) {
-                        acceptors.compute(acceptorType, (k, v) -> {
-                            var copy = v == null ? new ArrayList<Acceptor<?>>() : new ArrayList<>(v);
-                            copy.add(acceptor);
-                            copy.sort(null);
-                            return Collections.unmodifiableList(copy);
-                        });
-                    }
-                });
-            }
+            publish(new AcceptorsChange(newAcceptors, true));
         }
     }
 
     private void unregisterAcceptors(List<? extends Acceptor<?>> previousAcceptors) {
         if (!previousAcceptors.isEmpty()) {
-            synchronized (this) {
-                previousAcceptors.forEach(acceptor -> {
+            publish(new AcceptorsChange(previousAcceptors, false));
+        }
+    }
+
+    /**
+     * Acceptor changes are queued, then applied by the thread owning the registry monitor along with all the other changes
+     * queued in the meantime: each acceptor type gets a single copy-on-write swap for the whole batch. Concurrent
+     * deployments are thus combined instead of paying each for a full copy and sort of the acceptors. When this method
+     * returns, the given change has been published.
+     */
+    private void publish(AcceptorsChange change) {
+        pendingChanges.add(change);
+
+        synchronized (this) {
+            if (change.applied) {
+                // Another thread has already published it along with its own change.
+                return;
+            }
+
+            final Map<Class<? extends Acceptor<?>>, SortedAcceptors> changedAcceptors = new HashMap<>();
+            AcceptorsChange pending;
+            while ((pending = pendingChanges.poll()) != null) {
+                for (Acceptor<?> acceptor : pending.acceptors) {
                     Class<? extends Acceptor<?>> acceptorType = resolve(acceptor.getClass());
                     if (acceptorType != null) {
-                        acceptors.computeIfPresent(acceptorType, (k, v) -> {
-                            var copy = new ArrayList<>(v);
-                            copy.remove(acceptor);
-                            acceptor.clear();
-                            if (!copy.isEmpty()) {
-                                copy.sort(null);
-                                return Collections.unmodifiableList(copy);
-                            } else {
-                                return null;
-                            }
-                        });
+                        SortedAcceptors sortedAcceptors = changedAcceptors.computeIfAbsent(acceptorType, type ->
+                            new SortedAcceptors(acceptors.get(type))
+                        );
+                        if (pending.register) {
+                            sortedAcceptors.add(acceptor);
+                        } else {
+                            sortedAcceptors.remove(acceptor);
+                        }
                     }
-                });
+                }
+                pending.applied = true;
             }
+
+            changedAcceptors.forEach((acceptorType, sortedAcceptors) -> {
+                List<Acceptor<?>> merged = sortedAcceptors.merge();
+                if (merged.isEmpty()) {
+                    acceptors.remove(acceptorType);
+                } else {
+                    acceptors.put(acceptorType, snapshot(acceptorType, merged));
+                }
+            });
+        }
+    }
+
+    /**
+     * Build the immutable collection published to the readers. Http and tcp acceptors are published along with an index
+     * so that the acceptor resolvers do not have to scan them all.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private List<Acceptor<?>> snapshot(Class<? extends Acceptor<?>> acceptorType, List<Acceptor<?>> sortedAcceptors) {
+        if (acceptorType == HttpAcceptor.class) {
+            return (List) new IndexedHttpAcceptors((List) sortedAcceptors);
+        } else if (acceptorType == TcpAcceptor.class) {
+            return (List) new IndexedTcpAcceptors((List) sortedAcceptors);
         }
+        return Collections.unmodifiableList(sortedAcceptors);
     }
 
     private record ReactableAcceptors(ReactorHandler handler, List<Acceptor<?>> acceptors) {}
+
+    private static final class AcceptorsChange {
+
+        private final List<? extends Acceptor<?>> acceptors;
+        private final boolean register;
+
+        // Only read and written while holding the registry monitor.
+        private boolean applied;
+
+        private AcceptorsChange(List<? extends Acceptor<?>> acceptors, boolean register) {
+            this.acceptors = acceptors;
+            this.register = register;
+        }
+    }
+
+    /**
+     * Accumulate the changes of a batch on top of the currently published (sorted) acceptors. New acceptors are sorted
+     * apart and merged at the end, removed ones are filtered out in a single pass, so a batch of <code>k</code> changes on
+     * <code>n</code> acceptors costs <code>O(n + k log k)</code> instead of a full sort per acceptor.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final class SortedAcceptors {
+
+        private final List<Acceptor<?>> published;
+        private final List<Acceptor<?>> added = new ArrayList<>();
+        private final Map<Acceptor<?>, Integer> removed = new HashMap<>();
+
+        private SortedAcceptors(List<Acceptor<?>> published) {
+            this.published = published == null ? List.of() : published;
+        }
+
+        private void add(Acceptor<?> acceptor) {
+            added.add(acceptor);
+        }
+
+        private void remove(Acceptor<?> acceptor) {
+            if (!added.remove(acceptor)) {
+                removed.merge(acceptor, 1, Integer::sum);
+            }
+            acceptor.clear();
+        }
+
+        private List<Acceptor<?>> merge() {
+            added.sort(null);
+
+            final List<Acceptor<?>> merged = new ArrayList<>(published.size() + added.size());
+            int addedIndex = 0;
+
+            for (Acceptor<?> acceptor : published) {
+                if (!removed.isEmpty() && consumeRemoved(acceptor)) {
+                    continue;
+                }
+                while (addedIndex < added.size() && ((Comparable) added.get(addedIndex)).compareTo(acceptor) < 0) {
+                    merged.add(added.get(addedIndex++));
+                }
+                merged.add(acceptor);
+            }
+
+            while (addedIndex < added.size()) {
+                merged.add(added.get(addedIndex++));
+            }
+
+            return merged;
+        }
+
+        private boolean consumeRemoved(Acceptor<?> acceptor) {
+            final Integer count = removed.get(acceptor);
+            if (count == null) {
+                return false;
+            }
+            if (count == 1) {
+                removed.remove(acceptor);
+            } else {
+                removed.put(acceptor, count - 1);
+            }
+            return true;
+        }
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactor.handler.tcp;
+
+import io.gravitee.gateway.reactor.handler.DefaultTcpAcceptor;
+import io.gravitee.gateway.reactor.handler.TcpAcceptor;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, sorted collection of {@link TcpAcceptor} carrying an index of the acceptors by SNI, so that resolving the
+ * acceptor of a new connection is a single hash lookup whatever the number of deployed TCP apis.
+ *
+ * {@link DefaultTcpAcceptor} only accepts the exact SNI it has been created for, it is indexed by its host. Other
+ * implementations are tested on every resolution. The result is the same as iterating the sorted acceptors and keeping
+ * the first one accepting the connection.
+ *
+ * @author GraviteeSource Team
+ */
+public final class IndexedTcpAcceptors extends AbstractList<TcpAcceptor> implements RandomAccess {
+
+    private static final int[] NO_RANKS = new int[0];
+
+    private final TcpAcceptor[] acceptors;
+    private final Map<String, int[]> ranksBySni;
+    private final int[] unindexedRanks;
+
+    /**
+     * Build the index for the given acceptors. The list must already be sorted in the expected resolution order.
+     *
+     * @param sortedAcceptors the acceptors, sorted.
+     */
+    public IndexedTcpAcceptors(List<TcpAcceptor> sortedAcceptors) {
+        this.acceptors = sortedAcceptors.toArray(new TcpAcceptor[0]);
+
+        final Map<String, List<Integer>> mutableRanksBySni = new HashMap<>();
+        final List<Integer> mutableUnindexedRanks = new ArrayList<>();
+
+        for (int rank = 0; rank < acceptors.length; rank++) {
+            final TcpAcceptor acceptor = acceptors[rank];
+            if (acceptor instanceof DefaultTcpAcceptor && acceptor.host() != null) {
+                mutableRanksBySni.computeIfAbsent(acceptor.host(), host -> new ArrayList<>()).add(rank);
+            } else {
+                mutableUnindexedRanks.add(rank);
+            }
+        }
+
+        this.ranksBySni = new HashMap<>(mutableRanksBySni.size() * 2);
+        mutableRanksBySni.forEach((sni, ranks) -> ranksBySni.put(sni, toArray(ranks)));
+        this.unindexedRanks = toArray(mutableUnindexedRanks);
+    }
+
+    /**
+     * Find the first acceptor, in sort order, able to handle the given SNI and server id.
+     *
+     * @param sni the incoming sni.
+     * @param serverId the id of the server handling the connection.
+     *
+     * @return the matching {@link TcpAcceptor} or <code>null</code> if none matches.
+     */
+    public TcpAcceptor resolve(String sni, String serverId) {
+        if (sni == null) {
+            // Not indexed: let the acceptors reject it, as they would without the index.
+            return resolveInOrder(sni, serverId);
+        }
+
+        final int[] indexedRanks = ranksBySni.getOrDefault(sni, NO_RANKS);
+
+        // Both arrays are sorted by rank, walk them as a merge to test the acceptors in sort order.
+        int indexed = 0;
+        int unindexed = 0;
+        while (indexed < indexedRanks.length || unindexed < unindexedRanks.length) {
+            final int rank;
+            final boolean indexedLeft = indexed < indexedRanks.length;
+            final boolean unindexedLeft = unindexed < unindexedRanks.length;
+            if (!unindexedLeft || (indexedLeft && indexedRanks[indexed] < unindexedRanks[unindexed])) {
+                rank = indexedRanks[indexed++];
+            } else {
+                rank = unindexedRanks[unindexed++];
+            }
+
+            final TcpAcceptor acceptor = acceptors[rank];
+            if (acceptor.accept(sni, serverId)) {
+                return acceptor;
+            }
+        }
+
+        return null;
+    }
+
+    private TcpAcceptor resolveInOrder(String sni, String serverId) {
+        for (TcpAcceptor acceptor : acceptors) {
+            if (acceptor.accept(sni, serverId)) {
+                return acceptor;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public TcpAcceptor get(int index) {
+        return acceptors[index];
+    }
+
+    @Override
+    public int size() {
+        return acceptors.length;
+    }
+
+    private static int[] toArray(List<Integer> ranks) {
+        final int[] array = new int[ranks.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ranks.get(i);
+        }
+        return array;
+    }
+}
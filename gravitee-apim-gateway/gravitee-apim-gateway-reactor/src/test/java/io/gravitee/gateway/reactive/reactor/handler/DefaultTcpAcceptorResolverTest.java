@@ -16,11 +16,13 @@
 package io.gravitee.gateway.reactive.reactor.handler;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
 import io.gravitee.gateway.reactor.handler.DefaultTcpAcceptor;
 import io.gravitee.gateway.reactor.handler.ReactorHandlerRegistry;
 import io.gravitee.gateway.reactor.handler.TcpAcceptor;
+import io.gravitee.gateway.reactor.handler.tcp.IndexedTcpAcceptors;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
@@ -58,4 +60,26 @@ class DefaultTcpAcceptorResolverTest {
         assertThat(cut.resolve("bar", "server1")).isSameAs(bar);
         assertThat(cut.resolve("puk", "server1")).isNull();
     }
+
+    @Test
+    void should_resolve_acceptor_from_index() {
+        DefaultTcpAcceptor foo = new DefaultTcpAcceptor(null, "foo", List.of("server1", "server2"));
+        DefaultTcpAcceptor fooOnServer3 = new DefaultTcpAcceptor(null, "foo", List.of("server3"));
+        DefaultTcpAcceptor bar = new DefaultTcpAcceptor(null, "bar", null);
+        when(handlerRegistry.getAcceptors(TcpAcceptor.class)).thenReturn(new IndexedTcpAcceptors(List.of(bar, foo, fooOnServer3)));
+
+        assertThat(cut.resolve("foo", "server1")).isSameAs(foo);
+        assertThat(cut.resolve("foo", "server3")).isSameAs(fooOnServer3);
+        assertThat(cut.resolve("bar", "server1")).isSameAs(bar);
+        assertThat(cut.resolve("Foo", "server1")).isNull();
+        assertThat(cut.resolve("puk", "server1")).isNull();
+    }
+
+    @Test
+    void should_reject_missing_sni_from_index_as_without_index() {
+        DefaultTcpAcceptor foo = new DefaultTcpAcceptor(null, "foo", null);
+        when(handlerRegistry.getAcceptors(TcpAcceptor.class)).thenReturn(new IndexedTcpAcceptors(List.of(foo)));
+
+        assertThatThrownBy(() -> cut.resolve(null, "server1")).isInstanceOf(NullPointerException.class);
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.reactor.handler.benchmark;
+
+import io.gravitee.gateway.reactive.reactor.handler.DefaultHttpAcceptorResolver;
+import io.gravitee.gateway.reactor.Reactable;
+import io.gravitee.gateway.reactor.handler.Acceptor;
+import io.gravitee.gateway.reactor.handler.DefaultHttpAcceptor;
+import io.gravitee.gateway.reactor.handler.HttpAcceptor;
+import io.gravitee.gateway.reactor.handler.ReactorHandlerRegistry;
+import io.gravitee.gateway.reactor.handler.http.IndexedHttpAcceptors;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare the resolution of an http acceptor with a sequential scan of the sorted acceptors and with the routing index.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class HttpAcceptorResolverBenchmark {
+
+    private static final String SERVER_ID = "http";
+    private static final String HOST = "api0.gravitee.io";
+
+    @Param({ "100", "1000", "10000" })
+    private int acceptorCount;
+
+    private DefaultHttpAcceptorResolver scanResolver;
+    private DefaultHttpAcceptorResolver indexedResolver;
+    private String firstPath;
+    private String lastPath;
+    private String unknownPath;
+
+    // used to run benchmark directly from IDE
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(HttpAcceptorResolverBenchmark.class.getSimpleName()).forks(1).build();
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() {
+        final List<HttpAcceptor> acceptors = new ArrayList<>(acceptorCount);
+        for (int i = 0; i < acceptorCount; i++) {
+            // Mix virtual hosts and plain context paths, as found on a real gateway.
+            final String host = i % 4 == 0 ? "api" + (i % 16) + ".gravitee.io" : null;
+            acceptors.add(new DefaultHttpAcceptor(host, "/team" + (i % 50) + "/api" + i));
+        }
+        acceptors.sort(null);
+
+        scanResolver = new DefaultHttpAcceptorResolver(new FixedReactorHandlerRegistry(Collections.unmodifiableList(acceptors)));
+        indexedResolver = new DefaultHttpAcceptorResolver(new FixedReactorHandlerRegistry(new IndexedHttpAcceptors(acceptors)));
+
+        firstPath = acceptors.get(0).path() + "resources/42";
+        lastPath = acceptors.get(acceptorCount - 1).path() + "resources/42";
+        unknownPath = "/unknown/resources/42";
+    }
+
+    @Benchmark
+    public HttpAcceptor scan_first() {
+        return scanResolver.resolve(HOST, firstPath, SERVER_ID);
+    }
+
+    @Benchmark
+    public HttpAcceptor scan_last() {
+        return scanResolver.resolve(HOST, lastPath, SERVER_ID);
+    }
+
+    @Benchmark
+    public HttpAcceptor scan_not_found() {
+        return scanResolver.resolve(HOST, unknownPath, SERVER_ID);
+    }
+
+    @Benchmark
+    public HttpAcceptor indexed_first() {
+        return indexedResolver.resolve(HOST, firstPath, SERVER_ID);
+    }
+
+    @Benchmark
+    public HttpAcceptor indexed_last() {
+        return indexedResolver.resolve(HOST, lastPath, SERVER_ID);
+    }
+
+    @Benchmark
+    public HttpAcceptor indexed_not_found() {
+        return indexedResolver.resolve(HOST, unknownPath, SERVER_ID);
+    }
+
+    private record FixedReactorHandlerRegistry(Collection<HttpAcceptor> httpAcceptors) implements ReactorHandlerRegistry {
+        @Override
+        public void create(Reactable reactable) {}
+
+        @Override
+        public void update(Reactable reactable) {}
+
+        @Override
+        public void remove(Reactable reactable) {}
+
+        @Override
+        public void clear() {}
+
+        @Override
+        public boolean contains(Reactable reactable) {
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Acceptor<T>> Collection<T> getAcceptors(Class<T> acceptorType) {
+            return (Collection<T>) httpAcceptors;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactive.reactor.handler.benchmark;
+
+import io.gravitee.gateway.reactive.reactor.handler.DefaultTcpAcceptorResolver;
+import io.gravitee.gateway.reactor.Reactable;
+import io.gravitee.gateway.reactor.handler.Acceptor;
+import io.gravitee.gateway.reactor.handler.DefaultTcpAcceptor;
+import io.gravitee.gateway.reactor.handler.ReactorHandlerRegistry;
+import io.gravitee.gateway.reactor.handler.TcpAcceptor;
+import io.gravitee.gateway.reactor.handler.tcp.IndexedTcpAcceptors;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare the resolution of a tcp acceptor with a stream over the sorted acceptors and with the SNI index.
+ * Run with <code>-prof gc</code> to compare the allocation rates.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class TcpAcceptorResolverBenchmark {
+
+    private static final String SERVER_ID = "tcp";
+
+    @Param({ "10", "100", "1000" })
+    private int acceptorCount;
+
+    private ReactorHandlerRegistry streamRegistry;
+    private DefaultTcpAcceptorResolver indexedResolver;
+    private String lastSni;
+
+    // used to run benchmark directly from IDE
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(TcpAcceptorResolverBenchmark.class.getSimpleName()).forks(1).build();
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() {
+        final List<TcpAcceptor> acceptors = new ArrayList<>(acceptorCount);
+        for (int i = 0; i < acceptorCount; i++) {
+            acceptors.add(new DefaultTcpAcceptor(null, "tcp-api-" + i + ".gravitee.io", List.of(SERVER_ID)));
+        }
+        acceptors.sort(null);
+
+        streamRegistry = new FixedReactorHandlerRegistry(Collections.unmodifiableList(acceptors));
+        indexedResolver = new DefaultTcpAcceptorResolver(new FixedReactorHandlerRegistry(new IndexedTcpAcceptors(acceptors)));
+        lastSni = acceptors.get(acceptorCount - 1).host();
+    }
+
+    @Benchmark
+    public TcpAcceptor stream_last() {
+        // Resolution as it was done before the SNI index.
+        return streamRegistry
+            .getAcceptors(TcpAcceptor.class)
+            .stream()
+            .filter(tcpAcceptor -> tcpAcceptor.accept(lastSni, SERVER_ID))
+            .findFirst()
+            .orElse(null);
+    }
+
+    @Benchmark
+    public TcpAcceptor indexed_last() {
+        return indexedResolver.resolve(lastSni, SERVER_ID);
+    }
+
+    @Benchmark
+    public TcpAcceptor indexed_not_found() {
+        return indexedResolver.resolve("unknown.gravitee.io", SERVER_ID);
+    }
+
+    private record FixedReactorHandlerRegistry(Collection<TcpAcceptor> tcpAcceptors) implements ReactorHandlerRegistry {
+        @Override
+        public void create(Reactable reactable) {}
+
+        @Override
+        public void update(Reactable reactable) {}
+
+        @Override
+        public void remove(Reactable reactable) {}
+
+        @Override
+        public void clear() {}
+
+        @Override
+        public boolean contains(Reactable reactable) {
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Acceptor<T>> Collection<T> getAcceptors(Class<T> acceptorType) {
+            return (Collection<T>) tcpAcceptors;
+        }
+    }
+}
@@ -20,10 +20,13 @@ import static org.mockito.Mockito.*;
 import io.gravitee.common.event.Event;
 import io.gravitee.common.event.EventManager;
 import io.gravitee.gateway.reactor.Reactable;
+import io.gravitee.gateway.reactor.ReactorBatchEvent;
 import io.gravitee.gateway.reactor.ReactorEvent;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -86,9 +89,65 @@ public class ReactorEventListenerTest {
         verifyNoMoreInteractions(reactorHandlerRegistry);
     }
 
+    @Test
+    public void shouldCreateAllDeployedApisWhenBatchEnds() {
+        final Reactable api1 = mock(Reactable.class);
+        final Reactable api2 = mock(Reactable.class);
+
+        reactorEventListener.onBatchEvent(batchEvent(ReactorBatchEvent.BEGIN));
+        reactorEventListener.onEvent(reactorEvent(ReactorEvent.DEPLOY, api1));
+        reactorEventListener.onEvent(reactorEvent(ReactorEvent.DEPLOY, api2));
+        verifyNoInteractions(reactorHandlerRegistry);
+
+        reactorEventListener.onBatchEvent(batchEvent(ReactorBatchEvent.END));
+        verify(reactorHandlerRegistry).createAll(List.of(api1, api2));
+        verifyNoMoreInteractions(reactorHandlerRegistry);
+    }
+
+    @Test
+    public void shouldCreateDeployedApisBeforeUpdatingWithinBatch() {
+        final Reactable api1 = mock(Reactable.class);
+        final Reactable api2 = mock(Reactable.class);
+
+        reactorEventListener.onBatchEvent(batchEvent(ReactorBatchEvent.BEGIN));
+        reactorEventListener.onEvent(reactorEvent(ReactorEvent.DEPLOY, api1));
+        reactorEventListener.onEvent(reactorEvent(ReactorEvent.UPDATE, api2));
+        reactorEventListener.onBatchEvent(batchEvent(ReactorBatchEvent.END));
+
+        InOrder inOrder = inOrder(reactorHandlerRegistry);
+        inOrder.verify(reactorHandlerRegistry).createAll(List.of(api1));
+        inOrder.verify(reactorHandlerRegistry).update(api2);
+        verifyNoMoreInteractions(reactorHandlerRegistry);
+    }
+
+    @Test
+    public void shouldCreateApiRightAwayOutsideOfBatch() {
+        final Reactable api = mock(Reactable.class);
+
+        reactorEventListener.onBatchEvent(batchEvent(ReactorBatchEvent.BEGIN));
+        reactorEventListener.onBatchEvent(batchEvent(ReactorBatchEvent.END));
+        reactorEventListener.onEvent(reactorEvent(ReactorEvent.DEPLOY, api));
+
+        verify(reactorHandlerRegistry).create(api);
+        verifyNoMoreInteractions(reactorHandlerRegistry);
+    }
+
     @Test
     public void shouldClearHandlerRegistryWhenStopping() throws Exception {
         reactorEventListener.stop();
         verify(reactorHandlerRegistry).clear();
     }
+
+    private static Event<ReactorEvent, Reactable> reactorEvent(ReactorEvent type, Reactable reactable) {
+        final Event<ReactorEvent, Reactable> event = mock(Event.class);
+        when(event.type()).thenReturn(type);
+        when(event.content()).thenReturn(reactable);
+        return event;
+    }
+
+    private static Event<ReactorBatchEvent, Void> batchEvent(ReactorBatchEvent type) {
+        final Event<ReactorBatchEvent, Void> event = mock(Event.class);
+        when(event.type()).thenReturn(type);
+        return event;
+    }
 }
@@ -16,11 +16,20 @@
 package io.gravitee.gateway.reactor.handler;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.gravitee.common.event.Event;
+import io.gravitee.common.event.EventManager;
 import io.gravitee.gateway.reactive.reactor.v4.reactor.ReactorFactoryManager;
 import io.gravitee.gateway.reactor.Reactable;
+import io.gravitee.gateway.reactor.ReactorBatchEvent;
+import io.gravitee.gateway.reactor.ReactorEvent;
 import io.gravitee.gateway.reactor.handler.impl.DefaultReactorHandlerRegistry;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -31,11 +40,13 @@ import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -189,6 +200,59 @@ public class ReactorHandlerRegistryTest {
         assertEntryPoint(null, "/", httpAcceptorHandlerIterator.next());
     }
 
+    @Test
+    public void shouldLetNewHandlerTakeOverPreviousOne_updateSameReactable() throws Exception {
+        DummyReactable reactable = createReactable("reactable1");
+        ReactorHandler handler = createReactorHandler("/");
+        when(reactorHandlerFactoryManager.create(reactable)).thenReturn(List.of(handler));
+        reactorHandlerRegistry.create(reactable);
+
+        DummyReactable updateReactable = createReactable("reactable1");
+        ReactorHandler handler2 = createReactorHandler("/");
+        when(reactorHandlerFactoryManager.create(updateReactable)).thenReturn(List.of(handler2));
+        reactorHandlerRegistry.update(updateReactable);
+
+        InOrder inOrder = inOrder(handler, handler2);
+        inOrder.verify(handler2).takeOver(handler);
+        inOrder.verify(handler2).start();
+        inOrder.verify(handler).stop();
+    }
+
+    @Test
+    public void shouldGiveBackTakenOverComponentsWhenNewHandlerFailsToStart_updateSameReactable() throws Exception {
+        DummyReactable reactable = createReactable("reactable1");
+        ReactorHandler handler = createReactorHandler("/");
+        when(reactorHandlerFactoryManager.create(reactable)).thenReturn(List.of(handler));
+        reactorHandlerRegistry.create(reactable);
+
+        DummyReactable updateReactable = createReactable("reactable1");
+        ReactorHandler handler2 = createReactorHandler("/");
+        doThrow(new IllegalStateException("Unable to start")).when(handler2).start();
+        when(reactorHandlerFactoryManager.create(updateReactable)).thenReturn(List.of(handler2));
+        reactorHandlerRegistry.update(updateReactable);
+
+        InOrder inOrder = inOrder(handler2);
+        inOrder.verify(handler2).takeOver(handler);
+        inOrder.verify(handler2).start();
+        inOrder.verify(handler2).cancelTakeOver();
+        verify(handler, never()).stop();
+
+        final Collection<HttpAcceptor> httpAcceptors = reactorHandlerRegistry.getAcceptors(HttpAcceptor.class);
+        Assertions.assertEquals(1, httpAcceptors.size());
+        Assertions.assertSame(handler, httpAcceptors.iterator().next().reactor());
+    }
+
+    @Test
+    public void shouldNotTakeOverAnyHandler_createReactable() throws Exception {
+        DummyReactable reactable = createReactable("reactable1");
+        ReactorHandler handler = createReactorHandler("/");
+        when(reactorHandlerFactoryManager.create(reactable)).thenReturn(List.of(handler));
+        reactorHandlerRegistry.create(reactable);
+
+        verify(handler, never()).takeOver(any());
+        verify(handler).start();
+    }
+
     @Test
     public void shouldHaveMultipleHttpAcceptors_multipleCreateReactable() {
         DummyReactable reactable = createReactable("reactable1");
@@ -841,6 +905,83 @@ public class ReactorHandlerRegistryTest {
         Assertions.assertNull(errors.get(), "Concurrent modification detected: " + errors.get());
     }
 
+    @Test
+    public void shouldHaveSortedHttpAcceptors_createAll() {
+        List<DummyReactable> reactables = new ArrayList<>();
+        for (String contextPath : List.of("/c", "/a", "/b")) {
+            DummyReactable reactable = createReactable(contextPath);
+            ReactorHandler handler = createReactorHandler(contextPath);
+            when(reactorHandlerFactoryManager.create(reactable)).thenReturn(List.of(handler));
+            reactables.add(reactable);
+        }
+
+        reactorHandlerRegistry.createAll(reactables);
+
+        final Collection<HttpAcceptor> httpAcceptorHandlers = reactorHandlerRegistry.getAcceptors(HttpAcceptor.class);
+        final Iterator<HttpAcceptor> httpAcceptorHandlerIterator = httpAcceptorHandlers.iterator();
+        Assertions.assertEquals(3, httpAcceptorHandlers.size());
+        assertEntryPoint(null, "/a/", httpAcceptorHandlerIterator.next());
+        assertEntryPoint(null, "/b/", httpAcceptorHandlerIterator.next());
+        assertEntryPoint(null, "/c/", httpAcceptorHandlerIterator.next());
+        reactables.forEach(reactable -> assertTrue(reactorHandlerRegistry.contains(reactable)));
+    }
+
+    @Test
+    public void shouldHaveRemainingHttpAcceptors_removeAll() throws Exception {
+        List<DummyReactable> reactables = new ArrayList<>();
+        List<ReactorHandler> handlers = new ArrayList<>();
+        for (String contextPath : List.of("/a", "/b", "/c")) {
+            DummyReactable reactable = createReactable(contextPath);
+            ReactorHandler handler = createReactorHandler(contextPath);
+            when(reactorHandlerFactoryManager.create(reactable)).thenReturn(List.of(handler));
+            reactorHandlerRegistry.create(reactable);
+            reactables.add(reactable);
+            handlers.add(handler);
+        }
+
+        reactorHandlerRegistry.removeAll(List.of(reactables.get(0), reactables.get(2)));
+
+        final Collection<HttpAcceptor> httpAcceptorHandlers = reactorHandlerRegistry.getAcceptors(HttpAcceptor.class);
+        Assertions.assertEquals(1, httpAcceptorHandlers.size());
+        assertEntryPoint(null, "/b/", httpAcceptorHandlers.iterator().next());
+        verify(handlers.get(0)).stop();
+        verify(handlers.get(1), never()).stop();
+        verify(handlers.get(2)).stop();
+    }
+
+    @Test
+    public void shouldSortAcceptorsOnce_deployBatchThroughReactorEvents() {
+        final ReactorEventListener reactorEventListener = new ReactorEventListener(mock(EventManager.class), reactorHandlerRegistry);
+        final AtomicInteger comparisons = new AtomicInteger();
+        final int apis = 1000;
+
+        reactorEventListener.onBatchEvent(batchEvent(ReactorBatchEvent.BEGIN));
+        for (int i = 0; i < apis; i++) {
+            DummyReactable reactable = createReactable("reactable" + i);
+            ReactorHandler handler = createReactorHandler(new ComparisonCountingAcceptor(String.format("api-%04d", i), comparisons));
+            when(reactorHandlerFactoryManager.create(reactable)).thenReturn(List.of(handler));
+
+            final Event<ReactorEvent, Reactable> event = mock(Event.class);
+            when(event.type()).thenReturn(ReactorEvent.DEPLOY);
+            when(event.content()).thenReturn(reactable);
+            reactorEventListener.onEvent(event);
+        }
+        Assertions.assertTrue(reactorHandlerRegistry.getAcceptors(DummyAcceptor.class).isEmpty());
+        reactorEventListener.onBatchEvent(batchEvent(ReactorBatchEvent.END));
+
+        final Collection<DummyAcceptor> acceptors = reactorHandlerRegistry.getAcceptors(DummyAcceptor.class);
+        Assertions.assertEquals(apis, acceptors.size());
+        Assertions.assertEquals("api-0000", acceptors.iterator().next().apiId());
+        // Merging each api into the published acceptors would have cost about apis² / 2 comparisons.
+        assertTrue(comparisons.get() < 10 * apis, "Acceptors compared " + comparisons.get() + " times");
+    }
+
+    private static Event<ReactorBatchEvent, Void> batchEvent(ReactorBatchEvent type) {
+        final Event<ReactorBatchEvent, Void> event = mock(Event.class);
+        when(event.type()).thenReturn(type);
+        return event;
+    }
+
     private void assertEntryPoint(String host, String path, HttpAcceptor httpAcceptor) {
         Assertions.assertEquals(host, httpAcceptor.host());
         Assertions.assertEquals(path, httpAcceptor.path());
@@ -910,6 +1051,33 @@ public class ReactorHandlerRegistryTest {
         }
     }
 
+    private static class ComparisonCountingAcceptor implements DummyAcceptor {
+
+        private final String apiId;
+        private final AtomicInteger comparisons;
+
+        private ComparisonCountingAcceptor(final String apiId, final AtomicInteger comparisons) {
+            this.apiId = apiId;
+            this.comparisons = comparisons;
+        }
+
+        @Override
+        public String apiId() {
+            return apiId;
+        }
+
+        @Override
+        public ReactorHandler reactor() {
+            return null;
+        }
+
+        @Override
+        public int compareTo(@Nonnull DummyAcceptor o) {
+            comparisons.incrementAndGet();
+            return apiId.compareTo(o.apiId());
+        }
+    }
+
     private interface DummyAcceptor extends Acceptor<DummyAcceptor> {
         String apiId();
     }
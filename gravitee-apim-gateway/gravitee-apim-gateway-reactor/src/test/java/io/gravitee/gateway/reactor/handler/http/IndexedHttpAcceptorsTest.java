@@ -0,0 +1,163 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactor.handler.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.gateway.reactor.handler.DefaultHttpAcceptor;
+import io.gravitee.gateway.reactor.handler.HttpAcceptor;
+import io.gravitee.gateway.reactor.handler.OverlappingHttpAcceptor;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class IndexedHttpAcceptorsTest {
+
+    private static final String SERVER_ID = "http";
+
+    @Test
+    void should_resolve_acceptor_matching_path() {
+        var acceptor1 = new DefaultHttpAcceptor("/a");
+        var acceptor2 = new DefaultHttpAcceptor("/b");
+        var cut = index(acceptor1, acceptor2);
+
+        assertThat(cut.resolve("localhost", "/a", SERVER_ID)).isSameAs(acceptor1);
+        assertThat(cut.resolve("localhost", "/a/", SERVER_ID)).isSameAs(acceptor1);
+        assertThat(cut.resolve("localhost", "/a/foo", SERVER_ID)).isSameAs(acceptor1);
+        assertThat(cut.resolve("localhost", "/b/foo", SERVER_ID)).isSameAs(acceptor2);
+        assertThat(cut.resolve("localhost", "/ab", SERVER_ID)).isNull();
+        assertThat(cut.resolve("localhost", "/c", SERVER_ID)).isNull();
+    }
+
+    @Test
+    void should_resolve_acceptor_registered_with_duplicate_slashes() {
+        var acceptor = new DefaultHttpAcceptor("/a//b/");
+        var cut = index(acceptor);
+
+        assertThat(acceptor.path()).isEqualTo("/a/b/");
+        assertThat(acceptor.accept("localhost", "/a/b", SERVER_ID)).isTrue();
+        assertThat(cut.resolve("localhost", "/a/b", SERVER_ID)).isSameAs(acceptor);
+        assertThat(cut.resolve("localhost", "/a/b/", SERVER_ID)).isSameAs(acceptor);
+        assertThat(cut.resolve("localhost", "/a/b/foo", SERVER_ID)).isSameAs(acceptor);
+        assertThat(cut.resolve("localhost", "/a", SERVER_ID)).isNull();
+    }
+
+    @Test
+    void should_resolve_acceptor_matching_host_ignoring_case() {
+        var withHost = new DefaultHttpAcceptor("api.gravitee.io", "/a");
+        var withoutHost = new DefaultHttpAcceptor("/a");
+        var cut = index(withHost, withoutHost);
+
+        assertThat(cut.resolve("API.Gravitee.io", "/a", SERVER_ID)).isSameAs(withHost);
+        assertThat(cut.resolve("other.gravitee.io", "/a", SERVER_ID)).isSameAs(withoutHost);
+        assertThat(cut.resolve(null, "/a", SERVER_ID)).isSameAs(withoutHost);
+    }
+
+    @Test
+    void should_resolve_acceptor_matching_server() {
+        var acceptor = new DefaultHttpAcceptor(null, "/a", List.of("other"));
+        var cut = index(acceptor);
+
+        assertThat(cut.resolve("localhost", "/a", SERVER_ID)).isNull();
+        assertThat(cut.resolve("localhost", "/a", "other")).isSameAs(acceptor);
+    }
+
+    @Test
+    void should_test_acceptors_which_cannot_be_indexed() {
+        var custom = mock(HttpAcceptor.class);
+        when(custom.accept("localhost", "/anything", SERVER_ID)).thenReturn(true);
+        var cut = new IndexedHttpAcceptors(List.of(new DefaultHttpAcceptor("/a"), custom));
+
+        assertThat(cut.resolve("localhost", "/anything", SERVER_ID)).isSameAs(custom);
+    }
+
+    @Test
+    void should_expose_acceptors_in_order() {
+        var acceptor1 = new DefaultHttpAcceptor("/a");
+        var acceptor2 = new DefaultHttpAcceptor("/b");
+        var cut = index(acceptor2, acceptor1);
+
+        assertThat(cut).containsExactly(acceptor1, acceptor2);
+    }
+
+    @Test
+    void should_resolve_as_a_sequential_scan() {
+        final Random random = new Random(42);
+        final String[] hosts = { null, "api.gravitee.io", "API.gravitee.io", "*.gravitee.io", "gravitee.io", "other.io" };
+        final String[] segments = { "a", "ab", "b", "v1", "v2" };
+
+        for (boolean overlapping : new boolean[] { false, true }) {
+            final List<HttpAcceptor> acceptors = new ArrayList<>();
+            final Set<String> keys = new HashSet<>();
+            for (int i = 0; i < 200; i++) {
+                final String host = hosts[random.nextInt(hosts.length)];
+                final String path = randomPath(random, segments);
+                if (!keys.add((host == null ? null : host.toLowerCase()) + path)) {
+                    // Acceptors with same host and path are not consistently ordered, avoid them.
+                    continue;
+                }
+                final List<String> servers = random.nextInt(4) == 0 ? List.of("other") : null;
+                acceptors.add(
+                    overlapping ? new OverlappingHttpAcceptor(host, path, servers) : new DefaultHttpAcceptor(host, path, servers)
+                );
+            }
+            acceptors.sort(null);
+            final IndexedHttpAcceptors cut = new IndexedHttpAcceptors(acceptors);
+
+            for (int i = 0; i < 2000; i++) {
+                final String host = random.nextBoolean() ? hosts[random.nextInt(hosts.length)] : "api.gravitee.io:8082";
+                final String path = randomPath(random, segments) + (random.nextBoolean() ? "/" : "");
+                final String serverId = random.nextBoolean() ? SERVER_ID : "other";
+
+                assertThat(cut.resolve(host, path, serverId))
+                    .as("host[%s] path[%s] server[%s]", host, path, serverId)
+                    .isSameAs(scan(acceptors, host, path, serverId));
+            }
+        }
+    }
+
+    private static String randomPath(Random random, String[] segments) {
+        final StringBuilder path = new StringBuilder();
+        final int depth = random.nextInt(4);
+        for (int i = 0; i < depth; i++) {
+            path.append('/').append(segments[random.nextInt(segments.length)]);
+        }
+        return path.isEmpty() ? "/" : path.toString();
+    }
+
+    private static HttpAcceptor scan(List<HttpAcceptor> acceptors, String host, String path, String serverId) {
+        for (HttpAcceptor acceptor : acceptors) {
+            if (acceptor.accept(host, path, serverId)) {
+                return acceptor;
+            }
+        }
+        return null;
+    }
+
+    private static IndexedHttpAcceptors index(HttpAcceptor... acceptors) {
+        final List<HttpAcceptor> sorted = new ArrayList<>(List.of(acceptors));
+        sorted.sort(null);
+        return new IndexedHttpAcceptors(sorted);
+    }
+}
@@ -18,32 +18,95 @@ package io.gravitee.gateway.report.guard;
 
 import io.gravitee.common.service.AbstractService;
 import io.gravitee.gateway.report.guard.strategy.CoolDownLogGuardStrategy;
+import io.gravitee.gateway.report.guard.strategy.SamplingLogGuardStrategy;
 import io.gravitee.node.monitoring.healthcheck.NodeHealthCheckService;
 import java.time.Duration;
-import lombok.RequiredArgsConstructor;
 
 /**
  * @author Remi Baptiste (remi.baptiste at graviteesource.com)
  * @author GraviteeSource Team
  */
-@RequiredArgsConstructor
 public class LogGuardService extends AbstractService<LogGuardService> {
 
+    public static final double DEFAULT_SAMPLING_RATE = 100;
+    public static final double DEFAULT_SAMPLING_HEAP_THRESHOLD = 0.8;
+
     private final boolean isLogGuardEnabled;
 
     private final String strategy;
 
     private final int cooldownDurationInSeconds;
 
+    private final double samplingRate;
+
+    private final double samplingHeapThreshold;
+
     private final NodeHealthCheckService nodeHealthCheckService;
 
+    private final PayloadCaptureBudget payloadCaptureBudget;
+
     private LogGuardStrategy logGuardStrategy;
 
+    public LogGuardService(
+        boolean isLogGuardEnabled,
+        String strategy,
+        int cooldownDurationInSeconds,
+        NodeHealthCheckService nodeHealthCheckService
+    ) {
+        this(
+            isLogGuardEnabled,
+            strategy,
+            cooldownDurationInSeconds,
+            DEFAULT_SAMPLING_RATE,
+            DEFAULT_SAMPLING_HEAP_THRESHOLD,
+            nodeHealthCheckService
+        );
+    }
+
+    public LogGuardService(
+        boolean isLogGuardEnabled,
+        String strategy,
+        int cooldownDurationInSeconds,
+        double samplingRate,
+        double samplingHeapThreshold,
+        NodeHealthCheckService nodeHealthCheckService
+    ) {
+        this(
+            isLogGuardEnabled,
+            strategy,
+            cooldownDurationInSeconds,
+            samplingRate,
+            samplingHeapThreshold,
+            PayloadCaptureBudget.UNLIMITED,
+            nodeHealthCheckService
+        );
+    }
+
+    public LogGuardService(
+        boolean isLogGuardEnabled,
+        String strategy,
+        int cooldownDurationInSeconds,
+        double samplingRate,
+        double samplingHeapThreshold,
+        long payloadCaptureMaxBytes,
+        NodeHealthCheckService nodeHealthCheckService
+    ) {
+        this.isLogGuardEnabled = isLogGuardEnabled;
+        this.strategy = strategy;
+        this.cooldownDurationInSeconds = cooldownDurationInSeconds;
+        this.samplingRate = samplingRate;
+        this.samplingHeapThreshold = samplingHeapThreshold;
+        this.nodeHealthCheckService = nodeHealthCheckService;
+        this.payloadCaptureBudget = new PayloadCaptureBudget(payloadCaptureMaxBytes);
+    }
+
     @Override
     public void doStart() throws Exception {
         if (isLogGuardEnabled) {
             if (!strategy.isEmpty() && strategy.equals("cooldown")) {
                 logGuardStrategy = new CoolDownLogGuardStrategy(nodeHealthCheckService, Duration.ofSeconds(cooldownDurationInSeconds));
+            } else if (strategy.equals("sampling")) {
+                logGuardStrategy = new SamplingLogGuardStrategy(nodeHealthCheckService, samplingRate, samplingHeapThreshold);
             } else {
                 throw new IllegalStateException("Log guard strategy unknown: " + strategy);
             }
@@ -60,4 +123,24 @@ public class LogGuardService extends AbstractService<LogGuardService> {
         }
         return false;
     }
+
+    /**
+     *
+     * @param error <code>true</code> when the body to log is the error message of a failed request
+     * @return the current state of the log guard for this body
+     */
+    public boolean isLogGuardActive(boolean error) {
+        if (logGuardStrategy != null) {
+            return logGuardStrategy.execute(error);
+        }
+        return false;
+    }
+
+    /**
+     *
+     * @return the budget shared by all the payloads being captured for logging, whether the guard is enabled or not
+     */
+    public PayloadCaptureBudget getPayloadCaptureBudget() {
+        return payloadCaptureBudget;
+    }
 }
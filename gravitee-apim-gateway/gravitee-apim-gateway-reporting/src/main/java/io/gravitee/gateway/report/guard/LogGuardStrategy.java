@@ -24,4 +24,12 @@ public interface LogGuardStrategy {
     String getName();
 
     boolean execute();
+
+    /**
+     * @param error <code>true</code> when the body to log is the error message of a failed request.
+     * @return <code>true</code> when the body must not be logged.
+     */
+    default boolean execute(boolean error) {
+        return execute();
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.report.guard;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.CustomLog;
+
+/**
+ * Hard limit on the memory held by the payloads being captured for logging, all requests together. A capture
+ * reserves the bytes it is about to copy and gives them back once its log has been built: when the budget is
+ * exhausted, the payload is truncated rather than growing the memory further.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+public class PayloadCaptureBudget {
+
+    public static final long UNLIMITED = -1;
+
+    private final long maxBytes;
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final LongAdder saturations = new LongAdder();
+    private final AtomicBoolean saturated = new AtomicBoolean();
+
+    public PayloadCaptureBudget(final long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return the number of bytes actually reserved, lower than the requested ones when the budget is almost exhausted.
+     */
+    public int reserve(final int bytes) {
+        if (maxBytes == UNLIMITED) {
+            inFlightBytes.addAndGet(bytes);
+            return bytes;
+        }
+        while (true) {
+            final long current = inFlightBytes.get();
+            final int granted = (int) Math.min(bytes, Math.max(0, maxBytes - current));
+            if (granted < bytes) {
+                saturations.increment();
+                if (saturated.compareAndSet(false, true)) {
+                    log.warn("The payloads being captured for logging reached the {} bytes budget, they are truncated", maxBytes);
+                }
+            }
+            if (granted == 0 || inFlightBytes.compareAndSet(current, current + granted)) {
+                return granted;
+            }
+        }
+    }
+
+    public void release(final long bytes) {
+        if (bytes > 0 && inFlightBytes.addAndGet(-bytes) < maxBytes / 2) {
+            saturated.set(false);
+        }
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    public long inFlightBytes() {
+        return inFlightBytes.get();
+    }
+
+    /**
+     * @return the number of reservations that could not be fully granted, each one truncating a captured payload.
+     */
+    public long saturations() {
+        return saturations.sum();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.report.guard.strategy;
+
+import io.gravitee.gateway.report.guard.LogGuardStrategy;
+import io.gravitee.node.monitoring.healthcheck.NodeHealthCheckService;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import lombok.CustomLog;
+
+/**
+ * Strategy sampling the bodies to log rather than dropping them all under pressure.
+ *
+ * The bodies are sampled at random, with the probability needed to log about <code>rate</code> of them per second, the
+ * rate being also enforced as a hard limit. Every second, the allowed rate is halved while the memory is under pressure
+ * (GC pressure reported by the health check, or heap still used after a collection above the threshold) and raised
+ * back by a tenth of the target once it is not. The error messages of the failed requests are always logged: they are
+ * the ones needed to investigate and cost next to nothing.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+public class SamplingLogGuardStrategy implements LogGuardStrategy {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    static final double MIN_FACTOR = 0.01;
+    private static final double RECOVERY_STEP = 0.1;
+
+    private final NodeHealthCheckService nodeHealthCheckService;
+    private final double rate;
+    private final double heapThreshold;
+    private final DoubleSupplier heapUsage;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong windowStart;
+    private final LongAdder windowCandidates = new LongAdder();
+    private final AtomicLong theoreticalArrival;
+    private volatile double observedRate;
+    private volatile double factor = 1;
+
+    public SamplingLogGuardStrategy(final NodeHealthCheckService nodeHealthCheckService, final double rate, final double heapThreshold) {
+        this(nodeHealthCheckService, rate, heapThreshold, SamplingLogGuardStrategy::heapUsage, System::nanoTime);
+    }
+
+    SamplingLogGuardStrategy(
+        final NodeHealthCheckService nodeHealthCheckService,
+        final double rate,
+        final double heapThreshold,
+        final DoubleSupplier heapUsage,
+        final LongSupplier nanoClock
+    ) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("The log sampling rate must be positive");
+        }
+        this.nodeHealthCheckService = nodeHealthCheckService;
+        this.rate = rate;
+        this.heapThreshold = heapThreshold;
+        this.heapUsage = heapUsage;
+        this.nanoClock = nanoClock;
+        final long now = nanoClock.getAsLong();
+        this.windowStart = new AtomicLong(now);
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    @Override
+    public String getName() {
+        return "sampling";
+    }
+
+    @Override
+    public boolean execute() {
+        final long now = nanoClock.getAsLong();
+        rollWindow(now);
+        windowCandidates.increment();
+
+        final double allowedRate = rate * factor;
+        final double candidates = observedRate;
+        if (candidates > allowedRate && ThreadLocalRandom.current().nextDouble() * candidates >= allowedRate) {
+            return true;
+        }
+        return !tryAcquire(now, allowedRate);
+    }
+
+    @Override
+    public boolean execute(final boolean error) {
+        return !error && execute();
+    }
+
+    /**
+     * @return the fraction of the target rate currently allowed, lowered under memory pressure.
+     */
+    public double factor() {
+        return factor;
+    }
+
+    private void rollWindow(final long now) {
+        final long start = windowStart.get();
+        final long elapsed = now - start;
+        if (elapsed < WINDOW_NANOS || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+        observedRate = (windowCandidates.sumThenReset() * (double) WINDOW_NANOS) / elapsed;
+
+        final double previous = factor;
+        if (nodeHealthCheckService.isGcPressureTooHigh() || heapUsage.getAsDouble() > heapThreshold) {
+            factor = Math.max(MIN_FACTOR, previous / 2);
+        } else {
+            factor = Math.min(1, previous + RECOVERY_STEP);
+        }
+        if (factor != previous) {
+            log.debug("Body logging sampled at {} logs/s (observed {} candidates/s)", rate * factor, observedRate);
+        }
+    }
+
+    /**
+     * Virtual scheduling: each log pushes the theoretical arrival time of the next one by the interval of the allowed
+     * rate, and is refused when that time runs more than one window ahead.
+     */
+    private boolean tryAcquire(final long now, final double allowedRate) {
+        final long interval = (long) (WINDOW_NANOS / allowedRate);
+        while (true) {
+            final long tat = theoreticalArrival.get();
+            final long next = Math.max(tat, now) + interval;
+            if (next - now > WINDOW_NANOS) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Heap usage measured right after the last collection of each pool: the live data, rather than the garbage the young
+     * generation is filled with between two collections.
+     */
+    private static double heapUsage() {
+        double usage = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            final MemoryUsage collectionUsage = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            if (collectionUsage != null && collectionUsage.getMax() > 0) {
+                usage = Math.max(usage, (double) collectionUsage.getUsed() / collectionUsage.getMax());
+            }
+        }
+        return usage;
+    }
+}
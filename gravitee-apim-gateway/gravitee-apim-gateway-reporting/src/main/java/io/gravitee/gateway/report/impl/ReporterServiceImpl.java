@@ -16,6 +16,7 @@
 package io.gravitee.gateway.report.impl;
 
 import io.gravitee.gateway.report.ReporterService;
+import io.gravitee.gateway.report.rollup.MetricsRollupService;
 import io.gravitee.reporter.api.Reportable;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -28,8 +29,14 @@ public class ReporterServiceImpl implements ReporterService {
     @Autowired
     private io.gravitee.node.reporter.ReporterService reporterService;
 
+    @Autowired(required = false)
+    private MetricsRollupService metricsRollupService;
+
     @Override
     public void report(Reportable reportable) {
+        if (metricsRollupService != null && metricsRollupService.rollup(reportable)) {
+            return;
+        }
         reporterService.report(reportable);
     }
 }
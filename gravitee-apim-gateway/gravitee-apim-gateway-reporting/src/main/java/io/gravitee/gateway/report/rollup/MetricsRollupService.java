@@ -0,0 +1,184 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.report.rollup;
+
+import io.gravitee.common.service.AbstractService;
+import io.gravitee.node.reporter.ReporterService;
+import io.gravitee.reporter.api.Reportable;
+import io.gravitee.reporter.api.v4.metric.Metrics;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.CustomLog;
+
+/**
+ * Aggregates the request metrics in memory, per interval, API, plan, application and status, and reports one
+ * {@link io.gravitee.apim.reporter.common.rollup.MetricsRollup} per bucket once its interval has ended, instead of one
+ * document per request. A fraction of the requests is still reported as raw metrics, so that they can be inspected.
+ *
+ * Requests are bucketed on their own timestamp: the ones ending after the flush of their interval are reported in an
+ * additional rollup of the same interval, which the queries sum as any other.
+ *
+ * Buckets are updated without any lock. A bucket is thus removed from the map when its interval has ended, but only reported
+ * on the next flush, so that the requests which got it right before its removal have updated it by then.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+public class MetricsRollupService extends AbstractService<MetricsRollupService> {
+
+    private final boolean enabled;
+    private final long intervalMs;
+    private final double sampling;
+    private final Vertx vertx;
+    private final ReporterService reporterService;
+    private final Map<RollupKey, RollupBucket> buckets = new ConcurrentHashMap<>();
+    private final List<Map.Entry<RollupKey, RollupBucket>> retired = new ArrayList<>();
+    private long timerId = -1;
+
+    public MetricsRollupService(
+        final boolean enabled,
+        final long intervalMs,
+        final double sampling,
+        final Vertx vertx,
+        final ReporterService reporterService
+    ) {
+        if (enabled && intervalMs <= 0) {
+            throw new IllegalArgumentException("The rollup interval must be positive");
+        }
+        this.enabled = enabled;
+        this.intervalMs = intervalMs;
+        this.sampling = sampling;
+        this.vertx = vertx;
+        this.reporterService = reporterService;
+    }
+
+    @Override
+    protected String name() {
+        return "Metrics rollup service";
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (enabled) {
+            log.info("Request metrics are rolled up every {}ms, {}% of them being also reported as is", intervalMs, sampling * 100);
+            timerId = vertx.setPeriodic(intervalMs, id -> flush(System.currentTimeMillis()));
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+        // Report the intervals in progress rather than losing them.
+        flush(Long.MAX_VALUE);
+        reportRetired();
+        super.doStop();
+    }
+
+    /**
+     * @return <code>true</code> when the reportable has been rolled up and must not be reported as is.
+     */
+    public boolean rollup(final Reportable reportable) {
+        if (!enabled) {
+            return false;
+        }
+        if (reportable instanceof Metrics metrics) {
+            return add(
+                reportable,
+                new RollupKey(
+                    intervalStart(reportable),
+                    metrics.getOrganizationId(),
+                    metrics.getEnvironmentId(),
+                    metrics.getApiId(),
+                    metrics.getPlanId(),
+                    metrics.getApplicationId(),
+                    metrics.getStatus()
+                ),
+                metrics.getGatewayResponseTimeMs(),
+                metrics.getEndpointResponseTimeMs(),
+                metrics.getRequestContentLength(),
+                metrics.getResponseContentLength()
+            );
+        }
+        if (reportable instanceof io.gravitee.reporter.api.http.Metrics metrics) {
+            return add(
+                reportable,
+                new RollupKey(
+                    intervalStart(reportable),
+                    metrics.getOrganizationId(),
+                    metrics.getEnvironmentId(),
+                    metrics.getApi(),
+                    metrics.getPlan(),
+                    metrics.getApplication(),
+                    metrics.getStatus()
+                ),
+                metrics.getProxyResponseTimeMs(),
+                metrics.getApiResponseTimeMs(),
+                metrics.getRequestContentLength(),
+                metrics.getResponseContentLength()
+            );
+        }
+        return false;
+    }
+
+    private boolean add(
+        final Reportable reportable,
+        final RollupKey key,
+        final long gatewayResponseTimeMs,
+        final long endpointResponseTimeMs,
+        final long requestContentLength,
+        final long responseContentLength
+    ) {
+        final boolean sampled = ThreadLocalRandom.current().nextDouble() < sampling;
+        RollupBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new RollupBucket());
+        }
+        bucket.add(gatewayResponseTimeMs, endpointResponseTimeMs, requestContentLength, responseContentLength, sampled);
+        return !sampled;
+    }
+
+    /**
+     * Report the buckets retired by the previous flush, then retire the buckets of the intervals ended at the given time.
+     */
+    synchronized void flush(final long now) {
+        reportRetired();
+        for (Map.Entry<RollupKey, RollupBucket> entry : buckets.entrySet()) {
+            if (entry.getKey().intervalStart() + intervalMs <= now && buckets.remove(entry.getKey(), entry.getValue())) {
+                retired.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
+    private synchronized void reportRetired() {
+        for (Map.Entry<RollupKey, RollupBucket> entry : retired) {
+            reporterService.report(entry.getValue().toRollup(entry.getKey(), intervalMs));
+        }
+        retired.clear();
+    }
+
+    private long intervalStart(final Reportable reportable) {
+        final long timestamp = reportable.timestamp() != null ? reportable.timestamp().toEpochMilli() : System.currentTimeMillis();
+        return timestamp - Math.floorMod(timestamp, intervalMs);
+    }
+}
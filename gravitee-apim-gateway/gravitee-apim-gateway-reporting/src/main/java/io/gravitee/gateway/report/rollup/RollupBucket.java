@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.report.rollup;
+
+import io.gravitee.apim.reporter.common.rollup.LatencySketch;
+import io.gravitee.apim.reporter.common.rollup.MetricsRollup;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters of a rollup being aggregated, updated concurrently by all the event loops reporting a request of the same
+ * bucket: the counters are {@link LongAdder}s and the latency sketch, which is not thread-safe, is striped so that the
+ * event loops rarely wait for each other.
+ *
+ * @author GraviteeSource Team
+ */
+class RollupBucket {
+
+    private static final int SKETCH_STRIPES = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+
+    private final LatencySketch[] gatewayResponseTimeMs = new LatencySketch[SKETCH_STRIPES];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sampledCount = new LongAdder();
+    private final LongAdder gatewayResponseTimeMsSum = new LongAdder();
+    private final LongAccumulator gatewayResponseTimeMsMax = new LongAccumulator(Math::max, 0);
+    private final LongAdder endpointResponseCount = new LongAdder();
+    private final LongAdder endpointResponseTimeMsSum = new LongAdder();
+    private final LongAdder requestContentLengthSum = new LongAdder();
+    private final LongAdder responseContentLengthSum = new LongAdder();
+
+    RollupBucket() {
+        for (int i = 0; i < SKETCH_STRIPES; i++) {
+            gatewayResponseTimeMs[i] = new LatencySketch();
+        }
+    }
+
+    void add(
+        final long gatewayResponseTimeMs,
+        final long endpointResponseTimeMs,
+        final long requestContentLength,
+        final long responseContentLength,
+        final boolean sampled
+    ) {
+        count.increment();
+        if (sampled) {
+            sampledCount.increment();
+        }
+        // Negative values stand for what has not been measured (e.g. a request rejected before reaching the endpoint).
+        if (gatewayResponseTimeMs >= 0) {
+            final LatencySketch sketch = this.gatewayResponseTimeMs[ThreadLocalRandom.current().nextInt() & (SKETCH_STRIPES - 1)];
+            synchronized (sketch) {
+                sketch.add(gatewayResponseTimeMs);
+            }
+            gatewayResponseTimeMsSum.add(gatewayResponseTimeMs);
+            gatewayResponseTimeMsMax.accumulate(gatewayResponseTimeMs);
+        }
+        if (endpointResponseTimeMs >= 0) {
+            endpointResponseCount.increment();
+            endpointResponseTimeMsSum.add(endpointResponseTimeMs);
+        }
+        if (requestContentLength > 0) {
+            requestContentLengthSum.add(requestContentLength);
+        }
+        if (responseContentLength > 0) {
+            responseContentLengthSum.add(responseContentLength);
+        }
+    }
+
+    MetricsRollup toRollup(final RollupKey key, final long intervalMs) {
+        final LatencySketch merged = new LatencySketch();
+        for (LatencySketch sketch : gatewayResponseTimeMs) {
+            synchronized (sketch) {
+                merged.merge(sketch);
+            }
+        }
+
+        return MetricsRollup
+            .builder()
+            .timestamp(Instant.ofEpochMilli(key.intervalStart()))
+            .intervalMs(intervalMs)
+            .organizationId(key.organizationId())
+            .environmentId(key.environmentId())
+            .apiId(key.apiId())
+            .planId(key.planId())
+            .applicationId(key.applicationId())
+            .status(key.status())
+            .count(count.sum())
+            .sampledCount(sampledCount.sum())
+            .gatewayResponseTimeMsSum(gatewayResponseTimeMsSum.sum())
+            .gatewayResponseTimeMsMax(gatewayResponseTimeMsMax.get())
+            .gatewayResponseTimeMs(merged)
+            .endpointResponseCount(endpointResponseCount.sum())
+            .endpointResponseTimeMsSum(endpointResponseTimeMsSum.sum())
+            .requestContentLengthSum(requestContentLengthSum.sum())
+            .responseContentLengthSum(responseContentLengthSum.sum())
+            .build();
+    }
+}
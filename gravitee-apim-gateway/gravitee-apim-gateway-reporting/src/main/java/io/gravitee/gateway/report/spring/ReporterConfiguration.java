@@ -15,11 +15,15 @@
  */
 package io.gravitee.gateway.report.spring;
 
+import io.gravitee.common.utils.SizeUtils;
 import io.gravitee.gateway.report.ReporterService;
 import io.gravitee.gateway.report.guard.LogGuardService;
+import io.gravitee.gateway.report.guard.PayloadCaptureBudget;
 import io.gravitee.gateway.report.impl.NodeMonitoringReporterService;
 import io.gravitee.gateway.report.impl.ReporterServiceImpl;
+import io.gravitee.gateway.report.rollup.MetricsRollupService;
 import io.gravitee.node.monitoring.healthcheck.NodeHealthCheckService;
+import io.vertx.core.Vertx;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -46,8 +50,42 @@ public class ReporterConfiguration {
         @Value("${reporters.logging.memory_pressure_guard.enabled:true}") boolean enabled,
         @Value("${reporters.logging.memory_pressure_guard.strategy.type:cooldown}") String strategy,
         @Value("${reporters.logging.memory_pressure_guard.strategy.cooldown.duration:60}") int cooldownDurationInSeconds,
+        @Value("${reporters.logging.memory_pressure_guard.strategy.sampling.rate:100}") double samplingRate,
+        @Value("${reporters.logging.memory_pressure_guard.strategy.sampling.heap_threshold:0.8}") double samplingHeapThreshold,
+        @Value("${reporters.logging.max_in_flight_size:-1}") String payloadCaptureMaxSize,
         NodeHealthCheckService nodeHealthCheckService
     ) {
-        return new LogGuardService(enabled, strategy, cooldownDurationInSeconds, nodeHealthCheckService);
+        return new LogGuardService(
+            enabled,
+            strategy,
+            cooldownDurationInSeconds,
+            samplingRate,
+            samplingHeapThreshold,
+            toBytes(payloadCaptureMaxSize),
+            nodeHealthCheckService
+        );
+    }
+
+    @Bean
+    public MetricsRollupService metricsRollupService(
+        @Value("${reporters.rollup.enabled:false}") boolean enabled,
+        @Value("${reporters.rollup.interval:60000}") long intervalMs,
+        @Value("${reporters.rollup.sampling:0.01}") double sampling,
+        Vertx vertx,
+        io.gravitee.node.reporter.ReporterService reporterService
+    ) {
+        return new MetricsRollupService(enabled, intervalMs, sampling, vertx, reporterService);
+    }
+
+    /**
+     * Same format as <code>reporters.logging.max_size</code>: a simple number is in MB, -1 means no limit.
+     */
+    private static long toBytes(final String size) {
+        try {
+            final long bytes = SizeUtils.toBytes(size);
+            return bytes < 0 ? PayloadCaptureBudget.UNLIMITED : bytes;
+        } catch (NumberFormatException e) {
+            return PayloadCaptureBudget.UNLIMITED;
+        }
     }
 }
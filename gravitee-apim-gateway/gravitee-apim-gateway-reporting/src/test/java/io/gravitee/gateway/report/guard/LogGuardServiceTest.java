@@ -68,4 +68,15 @@ class LogGuardServiceTest {
 
         assertThat(cut.isLogGuardActive()).isFalse();
     }
+
+    @Test
+    void should_always_let_the_error_messages_be_logged_with_the_sampling_strategy() throws Exception {
+        var sampling = new LogGuardService(true, "sampling", 30, 1, 0.8, nodeHealthCheckService);
+        sampling.start();
+
+        assertThat(sampling.isLogGuardActive()).isFalse();
+        assertThat(sampling.isLogGuardActive(true)).isFalse();
+
+        sampling.stop();
+    }
 }
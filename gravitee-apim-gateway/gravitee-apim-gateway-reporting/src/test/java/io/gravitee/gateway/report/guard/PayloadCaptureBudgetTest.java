@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.report.guard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PayloadCaptureBudgetTest {
+
+    @Test
+    void should_grant_what_remains_in_the_budget() {
+        var budget = new PayloadCaptureBudget(100);
+
+        assertThat(budget.reserve(60)).isEqualTo(60);
+        assertThat(budget.reserve(60)).isEqualTo(40);
+        assertThat(budget.reserve(10)).isZero();
+
+        assertThat(budget.inFlightBytes()).isEqualTo(100);
+        assertThat(budget.saturations()).isEqualTo(2);
+    }
+
+    @Test
+    void should_grant_again_once_released() {
+        var budget = new PayloadCaptureBudget(100);
+        budget.reserve(100);
+
+        budget.release(100);
+
+        assertThat(budget.reserve(50)).isEqualTo(50);
+        assertThat(budget.inFlightBytes()).isEqualTo(50);
+    }
+
+    @Test
+    void should_never_saturate_when_unlimited() {
+        var budget = new PayloadCaptureBudget(PayloadCaptureBudget.UNLIMITED);
+
+        assertThat(budget.reserve(Integer.MAX_VALUE)).isEqualTo(Integer.MAX_VALUE);
+        assertThat(budget.reserve(Integer.MAX_VALUE)).isEqualTo(Integer.MAX_VALUE);
+        assertThat(budget.saturations()).isZero();
+    }
+}
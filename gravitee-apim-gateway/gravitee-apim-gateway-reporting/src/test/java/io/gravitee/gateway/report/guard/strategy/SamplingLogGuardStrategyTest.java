@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.report.guard.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.node.monitoring.healthcheck.NodeHealthCheckService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@ExtendWith(MockitoExtension.class)
+class SamplingLogGuardStrategyTest {
+
+    private static final double RATE = 100;
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Mock
+    private NodeHealthCheckService nodeHealthCheckService;
+
+    private final AtomicLong clock = new AtomicLong();
+    private double heapUsage;
+    private SamplingLogGuardStrategy cut;
+
+    @BeforeEach
+    void setUp() {
+        heapUsage = 0.5;
+        cut = new SamplingLogGuardStrategy(nodeHealthCheckService, RATE, 0.8, () -> heapUsage, clock::get);
+    }
+
+    @Test
+    void should_log_all_the_bodies_below_the_rate() {
+        assertThat(logged(50, SECOND)).isEqualTo(50);
+    }
+
+    @Test
+    void should_not_log_more_bodies_than_the_rate() {
+        when(nodeHealthCheckService.isGcPressureTooHigh()).thenReturn(false);
+
+        logged(10_000, SECOND);
+        int logged = 0;
+        for (int i = 0; i < 10; i++) {
+            logged += logged(10_000, SECOND);
+        }
+
+        assertThat(logged).isBetween((int) (8 * RATE), (int) (11 * RATE));
+    }
+
+    @Test
+    void should_lower_the_rate_while_under_gc_pressure_and_raise_it_back_after() {
+        when(nodeHealthCheckService.isGcPressureTooHigh()).thenReturn(true);
+        for (int i = 0; i < 10; i++) {
+            logged(1_000, SECOND);
+        }
+
+        assertThat(cut.factor()).isEqualTo(SamplingLogGuardStrategy.MIN_FACTOR);
+        assertThat(logged(1_000, SECOND)).isLessThanOrEqualTo(2);
+
+        when(nodeHealthCheckService.isGcPressureTooHigh()).thenReturn(false);
+        for (int i = 0; i < 20; i++) {
+            logged(1_000, SECOND);
+        }
+
+        assertThat(cut.factor()).isEqualTo(1);
+    }
+
+    @Test
+    void should_lower_the_rate_when_the_heap_is_filled_after_collections() {
+        when(nodeHealthCheckService.isGcPressureTooHigh()).thenReturn(false);
+        heapUsage = 0.9;
+
+        logged(1_000, SECOND);
+        logged(1_000, SECOND);
+
+        assertThat(cut.factor()).isEqualTo(0.25);
+    }
+
+    @Test
+    void should_always_log_the_error_messages() {
+        when(nodeHealthCheckService.isGcPressureTooHigh()).thenReturn(true);
+        for (int i = 0; i < 10; i++) {
+            logged(1_000, SECOND);
+        }
+
+        assertThat(cut.execute(true)).isFalse();
+    }
+
+    /**
+     * Ask the strategy for the given number of bodies, spread over the given duration.
+     */
+    private int logged(final int bodies, final long durationNanos) {
+        int logged = 0;
+        for (int i = 0; i < bodies; i++) {
+            clock.addAndGet(durationNanos / bodies);
+            if (!cut.execute()) {
+                logged++;
+            }
+        }
+        return logged;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.report.rollup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.gravitee.apim.reporter.common.rollup.MetricsRollup;
+import io.gravitee.node.reporter.ReporterService;
+import io.gravitee.reporter.api.Reportable;
+import io.gravitee.reporter.api.monitor.Monitor;
+import io.gravitee.reporter.api.v4.metric.Metrics;
+import io.vertx.core.Vertx;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@ExtendWith(MockitoExtension.class)
+class MetricsRollupServiceTest {
+
+    private static final long INTERVAL_MS = 60_000;
+    private static final Instant INTERVAL_START = Instant.parse("2024-01-01T10:00:00Z");
+
+    @Mock
+    private Vertx vertx;
+
+    @Mock
+    private ReporterService reporterService;
+
+    @Test
+    void should_not_roll_up_when_disabled() {
+        var cut = new MetricsRollupService(false, INTERVAL_MS, 0, vertx, reporterService);
+
+        assertThat(cut.rollup(metrics(INTERVAL_START, "api", 200, 10))).isFalse();
+        flush(cut, Long.MAX_VALUE);
+
+        verifyNoInteractions(reporterService);
+    }
+
+    @Test
+    void should_not_roll_up_other_reportables() {
+        var cut = new MetricsRollupService(true, INTERVAL_MS, 0, vertx, reporterService);
+
+        assertThat(cut.rollup(Monitor.on("node").build())).isFalse();
+    }
+
+    @Test
+    void should_report_one_rollup_per_interval_and_dimensions() {
+        var cut = new MetricsRollupService(true, INTERVAL_MS, 0, vertx, reporterService);
+
+        assertThat(cut.rollup(metrics(INTERVAL_START, "api", 200, 10))).isTrue();
+        assertThat(cut.rollup(metrics(INTERVAL_START.plusSeconds(30), "api", 200, 30))).isTrue();
+        assertThat(cut.rollup(metrics(INTERVAL_START.plusSeconds(30), "api", 500, 5))).isTrue();
+        assertThat(cut.rollup(metrics(INTERVAL_START.plusSeconds(60), "api", 200, 20))).isTrue();
+
+        flush(cut, INTERVAL_START.toEpochMilli() + INTERVAL_MS);
+
+        var rollups = reported();
+        assertThat(rollups).hasSize(2);
+        var ok = rollups
+            .stream()
+            .filter(r -> r.getStatus() == 200)
+            .findFirst()
+            .orElseThrow();
+        assertThat(ok.timestamp()).isEqualTo(INTERVAL_START);
+        assertThat(ok.getIntervalMs()).isEqualTo(INTERVAL_MS);
+        assertThat(ok.getApiId()).isEqualTo("api");
+        assertThat(ok.getCount()).isEqualTo(2);
+        assertThat(ok.getSampledCount()).isZero();
+        assertThat(ok.getGatewayResponseTimeMsSum()).isEqualTo(40);
+        assertThat(ok.getGatewayResponseTimeMsMax()).isEqualTo(30);
+        assertThat(ok.getGatewayResponseTimeMs().count()).isEqualTo(2);
+        assertThat(ok.getRequestContentLengthSum()).isEqualTo(200);
+    }
+
+    @Test
+    void should_report_the_intervals_in_progress_when_stopping() throws Exception {
+        var cut = new MetricsRollupService(true, INTERVAL_MS, 0, vertx, reporterService);
+        cut.start();
+        cut.rollup(metrics(Instant.now(), "api", 200, 10));
+
+        cut.stop();
+
+        assertThat(reported()).hasSize(1);
+    }
+
+    @Test
+    void should_keep_the_sampled_requests() {
+        var cut = new MetricsRollupService(true, INTERVAL_MS, 1, vertx, reporterService);
+
+        assertThat(cut.rollup(metrics(INTERVAL_START, "api", 200, 10))).isFalse();
+        flush(cut, Long.MAX_VALUE);
+
+        var rollup = reported().get(0);
+        assertThat(rollup.getCount()).isEqualTo(1);
+        assertThat(rollup.getSampledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_ignore_the_response_times_not_measured() {
+        var cut = new MetricsRollupService(true, INTERVAL_MS, 0, vertx, reporterService);
+        var metrics = metrics(INTERVAL_START, "api", 502, 10);
+        metrics.setEndpointResponseTimeMs(-1);
+
+        cut.rollup(metrics);
+        flush(cut, Long.MAX_VALUE);
+
+        var rollup = reported().get(0);
+        assertThat(rollup.getEndpointResponseCount()).isZero();
+        assertThat(rollup.getEndpointResponseTimeMsSum()).isZero();
+    }
+
+    @Test
+    void should_report_a_retired_bucket_on_the_next_flush_only() {
+        var cut = new MetricsRollupService(true, INTERVAL_MS, 0, vertx, reporterService);
+        cut.rollup(metrics(INTERVAL_START, "api", 200, 10));
+
+        cut.flush(INTERVAL_START.toEpochMilli() + INTERVAL_MS);
+        verifyNoInteractions(reporterService);
+
+        cut.flush(INTERVAL_START.toEpochMilli() + 2 * INTERVAL_MS);
+        assertThat(reported()).hasSize(1);
+    }
+
+    @Test
+    void should_not_lose_any_request_rolled_up_concurrently() throws Exception {
+        var cut = new MetricsRollupService(true, INTERVAL_MS, 0, vertx, reporterService);
+        int threads = 8;
+        int requestsPerThread = 10_000;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < requestsPerThread; i++) {
+                            cut.rollup(metrics(INTERVAL_START, "api", 200, i % 100));
+                        }
+                        return null;
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        flush(cut, Long.MAX_VALUE);
+
+        var rollup = reported().get(0);
+        assertThat(rollup.getCount()).isEqualTo((long) threads * requestsPerThread);
+        assertThat(rollup.getGatewayResponseTimeMs().count()).isEqualTo((long) threads * requestsPerThread);
+        assertThat(rollup.getGatewayResponseTimeMsMax()).isEqualTo(99);
+    }
+
+    /**
+     * A bucket is retired by a first flush and reported by the next one.
+     */
+    private static void flush(MetricsRollupService cut, long now) {
+        cut.flush(now);
+        cut.flush(now);
+    }
+
+    private List<MetricsRollup> reported() {
+        var captor = ArgumentCaptor.forClass(Reportable.class);
+        verify(reporterService, atLeast(0)).report(captor.capture());
+        return captor
+            .getAllValues()
+            .stream()
+            .map(MetricsRollup.class::cast)
+            .toList();
+    }
+
+    private static Metrics metrics(Instant timestamp, String apiId, int status, long gatewayResponseTimeMs) {
+        return Metrics
+            .builder()
+            .timestamp(timestamp.toEpochMilli())
+            .apiId(apiId)
+            .status(status)
+            .gatewayResponseTimeMs(gatewayResponseTimeMs)
+            .endpointResponseTimeMs(gatewayResponseTimeMs / 2)
+            .requestContentLength(100)
+            .build();
+    }
+}
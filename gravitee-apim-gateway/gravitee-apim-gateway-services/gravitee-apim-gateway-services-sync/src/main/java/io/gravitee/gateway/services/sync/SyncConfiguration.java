@@ -41,6 +41,9 @@ import io.gravitee.gateway.services.sync.process.repository.mapper.ApiKeyMapper;
 import io.gravitee.gateway.services.sync.process.repository.mapper.ApiMapper;
 import io.gravitee.gateway.services.sync.process.repository.service.EnvironmentService;
 import io.gravitee.gateway.services.sync.process.repository.service.PlanService;
+import io.gravitee.gateway.services.sync.process.repository.snapshot.DeploymentSnapshotEnabledCondition;
+import io.gravitee.gateway.services.sync.process.repository.snapshot.DeploymentSnapshotRecorder;
+import io.gravitee.gateway.services.sync.process.repository.snapshot.SnapshotRecordingDistributedSyncService;
 import io.gravitee.gateway.services.sync.process.repository.synchronizer.api.ApiKeyAppender;
 import io.gravitee.gateway.services.sync.process.repository.synchronizer.api.AuthzAppender;
 import io.gravitee.gateway.services.sync.process.repository.synchronizer.api.NoopAuthzAppender;
@@ -243,6 +246,12 @@ public class SyncConfiguration {
         return new NoopDistributedSyncService();
     }
 
+    @Bean
+    @Conditional(DeploymentSnapshotEnabledCondition.class)
+    public DeploymentSnapshotRecorder deploymentSnapshotRecorder() {
+        return new DeploymentSnapshotRecorder();
+    }
+
     @Bean
     public DeployerFactory deployerFactory(
         ApiKeyService apiKeyService,
@@ -265,9 +274,14 @@ public class SyncConfiguration {
         DistributedSyncService distributedSyncService,
         ApiProductManager apiProductManager,
         @Autowired(required = false) ApiProductSubscriptionRefresher apiProductSubscriptionRefresher,
-        AuthzEnginePort authzEnginePort
+        AuthzEnginePort authzEnginePort,
+        @Autowired(required = false) DeploymentSnapshotRecorder deploymentSnapshotRecorder
     ) {
         Supplier<SubscriptionDispatcher> subscriptionDispatcherSupplier = provideSubscriptionDispatcher(subscriptionDispatcher);
+        // The deployers report what they (un)deploy to the distributed sync service, which is also what the snapshot records.
+        DistributedSyncService deployerDistributedSyncService = deploymentSnapshotRecorder == null
+            ? distributedSyncService
+            : new SnapshotRecordingDistributedSyncService(distributedSyncService, deploymentSnapshotRecorder);
         return new DeployerFactory(
             apiKeyService,
             subscriptionService,
@@ -286,7 +300,7 @@ public class SyncConfiguration {
             accessPointManager,
             sharedPolicyGroupManager,
             clusterManager,
-            distributedSyncService,
+            deployerDistributedSyncService,
             apiProductManager,
             apiProductSubscriptionRefresher,
             authzEnginePort
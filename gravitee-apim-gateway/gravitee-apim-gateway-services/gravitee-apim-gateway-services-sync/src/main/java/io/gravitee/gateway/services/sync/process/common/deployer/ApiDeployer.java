@@ -22,6 +22,7 @@ import io.gravitee.gateway.services.sync.process.distributed.service.Distributed
 import io.gravitee.gateway.services.sync.process.repository.service.PlanService;
 import io.gravitee.gateway.services.sync.process.repository.synchronizer.api.ApiReactorDeployable;
 import io.reactivex.rxjava3.core.Completable;
+import java.util.List;
 import lombok.CustomLog;
 import lombok.RequiredArgsConstructor;
 
@@ -42,6 +43,22 @@ public class ApiDeployer implements Deployer<ApiReactorDeployable> {
         return registerApiOnReactor(deployable);
     }
 
+    /**
+     * Deploy several apis at once so that the reactor creates their handlers together.
+     * @param deployables the apis to deploy.
+     * @return a {@link Completable} failing with a {@link SyncException} if any of the apis could not be deployed.
+     */
+    public Completable deployAll(final List<ApiReactorDeployable> deployables) {
+        return Completable.fromRunnable(() -> {
+            try {
+                apiManager.registerAll(deployables.stream().<ReactableApi<?>>map(ApiReactorDeployable::reactableApi).toList());
+                log.debug("{} apis deployed", deployables.size());
+            } catch (Exception e) {
+                throw new SyncException(String.format("An error occurred when trying to deploy %s apis.", deployables.size()), e);
+            }
+        });
+    }
+
     @Override
     public Completable doAfterDeployment(final ApiReactorDeployable deployable) {
         return Completable.fromRunnable(() -> planService.register(deployable)).andThen(
@@ -27,6 +27,7 @@ import io.gravitee.gateway.services.sync.process.common.model.SyncAction;
 import io.gravitee.gateway.services.sync.process.repository.synchronizer.api.ApiReactorDeployable;
 import io.gravitee.repository.distributedsync.model.DistributedEvent;
 import io.gravitee.repository.distributedsync.model.DistributedEventType;
+import io.gravitee.repository.management.model.EventPayloadCodec;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import java.util.Date;
@@ -83,7 +84,7 @@ public class ApiMapper {
     public Maybe<ApiReactorDeployable> to(final DistributedEvent event) {
         return Maybe.fromCallable(() -> {
             try {
-                ReactableApi<?> reactableApi = toReactable(event.getPayload());
+                ReactableApi<?> reactableApi = toReactable(EventPayloadCodec.decode(event.getPayload()));
 
                 return ApiReactorDeployable.builder()
                     .apiId(event.getId())
@@ -25,6 +25,7 @@ import io.gravitee.definition.model.v4.nativeapi.NativeApi;
 import io.gravitee.gateway.reactor.ReactableApi;
 import io.gravitee.gateway.services.sync.process.repository.service.EnvironmentService;
 import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventPayloadCodec;
 import io.gravitee.repository.management.model.LifecycleState;
 import java.util.Optional;
 import lombok.CustomLog;
@@ -40,7 +41,10 @@ public class ApiMapper {
     public ReactableApi<?> to(Event apiEvent) {
         try {
             // Read API definition from event
-            var api = objectMapper.readValue(apiEvent.getPayload(), io.gravitee.repository.management.model.Api.class);
+            var api = objectMapper.readValue(
+                EventPayloadCodec.decode(apiEvent.getPayload()),
+                io.gravitee.repository.management.model.Api.class
+            );
 
             ReactableApi<?> reactableApi;
 
@@ -23,7 +23,10 @@ import io.gravitee.common.utils.RxHelper;
 import io.gravitee.gateway.services.sync.SyncManager;
 import io.gravitee.gateway.services.sync.process.distributed.DistributedSynchronizer;
 import io.gravitee.gateway.services.sync.process.distributed.service.DistributedSyncService;
+import io.gravitee.gateway.services.sync.process.repository.changefeed.RepositoryChangeFeed;
 import io.gravitee.gateway.services.sync.process.repository.handler.SyncHandler;
+import io.gravitee.gateway.services.sync.process.repository.snapshot.DeploymentSnapshot;
+import io.gravitee.gateway.services.sync.process.repository.snapshot.DeploymentSnapshotService;
 import io.gravitee.node.api.Node;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
@@ -65,6 +68,8 @@ public class DefaultSyncManager extends AbstractService<SyncManager> implements
     private final DistributedSyncService distributedSyncService;
     private final int delay;
     private final TimeUnit unit;
+    private final DeploymentSnapshotService deploymentSnapshotService;
+    private final RepositoryChangeFeed changeFeed;
 
     private final AtomicLong syncCounter = new AtomicLong(0);
     /** Set after any successful sync; used only by {@link #syncDone()} for the sync-process health probe. */
@@ -76,6 +81,15 @@ public class DefaultSyncManager extends AbstractService<SyncManager> implements
 
     private final AtomicBoolean isClusterPrimaryNode = new AtomicBoolean(true);
     private long nextFromTime = -1;
+    /**
+     * The synchronizers reading the latest events are run apart from the others while the repository notifies its
+     * changes, from their own time.
+     */
+    private long nextLatestEventsFromTime = -1;
+    /**
+     * The snapshot restored by the initial sync, kept until a sync succeeds.
+     */
+    private DeploymentSnapshot pendingSnapshot;
     private Disposable refreshDisposable;
     private Route routeHandler;
 
@@ -88,6 +102,21 @@ public class DefaultSyncManager extends AbstractService<SyncManager> implements
         final int delay,
         final TimeUnit unit,
         final int retryAttempt
+    ) {
+        this(router, node, synchronizers, distributedSynchronizers, distributedSyncService, delay, unit, retryAttempt, null, null);
+    }
+
+    public DefaultSyncManager(
+        final Router router,
+        final Node node,
+        final List<RepositorySynchronizer> synchronizers,
+        final List<DistributedSynchronizer> distributedSynchronizers,
+        final DistributedSyncService distributedSyncService,
+        final int delay,
+        final TimeUnit unit,
+        final int retryAttempt,
+        final DeploymentSnapshotService deploymentSnapshotService,
+        final RepositoryChangeFeed changeFeed
     ) {
         this.router = router;
         this.node = node;
@@ -97,6 +126,8 @@ public class DefaultSyncManager extends AbstractService<SyncManager> implements
         this.delay = delay;
         this.unit = unit;
         this.retryAttempt = retryAttempt;
+        this.deploymentSnapshotService = deploymentSnapshotService;
+        this.changeFeed = changeFeed;
     }
 
     @Override
@@ -117,8 +148,17 @@ public class DefaultSyncManager extends AbstractService<SyncManager> implements
             isClusterPrimaryNode.set(distributedSyncService.isPrimaryNode());
         }
 
+        // A secondary node deploys what the primary distributes, it does not need any snapshot.
+        if (deploymentSnapshotService != null && isClusterPrimaryNode.get()) {
+            pendingSnapshot = deploymentSnapshotService.load(environments()).orElse(null);
+        }
+
+        if (changeFeed != null) {
+            changeFeed.start();
+        }
+
         // force synchronization and then schedule next ones
-        synchronize()
+        synchronize(SyncScope.ALL)
             .retryWhen(RxHelper.retryExponentialBackoff(INITIAL_RETRY_DELAY_MS, MAX_RETRY_DELAY_MS, MILLISECONDS, 1.5))
             .andThen(
                 Completable.fromRunnable(() -> {
@@ -130,9 +170,10 @@ public class DefaultSyncManager extends AbstractService<SyncManager> implements
                             return state + 1;
                         }
                     )
-                        .delay(delay, unit)
                         .rebatchRequests(1)
-                        .concatMapCompletable(interval -> synchronize())
+                        .concatMapCompletable(interval ->
+                            awaitNextPoll().andThen(Completable.defer(() -> synchronize(isNotified() ? SyncScope.POLLED : SyncScope.ALL)))
+                        )
                         .retry()
                         .subscribe();
                 })
@@ -146,13 +187,16 @@ public class DefaultSyncManager extends AbstractService<SyncManager> implements
         if (refreshDisposable != null) {
             refreshDisposable.dispose();
         }
+        if (changeFeed != null) {
+            changeFeed.stop();
+        }
         if (routeHandler != null) {
             routeHandler.remove();
         }
         super.doStop();
     }
 
-    private Completable synchronize() {
+    private Completable synchronize(final SyncScope scope) {
         return Completable.defer(() -> {
             log.debug("Running synchronization process...");
             return distributedSyncService.ready();
@@ -177,6 +221,7 @@ public class DefaultSyncManager extends AbstractService<SyncManager> implements
                             .map(distributedSyncState -> {
                                 log.debug("Retrieving distributed sync state");
                                 nextFromTime = distributedSyncState.getFrom();
+                                nextLatestEventsFromTime = distributedSyncState.getFrom();
                                 return distributedSyncState.getTo();
                             })
                             .switchIfEmpty(Single.just(System.currentTimeMillis()));
@@ -204,19 +249,31 @@ public class DefaultSyncManager extends AbstractService<SyncManager> implements
                         synchronizationCompletable = Completable.complete();
                     }
                 } else {
-                    synchronizationCompletable = Flowable.fromIterable(synchronizers).concatMapCompletable(synchronizer ->
-                        synchronizer
-                            .synchronize(nextFromTime, nextToTime, (Set<String>) node.metadata().get(Node.META_ENVIRONMENTS))
-                            .compose(upstream -> retrySynchronizer(upstream, synchronizer.getClass().getSimpleName()))
+                    final Set<String> environments = environments();
+                    final DeploymentSnapshot snapshot = pendingSnapshot;
+                    // The changes made after the earlier of the two times may not have been synchronized yet.
+                    final long syncedUntil = Math.min(
+                        scope.polled ? nextToTime : nextFromTime,
+                        scope.latestEvents ? nextToTime : nextLatestEventsFromTime
                     );
+                    synchronizationCompletable = Flowable.fromIterable(synchronizers)
+                        .filter(scope::includes)
+                        .concatMapCompletable(synchronizer -> synchronize(synchronizer, snapshot, nextToTime, environments))
+                        .andThen(persistSnapshot(syncedUntil, environments));
                 }
                 return synchronizationCompletable
-                    .andThen(distributedSyncService.storeState(nextFromTime, nextToTime))
+                    .andThen(distributedSyncService.storeState(Math.min(nextFromTime, nextLatestEventsFromTime), nextToTime))
                     .doOnComplete(() -> {
                         lastSyncOnError.set(false);
                         lastSyncErrorMessage.set(null);
                         syncReadyForProbe.set(true);
-                        nextFromTime = nextToTime;
+                        if (scope.polled) {
+                            nextFromTime = nextToTime;
+                        }
+                        if (scope.latestEvents) {
+                            nextLatestEventsFromTime = nextToTime;
+                        }
+                        pendingSnapshot = null;
 
                         log.debug(
                             "Synchronization #{} ended at {} (took {}ms}",
@@ -238,6 +295,69 @@ public class DefaultSyncManager extends AbstractService<SyncManager> implements
             });
     }
 
+    /**
+     * Wait for the sync delay before the next poll. While the repository notifies its changes, the synchronizers reading
+     * the latest events are not polled: they are run in the meantime, each time a change is notified.
+     */
+    private Completable awaitNextPoll() {
+        return Completable.defer(() -> {
+            final AtomicBoolean pollDue = new AtomicBoolean(false);
+            // Cached, so that the delay is not restarted by the synchronizations of the latest events.
+            final Completable nextPoll = Completable.timer(delay, unit).doOnComplete(() -> pollDue.set(true)).cache();
+            // Only the wait is raced against the delay: a synchronization of the latest events always runs to completion.
+            return Completable.ambArray(nextPoll, Completable.defer(() -> isNotified() ? changeFeed.awaitChange() : Completable.never()))
+                .andThen(Completable.defer(() -> pollDue.get() ? Completable.complete() : synchronize(SyncScope.LATEST_EVENTS)))
+                .repeatUntil(pollDue::get);
+        });
+    }
+
+    /**
+     * A secondary node is not concerned by the notifications, it synchronizes from the distributed events.
+     */
+    private boolean isNotified() {
+        return (
+            changeFeed != null &&
+            changeFeed.isListening() &&
+            !(distributedSyncService.isEnabled() && !distributedSyncService.isPrimaryNode())
+        );
+    }
+
+    /**
+     * When a snapshot has been loaded, the elements it holds are deployed first, and only the changes made since it was
+     * written are synchronized from the repository.
+     */
+    private Completable synchronize(
+        final RepositorySynchronizer synchronizer,
+        final DeploymentSnapshot snapshot,
+        final long nextToTime,
+        final Set<String> environments
+    ) {
+        if (snapshot != null && deploymentSnapshotService.restores(synchronizer.order())) {
+            return deploymentSnapshotService
+                .restore(snapshot, synchronizer.order())
+                .andThen(
+                    synchronizer
+                        .synchronize(snapshot.nextFromTime(), nextToTime, environments)
+                        .compose(upstream -> retrySynchronizer(upstream, synchronizer.getClass().getSimpleName()))
+                );
+        }
+        return synchronizer
+            .synchronize(synchronizer.readsLatestEvents() ? nextLatestEventsFromTime : nextFromTime, nextToTime, environments)
+            .compose(upstream -> retrySynchronizer(upstream, synchronizer.getClass().getSimpleName()));
+    }
+
+    private Completable persistSnapshot(final long nextToTime, final Set<String> environments) {
+        if (deploymentSnapshotService == null) {
+            return Completable.complete();
+        }
+        return deploymentSnapshotService.persist(nextToTime, environments);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> environments() {
+        return (Set<String>) node.metadata().get(Node.META_ENVIRONMENTS);
+    }
+
     private Completable retrySynchronizer(final Completable upstream, final String synchronizerClazz) {
         return upstream
             .doOnError(throwable -> log.warn("An error occurs while executing synchronizer {}, retrying...", synchronizerClazz, throwable))
@@ -245,6 +365,25 @@ public class DefaultSyncManager extends AbstractService<SyncManager> implements
             .doOnError(throwable -> log.error("Latest attempt of synchronizer {} has failed", synchronizerClazz, throwable));
     }
 
+    private enum SyncScope {
+        ALL(true, true),
+        /** The synchronizers not reading the latest events. */
+        POLLED(true, false),
+        LATEST_EVENTS(false, true);
+
+        private final boolean polled;
+        private final boolean latestEvents;
+
+        SyncScope(final boolean polled, final boolean latestEvents) {
+            this.polled = polled;
+            this.latestEvents = latestEvents;
+        }
+
+        boolean includes(final RepositorySynchronizer synchronizer) {
+            return synchronizer.readsLatestEvents() ? latestEvents : polled;
+        }
+    }
+
     public long nextSyncTime() {
         return nextFromTime;
     }
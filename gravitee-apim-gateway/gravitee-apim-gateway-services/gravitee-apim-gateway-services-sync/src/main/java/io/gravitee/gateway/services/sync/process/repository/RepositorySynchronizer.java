@@ -33,4 +33,12 @@ public interface RepositorySynchronizer {
     Completable synchronize(final Long from, final Long to, final Set<String> environments);
 
     int order();
+
+    /**
+     * @return <code>true</code> when the elements are synchronized from the latest events, whose changes can be notified
+     * by the repository: the synchronizer is then run as soon as a change is notified rather than polled.
+     */
+    default boolean readsLatestEvents() {
+        return false;
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.process.repository.changefeed;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import io.gravitee.common.utils.RxHelper;
+import io.gravitee.repository.management.api.EventLatestRepository;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.processors.FlowableProcessor;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.CustomLog;
+
+/**
+ * Wake the synchronization of the latest events up as soon as they are written, instead of waiting for the next poll,
+ * when the repository is able to notify the changes (see {@link EventLatestRepository#changes()}).
+ *
+ * The feed is only considered as listening once the repository has confirmed it. When the notifications are lost, the
+ * feed is listened to again with an exponential backoff, and the synchronization falls back to polling in the meantime.
+ * Each time the feed starts listening, a change is signaled, so that the changes made while nobody was listening are
+ * synchronized.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+public class RepositoryChangeFeed {
+
+    private static final long INITIAL_RETRY_DELAY_MS = 1_000;
+    private static final long MAX_RETRY_DELAY_MS = 60_000;
+
+    private final EventLatestRepository eventLatestRepository;
+    private final long maxDelay;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+    private final AtomicBoolean listening = new AtomicBoolean(false);
+    private final AtomicBoolean changed = new AtomicBoolean(false);
+    private final FlowableProcessor<Boolean> changes = PublishProcessor.<Boolean>create().toSerialized();
+    private volatile long lastWakeUp;
+    private Disposable disposable;
+
+    /**
+     * @param maxDelay the maximum delay between two synchronizations of the latest events while the changes are
+     * notified, as a safety net for the notifications which may be lost.
+     */
+    public RepositoryChangeFeed(final EventLatestRepository eventLatestRepository, final long maxDelay, final TimeUnit unit) {
+        // The notifications are listened to with a blocking call, which must not hold a thread of a shared pool.
+        this(eventLatestRepository, maxDelay, unit, Schedulers.newThread());
+    }
+
+    RepositoryChangeFeed(
+        final EventLatestRepository eventLatestRepository,
+        final long maxDelay,
+        final TimeUnit unit,
+        final Scheduler scheduler
+    ) {
+        this.eventLatestRepository = eventLatestRepository;
+        this.maxDelay = maxDelay;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    public void start() {
+        lastWakeUp = now();
+        disposable = Flowable.defer(() -> eventLatestRepository.changes())
+            .subscribeOn(scheduler)
+            .doOnNext(id -> {
+                if (EventLatestRepository.CHANGES_LISTENED.equals(id)) {
+                    listening.set(true);
+                }
+                signalChange();
+            })
+            .doOnError(throwable -> {
+                listening.set(false);
+                log.warn("Repository change notifications have been lost, falling back to polling", throwable);
+            })
+            .retryWhen(RxHelper.retryExponentialBackoff(INITIAL_RETRY_DELAY_MS, MAX_RETRY_DELAY_MS, MILLISECONDS, 2))
+            .subscribe(
+                id -> log.debug("Change notified for event [{}]", id),
+                throwable -> listening.set(false),
+                () -> {
+                    listening.set(false);
+                    log.info("The repository does not notify changes, falling back to polling");
+                }
+            );
+    }
+
+    public void stop() {
+        if (disposable != null) {
+            disposable.dispose();
+        }
+        listening.set(false);
+    }
+
+    /**
+     * @return <code>true</code> when the changes are currently notified, polling is then not needed.
+     */
+    public boolean isListening() {
+        return listening.get();
+    }
+
+    /**
+     * @return a completable completing as soon as a change is notified, immediately if one has been notified since
+     * the previous wake-up, or once the maximum delay has elapsed since the previous wake-up at the latest.
+     */
+    public Completable awaitChange() {
+        // The notifications are subscribed before the flag is checked, so that none of them can be missed in between.
+        return Completable.ambArray(
+            changes.firstElement().ignoreElement(),
+            Completable.defer(() -> changed.get() ? Completable.complete() : Completable.never()),
+            Completable.defer(() -> Completable.timer(Math.max(0, lastWakeUp + unit.toMillis(maxDelay) - now()), MILLISECONDS))
+        ).doOnComplete(() -> {
+            changed.set(false);
+            lastWakeUp = now();
+        });
+    }
+
+    /**
+     * The time of the scheduler running the timers, so that the maximum delay can be tested on a virtual time.
+     */
+    private static long now() {
+        return Schedulers.computation().now(MILLISECONDS);
+    }
+
+    private void signalChange() {
+        changed.set(true);
+        changes.onNext(true);
+    }
+}
@@ -66,16 +66,15 @@ public class LatestEventFetcher {
         return Flowable.<List<Event>, EventPageable>generate(
             () ->
                 EventPageable.builder()
-                    .index(0)
                     .size(bulkItems)
                     .criteria(buildCriteria(from, to, propertyKey, propertyValue, environments, eventTypes))
                     .build(),
             (page, emitter) -> {
                 try {
-                    List<Event> events = eventLatestRepository.search(page.criteria, group, page.index, page.size);
+                    List<Event> events = eventLatestRepository.searchAfter(page.criteria, group, page.last, page.size);
                     if (events != null && !events.isEmpty()) {
                         emitter.onNext(events);
-                        page.index++;
+                        page.last = events.get(events.size() - 1);
                     }
                     if (events == null || events.size() < page.size) {
                         emitter.onComplete();
@@ -121,7 +120,6 @@ public class LatestEventFetcher {
         return Flowable.<List<Event>, EventPageable>generate(
             () ->
                 EventPageable.builder()
-                    .index(0)
                     .size(bulkItems)
                     .criteria(
                         EventCriteria.builder()
@@ -133,10 +131,15 @@ public class LatestEventFetcher {
                     .build(),
             (page, emitter) -> {
                 try {
-                    List<Event> events = eventLatestRepository.search(page.criteria, Event.EventProperties.API_ID, page.index, page.size);
+                    List<Event> events = eventLatestRepository.searchAfter(
+                        page.criteria,
+                        Event.EventProperties.API_ID,
+                        page.last,
+                        page.size
+                    );
                     if (events != null && !events.isEmpty()) {
                         emitter.onNext(events);
-                        page.index++;
+                        page.last = events.get(events.size() - 1);
                     }
                     if (events == null || events.size() < page.size) {
                         emitter.onComplete();
@@ -154,7 +157,12 @@ public class LatestEventFetcher {
     @Getter
     private static class EventPageable {
 
-        private long index;
+        /**
+         * The last event of the previous page, the next page is fetched from it rather than from a page number so that
+         * the repository does not have to skip all the previous pages.
+         */
+        private Event last;
+
         private long size;
         private EventCriteria criteria;
     }
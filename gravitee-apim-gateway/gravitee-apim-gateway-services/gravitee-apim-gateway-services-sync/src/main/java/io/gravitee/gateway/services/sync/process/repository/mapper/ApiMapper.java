@@ -28,6 +28,7 @@ import io.gravitee.gateway.services.sync.process.common.SyncErrors;
 import io.gravitee.gateway.services.sync.process.common.model.SyncException;
 import io.gravitee.gateway.services.sync.process.repository.service.EnvironmentService;
 import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventPayloadCodec;
 import io.gravitee.repository.management.model.LifecycleState;
 import io.reactivex.rxjava3.core.Maybe;
 import java.util.Optional;
@@ -58,7 +59,10 @@ public class ApiMapper {
         return Maybe.fromCallable(() -> {
             try {
                 // Read API definition from event
-                var api = objectMapper.readValue(apiEvent.getPayload(), io.gravitee.repository.management.model.Api.class);
+                var api = objectMapper.readValue(
+                    EventPayloadCodec.decode(apiEvent.getPayload()),
+                    io.gravitee.repository.management.model.Api.class
+                );
 
                 ReactableApi<?> reactableApi;
 
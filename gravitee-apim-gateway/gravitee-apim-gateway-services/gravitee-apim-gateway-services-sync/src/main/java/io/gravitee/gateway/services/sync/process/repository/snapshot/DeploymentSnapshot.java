@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.process.repository.snapshot;
+
+import io.gravitee.repository.distributedsync.model.DistributedEvent;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+/**
+ * The deployed state of the gateway as written on disk: the APIs with their subscriptions and API keys, as distributed
+ * events, and the time from which the repository must be synchronized to catch up with the changes made since.
+ *
+ * @author GraviteeSource Team
+ */
+@Builder
+@Getter
+@Accessors(fluent = true)
+public class DeploymentSnapshot {
+
+    /**
+     * Describes what the snapshot has been built for (runtime version, environments, sharding tags). A snapshot is
+     * only restored with the same scope.
+     */
+    private final String scope;
+
+    private final long nextFromTime;
+
+    @Builder.Default
+    private final List<DistributedEvent> events = List.of();
+}
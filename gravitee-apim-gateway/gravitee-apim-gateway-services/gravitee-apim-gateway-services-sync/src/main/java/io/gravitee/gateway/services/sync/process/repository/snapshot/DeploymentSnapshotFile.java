@@ -0,0 +1,220 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.process.repository.snapshot;
+
+import io.gravitee.repository.distributedsync.model.DistributedEvent;
+import io.gravitee.repository.distributedsync.model.DistributedEventType;
+import io.gravitee.repository.distributedsync.model.DistributedSyncAction;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary file holding a {@link DeploymentSnapshot}:
+ * <pre>
+ * int     magic
+ * int     format version
+ * string  scope
+ * long    next from time
+ * int     number of events
+ *         for each event: type, sync action, id, ref type, ref id and payload, as strings
+ * long    CRC32 of all the previous bytes
+ * </pre>
+ * A string is its length in bytes, <code>-1</code> for <code>null</code>, followed by its UTF-8 bytes.
+ *
+ * The file is memory-mapped to be read, and the checksum is verified before anything is decoded.
+ *
+ * @author GraviteeSource Team
+ */
+public class DeploymentSnapshotFile {
+
+    static final int MAGIC = 0x47494f53;
+    static final int FORMAT_VERSION = 1;
+
+    private static final int NULL_LENGTH = -1;
+    private static final int CHECKSUM_LENGTH = Long.BYTES;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+
+    public DeploymentSnapshotFile(final Path path) {
+        this.path = path;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * The snapshot is written to a temporary file which is then moved in place, so that a crash while writing never
+     * leaves a partial snapshot behind. The temporary file is deleted when the write fails.
+     */
+    public void write(final DeploymentSnapshot snapshot) throws IOException {
+        final Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        final Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (
+                FileChannel channel = FileChannel.open(
+                    tmp,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING
+                )
+            ) {
+                final OutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE);
+                final CRC32 crc = new CRC32();
+                final DataOutputStream out = new DataOutputStream(new CheckedOutputStream(buffered, crc));
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, snapshot.scope());
+                out.writeLong(snapshot.nextFromTime());
+                out.writeInt(snapshot.events().size());
+                for (DistributedEvent event : snapshot.events()) {
+                    writeString(out, event.getType().name());
+                    writeString(out, event.getSyncAction().name());
+                    writeString(out, event.getId());
+                    writeString(out, event.getRefType() == null ? null : event.getRefType().name());
+                    writeString(out, event.getRefId());
+                    writeString(out, event.getPayload());
+                }
+                out.flush();
+                // The checksum is written around the checked stream, it does not cover itself.
+                new DataOutputStream(buffered).writeLong(crc.getValue());
+                buffered.flush();
+                channel.force(true);
+            }
+            try {
+                Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException deleteFailure) {
+                e.addSuppressed(deleteFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return the snapshot, or an empty optional when there is no snapshot file.
+     * @throws IOException when the file cannot be read, has been written with another format version or is corrupted.
+     */
+    public Optional<DeploymentSnapshot> read() throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Deployment snapshot is too large to be mapped (" + size + " bytes)");
+            }
+            if (size < 2 * Integer.BYTES + CHECKSUM_LENGTH) {
+                throw new IOException("Deployment snapshot is truncated");
+            }
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            final int contentLength = (int) size - CHECKSUM_LENGTH;
+            final ByteBuffer content = mapped.slice(0, contentLength);
+
+            final CRC32 crc = new CRC32();
+            crc.update(content.duplicate());
+            if (crc.getValue() != mapped.getLong(contentLength)) {
+                throw new IOException("Deployment snapshot checksum mismatch");
+            }
+            return Optional.of(decode(content));
+        } catch (RuntimeException e) {
+            throw new IOException("Deployment snapshot is corrupted", e);
+        }
+    }
+
+    private static DeploymentSnapshot decode(final ByteBuffer content) throws IOException {
+        if (content.getInt() != MAGIC) {
+            throw new IOException("Not a deployment snapshot");
+        }
+        final int formatVersion = content.getInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported deployment snapshot format version " + formatVersion);
+        }
+        final String scope = readString(content);
+        final long nextFromTime = content.getLong();
+        final int count = content.getInt();
+        final List<DistributedEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final DistributedEventType type = DistributedEventType.valueOf(readString(content));
+            final DistributedSyncAction syncAction = DistributedSyncAction.valueOf(readString(content));
+            final String id = readString(content);
+            final String refType = readString(content);
+            events.add(
+                DistributedEvent.builder()
+                    .type(type)
+                    .syncAction(syncAction)
+                    .id(id)
+                    .refType(refType == null ? null : DistributedEventType.valueOf(refType))
+                    .refId(readString(content))
+                    .payload(readString(content))
+                    .build()
+            );
+        }
+        if (content.hasRemaining()) {
+            throw new IOException("Unexpected trailing bytes in deployment snapshot");
+        }
+        return DeploymentSnapshot.builder().scope(scope).nextFromTime(nextFromTime).events(events).build();
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(final ByteBuffer content) {
+        final int length = content.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > content.remaining()) {
+            throw new IllegalStateException("Invalid string length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        content.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
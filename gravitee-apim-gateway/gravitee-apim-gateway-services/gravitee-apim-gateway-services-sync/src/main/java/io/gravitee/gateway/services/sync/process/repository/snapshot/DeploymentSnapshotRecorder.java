@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.process.repository.snapshot;
+
+import io.gravitee.gateway.api.service.ApiKey;
+import io.gravitee.gateway.api.service.Subscription;
+import io.gravitee.gateway.reactor.ReactableApi;
+import io.gravitee.gateway.services.sync.process.common.model.SyncAction;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.api.ApiReactorDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.apikey.SingleApiKeyDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.subscription.SingleSubscriptionDeployable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps track of the APIs, subscriptions and API keys deployed on the gateway, so that they can be written in a
+ * {@link DeploymentSnapshot}. Only references to the deployed objects are kept, they are serialized when the snapshot
+ * is written.
+ *
+ * @author GraviteeSource Team
+ */
+public class DeploymentSnapshotRecorder {
+
+    private final Map<String, ReactableApi<?>> apis = new ConcurrentHashMap<>();
+    private final Map<String, SingleSubscriptionDeployable> subscriptions = new ConcurrentHashMap<>();
+    private final Map<String, SingleApiKeyDeployable> apiKeys = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public void record(final ApiReactorDeployable deployable) {
+        final String apiId = deployable.apiId();
+        if (deployable.syncAction() == SyncAction.DEPLOY) {
+            apis.put(apiId, deployable.reactableApi());
+            if (deployable.subscriptions() != null) {
+                final Set<String> subscribablePlans = deployable.subscribablePlans();
+                for (Subscription subscription : deployable.subscriptions()) {
+                    if (subscribablePlans.contains(subscription.getPlan())) {
+                        record(SingleSubscriptionDeployable.builder().subscription(subscription).syncAction(SyncAction.DEPLOY).build());
+                    }
+                }
+            }
+            if (deployable.apiKeys() != null) {
+                for (ApiKey apiKey : deployable.apiKeys()) {
+                    record(SingleApiKeyDeployable.builder().apiKey(apiKey).syncAction(SyncAction.DEPLOY).build());
+                }
+            }
+        } else if (deployable.syncAction() == SyncAction.UNDEPLOY) {
+            apis.remove(apiId);
+            subscriptions.values().removeIf(subscription -> apiId.equals(subscription.apiId()));
+            apiKeys.values().removeIf(apiKey -> apiId.equals(apiKey.apiId()));
+        }
+        dirty.set(true);
+    }
+
+    public void record(final SingleSubscriptionDeployable deployable) {
+        if (deployable.syncAction() == SyncAction.DEPLOY) {
+            subscriptions.put(deployable.id(), deployable);
+        } else if (deployable.syncAction() == SyncAction.UNDEPLOY) {
+            subscriptions.remove(deployable.id());
+        }
+        dirty.set(true);
+    }
+
+    public void record(final SingleApiKeyDeployable deployable) {
+        if (deployable.syncAction() == SyncAction.DEPLOY) {
+            apiKeys.put(deployable.id(), deployable);
+        } else if (deployable.syncAction() == SyncAction.UNDEPLOY) {
+            apiKeys.remove(deployable.id());
+        }
+        dirty.set(true);
+    }
+
+    /**
+     * @return <code>true</code> when something has been recorded since the previous call.
+     */
+    boolean clearDirty() {
+        return dirty.getAndSet(false);
+    }
+
+    void markDirty() {
+        dirty.set(true);
+    }
+
+    Map<String, ReactableApi<?>> apis() {
+        return apis;
+    }
+
+    Collection<SingleSubscriptionDeployable> subscriptions() {
+        return subscriptions.values();
+    }
+
+    Collection<SingleApiKeyDeployable> apiKeys() {
+        return apiKeys.values();
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.process.repository.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.common.util.Version;
+import io.gravitee.gateway.env.GatewayConfiguration;
+import io.gravitee.gateway.services.sync.process.common.deployer.Deployer;
+import io.gravitee.gateway.services.sync.process.common.deployer.DeployerFactory;
+import io.gravitee.gateway.services.sync.process.common.model.ApiKeyDeployable;
+import io.gravitee.gateway.services.sync.process.common.model.Deployable;
+import io.gravitee.gateway.services.sync.process.common.model.SubscriptionDeployable;
+import io.gravitee.gateway.services.sync.process.common.model.SyncAction;
+import io.gravitee.gateway.services.sync.process.common.synchronizer.Order;
+import io.gravitee.gateway.services.sync.process.distributed.mapper.ApiKeyMapper;
+import io.gravitee.gateway.services.sync.process.distributed.mapper.ApiMapper;
+import io.gravitee.gateway.services.sync.process.distributed.mapper.SubscriptionMapper;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.api.ApiReactorDeployable;
+import io.gravitee.repository.distributedsync.model.DistributedEvent;
+import io.gravitee.repository.distributedsync.model.DistributedEventType;
+import io.gravitee.repository.distributedsync.model.DistributedSyncAction;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadPoolExecutor;
+import lombok.CustomLog;
+
+/**
+ * Restores the APIs, subscriptions and API keys of a {@link DeploymentSnapshot} on startup, so that the gateway does not
+ * have to wait for a full synchronization of the repository to be ready, and writes a new snapshot when the deployed
+ * state has changed.
+ *
+ * The snapshot is stored as distributed events, with the mappers of the distributed sync.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+public class DeploymentSnapshotService {
+
+    /**
+     * The element restored for each synchronizer order. The other synchronizers always perform a full synchronization.
+     */
+    private static final Map<Integer, DistributedEventType> RESTORED_TYPES = Map.of(
+        Order.API.index(),
+        DistributedEventType.API,
+        Order.SUBSCRIPTION.index(),
+        DistributedEventType.SUBSCRIPTION,
+        Order.API_KEY.index(),
+        DistributedEventType.API_KEY
+    );
+
+    private final DeploymentSnapshotFile snapshotFile;
+    private final DeploymentSnapshotRecorder recorder;
+    private final DeployerFactory deployerFactory;
+    private final ThreadPoolExecutor syncDeployerExecutor;
+    private final GatewayConfiguration gatewayConfiguration;
+    private final ApiMapper apiMapper;
+    private final SubscriptionMapper subscriptionMapper;
+    private final ApiKeyMapper apiKeyMapper;
+
+    public DeploymentSnapshotService(
+        final DeploymentSnapshotFile snapshotFile,
+        final DeploymentSnapshotRecorder recorder,
+        final DeployerFactory deployerFactory,
+        final ThreadPoolExecutor syncDeployerExecutor,
+        final GatewayConfiguration gatewayConfiguration,
+        final ObjectMapper objectMapper
+    ) {
+        this.snapshotFile = snapshotFile;
+        this.recorder = recorder;
+        this.deployerFactory = deployerFactory;
+        this.syncDeployerExecutor = syncDeployerExecutor;
+        this.gatewayConfiguration = gatewayConfiguration;
+        this.subscriptionMapper = new SubscriptionMapper(objectMapper);
+        this.apiKeyMapper = new ApiKeyMapper(objectMapper);
+        this.apiMapper = new ApiMapper(objectMapper, subscriptionMapper, apiKeyMapper);
+    }
+
+    /**
+     * @return the snapshot to restore, or an empty optional when there is none, or when it cannot be used: a full
+     * synchronization must then be performed.
+     */
+    public Optional<DeploymentSnapshot> load(final Set<String> environments) {
+        final long start = System.currentTimeMillis();
+        try {
+            final Optional<DeploymentSnapshot> snapshot = snapshotFile.read();
+            if (snapshot.isEmpty()) {
+                log.info("No deployment snapshot found at [{}]", snapshotFile.path());
+                return Optional.empty();
+            }
+            final String scope = scope(environments);
+            if (!scope.equals(snapshot.get().scope())) {
+                log.info(
+                    "Ignoring deployment snapshot [{}] built for [{}] instead of [{}]",
+                    snapshotFile.path(),
+                    snapshot.get().scope(),
+                    scope
+                );
+                return Optional.empty();
+            }
+            log.info(
+                "Deployment snapshot [{}] with {} element(s) loaded in {}ms",
+                snapshotFile.path(),
+                snapshot.get().events().size(),
+                System.currentTimeMillis() - start
+            );
+            return snapshot;
+        } catch (IOException e) {
+            log.warn("Ignoring deployment snapshot [{}], a full synchronization will be performed", snapshotFile.path(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the elements of the synchronizer with the given order are restored from the snapshot.
+     */
+    public boolean restores(final int order) {
+        return RESTORED_TYPES.containsKey(order);
+    }
+
+    /**
+     * Deploy the elements of the snapshot handled by the synchronizer with the given order. An element which cannot be
+     * deployed is skipped: it will be deployed by the next full synchronization.
+     */
+    public Completable restore(final DeploymentSnapshot snapshot, final int order) {
+        final DistributedEventType type = RESTORED_TYPES.get(order);
+        if (type == null) {
+            return Completable.complete();
+        }
+        final Flowable<DistributedEvent> events = Flowable.fromIterable(snapshot.events()).filter(
+            event -> event.getType() == type && event.getSyncAction() == DistributedSyncAction.DEPLOY
+        );
+        return switch (type) {
+            case API -> deploy(type, events.flatMapMaybe(apiMapper::to), deployerFactory.createApiDeployer());
+            case SUBSCRIPTION -> deploy(
+                type,
+                events.<SubscriptionDeployable>flatMapMaybe(subscriptionMapper::to),
+                deployerFactory.createSubscriptionDeployer()
+            );
+            case API_KEY -> deploy(type, events.<ApiKeyDeployable>flatMapMaybe(apiKeyMapper::to), deployerFactory.createApiKeyDeployer());
+            default -> Completable.complete();
+        };
+    }
+
+    /**
+     * Write a new snapshot if something has been deployed or undeployed since the previous one. A failure is only
+     * logged, the snapshot will be written again after the next synchronization.
+     *
+     * @param nextFromTime the time from which the repository must be synchronized when the snapshot is restored.
+     */
+    public Completable persist(final long nextFromTime, final Set<String> environments) {
+        return Completable.defer(() -> {
+            if (!recorder.clearDirty()) {
+                return Completable.complete();
+            }
+            final long start = System.currentTimeMillis();
+            return Flowable.concat(
+                apiEvents(),
+                Flowable.fromIterable(recorder.subscriptions()).concatMap(subscriptionMapper::to),
+                Flowable.fromIterable(recorder.apiKeys()).concatMap(apiKeyMapper::to)
+            )
+                .toList()
+                .flatMapCompletable(events ->
+                    Completable.fromAction(() -> {
+                        snapshotFile.write(
+                            DeploymentSnapshot.builder().scope(scope(environments)).nextFromTime(nextFromTime).events(events).build()
+                        );
+                        log.debug(
+                            "Deployment snapshot [{}] with {} element(s) written in {}ms",
+                            snapshotFile.path(),
+                            events.size(),
+                            System.currentTimeMillis() - start
+                        );
+                    })
+                )
+                .onErrorResumeNext(throwable -> {
+                    recorder.markDirty();
+                    log.warn("Unable to write the deployment snapshot [{}]", snapshotFile.path(), throwable);
+                    return Completable.complete();
+                });
+        });
+    }
+
+    /**
+     * A snapshot is only restored by a gateway of the same version, synchronizing the same environments with the same
+     * sharding tags and tenant: they all change the deployed elements.
+     */
+    String scope(final Set<String> environments) {
+        return (
+            "version=" +
+            Version.RUNTIME_VERSION +
+            ";environments=" +
+            sorted(environments) +
+            ";tags=" +
+            sorted(gatewayConfiguration.shardingTags().orElse(List.of())) +
+            ";tenant=" +
+            gatewayConfiguration.tenant().orElse("")
+        );
+    }
+
+    private Flowable<DistributedEvent> apiEvents() {
+        return Flowable.fromIterable(recorder.apis().entrySet()).concatMap(entry ->
+            apiMapper.to(
+                ApiReactorDeployable.builder().apiId(entry.getKey()).reactableApi(entry.getValue()).syncAction(SyncAction.DEPLOY).build()
+            )
+        );
+    }
+
+    private <T extends Deployable> Completable deploy(
+        final DistributedEventType type,
+        final Flowable<T> deployables,
+        final Deployer<T> deployer
+    ) {
+        final long start = System.currentTimeMillis();
+        return deployables
+            .parallel(syncDeployerExecutor.getMaximumPoolSize())
+            .runOn(Schedulers.from(syncDeployerExecutor))
+            .flatMap(deployable ->
+                deployer
+                    .deploy(deployable)
+                    .andThen(deployer.doAfterDeployment(deployable))
+                    .andThen(Flowable.just(deployable))
+                    .onErrorResumeNext(throwable -> {
+                        log.warn(
+                            "Unable to restore {} [{}] from the deployment snapshot",
+                            type.name().toLowerCase(),
+                            deployable.id(),
+                            throwable
+                        );
+                        return Flowable.empty();
+                    })
+            )
+            .sequential()
+            .count()
+            .doOnSuccess(count ->
+                log.info(
+                    "{} {}(s) restored from the deployment snapshot in {}ms",
+                    count,
+                    type.name().toLowerCase(),
+                    System.currentTimeMillis() - start
+                )
+            )
+            .ignoreElement();
+    }
+
+    private static Set<String> sorted(final Collection<String> values) {
+        return values == null ? Set.of() : new TreeSet<>(values);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.process.repository.snapshot;
+
+import io.gravitee.gateway.services.sync.process.distributed.service.DistributedSyncService;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.accesspoint.AccessPointDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.api.ApiReactorDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.apikey.SingleApiKeyDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.apiproduct.ApiProductReactorDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.authz.AuthzEntityReactorDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.authz.AuthzPolicyReactorDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.dictionary.DictionaryDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.license.LicenseDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.node.NodeMetadataDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.organization.OrganizationDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.sharedpolicygroup.SharedPolicyGroupReactorDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.subscription.SingleSubscriptionDeployable;
+import io.gravitee.repository.distributedsync.model.DistributedSyncState;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The deployers hand every deployed or undeployed element to the {@link DistributedSyncService}: this one also gives
+ * the APIs, subscriptions and API keys to the {@link DeploymentSnapshotRecorder} before delegating.
+ *
+ * @author GraviteeSource Team
+ */
+@RequiredArgsConstructor
+public class SnapshotRecordingDistributedSyncService implements DistributedSyncService {
+
+    private final DistributedSyncService delegate;
+    private final DeploymentSnapshotRecorder recorder;
+
+    @Override
+    public void validate() {
+        delegate.validate();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return delegate.isEnabled();
+    }
+
+    @Override
+    public boolean isPrimaryNode() {
+        return delegate.isPrimaryNode();
+    }
+
+    @Override
+    public Completable ready() {
+        return delegate.ready();
+    }
+
+    @Override
+    public Maybe<DistributedSyncState> state() {
+        return delegate.state();
+    }
+
+    @Override
+    public Completable storeState(final long fromTime, final long toTime) {
+        return delegate.storeState(fromTime, toTime);
+    }
+
+    @Override
+    public Completable distributeIfNeeded(final ApiReactorDeployable deployable) {
+        return Completable.fromRunnable(() -> recorder.record(deployable)).andThen(delegate.distributeIfNeeded(deployable));
+    }
+
+    @Override
+    public Completable distributeIfNeeded(final SingleSubscriptionDeployable deployable) {
+        return Completable.fromRunnable(() -> recorder.record(deployable)).andThen(delegate.distributeIfNeeded(deployable));
+    }
+
+    @Override
+    public Completable distributeIfNeeded(final SingleApiKeyDeployable deployable) {
+        return Completable.fromRunnable(() -> recorder.record(deployable)).andThen(delegate.distributeIfNeeded(deployable));
+    }
+
+    @Override
+    public Completable distributeIfNeeded(final OrganizationDeployable deployable) {
+        return delegate.distributeIfNeeded(deployable);
+    }
+
+    @Override
+    public Completable distributeIfNeeded(final DictionaryDeployable deployable) {
+        return delegate.distributeIfNeeded(deployable);
+    }
+
+    @Override
+    public Completable distributeIfNeeded(final LicenseDeployable deployable) {
+        return delegate.distributeIfNeeded(deployable);
+    }
+
+    @Override
+    public Completable distributeIfNeeded(final AccessPointDeployable deployable) {
+        return delegate.distributeIfNeeded(deployable);
+    }
+
+    @Override
+    public Completable distributeIfNeeded(final SharedPolicyGroupReactorDeployable deployable) {
+        return delegate.distributeIfNeeded(deployable);
+    }
+
+    @Override
+    public Completable distributeIfNeeded(final ApiProductReactorDeployable deployable) {
+        return delegate.distributeIfNeeded(deployable);
+    }
+
+    @Override
+    public Completable distributeIfNeeded(final NodeMetadataDeployable deployable) {
+        return delegate.distributeIfNeeded(deployable);
+    }
+
+    @Override
+    public Completable distributeIfNeeded(final AuthzEntityReactorDeployable deployable) {
+        return delegate.distributeIfNeeded(deployable);
+    }
+
+    @Override
+    public Completable distributeIfNeeded(final AuthzPolicyReactorDeployable deployable) {
+        return delegate.distributeIfNeeded(deployable);
+    }
+}
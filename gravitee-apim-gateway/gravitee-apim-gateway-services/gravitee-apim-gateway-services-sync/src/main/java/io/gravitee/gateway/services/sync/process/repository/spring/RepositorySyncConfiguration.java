@@ -32,6 +32,8 @@ import io.gravitee.gateway.services.sync.process.distributed.DistributedSynchron
 import io.gravitee.gateway.services.sync.process.distributed.service.DistributedSyncService;
 import io.gravitee.gateway.services.sync.process.repository.DefaultSyncManager;
 import io.gravitee.gateway.services.sync.process.repository.RepositorySynchronizer;
+import io.gravitee.gateway.services.sync.process.repository.changefeed.RepositoryChangeFeed;
+import io.gravitee.gateway.services.sync.process.repository.changefeed.RepositoryChangeFeedEnabledCondition;
 import io.gravitee.gateway.services.sync.process.repository.fetcher.AccessPointFetcher;
 import io.gravitee.gateway.services.sync.process.repository.fetcher.ApiKeyFetcher;
 import io.gravitee.gateway.services.sync.process.repository.fetcher.DebugEventFetcher;
@@ -51,6 +53,10 @@ import io.gravitee.gateway.services.sync.process.repository.mapper.OrganizationM
 import io.gravitee.gateway.services.sync.process.repository.mapper.SharedPolicyGroupMapper;
 import io.gravitee.gateway.services.sync.process.repository.service.EnvironmentService;
 import io.gravitee.gateway.services.sync.process.repository.service.PlanService;
+import io.gravitee.gateway.services.sync.process.repository.snapshot.DeploymentSnapshotEnabledCondition;
+import io.gravitee.gateway.services.sync.process.repository.snapshot.DeploymentSnapshotFile;
+import io.gravitee.gateway.services.sync.process.repository.snapshot.DeploymentSnapshotRecorder;
+import io.gravitee.gateway.services.sync.process.repository.snapshot.DeploymentSnapshotService;
 import io.gravitee.gateway.services.sync.process.repository.synchronizer.accesspoint.AccessPointSynchronizer;
 import io.gravitee.gateway.services.sync.process.repository.synchronizer.api.ApiKeyAppender;
 import io.gravitee.gateway.services.sync.process.repository.synchronizer.api.ApiSynchronizer;
@@ -91,6 +97,7 @@ import io.gravitee.repository.management.api.LicenseRepository;
 import io.gravitee.repository.management.api.PlanRepository;
 import io.gravitee.repository.management.api.SubscriptionRepository;
 import io.vertx.ext.web.Router;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -558,6 +565,36 @@ public class RepositorySyncConfiguration {
         );
     }
 
+    @Bean
+    @Conditional(DeploymentSnapshotEnabledCondition.class)
+    public DeploymentSnapshotService deploymentSnapshotService(
+        @Value("${services.sync.repository.snapshot.path:${gravitee.home}/data/sync-snapshot.bin}") String snapshotPath,
+        DeploymentSnapshotRecorder deploymentSnapshotRecorder,
+        DeployerFactory deployerFactory,
+        @Qualifier("syncDeployerExecutor") ThreadPoolExecutor syncDeployerExecutor,
+        GatewayConfiguration gatewayConfiguration,
+        ObjectMapper objectMapper
+    ) {
+        return new DeploymentSnapshotService(
+            new DeploymentSnapshotFile(Path.of(snapshotPath)),
+            deploymentSnapshotRecorder,
+            deployerFactory,
+            syncDeployerExecutor,
+            gatewayConfiguration,
+            objectMapper
+        );
+    }
+
+    @Bean
+    @Conditional(RepositoryChangeFeedEnabledCondition.class)
+    public RepositoryChangeFeed repositoryChangeFeed(
+        EventLatestRepository eventLatestRepository,
+        @Value("${services.sync.repository.changeFeed.maxDelay:60000}") long maxDelay,
+        @Value("${services.sync.repository.changeFeed.unit:MILLISECONDS}") TimeUnit unit
+    ) {
+        return new RepositoryChangeFeed(eventLatestRepository, maxDelay, unit);
+    }
+
     @Bean
     public DefaultSyncManager syncManager(
         @Qualifier("managementRouter") Router router,
@@ -567,7 +604,9 @@ public class RepositorySyncConfiguration {
         final DistributedSyncService distributedSyncService,
         @Value("${services.sync.delay:5000}") int delay,
         @Value("${services.sync.unit:MILLISECONDS}") TimeUnit unit,
-        @Value("${services.sync.retry:3}") final int retryAttempt
+        @Value("${services.sync.retry:3}") final int retryAttempt,
+        @Autowired(required = false) final DeploymentSnapshotService deploymentSnapshotService,
+        @Autowired(required = false) final RepositoryChangeFeed repositoryChangeFeed
     ) {
         return new DefaultSyncManager(
             router,
@@ -577,7 +616,9 @@ public class RepositorySyncConfiguration {
             distributedSyncService,
             delay,
             unit,
-            retryAttempt
+            retryAttempt,
+            deploymentSnapshotService,
+            repositoryChangeFeed
         );
     }
 }
@@ -80,22 +80,31 @@ public abstract class AbstractApiSynchronizer {
                         }
                     })
             )
-            // per deployable
+            // per bulk of deployables
             .compose(upstream -> {
                 SubscriptionDeployer subscriptionDeployer = deployerFactory.createSubscriptionDeployer();
                 ApiKeyDeployer apiKeyDeployer = deployerFactory.createApiKeyDeployer();
                 ApiDeployer apiDeployer = deployerFactory.createApiDeployer();
                 return upstream
+                    .buffer(bulkEvents())
                     .parallel(syncDeployerExecutor.getMaximumPoolSize())
                     .runOn(Schedulers.from(syncDeployerExecutor))
-                    .flatMap(deployable -> {
-                        if (deployable.syncAction() == SyncAction.DEPLOY) {
-                            return deployApi(initialSync, subscriptionDeployer, apiKeyDeployer, apiDeployer, deployable);
-                        } else if (deployable.syncAction() == SyncAction.UNDEPLOY) {
-                            return undeployApi(initialSync, subscriptionDeployer, apiKeyDeployer, apiDeployer, deployable);
-                        } else {
-                            return Flowable.just(deployable);
-                        }
+                    .flatMap(deployables -> {
+                        List<ApiReactorDeployable> toDeploy = deployables
+                            .stream()
+                            .filter(deployable -> deployable.syncAction() == SyncAction.DEPLOY)
+                            .toList();
+                        return deployApis(initialSync, subscriptionDeployer, apiKeyDeployer, apiDeployer, toDeploy).concatWith(
+                            Flowable.fromIterable(deployables)
+                                .filter(deployable -> deployable.syncAction() != SyncAction.DEPLOY)
+                                .concatMap(deployable -> {
+                                    if (deployable.syncAction() == SyncAction.UNDEPLOY) {
+                                        return undeployApi(initialSync, subscriptionDeployer, apiKeyDeployer, apiDeployer, deployable);
+                                    } else {
+                                        return Flowable.just(deployable);
+                                    }
+                                })
+                        );
                     })
                     .sequential(bulkEvents());
             });
@@ -152,6 +161,56 @@ public abstract class AbstractApiSynchronizer {
             .map(apiId -> ApiReactorDeployable.builder().syncAction(SyncAction.UNDEPLOY).apiId(apiId).build());
     }
 
+    /**
+     * Deploy a bulk of apis. Their subscriptions and api keys are deployed one api after the other, then the apis are
+     * registered all at once so that the reactor creates their handlers together. If the bulk registration fails, the
+     * apis are registered one by one again so that only the failing ones are isolated.
+     */
+    private Flowable<ApiReactorDeployable> deployApis(
+        final boolean initialSync,
+        final SubscriptionDeployer subscriptionDeployer,
+        final ApiKeyDeployer apiKeyDeployer,
+        final ApiDeployer apiDeployer,
+        final List<ApiReactorDeployable> deployables
+    ) {
+        if (deployables.isEmpty()) {
+            return Flowable.empty();
+        } else if (deployables.size() == 1) {
+            return deployApi(initialSync, subscriptionDeployer, apiKeyDeployer, apiDeployer, deployables.get(0));
+        }
+        return Flowable.fromIterable(deployables)
+            .concatMap(deployable ->
+                subscriptionDeployer
+                    .deploy(deployable)
+                    .andThen(apiKeyDeployer.deploy(deployable))
+                    .andThen(Flowable.just(deployable))
+                    .onErrorResumeNext(throwable -> resumeOnDeployError(initialSync, throwable))
+            )
+            .toList()
+            .flatMapPublisher(prepared ->
+                apiDeployer
+                    .deployAll(prepared)
+                    .andThen(Flowable.fromIterable(prepared))
+                    .onErrorResumeNext(throwable -> {
+                        log.warn("Unable to deploy {} apis at once, deploying them one by one", prepared.size(), throwable);
+                        return Flowable.fromIterable(prepared).concatMap(deployable ->
+                            apiDeployer
+                                .deploy(deployable)
+                                .andThen(Flowable.just(deployable))
+                                .onErrorResumeNext(t -> resumeOnDeployError(initialSync, t))
+                        );
+                    })
+            )
+            .concatMap(deployable ->
+                subscriptionDeployer
+                    .doAfterDeployment(deployable)
+                    .andThen(apiKeyDeployer.doAfterDeployment(deployable))
+                    .andThen(apiDeployer.doAfterDeployment(deployable))
+                    .andThen(Flowable.just(deployable))
+                    .onErrorResumeNext(throwable -> resumeOnDeployError(initialSync, throwable))
+            );
+    }
+
     private Flowable<ApiReactorDeployable> deployApi(
         final boolean initialSync,
         final SubscriptionDeployer subscriptionDeployer,
@@ -135,4 +135,9 @@ public class ApiSynchronizer extends AbstractApiSynchronizer implements Reposito
     public int order() {
         return Order.API.index();
     }
+
+    @Override
+    public boolean readsLatestEvents() {
+        return true;
+    }
 }
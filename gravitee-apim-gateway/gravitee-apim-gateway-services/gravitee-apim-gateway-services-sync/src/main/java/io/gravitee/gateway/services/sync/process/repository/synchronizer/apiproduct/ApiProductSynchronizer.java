@@ -105,6 +105,11 @@ public class ApiProductSynchronizer implements RepositorySynchronizer {
         return Order.API_PRODUCT.index();
     }
 
+    @Override
+    public boolean readsLatestEvents() {
+        return true;
+    }
+
     private Flowable<ApiProductReactorDeployable> processEvents(final Flowable<List<Event>> eventsFlowable) {
         return eventsFlowable
             // fetch per page
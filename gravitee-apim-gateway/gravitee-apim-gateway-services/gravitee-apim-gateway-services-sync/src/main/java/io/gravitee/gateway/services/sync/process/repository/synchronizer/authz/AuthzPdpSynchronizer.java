@@ -196,6 +196,11 @@ public class AuthzPdpSynchronizer implements RepositorySynchronizer {
         return Order.AUTHZ_PDP.index();
     }
 
+    @Override
+    public boolean readsLatestEvents() {
+        return true;
+    }
+
     private Flowable<AuthzPdpProvisionDeployable> processEvents(
         Flowable<List<Event>> eventsFlowable,
         ConcurrentLinkedQueue<AuthzPdpProvisionDeployable> provisionedScopes
@@ -88,6 +88,11 @@ public class ClusterSynchronizer implements RepositorySynchronizer {
         return Order.CLUSTER.index();
     }
 
+    @Override
+    public boolean readsLatestEvents() {
+        return true;
+    }
+
     private Flowable<ClusterReactorDeployable> processEvents(final Flowable<List<Event>> eventsFlowable) {
         return eventsFlowable
             .flatMap(events ->
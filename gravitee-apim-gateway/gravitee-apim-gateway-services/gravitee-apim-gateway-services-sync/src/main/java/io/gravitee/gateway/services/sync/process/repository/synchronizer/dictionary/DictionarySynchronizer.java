@@ -156,4 +156,9 @@ public class DictionarySynchronizer implements RepositorySynchronizer {
     public int order() {
         return Order.DICTIONARY.index();
     }
+
+    @Override
+    public boolean readsLatestEvents() {
+        return true;
+    }
 }
@@ -115,4 +115,9 @@ public class OrganizationSynchronizer implements RepositorySynchronizer {
     public int order() {
         return Order.ORGANIZATION.index();
     }
+
+    @Override
+    public boolean readsLatestEvents() {
+        return true;
+    }
 }
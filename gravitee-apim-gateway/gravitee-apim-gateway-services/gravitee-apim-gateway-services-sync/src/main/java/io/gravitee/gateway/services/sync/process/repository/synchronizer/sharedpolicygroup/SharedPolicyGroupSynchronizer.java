@@ -104,6 +104,11 @@ public class SharedPolicyGroupSynchronizer implements RepositorySynchronizer {
         return Order.SHARED_POLICY_GROUP.index();
     }
 
+    @Override
+    public boolean readsLatestEvents() {
+        return true;
+    }
+
     private Flowable<SharedPolicyGroupReactorDeployable> processEvents(final Flowable<List<Event>> eventsFlowable) {
         return eventsFlowable
             // fetch per page
@@ -24,6 +24,7 @@ import io.gravitee.gateway.services.sync.process.common.model.SyncException;
 import io.gravitee.gateway.services.sync.process.distributed.service.NoopDistributedSyncService;
 import io.gravitee.gateway.services.sync.process.repository.service.PlanService;
 import io.gravitee.gateway.services.sync.process.repository.synchronizer.api.ApiReactorDeployable;
+import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
@@ -74,6 +75,31 @@ class ApiDeployerTest {
             verify(apiManager).register(reactableApi);
         }
 
+        @Test
+        void should_deploy_all_apis_at_once() {
+            ReactableApi reactableApi1 = mock(ReactableApi.class);
+            ReactableApi reactableApi2 = mock(ReactableApi.class);
+            cut
+                .deployAll(
+                    List.of(
+                        ApiReactorDeployable.builder().apiId("apiId1").reactableApi(reactableApi1).build(),
+                        ApiReactorDeployable.builder().apiId("apiId2").reactableApi(reactableApi2).build()
+                    )
+                )
+                .test()
+                .assertComplete();
+            verify(apiManager).registerAll(List.of(reactableApi1, reactableApi2));
+            verify(apiManager, never()).register(any());
+        }
+
+        @Test
+        void should_return_error_when_api_manager_throw_exception_while_deploying_all_apis() {
+            ReactableApi reactableApi = mock(ReactableApi.class);
+            ApiReactorDeployable apiReactorDeployable = ApiReactorDeployable.builder().apiId("apiId").reactableApi(reactableApi).build();
+            doThrow(new SyncException("error")).when(apiManager).registerAll(List.of(reactableApi));
+            cut.deployAll(List.of(apiReactorDeployable)).test().assertFailure(SyncException.class);
+        }
+
         @Test
         void should_do_post_action() {
             ReactableApi reactableApi = mock(ReactableApi.class);
@@ -22,7 +22,10 @@ import static org.mockito.Mockito.*;
 import io.gravitee.gateway.services.sync.process.distributed.DistributedSynchronizer;
 import io.gravitee.gateway.services.sync.process.distributed.service.DistributedSyncService;
 import io.gravitee.gateway.services.sync.process.distributed.service.NoopDistributedSyncService;
+import io.gravitee.gateway.services.sync.process.repository.changefeed.RepositoryChangeFeed;
 import io.gravitee.gateway.services.sync.process.repository.handler.SyncHandler;
+import io.gravitee.gateway.services.sync.process.repository.snapshot.DeploymentSnapshot;
+import io.gravitee.gateway.services.sync.process.repository.snapshot.DeploymentSnapshotService;
 import io.gravitee.node.api.Node;
 import io.gravitee.repository.distributedsync.model.DistributedSyncState;
 import io.reactivex.rxjava3.core.Completable;
@@ -34,6 +37,7 @@ import io.vertx.ext.web.Router;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -184,6 +188,178 @@ class DefaultSyncManagerTest {
         assertThat(cut.syncDone()).isTrue();
     }
 
+    @Test
+    void should_restore_snapshot_and_synchronize_changes_made_since() throws Exception {
+        DeploymentSnapshotService deploymentSnapshotService = mock(DeploymentSnapshotService.class);
+        DeploymentSnapshot snapshot = DeploymentSnapshot.builder().scope("scope").nextFromTime(1_000L).build();
+        when(deploymentSnapshotService.load(Set.of("env"))).thenReturn(Optional.of(snapshot));
+        when(deploymentSnapshotService.restores(anyInt())).thenAnswer(invocation -> invocation.getArgument(0, Integer.class) == 1);
+        when(deploymentSnapshotService.restore(snapshot, 1)).thenReturn(Completable.complete());
+        when(deploymentSnapshotService.persist(anyLong(), anySet())).thenReturn(Completable.complete());
+
+        RepositorySynchronizer synchronizer1 = spy(new FakeSynchronizer(Completable.complete(), 1));
+        RepositorySynchronizer synchronizer2 = spy(new FakeSynchronizer(Completable.complete(), 2));
+        synchronizers.add(synchronizer1);
+        synchronizers.add(synchronizer2);
+
+        cut = new DefaultSyncManager(
+            router,
+            node,
+            synchronizers,
+            null,
+            new NoopDistributedSyncService(),
+            5,
+            TimeUnit.SECONDS,
+            1,
+            deploymentSnapshotService,
+            null
+        );
+        cut.start();
+
+        InOrder inOrder = inOrder(deploymentSnapshotService, synchronizer1, synchronizer2);
+        inOrder.verify(deploymentSnapshotService).restore(snapshot, 1);
+        inOrder.verify(synchronizer1).synchronize(eq(1_000L), any(), anySet());
+        inOrder.verify(synchronizer2).synchronize(eq(-1L), any(), anySet());
+        inOrder.verify(deploymentSnapshotService).persist(anyLong(), anySet());
+        assertThat(cut.syncDone()).isTrue();
+    }
+
+    @Test
+    void should_synchronize_the_latest_events_when_repository_notifies_a_change() throws Exception {
+        RepositoryChangeFeed changeFeed = mock(RepositoryChangeFeed.class);
+        when(changeFeed.isListening()).thenReturn(true);
+        when(changeFeed.awaitChange()).thenReturn(Completable.complete(), Completable.never());
+
+        RepositorySynchronizer latestEventsSynchronizer = spy(new FakeSynchronizer(Completable.complete(), 1));
+        doReturn(true).when(latestEventsSynchronizer).readsLatestEvents();
+        RepositorySynchronizer polledSynchronizer = spy(new FakeSynchronizer(Completable.complete(), 2));
+        synchronizers.add(latestEventsSynchronizer);
+        synchronizers.add(polledSynchronizer);
+
+        cut = new DefaultSyncManager(
+            router,
+            node,
+            synchronizers,
+            null,
+            new NoopDistributedSyncService(),
+            5,
+            TimeUnit.SECONDS,
+            1,
+            null,
+            changeFeed
+        );
+        cut.start();
+
+        // No need to wait for the sync delay: the change triggers the synchronization of the latest events right away.
+        verify(changeFeed).start();
+        verify(latestEventsSynchronizer).synchronize(eq(-1L), any(), anySet());
+        verify(latestEventsSynchronizer).synchronize(argThat(from -> from != -1L), any(), anySet());
+        verify(polledSynchronizer).synchronize(any(), any(), anySet());
+        verify(changeFeed, times(2)).awaitChange();
+    }
+
+    @Test
+    void should_keep_polling_the_other_synchronizers_while_repository_notifies_changes() throws Exception {
+        try {
+            final TestScheduler testScheduler = new TestScheduler();
+            RxJavaPlugins.setComputationSchedulerHandler(s -> testScheduler);
+            RxJavaPlugins.setIoSchedulerHandler(s -> testScheduler);
+
+            RepositoryChangeFeed changeFeed = mock(RepositoryChangeFeed.class);
+            when(changeFeed.isListening()).thenReturn(true);
+            when(changeFeed.awaitChange()).thenReturn(Completable.never());
+
+            RepositorySynchronizer latestEventsSynchronizer = spy(new FakeSynchronizer(Completable.complete(), 1));
+            doReturn(true).when(latestEventsSynchronizer).readsLatestEvents();
+            // e.g. the subscriptions or the API keys, whose changes are not notified.
+            RepositorySynchronizer polledSynchronizer = spy(new FakeSynchronizer(Completable.complete(), 2));
+            synchronizers.add(latestEventsSynchronizer);
+            synchronizers.add(polledSynchronizer);
+
+            cut = new DefaultSyncManager(
+                router,
+                node,
+                synchronizers,
+                null,
+                new NoopDistributedSyncService(),
+                5,
+                TimeUnit.SECONDS,
+                1,
+                null,
+                changeFeed
+            );
+            cut.start();
+
+            testScheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+            testScheduler.triggerActions();
+
+            verify(polledSynchronizer).synchronize(argThat(from -> from != -1L), any(), anySet());
+            verify(latestEventsSynchronizer, never()).synchronize(argThat(from -> from != -1L), any(), anySet());
+        } finally {
+            RxJavaPlugins.reset();
+        }
+    }
+
+    @Test
+    void should_let_the_synchronization_of_the_latest_events_complete_when_it_outlasts_the_delay() throws Exception {
+        try {
+            final TestScheduler testScheduler = new TestScheduler();
+            RxJavaPlugins.setComputationSchedulerHandler(s -> testScheduler);
+            RxJavaPlugins.setIoSchedulerHandler(s -> testScheduler);
+
+            RepositoryChangeFeed changeFeed = mock(RepositoryChangeFeed.class);
+            when(changeFeed.isListening()).thenReturn(true);
+            when(changeFeed.awaitChange()).thenReturn(Completable.complete(), Completable.never());
+
+            AtomicInteger calls = new AtomicInteger(0);
+            AtomicInteger completed = new AtomicInteger(0);
+            // The initial synchronization is immediate, the one of the latest events takes longer than the delay.
+            RepositorySynchronizer latestEventsSynchronizer = spy(
+                new FakeSynchronizer(
+                    Completable.defer(() ->
+                        calls.getAndIncrement() == 0
+                            ? Completable.complete()
+                            : Completable.timer(8, TimeUnit.SECONDS).doOnComplete(completed::incrementAndGet)
+                    ),
+                    1
+                )
+            );
+            doReturn(true).when(latestEventsSynchronizer).readsLatestEvents();
+            RepositorySynchronizer polledSynchronizer = spy(new FakeSynchronizer(Completable.complete(), 2));
+            synchronizers.add(latestEventsSynchronizer);
+            synchronizers.add(polledSynchronizer);
+
+            cut = new DefaultSyncManager(
+                router,
+                node,
+                synchronizers,
+                null,
+                new NoopDistributedSyncService(),
+                5,
+                TimeUnit.SECONDS,
+                1,
+                null,
+                changeFeed
+            );
+            cut.start();
+
+            // The delay is elapsed while the latest events are being synchronized.
+            testScheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+            testScheduler.triggerActions();
+            assertThat(completed.get()).isZero();
+
+            testScheduler.advanceTimeBy(3, TimeUnit.SECONDS);
+            testScheduler.triggerActions();
+
+            assertThat(completed.get()).isEqualTo(1);
+            assertThat(calls.get()).isEqualTo(2);
+            // The poll which was due meanwhile runs right after.
+            verify(polledSynchronizer).synchronize(argThat(from -> from != -1L), any(), anySet());
+        } finally {
+            RxJavaPlugins.reset();
+        }
+    }
+
     @Test
     void should_report_not_ready_until_initial_sync_succeeds() throws Exception {
         try {
@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.process.repository.changefeed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.repository.management.api.EventLatestRepository;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@ExtendWith(MockitoExtension.class)
+class RepositoryChangeFeedTest {
+
+    @Mock
+    private EventLatestRepository eventLatestRepository;
+
+    private final TestScheduler testScheduler = new TestScheduler();
+    private final PublishProcessor<String> changes = PublishProcessor.create();
+
+    private RepositoryChangeFeed cut;
+
+    @BeforeEach
+    void beforeEach() {
+        RxJavaPlugins.setComputationSchedulerHandler(s -> testScheduler);
+        cut = new RepositoryChangeFeed(eventLatestRepository, 60, TimeUnit.SECONDS, Schedulers.trampoline());
+    }
+
+    @AfterEach
+    void afterEach() {
+        cut.stop();
+        RxJavaPlugins.reset();
+    }
+
+    @Test
+    void should_signal_a_change_when_starting_to_listen() {
+        when(eventLatestRepository.changes()).thenReturn(changes);
+
+        cut.start();
+        changes.onNext(EventLatestRepository.CHANGES_LISTENED);
+
+        assertThat(cut.isListening()).isTrue();
+        cut.awaitChange().test().assertComplete();
+    }
+
+    @Test
+    void should_not_listen_until_repository_confirms_it() {
+        when(eventLatestRepository.changes()).thenReturn(changes);
+
+        cut.start();
+
+        assertThat(cut.isListening()).isFalse();
+    }
+
+    @Test
+    void should_wake_up_after_max_delay_since_previous_wake_up() {
+        when(eventLatestRepository.changes()).thenReturn(changes);
+        startListening();
+        cut.awaitChange().test().assertComplete();
+
+        testScheduler.advanceTimeBy(40, TimeUnit.SECONDS);
+        // The waiting may be interrupted, e.g. by the polling of the other synchronizers, it does not delay the wake-up.
+        cut.awaitChange().test().dispose();
+        final TestObserver<Void> obs = cut.awaitChange().test();
+        testScheduler.advanceTimeBy(19, TimeUnit.SECONDS);
+        obs.assertNotComplete();
+
+        testScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        obs.assertComplete();
+    }
+
+    @Test
+    void should_wake_up_when_a_change_is_notified() {
+        when(eventLatestRepository.changes()).thenReturn(changes);
+        startListening();
+        cut.awaitChange().test().assertComplete();
+
+        final TestObserver<Void> obs = cut.awaitChange().test();
+        obs.assertNotComplete();
+
+        changes.onNext("event");
+        obs.assertComplete();
+    }
+
+    @Test
+    void should_not_miss_a_change_notified_while_nobody_is_waiting() {
+        when(eventLatestRepository.changes()).thenReturn(changes);
+        startListening();
+        cut.awaitChange().test().assertComplete();
+
+        changes.onNext("event");
+
+        cut.awaitChange().test().assertComplete();
+        cut.awaitChange().test().assertNotComplete();
+    }
+
+    @Test
+    void should_wake_up_after_max_delay_without_change() {
+        when(eventLatestRepository.changes()).thenReturn(changes);
+        startListening();
+        cut.awaitChange().test().assertComplete();
+
+        final TestObserver<Void> obs = cut.awaitChange().test();
+        testScheduler.advanceTimeBy(59, TimeUnit.SECONDS);
+        obs.assertNotComplete();
+
+        testScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        obs.assertComplete();
+    }
+
+    @Test
+    void should_not_listen_when_repository_does_not_notify_changes() {
+        when(eventLatestRepository.changes()).thenReturn(Flowable.empty());
+
+        cut.start();
+
+        assertThat(cut.isListening()).isFalse();
+    }
+
+    @Test
+    void should_fall_back_to_polling_when_notifications_are_lost() {
+        when(eventLatestRepository.changes()).thenReturn(changes);
+        startListening();
+
+        changes.onError(new RuntimeException("Connection reset"));
+
+        assertThat(cut.isListening()).isFalse();
+    }
+
+    private void startListening() {
+        cut.start();
+        changes.onNext(EventLatestRepository.CHANGES_LISTENED);
+    }
+}
@@ -59,7 +59,7 @@ class LatestEventFetcherTest {
     @Test
     void should_fetch_latest_event() {
         Event event = new Event();
-        when(eventLatestRepository.search(any(), any(), any(), any())).thenReturn(List.of(event)).thenReturn(null);
+        when(eventLatestRepository.searchAfter(any(), any(), any(), anyLong())).thenReturn(List.of(event)).thenReturn(null);
         cut
             .fetchLatest(null, null, Event.EventProperties.API_ID, Set.of(), Set.of())
             .test()
@@ -71,7 +71,7 @@ class LatestEventFetcherTest {
     void should_fetch_latest_event_and_complete_if_page_size_is_higher_than_results() {
         cut = new LatestEventFetcher(eventLatestRepository, 10);
         Event event = new Event();
-        when(eventLatestRepository.search(any(), any(), any(), any())).thenReturn(List.of(event)).thenReturn(null);
+        when(eventLatestRepository.searchAfter(any(), any(), any(), anyLong())).thenReturn(List.of(event)).thenReturn(null);
         cut
             .fetchLatest(null, null, Event.EventProperties.API_ID, Set.of(), Set.of())
             .test()
@@ -86,7 +86,7 @@ class LatestEventFetcherTest {
         Instant from = to.minus(1000, ChronoUnit.MILLIS);
         Event event = new Event();
         when(
-            eventLatestRepository.search(
+            eventLatestRepository.searchAfter(
                 argThat(
                     argument ->
                         argument.getTypes().size() == 1 &&
@@ -96,7 +96,7 @@ class LatestEventFetcherTest {
                         argument.getTo() > to.toEpochMilli()
                 ),
                 eq(Event.EventProperties.API_ID),
-                eq(0L),
+                isNull(),
                 eq(1L)
             )
         ).thenReturn(List.of(event));
@@ -112,7 +112,7 @@ class LatestEventFetcherTest {
         Event event1 = new Event();
         Event event2 = new Event();
         Event event3 = new Event();
-        when(eventLatestRepository.search(any(), any(), any(), any()))
+        when(eventLatestRepository.searchAfter(any(), any(), any(), anyLong()))
             .thenReturn(List.of(event1))
             .thenReturn(List.of(event2))
             .thenReturn(List.of(event3))
@@ -129,7 +129,7 @@ class LatestEventFetcherTest {
             .requestMore(1)
             .assertComplete()
             .assertValueCount(3);
-        verify(eventLatestRepository, times(4)).search(any(), any(), any(), any());
+        verify(eventLatestRepository, times(4)).searchAfter(any(), any(), any(), anyLong());
     }
 
     @Test
@@ -140,7 +140,7 @@ class LatestEventFetcherTest {
 
     @Test
     void should_emit_on_error_when_repository_thrown_exception() {
-        when(eventLatestRepository.search(any(), any(), any(), any())).thenThrow(new RuntimeException());
+        when(eventLatestRepository.searchAfter(any(), any(), any(), anyLong())).thenThrow(new RuntimeException());
         cut.fetchLatest(null, null, Event.EventProperties.API_ID, Set.of(), Set.of()).test().assertError(RuntimeException.class);
     }
 
@@ -148,7 +148,7 @@ class LatestEventFetcherTest {
     void fetchLatest_with_property_adds_property_to_criteria() {
         LatestEventFetcher fetcher = new LatestEventFetcher(eventLatestRepository, 10);
         ArgumentCaptor<EventCriteria> captor = ArgumentCaptor.forClass(EventCriteria.class);
-        when(eventLatestRepository.search(captor.capture(), any(), anyLong(), anyLong())).thenReturn(List.of());
+        when(eventLatestRepository.searchAfter(captor.capture(), any(), any(), anyLong())).thenReturn(List.of());
 
         fetcher
             .fetchLatest(
@@ -177,7 +177,7 @@ class LatestEventFetcherTest {
     void should_fetch_latest_events_for_specific_api_ids() {
         LatestEventFetcher fetcher = new LatestEventFetcher(eventLatestRepository, 2);
         Event event = new Event();
-        when(eventLatestRepository.search(any(), eq(Event.EventProperties.API_ID), eq(0L), eq(2L))).thenReturn(List.of(event));
+        when(eventLatestRepository.searchAfter(any(), eq(Event.EventProperties.API_ID), isNull(), eq(2L))).thenReturn(List.of(event));
 
         fetcher
             .fetchLatestForApiIds(Set.of("api-1", "api-2"), Set.of("env"), Set.of(EventType.START_API))
@@ -193,8 +193,10 @@ class LatestEventFetcherTest {
         LatestEventFetcher fetcher = new LatestEventFetcher(eventLatestRepository, 2);
         List<Event> fullPage = List.of(new Event(), new Event());
         List<Event> lastPage = List.of(new Event());
-        when(eventLatestRepository.search(any(), eq(Event.EventProperties.API_ID), eq(0L), eq(2L))).thenReturn(fullPage);
-        when(eventLatestRepository.search(any(), eq(Event.EventProperties.API_ID), eq(1L), eq(2L))).thenReturn(lastPage);
+        when(eventLatestRepository.searchAfter(any(), eq(Event.EventProperties.API_ID), isNull(), eq(2L))).thenReturn(fullPage);
+        when(eventLatestRepository.searchAfter(any(), eq(Event.EventProperties.API_ID), same(fullPage.get(1)), eq(2L))).thenReturn(
+            lastPage
+        );
 
         fetcher
             .fetchLatestForApiIds(Set.of("api-1"), Set.of("env"), Set.of(EventType.PUBLISH_API))
@@ -205,7 +207,7 @@ class LatestEventFetcherTest {
 
     @Test
     void should_end_the_stream_when_repository_search_fails_for_api_ids() {
-        when(eventLatestRepository.search(any(), any(), any(), any())).thenThrow(new RuntimeException("db down"));
+        when(eventLatestRepository.searchAfter(any(), any(), any(), anyLong())).thenThrow(new RuntimeException("db down"));
 
         cut.fetchLatestForApiIds(Set.of("api-1"), Set.of("env"), Set.of(EventType.PUBLISH_API)).test().assertComplete().assertNoValues();
     }
@@ -0,0 +1,159 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.process.repository.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.definition.model.DefinitionVersion;
+import io.gravitee.definition.model.v4.ApiType;
+import io.gravitee.definition.model.v4.flow.Flow;
+import io.gravitee.definition.model.v4.flow.step.Step;
+import io.gravitee.definition.model.v4.plan.Plan;
+import io.gravitee.definition.model.v4.plan.PlanStatus;
+import io.gravitee.gateway.reactor.ReactableApi;
+import io.gravitee.gateway.services.sync.process.repository.service.EnvironmentService;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventPayloadCodec;
+import io.gravitee.repository.management.model.LifecycleState;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.CustomLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measure the time needed by a gateway to map an API event, with a plain and with a compressed payload, for a small and
+ * for a large API definition. The size of each payload is logged when the benchmark is set up.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@CustomLog
+public class ApiMapperBenchmark {
+
+    private static final int FLOWS_PER_PLAN = 5;
+    private static final int STEPS_PER_FLOW = 3;
+
+    @Param({ "1", "50" })
+    private int plans;
+
+    @Param({ "false", "true" })
+    private boolean compressed;
+
+    private ApiMapper cut;
+    private Event event;
+
+    // used to run benchmark directly from IDE
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(ApiMapperBenchmark.class.getSimpleName()).forks(1).build();
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        final ObjectMapper objectMapper = new GraviteeMapper();
+        cut = new ApiMapper(objectMapper, new EnvironmentService(null, null));
+
+        final Map<String, Plan> apiPlans = new LinkedHashMap<>();
+        for (int i = 0; i < plans; i++) {
+            final Plan plan = Plan.builder()
+                .id("plan-" + i)
+                .name("Plan " + i)
+                .status(PlanStatus.PUBLISHED)
+                .flows(flows("plan-" + i))
+                .build();
+            apiPlans.put(plan.getId(), plan);
+        }
+        final io.gravitee.definition.model.v4.Api definition = io.gravitee.definition.model.v4.Api.builder()
+            .id("api-id")
+            .name("api")
+            .apiVersion("1.0")
+            .definitionVersion(DefinitionVersion.V4)
+            .type(ApiType.PROXY)
+            .plans(apiPlans)
+            .flows(flows("api"))
+            .build();
+
+        final Api api = new Api();
+        api.setId("api-id");
+        api.setName("api");
+        api.setLifecycleState(LifecycleState.STARTED);
+        api.setDefinitionVersion(DefinitionVersion.V4);
+        api.setType(ApiType.PROXY);
+        api.setDefinition(objectMapper.writeValueAsString(definition));
+
+        final String json = objectMapper.writeValueAsString(api);
+        event = new Event();
+        event.setId("event-id");
+        event.setPayload(compressed ? EventPayloadCodec.encode(json) : json);
+        log.info(
+            "{} plan(s), compressed={}: payload of {} bytes (plain JSON: {} bytes)",
+            plans,
+            compressed,
+            event.getPayload().getBytes(StandardCharsets.UTF_8).length,
+            json.getBytes(StandardCharsets.UTF_8).length
+        );
+    }
+
+    @Benchmark
+    public ReactableApi<?> map() {
+        return cut.to(event).blockingGet();
+    }
+
+    private static List<Flow> flows(final String prefix) {
+        final List<Flow> flows = new ArrayList<>(FLOWS_PER_PLAN);
+        for (int i = 0; i < FLOWS_PER_PLAN; i++) {
+            final List<Step> steps = new ArrayList<>(STEPS_PER_FLOW);
+            for (int j = 0; j < STEPS_PER_FLOW; j++) {
+                steps.add(
+                    Step.builder()
+                        .name("Transform headers " + j)
+                        .policy("transform-headers")
+                        .configuration(
+                            "{\"scope\":\"REQUEST\",\"addHeaders\":[{\"name\":\"X-Gravitee-" + j + "\",\"value\":\"{#request.id}\"}]}"
+                        )
+                        .build()
+                );
+            }
+            flows.add(Flow.builder().name(prefix + "-flow-" + i).enabled(true).request(steps).build());
+        }
+        return flows;
+    }
+}
@@ -38,6 +38,7 @@ import io.gravitee.repository.management.api.OrganizationRepository;
 import io.gravitee.repository.management.model.Api;
 import io.gravitee.repository.management.model.Environment;
 import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventPayloadCodec;
 import io.gravitee.repository.management.model.LifecycleState;
 import io.gravitee.repository.management.model.Organization;
 import java.util.List;
@@ -156,6 +157,21 @@ class ApiMapperTest {
             .assertComplete();
     }
 
+    @Test
+    void should_map_api_v4_from_compressed_payload() throws JsonProcessingException {
+        Event event = new Event();
+        event.setPayload(EventPayloadCodec.encode(objectMapper.writeValueAsString(repoApiV4)));
+        cut
+            .to(event)
+            .test()
+            .assertValue(reactableApi -> {
+                assertThat(reactableApi.getId()).isEqualTo(apiV4.getId());
+                assertThat(reactableApi.getDefinition()).isEqualTo(apiV4);
+                return true;
+            })
+            .assertComplete();
+    }
+
     @Test
     void should_map_native_api_v4() throws JsonProcessingException {
         NativeApi nativeApi = new NativeApi();
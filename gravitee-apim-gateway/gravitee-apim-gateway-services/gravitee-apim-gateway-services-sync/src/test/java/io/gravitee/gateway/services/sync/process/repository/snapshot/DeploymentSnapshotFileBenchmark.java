@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.process.repository.snapshot;
+
+import io.gravitee.repository.distributedsync.model.DistributedEvent;
+import io.gravitee.repository.distributedsync.model.DistributedEventType;
+import io.gravitee.repository.distributedsync.model.DistributedSyncAction;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measure the time needed to load a deployment snapshot at startup: 10k APIs with a 4 KB definition, each of them with
+ * a subscription and an API key. Only the reading of the file is measured, not the deployment of its elements.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class DeploymentSnapshotFileBenchmark {
+
+    @Param({ "1000", "10000" })
+    private int apis;
+
+    private Path directory;
+    private DeploymentSnapshotFile snapshotFile;
+    private DeploymentSnapshot snapshot;
+
+    // used to run benchmark directly from IDE
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(DeploymentSnapshotFileBenchmark.class.getSimpleName()).forks(1).build();
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        final String definition = "{\"definition\":\"" + "x".repeat(4 * 1024) + "\"}";
+        final List<DistributedEvent> events = new ArrayList<>(apis * 3);
+        for (int i = 0; i < apis; i++) {
+            final String apiId = "api-" + i;
+            events.add(event(DistributedEventType.API, apiId, null, definition));
+            events.add(event(DistributedEventType.SUBSCRIPTION, "subscription-" + i, apiId, "{\"api\":\"" + apiId + "\"}"));
+            events.add(event(DistributedEventType.API_KEY, "api-key-" + i, apiId, "{\"api\":\"" + apiId + "\"}"));
+        }
+        snapshot = DeploymentSnapshot.builder().scope("benchmark").nextFromTime(System.currentTimeMillis()).events(events).build();
+        directory = Files.createTempDirectory("deployment-snapshot");
+        snapshotFile = new DeploymentSnapshotFile(directory.resolve("sync-snapshot.bin"));
+        snapshotFile.write(snapshot);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshotFile.path());
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public DeploymentSnapshot read() throws IOException {
+        return snapshotFile.read().orElseThrow();
+    }
+
+    @Benchmark
+    public Path write() throws IOException {
+        snapshotFile.write(snapshot);
+        return snapshotFile.path();
+    }
+
+    private static DistributedEvent event(final DistributedEventType type, final String id, final String apiId, final String payload) {
+        return DistributedEvent.builder()
+            .type(type)
+            .syncAction(DistributedSyncAction.DEPLOY)
+            .id(id)
+            .refType(apiId == null ? null : DistributedEventType.API)
+            .refId(apiId)
+            .payload(payload)
+            .build();
+    }
+}
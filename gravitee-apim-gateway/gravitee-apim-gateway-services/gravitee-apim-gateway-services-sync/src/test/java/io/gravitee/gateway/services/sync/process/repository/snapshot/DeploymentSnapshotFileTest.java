@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.process.repository.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.gravitee.repository.distributedsync.model.DistributedEvent;
+import io.gravitee.repository.distributedsync.model.DistributedEventType;
+import io.gravitee.repository.distributedsync.model.DistributedSyncAction;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class DeploymentSnapshotFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path path;
+    private DeploymentSnapshotFile cut;
+
+    @BeforeEach
+    void beforeEach() {
+        path = tempDir.resolve("data").resolve("sync-snapshot.bin");
+        cut = new DeploymentSnapshotFile(path);
+    }
+
+    @Test
+    void should_read_what_has_been_written() throws IOException {
+        cut.write(snapshot());
+
+        final DeploymentSnapshot snapshot = cut.read().orElseThrow();
+
+        assertThat(snapshot.scope()).isEqualTo("version=1.0.0;environments=[env]");
+        assertThat(snapshot.nextFromTime()).isEqualTo(1_234L);
+        assertThat(snapshot.events()).hasSize(2);
+        final DistributedEvent api = snapshot.events().get(0);
+        assertThat(api.getType()).isEqualTo(DistributedEventType.API);
+        assertThat(api.getSyncAction()).isEqualTo(DistributedSyncAction.DEPLOY);
+        assertThat(api.getId()).isEqualTo("api");
+        assertThat(api.getRefType()).isNull();
+        assertThat(api.getRefId()).isNull();
+        assertThat(api.getPayload()).isEqualTo("{\"name\":\"Ünïcödé API\"}");
+        final DistributedEvent subscription = snapshot.events().get(1);
+        assertThat(subscription.getType()).isEqualTo(DistributedEventType.SUBSCRIPTION);
+        assertThat(subscription.getRefType()).isEqualTo(DistributedEventType.API);
+        assertThat(subscription.getRefId()).isEqualTo("api");
+        assertThat(subscription.getPayload()).isEqualTo("{}");
+    }
+
+    @Test
+    void should_replace_previous_snapshot_without_leaving_temporary_file() throws IOException {
+        cut.write(snapshot());
+        cut.write(DeploymentSnapshot.builder().scope("scope").nextFromTime(5_678L).build());
+
+        final DeploymentSnapshot snapshot = cut.read().orElseThrow();
+
+        assertThat(snapshot.nextFromTime()).isEqualTo(5_678L);
+        assertThat(snapshot.events()).isEmpty();
+        try (var files = Files.list(path.getParent())) {
+            assertThat(files).containsExactly(path);
+        }
+    }
+
+    @Test
+    void should_keep_previous_snapshot_and_delete_temporary_file_when_write_fails() throws IOException {
+        cut.write(snapshot());
+        // An event without type cannot be written: the write fails halfway through.
+        final DeploymentSnapshot invalid = DeploymentSnapshot.builder()
+            .scope("scope")
+            .nextFromTime(5_678L)
+            .events(List.of(DistributedEvent.builder().id("api").syncAction(DistributedSyncAction.DEPLOY).build()))
+            .build();
+
+        assertThatThrownBy(() -> cut.write(invalid)).isInstanceOf(NullPointerException.class);
+
+        assertThat(cut.read().orElseThrow().nextFromTime()).isEqualTo(1_234L);
+        try (var files = Files.list(path.getParent())) {
+            assertThat(files).containsExactly(path);
+        }
+    }
+
+    @Test
+    void should_return_empty_when_no_snapshot_has_been_written() throws IOException {
+        assertThat(cut.read()).isEmpty();
+    }
+
+    @Test
+    void should_fail_when_snapshot_is_corrupted() throws IOException {
+        cut.write(snapshot());
+        final byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(path, bytes);
+
+        assertThatThrownBy(() -> cut.read()).isInstanceOf(IOException.class).hasMessageContaining("checksum");
+    }
+
+    @Test
+    void should_fail_when_snapshot_is_truncated() throws IOException {
+        cut.write(snapshot());
+        final byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 10));
+
+        assertThatThrownBy(() -> cut.read()).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void should_fail_when_snapshot_has_another_format_version() throws IOException {
+        cut.write(snapshot());
+        final byte[] bytes = Files.readAllBytes(path);
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.putInt(Integer.BYTES, DeploymentSnapshotFile.FORMAT_VERSION + 1);
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - Long.BYTES);
+        buffer.putLong(bytes.length - Long.BYTES, crc.getValue());
+        Files.write(path, bytes);
+
+        assertThatThrownBy(() -> cut.read()).isInstanceOf(IOException.class).hasMessageContaining("format version");
+    }
+
+    private static DeploymentSnapshot snapshot() {
+        return DeploymentSnapshot.builder()
+            .scope("version=1.0.0;environments=[env]")
+            .nextFromTime(1_234L)
+            .events(
+                List.of(
+                    DistributedEvent.builder()
+                        .type(DistributedEventType.API)
+                        .syncAction(DistributedSyncAction.DEPLOY)
+                        .id("api")
+                        .payload("{\"name\":\"Ünïcödé API\"}")
+                        .build(),
+                    DistributedEvent.builder()
+                        .type(DistributedEventType.SUBSCRIPTION)
+                        .syncAction(DistributedSyncAction.DEPLOY)
+                        .id("subscription")
+                        .refType(DistributedEventType.API)
+                        .refId("api")
+                        .payload("{}")
+                        .build()
+                )
+            )
+            .build();
+    }
+}
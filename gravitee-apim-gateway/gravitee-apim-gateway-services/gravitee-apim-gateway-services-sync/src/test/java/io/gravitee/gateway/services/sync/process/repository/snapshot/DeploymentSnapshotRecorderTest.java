@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.process.repository.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.gravitee.gateway.api.service.ApiKey;
+import io.gravitee.gateway.api.service.Subscription;
+import io.gravitee.gateway.reactor.ReactableApi;
+import io.gravitee.gateway.services.sync.process.common.model.SyncAction;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.api.ApiReactorDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.apikey.SingleApiKeyDeployable;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.subscription.SingleSubscriptionDeployable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class DeploymentSnapshotRecorderTest {
+
+    private final DeploymentSnapshotRecorder cut = new DeploymentSnapshotRecorder();
+
+    @Test
+    void should_record_deployed_api_with_its_subscriptions_and_api_keys() {
+        final ReactableApi<?> reactableApi = mock(ReactableApi.class);
+
+        cut.record(apiDeployable(reactableApi));
+
+        assertThat(cut.apis()).containsEntry("api", reactableApi);
+        assertThat(cut.subscriptions()).extracting(SingleSubscriptionDeployable::id).containsExactly("subscription");
+        assertThat(cut.apiKeys()).extracting(SingleApiKeyDeployable::id).containsExactly("apiKey");
+    }
+
+    @Test
+    void should_forget_api_with_its_subscriptions_and_api_keys_when_undeployed() {
+        cut.record(apiDeployable(mock(ReactableApi.class)));
+
+        cut.record(ApiReactorDeployable.builder().apiId("api").syncAction(SyncAction.UNDEPLOY).build());
+
+        assertThat(cut.apis()).isEmpty();
+        assertThat(cut.subscriptions()).isEmpty();
+        assertThat(cut.apiKeys()).isEmpty();
+    }
+
+    @Test
+    void should_record_single_subscriptions_and_api_keys() {
+        final Subscription subscription = subscription("subscription", "plan");
+        final ApiKey apiKey = apiKey();
+
+        cut.record(SingleSubscriptionDeployable.builder().subscription(subscription).syncAction(SyncAction.DEPLOY).build());
+        cut.record(SingleApiKeyDeployable.builder().apiKey(apiKey).syncAction(SyncAction.DEPLOY).build());
+
+        assertThat(cut.subscriptions()).hasSize(1);
+        assertThat(cut.apiKeys()).hasSize(1);
+
+        cut.record(SingleSubscriptionDeployable.builder().subscription(subscription).syncAction(SyncAction.UNDEPLOY).build());
+        cut.record(SingleApiKeyDeployable.builder().apiKey(apiKey).syncAction(SyncAction.UNDEPLOY).build());
+
+        assertThat(cut.subscriptions()).isEmpty();
+        assertThat(cut.apiKeys()).isEmpty();
+    }
+
+    @Test
+    void should_be_dirty_until_cleared_after_a_change() {
+        assertThat(cut.clearDirty()).isFalse();
+
+        cut.record(
+            SingleSubscriptionDeployable.builder().subscription(subscription("subscription", "plan")).syncAction(SyncAction.DEPLOY).build()
+        );
+
+        assertThat(cut.clearDirty()).isTrue();
+        assertThat(cut.clearDirty()).isFalse();
+    }
+
+    private static ApiReactorDeployable apiDeployable(final ReactableApi<?> reactableApi) {
+        return ApiReactorDeployable.builder()
+            .apiId("api")
+            .reactableApi(reactableApi)
+            .syncAction(SyncAction.DEPLOY)
+            .subscribablePlans(new HashSet<>(Set.of("plan")))
+            .subscriptions(List.of(subscription("subscription", "plan"), subscription("other", "not_subscribable")))
+            .apiKeys(List.of(apiKey()))
+            .build();
+    }
+
+    private static Subscription subscription(final String id, final String plan) {
+        final Subscription subscription = new Subscription();
+        subscription.setId(id);
+        subscription.setApi("api");
+        subscription.setPlan(plan);
+        return subscription;
+    }
+
+    private static ApiKey apiKey() {
+        final ApiKey apiKey = new ApiKey();
+        apiKey.setId("apiKey");
+        apiKey.setKey("key");
+        apiKey.setApi("api");
+        apiKey.setPlan("plan");
+        return apiKey;
+    }
+}
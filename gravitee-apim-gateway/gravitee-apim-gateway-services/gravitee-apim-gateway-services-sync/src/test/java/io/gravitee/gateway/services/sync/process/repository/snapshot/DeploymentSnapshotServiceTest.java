@@ -0,0 +1,222 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.process.repository.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.gateway.api.service.Subscription;
+import io.gravitee.gateway.env.GatewayConfiguration;
+import io.gravitee.gateway.services.sync.process.common.deployer.DeployerFactory;
+import io.gravitee.gateway.services.sync.process.common.deployer.SubscriptionDeployer;
+import io.gravitee.gateway.services.sync.process.common.model.SyncAction;
+import io.gravitee.gateway.services.sync.process.common.synchronizer.Order;
+import io.gravitee.gateway.services.sync.process.repository.synchronizer.subscription.SingleSubscriptionDeployable;
+import io.gravitee.repository.distributedsync.model.DistributedEvent;
+import io.gravitee.repository.distributedsync.model.DistributedEventType;
+import io.gravitee.repository.distributedsync.model.DistributedSyncAction;
+import io.reactivex.rxjava3.core.Completable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@ExtendWith(MockitoExtension.class)
+class DeploymentSnapshotServiceTest {
+
+    private static final Set<String> ENVIRONMENTS = Set.of("env");
+
+    private final ObjectMapper objectMapper = new GraviteeMapper();
+    private final DeploymentSnapshotRecorder recorder = new DeploymentSnapshotRecorder();
+    private final ThreadPoolExecutor syncDeployerExecutor = new ThreadPoolExecutor(
+        1,
+        1,
+        15L,
+        TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>()
+    );
+
+    @Mock
+    private DeploymentSnapshotFile snapshotFile;
+
+    @Mock
+    private DeployerFactory deployerFactory;
+
+    @Mock
+    private SubscriptionDeployer subscriptionDeployer;
+
+    @Mock
+    private GatewayConfiguration gatewayConfiguration;
+
+    private DeploymentSnapshotService cut;
+
+    @BeforeEach
+    void beforeEach() {
+        cut = new DeploymentSnapshotService(
+            snapshotFile,
+            recorder,
+            deployerFactory,
+            syncDeployerExecutor,
+            gatewayConfiguration,
+            objectMapper
+        );
+    }
+
+    @AfterEach
+    void afterEach() {
+        syncDeployerExecutor.shutdownNow();
+    }
+
+    @Test
+    void should_load_snapshot_built_for_the_same_scope() throws IOException {
+        final DeploymentSnapshot snapshot = DeploymentSnapshot.builder().scope(cut.scope(ENVIRONMENTS)).nextFromTime(42L).build();
+        when(snapshotFile.read()).thenReturn(Optional.of(snapshot));
+
+        assertThat(cut.load(ENVIRONMENTS)).contains(snapshot);
+    }
+
+    @Test
+    void should_ignore_snapshot_built_for_other_environments() throws IOException {
+        final DeploymentSnapshot snapshot = DeploymentSnapshot.builder()
+            .scope(cut.scope(Set.of("other")))
+            .nextFromTime(42L)
+            .build();
+        when(snapshotFile.read()).thenReturn(Optional.of(snapshot));
+        when(snapshotFile.path()).thenReturn(Path.of("sync-snapshot.bin"));
+
+        assertThat(cut.load(ENVIRONMENTS)).isEmpty();
+    }
+
+    @Test
+    void should_ignore_snapshot_which_cannot_be_read() throws IOException {
+        when(snapshotFile.read()).thenThrow(new IOException("Deployment snapshot checksum mismatch"));
+        when(snapshotFile.path()).thenReturn(Path.of("sync-snapshot.bin"));
+
+        assertThat(cut.load(ENVIRONMENTS)).isEmpty();
+    }
+
+    @Test
+    void should_write_snapshot_only_when_something_has_changed() throws IOException {
+        recorder.record(SingleSubscriptionDeployable.builder().subscription(subscription()).syncAction(SyncAction.DEPLOY).build());
+
+        cut.persist(42L, ENVIRONMENTS).test().assertComplete();
+        cut.persist(43L, ENVIRONMENTS).test().assertComplete();
+
+        final ArgumentCaptor<DeploymentSnapshot> captor = ArgumentCaptor.forClass(DeploymentSnapshot.class);
+        verify(snapshotFile, times(1)).write(captor.capture());
+        final DeploymentSnapshot snapshot = captor.getValue();
+        assertThat(snapshot.nextFromTime()).isEqualTo(42L);
+        assertThat(snapshot.scope()).isEqualTo(cut.scope(ENVIRONMENTS));
+        assertThat(snapshot.events())
+            .singleElement()
+            .satisfies(event -> {
+                assertThat(event.getType()).isEqualTo(DistributedEventType.SUBSCRIPTION);
+                assertThat(event.getId()).isEqualTo("subscription");
+                assertThat(event.getRefId()).isEqualTo("api");
+                assertThat(event.getPayload()).isNotBlank();
+            });
+    }
+
+    @Test
+    void should_write_snapshot_again_after_a_failure() throws IOException {
+        recorder.record(SingleSubscriptionDeployable.builder().subscription(subscription()).syncAction(SyncAction.DEPLOY).build());
+        when(snapshotFile.path()).thenReturn(Path.of("sync-snapshot.bin"));
+        doThrow(new IOException("No space left on device")).doNothing().when(snapshotFile).write(any());
+
+        cut.persist(42L, ENVIRONMENTS).test().assertComplete();
+        cut.persist(43L, ENVIRONMENTS).test().assertComplete();
+
+        verify(snapshotFile, times(2)).write(any());
+    }
+
+    @Test
+    void should_restore_subscriptions_of_the_snapshot() throws Exception {
+        when(deployerFactory.createSubscriptionDeployer()).thenReturn(subscriptionDeployer);
+        when(subscriptionDeployer.deploy(any())).thenReturn(Completable.complete());
+        when(subscriptionDeployer.doAfterDeployment(any())).thenReturn(Completable.complete());
+        final DeploymentSnapshot snapshot = DeploymentSnapshot.builder()
+            .scope(cut.scope(ENVIRONMENTS))
+            .nextFromTime(42L)
+            .events(
+                List.of(
+                    DistributedEvent.builder()
+                        .type(DistributedEventType.API)
+                        .syncAction(DistributedSyncAction.DEPLOY)
+                        .id("api")
+                        .payload("{}")
+                        .build(),
+                    DistributedEvent.builder()
+                        .type(DistributedEventType.SUBSCRIPTION)
+                        .syncAction(DistributedSyncAction.DEPLOY)
+                        .id("subscription")
+                        .refType(DistributedEventType.API)
+                        .refId("api")
+                        .payload(objectMapper.writeValueAsString(subscription()))
+                        .build()
+                )
+            )
+            .build();
+
+        cut.restore(snapshot, Order.SUBSCRIPTION.index()).test().awaitDone(5, TimeUnit.SECONDS).assertComplete();
+
+        verify(subscriptionDeployer).deploy(
+            argThat(deployable -> deployable instanceof SingleSubscriptionDeployable && deployable.id().equals("subscription"))
+        );
+        verify(deployerFactory, never()).createApiDeployer();
+    }
+
+    @Test
+    void should_only_restore_apis_subscriptions_and_api_keys() {
+        assertThat(cut.restores(Order.API.index())).isTrue();
+        assertThat(cut.restores(Order.SUBSCRIPTION.index())).isTrue();
+        assertThat(cut.restores(Order.API_KEY.index())).isTrue();
+        assertThat(cut.restores(Order.ORGANIZATION.index())).isFalse();
+        assertThat(cut.restores(Order.API_PRODUCT.index())).isFalse();
+    }
+
+    private static Subscription subscription() {
+        final Subscription subscription = new Subscription();
+        subscription.setId("subscription");
+        subscription.setApi("api");
+        subscription.setPlan("plan");
+        return subscription;
+    }
+}
@@ -148,6 +148,7 @@ class ApiSynchronizerTest {
         lenient().when(eventsFetcher.bulkItems()).thenReturn(1);
         lenient().when(deployerFactory.createApiDeployer()).thenReturn(apiDeployer);
         lenient().when(apiDeployer.deploy(any())).thenReturn(Completable.complete());
+        lenient().when(apiDeployer.deployAll(any())).thenReturn(Completable.complete());
         lenient().when(apiDeployer.doAfterDeployment(any())).thenReturn(Completable.complete());
         lenient().when(apiDeployer.undeploy(any())).thenReturn(Completable.complete());
         lenient().when(apiDeployer.doAfterUndeployment(any())).thenReturn(Completable.complete());
@@ -290,6 +291,51 @@ class ApiSynchronizerTest {
             verify(subscriptionDeployer).undeploy(any());
             verify(apiKeyDeployer).undeploy(any());
         }
+
+        @Test
+        void should_register_apis_of_a_bulk_at_once() throws InterruptedException, JsonProcessingException {
+            when(eventsFetcher.bulkItems()).thenReturn(2);
+            when(eventsFetcher.fetchLatest(any(), any(), any(), any(), any())).thenReturn(
+                Flowable.just(List.of(publishEvent("api1"), publishEvent("api2")))
+            );
+            when(apiManager.requiredActionFor(any())).thenReturn(ActionOnApi.DEPLOY);
+            cut.synchronize(-1L, Instant.now().toEpochMilli(), Set.of()).test().await().assertComplete();
+
+            verify(apiDeployer).deployAll(argThat(deployables -> deployables.size() == 2));
+            verify(apiDeployer, never()).deploy(any());
+            verify(apiDeployer, times(2)).doAfterDeployment(any());
+            verify(subscriptionDeployer, times(2)).deploy(any());
+            verify(apiKeyDeployer, times(2)).deploy(any());
+        }
+
+        @Test
+        void should_register_apis_one_by_one_when_bulk_registration_fails() throws InterruptedException, JsonProcessingException {
+            when(eventsFetcher.bulkItems()).thenReturn(2);
+            when(eventsFetcher.fetchLatest(any(), any(), any(), any(), any())).thenReturn(
+                Flowable.just(List.of(publishEvent("api1"), publishEvent("api2")))
+            );
+            when(apiManager.requiredActionFor(any())).thenReturn(ActionOnApi.DEPLOY);
+            when(apiDeployer.deployAll(any())).thenReturn(Completable.error(new SyncException("error")));
+            when(apiDeployer.deploy(argThat(deployable -> deployable.apiId().equals("api1")))).thenReturn(
+                Completable.error(new SyncException("error"))
+            );
+            cut.synchronize(-1L, Instant.now().toEpochMilli(), Set.of()).test().await().assertComplete();
+
+            verify(apiDeployer, times(2)).deploy(any());
+            verify(apiDeployer).doAfterDeployment(argThat(deployable -> deployable.apiId().equals("api2")));
+            verify(apiDeployer, never()).doAfterDeployment(argThat(deployable -> deployable.apiId().equals("api1")));
+        }
+
+        private Event publishEvent(final String apiId) throws JsonProcessingException {
+            api.setId(apiId);
+            repoApi.setId(apiId);
+            repoApi.setDefinition(objectMapper.writeValueAsString(api));
+            Event event = new Event();
+            event.setId(apiId);
+            event.setPayload(objectMapper.writeValueAsString(repoApi));
+            event.setType(PUBLISH_API);
+            return event;
+        }
     }
 
     @Nested
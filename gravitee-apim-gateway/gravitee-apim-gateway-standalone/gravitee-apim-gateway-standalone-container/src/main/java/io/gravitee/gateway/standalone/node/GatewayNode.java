@@ -20,6 +20,7 @@ import io.gravitee.gateway.opentelemetry.TracingContext;
 import io.gravitee.gateway.reactor.handler.ReactorEventListener;
 import io.gravitee.gateway.report.guard.LogGuardService;
 import io.gravitee.gateway.report.impl.NodeMonitoringReporterService;
+import io.gravitee.gateway.report.rollup.MetricsRollupService;
 import io.gravitee.gateway.standalone.vertx.VertxEmbeddedContainer;
 import io.gravitee.node.api.NodeMetadataResolver;
 import io.gravitee.node.container.AbstractNode;
@@ -66,6 +67,7 @@ public class GatewayNode extends AbstractNode {
 
         components.add(NodeMonitoringReporterService.class);
         components.add(LogGuardService.class);
+        components.add(MetricsRollupService.class);
         components.add(ReactorEventListener.class);
         components.addAll(super.components());
         // at this stage secret providers are loaded if any, so TLS can be resolved.
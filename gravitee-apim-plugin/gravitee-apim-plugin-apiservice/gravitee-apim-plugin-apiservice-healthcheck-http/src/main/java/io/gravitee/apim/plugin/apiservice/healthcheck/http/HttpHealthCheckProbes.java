@@ -0,0 +1,162 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.apim.plugin.apiservice.healthcheck.http;
+
+import io.gravitee.common.cron.CronTrigger;
+import io.gravitee.reporter.api.health.Step;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import lombok.CustomLog;
+
+/**
+ * Registry of the running health check probes, shared by all the apis deployed on the node.
+ *
+ * Endpoints of different apis frequently target the same backend with the same health check. Such endpoints subscribe to
+ * the same probe: a single request is sent on each schedule and its result is reported to every subscriber, each one
+ * applying its own thresholds. The request is sent by the first subscriber, using its own connector or http client.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+public class HttpHealthCheckProbes {
+
+    private final Map<Object, Probe> probes = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribe to the probe identified by the given key, starting it if it is not running yet.
+     *
+     * @param key the key identifying the probe, subscribers with equal keys share the same probe.
+     * @param schedule the cron expression used to schedule the probe when it is started by this subscription.
+     * @param offsetMs the delay added to each scheduled execution when the probe is started by this subscription.
+     * @param subscriber the subscriber.
+     *
+     * @return a {@link Disposable} to dispose in order to unsubscribe. The probe is stopped when its last subscriber leaves.
+     */
+    public Disposable subscribe(final Object key, final String schedule, final long offsetMs, final Subscriber subscriber) {
+        probes.compute(key, (k, probe) -> {
+            if (probe == null) {
+                probe = new Probe();
+                probe.subscribers.add(subscriber);
+                probe.job = schedule(probe, new CronTrigger(schedule), offsetMs);
+            } else {
+                probe.subscribers.add(subscriber);
+            }
+            return probe;
+        });
+
+        return Disposable.fromAction(() -> unsubscribe(key, subscriber));
+    }
+
+    int size() {
+        return probes.size();
+    }
+
+    private void unsubscribe(final Object key, final Subscriber subscriber) {
+        probes.computeIfPresent(key, (k, probe) -> {
+            probe.subscribers.remove(subscriber);
+            if (probe.subscribers.isEmpty()) {
+                probe.job.dispose();
+                return null;
+            }
+            return probe;
+        });
+    }
+
+    private Disposable schedule(final Probe probe, final CronTrigger cron, final long offsetMs) {
+        return Observable.defer(() -> Observable.timer(cron.nextExecutionIn() + offsetMs, TimeUnit.MILLISECONDS))
+            .switchMapCompletable(tick -> check(probe))
+            .repeat()
+            .subscribe(() -> {}, throwable -> log.error("Unable to run health check probe", throwable));
+    }
+
+    private Completable check(final Probe probe) {
+        return Completable.defer(() -> {
+            final Iterator<Subscriber> iterator = probe.subscribers.iterator();
+            if (!iterator.hasNext()) {
+                return Completable.complete();
+            }
+
+            final Subscriber executor = iterator.next();
+            return executor
+                .check()
+                .doOnSuccess(result -> {
+                    // The resources of a subscriber leaving during the check are released, its result can't be trusted.
+                    if (probe.subscribers.contains(executor)) {
+                        probe.subscribers.forEach(subscriber -> report(subscriber, result));
+                    }
+                })
+                .ignoreElement()
+                .onErrorResumeNext(throwable -> {
+                    executor.onError(throwable);
+                    return Completable.complete();
+                });
+        });
+    }
+
+    private static void report(final Subscriber subscriber, final Result result) {
+        try {
+            subscriber.report(result);
+        } catch (Exception e) {
+            log.warn("Unable to report health check result", e);
+        }
+    }
+
+    /**
+     * The result of a probe execution, independent of the endpoints it is reported to.
+     *
+     * @param success <code>true</code> if the assertion has been validated, <code>false</code> otherwise.
+     * @param timestamp the timestamp of the health check request.
+     * @param step the details of the request and the response.
+     */
+    public record Result(boolean success, long timestamp, Step step) {}
+
+    public interface Subscriber {
+        /**
+         * Send the health check request and evaluate its response.
+         *
+         * @return the result of the check.
+         */
+        Single<Result> check();
+
+        /**
+         * Report the result of a check made by this subscriber or by any other subscriber of the same probe.
+         *
+         * @param result the result to report.
+         */
+        void report(Result result);
+
+        /**
+         * Called when the check made by this subscriber unexpectedly failed. The probe keeps running.
+         *
+         * @param throwable the error.
+         */
+        void onError(Throwable throwable);
+    }
+
+    private static class Probe {
+
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private Disposable job;
+    }
+}
@@ -15,13 +15,12 @@
  */
 package io.gravitee.apim.plugin.apiservice.healthcheck.http;
 
-import static io.reactivex.rxjava3.core.Completable.defer;
 import static java.util.Optional.ofNullable;
 
 import com.google.common.base.Strings;
 import io.gravitee.apim.plugin.apiservice.healthcheck.http.context.HttpHealthCheckExecutionContext;
 import io.gravitee.apim.plugin.apiservice.healthcheck.http.helper.HttpHealthCheckHelper;
-import io.gravitee.common.cron.CronTrigger;
+import io.gravitee.common.http.HttpMethod;
 import io.gravitee.common.http.HttpStatusCode;
 import io.gravitee.common.util.URIUtils;
 import io.gravitee.definition.model.v4.endpointgroup.service.EndpointGroupServices;
@@ -48,10 +47,10 @@ import io.gravitee.node.vertx.client.http.VertxHttpClientFactory;
 import io.gravitee.plugin.alert.AlertEventProducer;
 import io.gravitee.plugin.apiservice.healthcheck.common.HealthCheckManagedEndpoint;
 import io.gravitee.reporter.api.health.EndpointStatus;
+import io.gravitee.reporter.api.health.Step;
 import io.netty.channel.ConnectTimeoutException;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.CompletableSource;
-import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.vertx.core.http.RequestOptions;
@@ -60,15 +59,19 @@ import io.vertx.rxjava3.core.http.HttpClient;
 import java.net.SocketException;
 import java.net.URL;
 import java.net.UnknownHostException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import lombok.CustomLog;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -93,6 +96,7 @@ public class HttpHealthCheckService implements ApiService {
     private final Api api;
     private final DeploymentContext deploymentContext;
     private final GatewayConfiguration gatewayConfiguration;
+    private final HttpHealthCheckProbes probes;
     private final AtomicBoolean httpClientCreated = new AtomicBoolean(false);
 
     private String listenerId;
@@ -102,6 +106,10 @@ public class HttpHealthCheckService implements ApiService {
     private volatile long bodyReadTimeoutMs = DEFAULT_BODY_READ_TIMEOUT_MS;
     private final Map<ManagedEndpoint, Disposable> jobs = new ConcurrentHashMap<>(1);
 
+    public HttpHealthCheckService(Api api, DeploymentContext deploymentContext, GatewayConfiguration gatewayConfiguration) {
+        this(api, deploymentContext, gatewayConfiguration, new HttpHealthCheckProbes());
+    }
+
     @Override
     public String id() {
         return "http-health-check";
@@ -196,33 +204,27 @@ public class HttpHealthCheckService implements ApiService {
             hcConfiguration.getSuccessThreshold(),
             hcConfiguration.getFailureThreshold()
         );
-        final CronTrigger cron = new CronTrigger(hcConfiguration.getSchedule());
-        final AtomicLong errorCount = new AtomicLong(0);
-        final AtomicReference<HttpHealthCheckExecutionContext> lastCtx = new AtomicReference<>();
 
-        final int jitterMs = gatewayConfiguration.healthCheckJitterInMs();
-        final int spreadOffsetMs = Math.floorMod(Objects.hash(api.getId(), endpoint.getDefinition().getName()), jitterMs + 1);
+        final Object probeKey;
+        final int probeHash;
+        if (gatewayConfiguration.shareHealthCheckProbes() && ProbeKey.isShareable(endpoint, hcConfiguration)) {
+            probeKey = ProbeKey.of(endpoint, hcConfiguration);
+            probeHash = probeKey.hashCode();
+        } else {
+            // Identity key: the probe is dedicated to this endpoint.
+            probeKey = new Object();
+            probeHash = Objects.hash(api.getId(), endpoint.getDefinition().getName());
+        }
 
-        return Observable.defer(() -> Observable.timer(cron.nextExecutionIn() + spreadOffsetMs, TimeUnit.MILLISECONDS))
-            .switchMapCompletable(aLong -> {
-                final HttpHealthCheckExecutionContext ctx = new HttpHealthCheckExecutionContext(hcConfiguration, deploymentContext);
-                lastCtx.set(ctx);
+        final int jitterMs = gatewayConfiguration.healthCheckJitterInMs();
+        final int spreadOffsetMs = Math.floorMod(probeHash, jitterMs + 1);
 
-                if (endpoint.getDefinition().getType().startsWith("http")) {
-                    return checkUsingEndpointConnector(hcConfiguration, hcManagedEndpoint, ctx);
-                } else {
-                    return checkUsingHttpClient(hcConfiguration, hcManagedEndpoint, ctx);
-                }
-            })
-            .onErrorResumeNext(throwable -> continueOnError(lastCtx, endpoint, errorCount, throwable))
-            .repeat()
-            .subscribe(
-                () -> {},
-                throwable -> {
-                    logFromNullableExecutionContext(lastCtx).error("Unable to run health check for API {}", api.getId(), throwable);
-                    jobs.remove(endpoint);
-                }
-            );
+        return probes.subscribe(
+            probeKey,
+            hcConfiguration.getSchedule(),
+            spreadOffsetMs,
+            new EndpointProbeSubscriber(endpoint, hcManagedEndpoint, hcConfiguration)
+        );
     }
 
     private static Logger logFromNullableExecutionContext(AtomicReference<HttpHealthCheckExecutionContext> ctxRef) {
@@ -240,8 +242,7 @@ public class HttpHealthCheckService implements ApiService {
         return hcManagedEndpoint
             .<BaseEndpointConnector>getConnector()
             .connect(ctx)
-            .onErrorResumeNext(error -> this.handleConnectError(ctx, endpointName, error))
-            .andThen(evaluateAndReport(hcManagedEndpoint, ctx, hcConfiguration));
+            .onErrorResumeNext(error -> this.handleConnectError(ctx, endpointName, error));
     }
 
     private Completable checkUsingHttpClient(
@@ -272,8 +273,7 @@ public class HttpHealthCheckService implements ApiService {
                 endpointResponse.headers().forEach(header -> response.headers().add(header.getKey(), header.getValue()));
             })
             .ignoreElement()
-            .onErrorResumeNext(error -> this.handleConnectError(ctx, endpointName, error))
-            .andThen(evaluateAndReport(hcManagedEndpoint, ctx, hcConfiguration));
+            .onErrorResumeNext(error -> this.handleConnectError(ctx, endpointName, error));
     }
 
     /**
@@ -323,7 +323,7 @@ public class HttpHealthCheckService implements ApiService {
         return Completable.complete();
     }
 
-    private Completable continueOnError(
+    private void continueOnError(
         AtomicReference<HttpHealthCheckExecutionContext> ctxRef,
         ManagedEndpoint endpoint,
         AtomicLong errorCount,
@@ -344,7 +344,6 @@ public class HttpHealthCheckService implements ApiService {
                 errorCount.get()
             );
         }
-        return Completable.complete();
     }
 
     private void stopHealthCheck(ManagedEndpoint endpoint) {
@@ -380,12 +379,15 @@ public class HttpHealthCheckService implements ApiService {
         return options;
     }
 
-    private Completable evaluateAndReport(
-        final HealthCheckManagedEndpoint hcEndpoint,
+    /**
+     * Evaluate the assertion against the response of the health check request. The result doesn't depend on the api, so it
+     * can be reported to all the endpoints subscribed to the same probe.
+     */
+    private Single<HttpHealthCheckProbes.Result> evaluate(
         final ExecutionContext ctx,
         final HttpHealthCheckServiceConfiguration hcConfiguration
     ) {
-        return defer(() -> {
+        return Single.defer(() -> {
             final long currentTimestamp = System.currentTimeMillis();
             final Request request = ctx.request();
             final Response response = ctx.response();
@@ -397,25 +399,18 @@ public class HttpHealthCheckService implements ApiService {
                 .eval(hcConfiguration.getAssertion(), Boolean.class)
                 .defaultIfEmpty(false)
                 .onErrorReturnItem(false)
-                .flatMapCompletable(success -> {
+                .flatMap(success -> {
                     reportRequest.setMethod(request.method());
                     reportRequest.setUri(ctx.metrics().getEndpoint());
                     reportResponse.setStatus(response.status());
 
-                    final EndpointStatus.Builder statusBuilder = EndpointStatus.forEndpoint(
-                        api.getId(),
-                        api.getName(),
-                        hcEndpoint.getDefinition().getName()
-                    ).on(request.timestamp());
-
                     final EndpointStatus.StepBuilder stepBuilder = EndpointStatus.forStep(DEFAULT_STEP)
                         .request(reportRequest)
                         .response(reportResponse)
                         .responseTime(currentTimestamp - request.timestamp());
 
                     if (success) {
-                        statusBuilder.step(stepBuilder.success().build());
-                        return Completable.fromRunnable(() -> hcEndpoint.reportStatus(true, statusBuilder.build()));
+                        return Single.just(new HttpHealthCheckProbes.Result(true, request.timestamp(), stepBuilder.success().build()));
                     } else {
                         reportRequest.setHeaders(request.headers());
                         reportRequest.setBody(hcConfiguration.getBody());
@@ -425,14 +420,143 @@ public class HttpHealthCheckService implements ApiService {
                             .bodyOrEmpty()
                             .timeout(bodyReadTimeoutMs, TimeUnit.MILLISECONDS, Single.just(Buffer.buffer()))
                             .onErrorReturnItem(Buffer.buffer())
-                            .doOnSuccess(body -> reportResponse.setBody(body.toString()))
-                            .ignoreElement()
-                            .doOnComplete(() -> {
-                                statusBuilder.step(stepBuilder.fail("Assertion not validated: " + hcConfiguration.getAssertion()).build());
-                                hcEndpoint.reportStatus(false, statusBuilder.build());
+                            .map(body -> {
+                                reportResponse.setBody(body.toString());
+                                final Step step = stepBuilder.fail("Assertion not validated: " + hcConfiguration.getAssertion()).build();
+                                return new HttpHealthCheckProbes.Result(false, request.timestamp(), step);
                             });
                     }
                 });
         });
     }
+
+    /**
+     * Subscription of an endpoint to a probe. It sends the health check request using the endpoint connector, or the http
+     * client of this service, and reports the results of the probe to the endpoint.
+     */
+    @RequiredArgsConstructor
+    private class EndpointProbeSubscriber implements HttpHealthCheckProbes.Subscriber {
+
+        private final ManagedEndpoint endpoint;
+        private final HealthCheckManagedEndpoint hcManagedEndpoint;
+        private final HttpHealthCheckServiceConfiguration hcConfiguration;
+        private final AtomicLong errorCount = new AtomicLong(0);
+        private final AtomicReference<HttpHealthCheckExecutionContext> lastCtx = new AtomicReference<>();
+
+        @Override
+        public Single<HttpHealthCheckProbes.Result> check() {
+            return Single.defer(() -> {
+                final HttpHealthCheckExecutionContext ctx = new HttpHealthCheckExecutionContext(hcConfiguration, deploymentContext);
+                lastCtx.set(ctx);
+
+                final Completable call;
+                if (endpoint.getDefinition().getType().startsWith("http")) {
+                    call = checkUsingEndpointConnector(hcConfiguration, hcManagedEndpoint, ctx);
+                } else {
+                    call = checkUsingHttpClient(hcConfiguration, hcManagedEndpoint, ctx);
+                }
+                return call.andThen(evaluate(ctx, hcConfiguration));
+            });
+        }
+
+        @Override
+        public void report(HttpHealthCheckProbes.Result result) {
+            final EndpointStatus status = EndpointStatus.forEndpoint(api.getId(), api.getName(), endpoint.getDefinition().getName())
+                .on(result.timestamp())
+                .step(result.step())
+                .build();
+            hcManagedEndpoint.reportStatus(result.success(), status);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            continueOnError(lastCtx, endpoint, errorCount, throwable);
+        }
+    }
+
+    /**
+     * Identifies the probes which can be shared: same backend, same request and same assertion. The thresholds are not part
+     * of the key, each endpoint applies its own.
+     */
+    record ProbeKey(
+        String endpointType,
+        String endpointConfiguration,
+        String endpointSharedConfiguration,
+        String schedule,
+        String target,
+        HttpMethod method,
+        List<List<String>> headers,
+        String body,
+        boolean overrideEndpointPath,
+        String assertion
+    ) {
+        private static final Pattern EL_VARIABLE = Pattern.compile("#(\\w+)");
+        // Variables not depending on the api the endpoint belongs to.
+        private static final Set<String> API_AGNOSTIC_EL_VARIABLES = Set.of("request", "response", "jsonPath", "xpath");
+
+        static ProbeKey of(ManagedEndpoint endpoint, HttpHealthCheckServiceConfiguration hcConfiguration) {
+            final String endpointConfiguration;
+            final String endpointSharedConfiguration;
+            if (endpoint.getDefinition().getType().startsWith("http")) {
+                // The request is sent by the endpoint connector.
+                endpointConfiguration = endpoint.getDefinition().getConfiguration();
+                endpointSharedConfiguration = sharedConfiguration(endpoint);
+            } else {
+                // The request is sent to the absolute target of the health check, whatever the endpoint.
+                endpointConfiguration = null;
+                endpointSharedConfiguration = null;
+            }
+
+            return new ProbeKey(
+                endpoint.getDefinition().getType(),
+                endpointConfiguration,
+                endpointSharedConfiguration,
+                hcConfiguration.getSchedule(),
+                hcConfiguration.getTarget(),
+                hcConfiguration.getMethod(),
+                ofNullable(hcConfiguration.getHeaders())
+                    .map(headers -> headers.stream().map(header -> Arrays.asList(header.getName(), header.getValue())).toList())
+                    .orElse(List.of()),
+                hcConfiguration.getBody(),
+                hcConfiguration.isOverrideEndpointPath(),
+                hcConfiguration.getAssertion()
+            );
+        }
+
+        /**
+         * A probe can only be shared when the request and the assertion don't rely on the api, e.g. <code>#api</code> or
+         * <code>#properties</code>: two endpoints with the same definition could otherwise target different backends.
+         */
+        static boolean isShareable(ManagedEndpoint endpoint, HttpHealthCheckServiceConfiguration hcConfiguration) {
+            return (
+                isApiAgnostic(hcConfiguration.getTarget()) &&
+                isApiAgnostic(hcConfiguration.getBody()) &&
+                isApiAgnostic(hcConfiguration.getAssertion()) &&
+                (hcConfiguration.getHeaders() == null ||
+                    hcConfiguration.getHeaders().stream().allMatch(header -> isApiAgnostic(header.getValue()))) &&
+                isApiAgnostic(endpoint.getDefinition().getConfiguration()) &&
+                isApiAgnostic(sharedConfiguration(endpoint))
+            );
+        }
+
+        private static String sharedConfiguration(ManagedEndpoint endpoint) {
+            if (endpoint.getDefinition().isInheritConfiguration()) {
+                return endpoint.getGroup().getDefinition().getSharedConfiguration();
+            }
+            return endpoint.getDefinition().getSharedConfigurationOverride();
+        }
+
+        private static boolean isApiAgnostic(String value) {
+            if (value == null) {
+                return true;
+            }
+            final Matcher matcher = EL_VARIABLE.matcher(value);
+            while (matcher.find()) {
+                if (!API_AGNOSTIC_EL_VARIABLES.contains(matcher.group(1))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -30,13 +30,16 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class HttpHealthCheckServiceFactory implements ApiServiceFactory<HttpHealthCheckService> {
 
+    // The factory is instantiated once per node: the probes are shared by all the apis.
+    private final HttpHealthCheckProbes probes = new HttpHealthCheckProbes();
+
     @Override
     public HttpHealthCheckService createService(DeploymentContext deploymentContext) {
         final Api api = deploymentContext.getComponent(Api.class);
         final GatewayConfiguration gatewayConfiguration = deploymentContext.getComponent(GatewayConfiguration.class);
 
         if (HttpHealthCheckHelper.canHandle(api.getDefinition(), gatewayConfiguration.tenant().orElse(null))) {
-            return new HttpHealthCheckService(api, deploymentContext, gatewayConfiguration);
+            return new HttpHealthCheckService(api, deploymentContext, gatewayConfiguration, probes);
         }
 
         return null;
@@ -0,0 +1,159 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.apim.plugin.apiservice.healthcheck.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.reporter.api.health.EndpointStatus;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class HttpHealthCheckProbesTest {
+
+    private static final String EVERY_SECOND = "* * * * * *";
+
+    private final HttpHealthCheckProbes cut = new HttpHealthCheckProbes();
+    private Disposable first;
+    private Disposable second;
+
+    @AfterEach
+    void tearDown() {
+        if (first != null) {
+            first.dispose();
+        }
+        if (second != null) {
+            second.dispose();
+        }
+    }
+
+    @Test
+    void should_send_a_single_request_for_subscribers_sharing_the_same_key() throws Exception {
+        final FakeSubscriber firstSubscriber = new FakeSubscriber(true, 2);
+        final FakeSubscriber secondSubscriber = new FakeSubscriber(true, 2);
+
+        first = cut.subscribe("key", EVERY_SECOND, 0, firstSubscriber);
+        second = cut.subscribe("key", EVERY_SECOND, 0, secondSubscriber);
+
+        assertThat(cut.size()).isEqualTo(1);
+        assertThat(secondSubscriber.reported.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(firstSubscriber.reported.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(firstSubscriber.checks.get()).isGreaterThanOrEqualTo(2);
+        assertThat(secondSubscriber.checks.get()).isZero();
+    }
+
+    @Test
+    void should_run_one_probe_per_key() throws Exception {
+        final FakeSubscriber firstSubscriber = new FakeSubscriber(true, 1);
+        final FakeSubscriber secondSubscriber = new FakeSubscriber(false, 1);
+
+        first = cut.subscribe("key", EVERY_SECOND, 0, firstSubscriber);
+        second = cut.subscribe("other-key", EVERY_SECOND, 0, secondSubscriber);
+
+        assertThat(cut.size()).isEqualTo(2);
+        assertThat(firstSubscriber.reported.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(secondSubscriber.reported.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(firstSubscriber.checks.get()).isPositive();
+        assertThat(secondSubscriber.checks.get()).isPositive();
+        assertThat(firstSubscriber.lastSuccess).isTrue();
+        assertThat(secondSubscriber.lastSuccess).isFalse();
+    }
+
+    @Test
+    void should_hand_over_the_probe_when_the_sending_subscriber_leaves() throws Exception {
+        final FakeSubscriber firstSubscriber = new FakeSubscriber(true, 1);
+        final FakeSubscriber secondSubscriber = new FakeSubscriber(true, 1);
+
+        first = cut.subscribe("key", EVERY_SECOND, 0, firstSubscriber);
+        second = cut.subscribe("key", EVERY_SECOND, 0, secondSubscriber);
+        first.dispose();
+
+        assertThat(cut.size()).isEqualTo(1);
+        assertThat(secondSubscriber.reported.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(secondSubscriber.checks.get()).isPositive();
+        assertThat(firstSubscriber.checks.get()).isZero();
+    }
+
+    @Test
+    void should_stop_the_probe_when_the_last_subscriber_leaves() {
+        first = cut.subscribe("key", EVERY_SECOND, 0, new FakeSubscriber(true, 1));
+        second = cut.subscribe("key", EVERY_SECOND, 0, new FakeSubscriber(true, 1));
+
+        first.dispose();
+        assertThat(cut.size()).isEqualTo(1);
+
+        second.dispose();
+        assertThat(cut.size()).isZero();
+    }
+
+    @Test
+    void should_keep_running_the_probe_when_a_check_fails() throws Exception {
+        final FakeSubscriber subscriber = new FakeSubscriber(true, 0);
+        subscriber.failure = new RuntimeException("boom");
+
+        first = cut.subscribe("key", EVERY_SECOND, 0, subscriber);
+
+        assertThat(subscriber.errors.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.checks.get()).isGreaterThanOrEqualTo(2);
+    }
+
+    private static class FakeSubscriber implements HttpHealthCheckProbes.Subscriber {
+
+        private final boolean success;
+        private final CountDownLatch reported;
+        private final CountDownLatch errors = new CountDownLatch(2);
+        private final AtomicInteger checks = new AtomicInteger();
+        private volatile RuntimeException failure;
+        private volatile boolean lastSuccess;
+
+        FakeSubscriber(boolean success, int expectedReports) {
+            this.success = success;
+            this.reported = new CountDownLatch(expectedReports);
+        }
+
+        @Override
+        public Single<HttpHealthCheckProbes.Result> check() {
+            checks.incrementAndGet();
+            if (failure != null) {
+                return Single.error(failure);
+            }
+            return Single.just(
+                new HttpHealthCheckProbes.Result(success, System.currentTimeMillis(), EndpointStatus.forStep("step").build())
+            );
+        }
+
+        @Override
+        public void report(HttpHealthCheckProbes.Result result) {
+            lastSuccess = result.success();
+            reported.countDown();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            errors.countDown();
+        }
+    }
+}
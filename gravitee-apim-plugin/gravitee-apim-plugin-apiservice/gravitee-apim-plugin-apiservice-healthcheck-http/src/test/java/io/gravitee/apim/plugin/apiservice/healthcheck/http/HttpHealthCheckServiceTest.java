@@ -715,4 +715,72 @@ public class HttpHealthCheckServiceTest {
             );
         }
     }
+
+    @Nested
+    class ProbeSharing {
+
+        private final Endpoint httpEndpoint = new Endpoint();
+        private DefaultManagedEndpoint managedEndpoint;
+
+        @BeforeEach
+        public void setup() {
+            httpEndpoint.setName(ENDPOINT_NAME);
+            httpEndpoint.setType("http-proxy");
+            httpEndpoint.setConfiguration("{\"target\":\"http://backend:8080\"}");
+            managedEndpoint = new DefaultManagedEndpoint(httpEndpoint, managedEndpointGroup, endpointConnector);
+
+            hcConfig.setSchedule("* * * * * *");
+            hcConfig.setTarget("/health");
+            hcConfig.setMethod(HttpMethod.GET);
+            hcConfig.setAssertion("{#response.status == 200}");
+        }
+
+        @Test
+        public void should_share_probe_not_depending_on_the_api() {
+            Assertions.assertThat(HttpHealthCheckService.ProbeKey.isShareable(managedEndpoint, hcConfig)).isTrue();
+        }
+
+        @Test
+        public void should_not_share_probe_depending_on_the_api() {
+            hcConfig.setHeaders(List.of(new HttpHeader("X-Api", "{#api.id}")));
+
+            Assertions.assertThat(HttpHealthCheckService.ProbeKey.isShareable(managedEndpoint, hcConfig)).isFalse();
+        }
+
+        @Test
+        public void should_not_share_probe_of_endpoint_depending_on_the_api() {
+            httpEndpoint.setConfiguration("{\"target\":\"{#api.properties['backend']}\"}");
+
+            Assertions.assertThat(HttpHealthCheckService.ProbeKey.isShareable(managedEndpoint, hcConfig)).isFalse();
+        }
+
+        @Test
+        public void should_build_same_key_whatever_the_thresholds() {
+            final HttpHealthCheckServiceConfiguration otherConfig = HttpHealthCheckServiceConfiguration.builder()
+                .schedule(hcConfig.getSchedule())
+                .target(hcConfig.getTarget())
+                .method(hcConfig.getMethod())
+                .assertion(hcConfig.getAssertion())
+                .successThreshold(5)
+                .failureThreshold(5)
+                .build();
+
+            Assertions.assertThat(HttpHealthCheckService.ProbeKey.of(managedEndpoint, otherConfig)).isEqualTo(
+                HttpHealthCheckService.ProbeKey.of(managedEndpoint, hcConfig)
+            );
+        }
+
+        @Test
+        public void should_build_different_keys_for_different_backends() {
+            final Endpoint otherEndpoint = new Endpoint();
+            otherEndpoint.setName(ENDPOINT_NAME);
+            otherEndpoint.setType("http-proxy");
+            otherEndpoint.setConfiguration("{\"target\":\"http://other-backend:8080\"}");
+            final var otherManagedEndpoint = new DefaultManagedEndpoint(otherEndpoint, managedEndpointGroup, endpointConnector);
+
+            Assertions.assertThat(HttpHealthCheckService.ProbeKey.of(otherManagedEndpoint, hcConfig)).isNotEqualTo(
+                HttpHealthCheckService.ProbeKey.of(managedEndpoint, hcConfig)
+            );
+        }
+    }
 }
@@ -40,6 +40,7 @@ import io.gravitee.gateway.http.vertx.VertxHttpHeaders;
 import io.gravitee.gateway.reactive.api.context.http.HttpExecutionContext;
 import io.gravitee.gateway.reactive.api.context.http.HttpRequest;
 import io.gravitee.gateway.reactive.api.context.http.HttpResponse;
+import io.gravitee.gateway.reactive.http.vertx.PassThroughChunks;
 import io.gravitee.gateway.reactive.http.vertx.VertxHttpServerResponse;
 import io.gravitee.node.api.opentelemetry.Span;
 import io.gravitee.node.api.opentelemetry.http.ObservableHttpClientRequest;
@@ -163,7 +164,7 @@ public class HttpConnector implements ProxyConnector {
             // Tracks the upstream request between pool acquisition and the response head so that disposing the chain
             // (typically a client abort) releases the pooled connection instead of holding it until the request
             // timeout fires. From the response head onward, cancellation is handled by the response chunks'
-            // doOnCancel (see getEndpointResponseChunks).
+            // listener (see getEndpointResponseChunks).
             final AtomicReference<HttpClientRequest> pendingUpstreamRequest = new AtomicReference<>();
             return acquireUpstreamRequest(ctx, options, pendingUpstreamRequest, absoluteUri)
                 // The upstream request resolves once a connection/stream is acquired from the pool: from here on, a
@@ -175,7 +176,7 @@ public class HttpConnector implements ProxyConnector {
                     return sendEndpointRequestChunks(httpClientRequest, request);
                 })
                 .doOnSuccess(endpointResponse -> {
-                    // The response chunks' doOnCancel owns cancellation from here; reset() being a no-op on a
+                    // The response listener's onCancel owns cancellation from here; reset() being a no-op on a
                     // completed stream makes the race with a concurrent disposal benign.
                     pendingUpstreamRequest.set(null);
 
@@ -298,48 +299,27 @@ public class HttpConnector implements ProxyConnector {
         HttpResponse response,
         String absoluteUri
     ) {
-        // How long the upstream has been silent when the stream breaks is the one measurement that tells a gateway
-        // idle timeout apart from a backend hanging up: the idle timer restarts on every byte received, so only the
-        // gap since the last one can be compared to it. Starts at the response headers, which is the last thing read
-        // from the connection at that point.
-        final AtomicLong lastUpstreamActivityNs = new AtomicLong(System.nanoTime());
+        final EndpointResponseListener listener = new EndpointResponseListener(ctx, endpointResponse, response, absoluteUri);
 
         // A backend failure while streaming the response body (after status/headers were committed) is recorded on
-        // the metrics below so the truncated response is observable instead of reported as a success.
-        return endpointResponse
+        // the metrics by the listener so the truncated response is observable instead of reported as a success.
+        final Flowable<Buffer> chunks = endpointResponse
             .toFlowable()
-            .doOnNext(chunk -> lastUpstreamActivityNs.setPlain(System.nanoTime()))
+            .doOnNext(chunk -> listener.onChunk())
             .map(Buffer::buffer)
-            .doOnComplete(() ->
-                // Write trailers when chunks are completed
-                copyHeaders(endpointResponse.trailers(), response.trailers())
-            )
+            .doOnComplete(listener::onComplete)
             .onErrorResumeNext(throwable -> {
-                if (throwable instanceof StreamResetException) {
-                    // Means that we have manually reset the stream because the downstream request has been cancelled (see doOnCancel).
-                    ctx.withLogger(log).debug("Stream reset to the backend [{}]", absoluteUri);
-                } else {
-                    // The response status/headers are already committed to the client, so we cannot change them; record
-                    // the backend failure on the metrics so the (otherwise silent) truncated response is observable.
-                    // That call also logs the failure, with the timeout context needed to interpret it.
-                    final long silenceMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastUpstreamActivityNs.getPlain());
-                    recordBackendResponseStreamFailure(ctx, absoluteUri, silenceMs, throwable);
-                }
+                listener.onError(throwable);
                 return Flowable.empty();
             })
-            .doOnCancel(() -> {
-                try {
-                    ctx.withLogger(log).debug("Downstream request has been cancelled, cancelling upstream request to [{}]", absoluteUri);
-
-                    // Reset forces the upstream connection to be closed and avoid consuming the response while downstream is already gone.
-                    endpointResponse.request().reset();
-                } catch (Exception e) {
-                    ctx.withLogger(log).debug("Can't properly reset endpoint request to backend [{}]", absoluteUri, e);
-                }
-            })
+            .doOnCancel(listener::onCancel)
             // Last: covers completion, error and cancellation alike, so a truncated response is measured up to the
             // point it stopped rather than left at the time to first byte.
-            .doFinally(() -> recordEndpointResponseTime(ctx));
+            .doFinally(listener::onFinally);
+
+        // When no policy nor logging reads or transforms the body, the server response pipes the endpoint response
+        // straight to the client instead of subscribing to the chunks, with the same notifications.
+        return new PassThroughChunks(endpointResponse.getDelegate(), chunks, listener);
     }
 
     /**
@@ -630,4 +610,75 @@ public class HttpConnector implements ProxyConnector {
         final String transferEncoding = request.headers().get(HttpHeaderNames.TRANSFER_ENCODING);
         return transferEncoding != null && HttpHeadersValues.TRANSFER_ENCODING_CHUNKED.equalsIgnoreCase(transferEncoding.trim());
     }
+
+    /**
+     * Follows the endpoint response body as it is proxied, whether through the chunks or piped straight to the client.
+     */
+    private class EndpointResponseListener implements PassThroughChunks.Listener {
+
+        private final HttpExecutionContext ctx;
+        private final HttpClientResponse endpointResponse;
+        private final HttpResponse response;
+        private final String absoluteUri;
+
+        // How long the upstream has been silent when the stream breaks is the one measurement that tells a gateway
+        // idle timeout apart from a backend hanging up: the idle timer restarts on every byte received, so only the
+        // gap since the last one can be compared to it. Starts at the response headers, which is the last thing read
+        // from the connection at that point.
+        private final AtomicLong lastUpstreamActivityNs = new AtomicLong(System.nanoTime());
+
+        private EndpointResponseListener(
+            final HttpExecutionContext ctx,
+            final HttpClientResponse endpointResponse,
+            final HttpResponse response,
+            final String absoluteUri
+        ) {
+            this.ctx = ctx;
+            this.endpointResponse = endpointResponse;
+            this.response = response;
+            this.absoluteUri = absoluteUri;
+        }
+
+        @Override
+        public void onChunk() {
+            lastUpstreamActivityNs.setPlain(System.nanoTime());
+        }
+
+        @Override
+        public void onComplete() {
+            // Write trailers when chunks are completed
+            copyHeaders(endpointResponse.trailers(), response.trailers());
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            if (throwable instanceof StreamResetException) {
+                // Means that we have manually reset the stream because the downstream request has been cancelled (see onCancel).
+                ctx.withLogger(log).debug("Stream reset to the backend [{}]", absoluteUri);
+            } else {
+                // The response status/headers are already committed to the client, so we cannot change them; record
+                // the backend failure on the metrics so the (otherwise silent) truncated response is observable.
+                // That call also logs the failure, with the timeout context needed to interpret it.
+                final long silenceMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastUpstreamActivityNs.getPlain());
+                recordBackendResponseStreamFailure(ctx, absoluteUri, silenceMs, throwable);
+            }
+        }
+
+        @Override
+        public void onCancel() {
+            try {
+                ctx.withLogger(log).debug("Downstream request has been cancelled, cancelling upstream request to [{}]", absoluteUri);
+
+                // Reset forces the upstream connection to be closed and avoid consuming the response while downstream is already gone.
+                endpointResponse.request().reset();
+            } catch (Exception e) {
+                ctx.withLogger(log).debug("Can't properly reset endpoint request to backend [{}]", absoluteUri, e);
+            }
+        }
+
+        @Override
+        public void onFinally() {
+            recordEndpointResponseTime(ctx);
+        }
+    }
 }
@@ -29,7 +29,8 @@ public record BulkConfiguration(
     Integer maxRetries,
     Integer retryInitialDelay,
     Integer retryMaxDelay,
-    Long maxMemorySize
+    Long maxMemorySize,
+    Integer workers
 ) {
     public static final int DEFAULT_ITEMS = 1000;
     public static final long DEFAULT_FLUSH_INTERVAL = 5L;
@@ -38,6 +39,7 @@ public record BulkConfiguration(
     public static final int DEFAULT_RETRY_INITIAL_DELAY = 3000;
     public static final int DEFAULT_RETRY_MAX_DELAY = 30000;
     public static final long DEFAULT_MAX_MEMORY_SIZE = 26214400;
+    public static final int DEFAULT_WORKERS = 1;
 
     public BulkConfiguration {
         if (items == null) {
@@ -61,6 +63,9 @@ public record BulkConfiguration(
         if (maxMemorySize == null) {
             maxMemorySize = DEFAULT_MAX_MEMORY_SIZE;
         }
+        if (workers == null || workers < 1) {
+            workers = DEFAULT_WORKERS;
+        }
 
         if (maxMemorySize.equals(DEFAULT_MAX_MEMORY_SIZE)) {
             log.warn(
@@ -21,6 +21,7 @@ import io.gravitee.apim.reporter.common.bulk.compressor.BulkCompressor;
 import io.gravitee.apim.reporter.common.bulk.compressor.CompressedBulk;
 import io.gravitee.apim.reporter.common.bulk.exception.NonRetryableException;
 import io.gravitee.apim.reporter.common.bulk.sender.BulkSender;
+import io.gravitee.apim.reporter.common.bulk.spool.BulkSpool;
 import io.gravitee.apim.reporter.common.bulk.transformer.BulkTransformer;
 import io.gravitee.apim.reporter.common.bulk.transformer.TransformedReport;
 import io.gravitee.common.service.AbstractService;
@@ -28,23 +29,24 @@ import io.gravitee.common.utils.RxHelper;
 import io.gravitee.reporter.api.Reportable;
 import io.reactivex.rxjava3.annotations.NonNull;
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.processors.UnicastProcessor;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import lombok.CustomLog;
-import lombok.RequiredArgsConstructor;
 
 /**
  * @author Guillaume LAMIRAND (guillaume.lamirand at graviteesource.com)
  * @author GraviteeSource Team
  */
 @CustomLog
-@RequiredArgsConstructor
 public class BulkProcessor extends AbstractService<BulkProcessor> {
 
     public static final double RETRY_FACTOR = 1.5;
@@ -52,29 +54,85 @@ public class BulkProcessor extends AbstractService<BulkProcessor> {
     private final BulkSender bulkSender;
     private final BulkConfiguration bulkConfiguration;
     private final BulkTransformer bulkTransformer;
-    private final UnicastProcessor<Reportable> processor = UnicastProcessor.create();
+    private final Rail[] rails;
+    private final AtomicInteger nextRail = new AtomicInteger();
+    private final ThreadLocal<Rail> threadRail = ThreadLocal.withInitial(() ->
+        rails[Math.floorMod(nextRail.getAndIncrement(), rails.length)]
+    );
     private final BulkCompressor bulkCompressor;
     private final BulkDropper bulkDropper;
+    private final BulkSpool bulkSpool;
     private Disposable subscribe;
+    private Disposable replay;
+
+    public BulkProcessor(
+        final BulkSender bulkSender,
+        final BulkConfiguration bulkConfiguration,
+        final BulkTransformer bulkTransformer,
+        final BulkCompressor bulkCompressor,
+        final BulkDropper bulkDropper
+    ) {
+        this(bulkSender, bulkConfiguration, bulkTransformer, bulkCompressor, bulkDropper, null);
+    }
+
+    /**
+     * @param bulkSpool where the bulks are kept instead of being dropped, when they can not be sent or buffered in memory.
+     *                  They are replayed one at a time, at the spool replay interval. May be <code>null</code>.
+     */
+    public BulkProcessor(
+        final BulkSender bulkSender,
+        final BulkConfiguration bulkConfiguration,
+        final BulkTransformer bulkTransformer,
+        final BulkCompressor bulkCompressor,
+        final BulkDropper bulkDropper,
+        final BulkSpool bulkSpool
+    ) {
+        this.bulkSender = bulkSender;
+        this.bulkConfiguration = bulkConfiguration;
+        this.bulkTransformer = bulkTransformer;
+        this.bulkCompressor = bulkCompressor;
+        this.bulkDropper = bulkDropper;
+        this.bulkSpool = bulkSpool;
+        this.rails = new Rail[bulkConfiguration.workers()];
+        for (int i = 0; i < rails.length; i++) {
+            rails[i] = new Rail();
+        }
+    }
 
     @Override
     protected void doStart() throws Exception {
         super.doStart();
         bulkSender.start();
-        subscribe = processor
-            .observeOn(Schedulers.io())
-            .flatMapMaybe(this::transform)
-            .buffer(bulkConfiguration.flushInterval(), TimeUnit.SECONDS, bulkConfiguration.items())
-            .filter(reports -> !reports.isEmpty())
-            .flatMapMaybe(this::compress)
+        subscribe = Flowable.fromArray(rails)
+            .flatMap(this::bulks, rails.length)
             .compose(bulks ->
                 new FlowableBackPressureMemoryAware(bulks, bulkConfiguration.maxMemorySize(), bulk ->
-                    bulkDropper.drop(bulk, BulkDropper.Reason.OVERFLOW)
+                    spoolOrDrop(bulk, BulkDropper.Reason.OVERFLOW)
                 )
             )
             .flatMapCompletable(this::send, true, bulkConfiguration.maxConcurrentSend())
             .retry()
             .subscribe();
+
+        if (bulkSpool != null) {
+            replay = Flowable.interval(bulkSpool.replayInterval(), TimeUnit.MILLISECONDS, Schedulers.io())
+                .onBackpressureDrop()
+                .concatMapCompletable(tick -> replay(), 1)
+                .retry()
+                .subscribe();
+        }
+    }
+
+    /**
+     * Transform, buffer and compress the reportables of a rail. Each rail builds its own bulks so that the rails never
+     * have to synchronize with each other.
+     */
+    private Flowable<CompressedBulk> bulks(final Rail rail) {
+        return rail.processor
+            .flatMapMaybe(this::transform)
+            .buffer(bulkConfiguration.flushInterval(), TimeUnit.SECONDS, bulkConfiguration.items())
+            .filter(reports -> !reports.isEmpty())
+            .flatMapMaybe(this::compress);
     }
 
     private Maybe<@NonNull TransformedReport> transform(final Reportable reportable) {
@@ -104,10 +162,14 @@ public class BulkProcessor extends AbstractService<BulkProcessor> {
                     RETRY_FACTOR,
                     t -> {
                         log.warn("An error occurred when sending bulk of reports [{}]", bulk, t);
-                        if (t instanceof NonRetryableException || attempts.incrementAndGet() > bulkConfiguration.maxRetries()) {
+                        if (t instanceof NonRetryableException) {
                             bulkDropper.drop(bulk, BulkDropper.Reason.ERROR);
                             return false;
                         }
+                        if (attempts.incrementAndGet() > bulkConfiguration.maxRetries()) {
+                            spoolOrDrop(bulk, BulkDropper.Reason.ERROR);
+                            return false;
+                        }
 
                         return true;
                     }
@@ -116,16 +178,105 @@ public class BulkProcessor extends AbstractService<BulkProcessor> {
             .onErrorComplete();
     }
 
+    private void spoolOrDrop(final CompressedBulk bulk, final BulkDropper.Reason reason) {
+        if (bulkSpool != null && bulkSpool.append(bulk)) {
+            log.debug("Bulk of reports spooled [{}]. Spool depth: [{}].", bulk, bulkSpool.depth());
+            return;
+        }
+        bulkDropper.drop(bulk, reason);
+    }
+
+    /**
+     * Send the oldest spooled bulk, a single attempt being made: when it fails, it is attempted again at the next replay.
+     */
+    private Completable replay() {
+        return Completable.defer(() -> {
+            final CompressedBulk bulk = bulkSpool.peek();
+            if (bulk == null) {
+                return Completable.complete();
+            }
+
+            return Completable.defer(() -> bulkSender.send(bulk))
+                .doOnComplete(() -> {
+                    bulkSpool.remove();
+                    log.debug("Spooled bulk of reports successfully sent. Spool depth: [{}].", bulkSpool.depth());
+                })
+                .onErrorResumeNext(t -> {
+                    if (t instanceof NonRetryableException) {
+                        bulkSpool.remove();
+                        bulkDropper.drop(bulk, BulkDropper.Reason.ERROR);
+                    } else {
+                        log.debug("Unable to replay spooled bulk of reports [{}], it will be attempted again", bulk, t);
+                    }
+                    return Completable.complete();
+                });
+        });
+    }
+
+    /**
+     * @return the number of bulks waiting in the spool to be replayed, <code>0</code> when there is no spool.
+     */
+    public int spoolDepth() {
+        return bulkSpool != null ? bulkSpool.depth() : 0;
+    }
+
+    /**
+     * @return the number of reportables waiting to be transformed, for each rail.
+     */
+    public int[] queueDepths() {
+        final int[] depths = new int[rails.length];
+        for (int i = 0; i < rails.length; i++) {
+            depths[i] = rails[i].pending.get();
+        }
+        return depths;
+    }
+
     @Override
     protected void doStop() throws Exception {
         super.doStop();
         if (subscribe != null) {
             subscribe.dispose();
         }
+        if (replay != null) {
+            replay.dispose();
+        }
+        if (bulkSpool != null) {
+            bulkSpool.close();
+        }
         bulkSender.stop();
     }
 
+    /**
+     * Never blocks: the reportable is queued on the rail of the calling thread, and transformed later on a worker thread. The
+     * rails are assigned to the calling threads in turn, so that the event loops are spread evenly across the rails.
+     */
     public void process(Reportable reportable) {
-        processor.onNext(reportable);
+        final Rail rail = rails.length == 1 ? rails[0] : threadRail.get();
+        rail.offer(reportable);
+    }
+
+    /**
+     * Multiple producers offer reportables to a lock-free queue, drained by a single task at a time on a worker thread. The
+     * rail processor is thus always fed sequentially, as required by {@link UnicastProcessor}.
+     */
+    private static final class Rail {
+
+        private final Queue<Reportable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final UnicastProcessor<Reportable> processor = UnicastProcessor.create();
+
+        void offer(final Reportable reportable) {
+            queue.offer(reportable);
+            if (pending.getAndIncrement() == 0) {
+                Schedulers.io().scheduleDirect(this::drain);
+            }
+        }
+
+        private void drain() {
+            // The reportable is always queued before the counter is incremented, so the queue can not be empty here.
+            do {
+                processor.onNext(queue.poll());
+            } while (pending.decrementAndGet() != 0);
+        }
     }
 }
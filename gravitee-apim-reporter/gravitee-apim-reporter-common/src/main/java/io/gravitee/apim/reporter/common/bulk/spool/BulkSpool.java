@@ -0,0 +1,248 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.apim.reporter.common.bulk.spool;
+
+import io.gravitee.apim.reporter.common.bulk.compressor.CompressedBulk;
+import io.vertx.core.buffer.Buffer;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.CustomLog;
+
+/**
+ * Durable FIFO of the bulks of reports which could not be sent, to replay them once the target is back.
+ *
+ * The bulks are appended to memory-mapped {@link SpoolSegment}s of a fixed size, a new segment being created when the
+ * last one is full, and a segment being deleted once all its bulks have been read. The number of segments is bounded by
+ * the configured max size: once reached, new bulks are refused. The spool survives a restart: existing segments are
+ * reopened from where they were read.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+public class BulkSpool {
+
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String SEGMENT_NAME_FORMAT = "%020d" + SEGMENT_SUFFIX;
+
+    private final SpoolConfiguration configuration;
+    private final int maxSegments;
+    private final Deque<SpoolSegment> segments = new ArrayDeque<>();
+    private long nextSegmentId;
+    private int depth;
+    private boolean closed;
+
+    public BulkSpool(SpoolConfiguration configuration) throws IOException {
+        this.configuration = configuration;
+        this.maxSegments = (int) Math.max(1, configuration.maxSize() / configuration.segmentSize());
+
+        Files.createDirectories(configuration.directory());
+        for (Path path : existingSegments()) {
+            nextSegmentId = Math.max(nextSegmentId, segmentId(path) + 1);
+            try {
+                final SpoolSegment segment = SpoolSegment.open(path, configuration.segmentSize());
+                segments.addLast(segment);
+                depth += segment.pending();
+            } catch (IOException e) {
+                log.warn("Unable to reopen spool segment [{}], it is discarded", path, e);
+                Files.deleteIfExists(path);
+            }
+        }
+
+        if (depth > 0) {
+            log.info("{} bulks of reports are waiting in the spool [{}] to be replayed", depth, configuration.directory());
+        }
+    }
+
+    private List<Path> existingSegments() throws IOException {
+        try (Stream<Path> files = Files.list(configuration.directory())) {
+            return files
+                .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private static long segmentId(Path path) {
+        final String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return <code>false</code> if the bulk could not be spooled, because the spool is full, closed or the bulk too large.
+     */
+    public synchronized boolean append(CompressedBulk bulk) {
+        if (closed) {
+            return false;
+        }
+        final byte[] record = encode(bulk);
+        if (record.length > configuration.segmentSize() - SpoolSegment.HEADER_SIZE - SpoolSegment.RECORD_HEADER_SIZE) {
+            return false;
+        }
+
+        try {
+            SpoolSegment segment = segments.peekLast();
+            if (segment == null || !segment.append(record)) {
+                if (segments.size() >= maxSegments) {
+                    return false;
+                }
+                final Path path = configuration.directory().resolve(SEGMENT_NAME_FORMAT.formatted(nextSegmentId++));
+                segment = SpoolSegment.open(path, configuration.segmentSize());
+                segments.addLast(segment);
+                segment.append(record);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to spool bulk of reports [{}]", bulk, e);
+            return false;
+        }
+
+        if (depth++ == 0) {
+            log.info("Bulks of reports are now spooled to [{}] until they can be sent", configuration.directory());
+        }
+        return true;
+    }
+
+    /**
+     * @return the oldest bulk of the spool, without removing it, or <code>null</code> if the spool is empty.
+     */
+    public synchronized CompressedBulk peek() {
+        SpoolSegment segment;
+        while ((segment = segments.peekFirst()) != null) {
+            final byte[] record = segment.peek();
+            if (record != null) {
+                return decode(record);
+            }
+            if (segments.size() == 1) {
+                return null;
+            }
+            deleteFirst();
+        }
+        return null;
+    }
+
+    /**
+     * Remove the oldest bulk of the spool, once it has been replayed.
+     */
+    public synchronized void remove() {
+        final SpoolSegment segment = segments.peekFirst();
+        if (segment == null || segment.pending() == 0) {
+            return;
+        }
+        segment.skip();
+        if (segment.pending() == 0 && segments.size() > 1) {
+            deleteFirst();
+        }
+        if (--depth == 0) {
+            log.info("All the spooled bulks of reports have been replayed");
+        }
+    }
+
+    private void deleteFirst() {
+        final SpoolSegment segment = segments.pollFirst();
+        try {
+            segment.delete();
+        } catch (IOException e) {
+            log.warn("Unable to delete spool segment [{}]", segment.path(), e);
+        }
+    }
+
+    /**
+     * @return the number of bulks waiting to be replayed.
+     */
+    public synchronized int depth() {
+        return depth;
+    }
+
+    /**
+     * @return the size of the bulks waiting to be replayed, in bytes.
+     */
+    public synchronized long size() {
+        long size = 0;
+        for (SpoolSegment segment : segments) {
+            size += segment.pendingBytes();
+        }
+        return size;
+    }
+
+    public long replayInterval() {
+        return configuration.replayInterval();
+    }
+
+    public synchronized void close() {
+        closed = true;
+        for (SpoolSegment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Unable to close spool segment [{}]", segment.path(), e);
+            }
+        }
+        segments.clear();
+    }
+
+    /**
+     * A bulk is its number of types, then each type with its count, then its content.
+     */
+    static byte[] encode(CompressedBulk bulk) {
+        final Map<String, Integer> countPerType = bulk.countPerType();
+        final byte[] content = bulk.compressed().getBytes();
+        final byte[][] types = new byte[countPerType.size()][];
+
+        int size = Integer.BYTES + content.length;
+        int i = 0;
+        for (String type : countPerType.keySet()) {
+            types[i] = type.getBytes(StandardCharsets.UTF_8);
+            size += Short.BYTES + types[i].length + Integer.BYTES;
+            i++;
+        }
+
+        final ByteBuffer record = ByteBuffer.allocate(size);
+        record.putInt(countPerType.size());
+        i = 0;
+        for (Integer count : countPerType.values()) {
+            record.putShort((short) types[i].length).put(types[i]).putInt(count);
+            i++;
+        }
+        record.put(content);
+        return record.array();
+    }
+
+    static CompressedBulk decode(byte[] bytes) {
+        final ByteBuffer record = ByteBuffer.wrap(bytes);
+        final int typeCount = record.getInt();
+        final Map<String, Integer> countPerType = new LinkedHashMap<>(typeCount);
+        for (int i = 0; i < typeCount; i++) {
+            final byte[] type = new byte[record.getShort()];
+            record.get(type);
+            countPerType.put(new String(type, StandardCharsets.UTF_8), record.getInt());
+        }
+        final byte[] content = new byte[record.remaining()];
+        record.get(content);
+        return new CompressedBulk(Buffer.buffer(content), countPerType);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.apim.reporter.common.bulk.spool;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * @param directory where the spool segments are stored.
+ * @param maxSize the maximum disk space used by the spool, in bytes.
+ * @param segmentSize the size of a segment file, in bytes. A bulk larger than a segment is never spooled.
+ * @param replayInterval the delay between two bulks replayed from the spool, in milliseconds.
+ *
+ * @author GraviteeSource Team
+ */
+public record SpoolConfiguration(Path directory, Long maxSize, Integer segmentSize, Long replayInterval) {
+    public static final long DEFAULT_MAX_SIZE = 1073741824L;
+    public static final int DEFAULT_SEGMENT_SIZE = 67108864;
+    public static final long DEFAULT_REPLAY_INTERVAL = 100L;
+
+    public SpoolConfiguration {
+        Objects.requireNonNull(directory, "The spool directory is required");
+        if (maxSize == null) {
+            maxSize = DEFAULT_MAX_SIZE;
+        }
+        if (segmentSize == null) {
+            segmentSize = DEFAULT_SEGMENT_SIZE;
+        }
+        if (replayInterval == null) {
+            replayInterval = DEFAULT_REPLAY_INTERVAL;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.apim.reporter.common.bulk.spool;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only segment file of the spool, memory-mapped as a whole.
+ *
+ * The segment starts with a header holding a magic number and the position of the next record to read, followed by the
+ * records. Each record is its length, the CRC32 of its content and its content. A zero length marks the end of the
+ * records, a file being zero-filled when it is extended. When opening an existing segment, the records are scanned from
+ * the read position and the first one with an invalid length or checksum ends the segment: it is what remains of a
+ * write interrupted by a crash.
+ *
+ * Not thread-safe, {@link BulkSpool} guards the access to its segments.
+ *
+ * @author GraviteeSource Team
+ */
+final class SpoolSegment {
+
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_HEADER_SIZE = 8;
+
+    private static final int MAGIC = 0x53504f4c;
+    private static final int READ_POSITION_OFFSET = 4;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int readPosition;
+    private int writePosition;
+    private int pending;
+
+    private SpoolSegment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Open the segment, creating it when it does not exist yet.
+     *
+     * @throws IOException if the file can not be mapped or is not a spool segment.
+     */
+    static SpoolSegment open(Path path, int size) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final int mappedSize = (int) Math.max(size, channel.size());
+            final SpoolSegment segment = new SpoolSegment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize));
+            segment.recover();
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void recover() throws IOException {
+        final int magic = buffer.getInt(0);
+        if (magic == 0) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(READ_POSITION_OFFSET, HEADER_SIZE);
+        } else if (magic != MAGIC) {
+            throw new IOException("Not a spool segment: " + path);
+        }
+
+        readPosition = buffer.getInt(READ_POSITION_OFFSET);
+        if (readPosition < HEADER_SIZE || readPosition > buffer.capacity()) {
+            throw new IOException("Corrupted spool segment: " + path);
+        }
+
+        writePosition = readPosition;
+        int length;
+        while ((length = validRecordLength(writePosition)) > 0) {
+            writePosition += RECORD_HEADER_SIZE + length;
+            pending++;
+        }
+    }
+
+    /**
+     * @return the length of the record at the given position, or <code>-1</code> if there is no valid record there.
+     */
+    private int validRecordLength(int position) {
+        if (position + RECORD_HEADER_SIZE > buffer.capacity()) {
+            return -1;
+        }
+        final int length = buffer.getInt(position);
+        if (length <= 0 || length > buffer.capacity() - position - RECORD_HEADER_SIZE) {
+            return -1;
+        }
+        final int checksum = buffer.getInt(position + 4);
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.slice(position + RECORD_HEADER_SIZE, length));
+        return (int) crc.getValue() == checksum ? length : -1;
+    }
+
+    /**
+     * @return <code>false</code> if the segment has not enough space left for the record.
+     */
+    boolean append(byte[] record) {
+        final int end = writePosition + RECORD_HEADER_SIZE + record.length;
+        if (end > buffer.capacity()) {
+            return false;
+        }
+
+        final CRC32 crc = new CRC32();
+        crc.update(record);
+        buffer.put(writePosition + RECORD_HEADER_SIZE, record);
+        buffer.putInt(writePosition + 4, (int) crc.getValue());
+        // Written last, so that the record does not exist until it is complete.
+        buffer.putInt(writePosition, record.length);
+        // Ends the records explicitly, in case a previous crash left a torn record after this one.
+        if (end + 4 <= buffer.capacity()) {
+            buffer.putInt(end, 0);
+        }
+
+        writePosition = end;
+        pending++;
+        return true;
+    }
+
+    /**
+     * @return the content of the next record to read, or <code>null</code> if every record has been read.
+     */
+    byte[] peek() {
+        if (pending == 0) {
+            return null;
+        }
+        final int length = buffer.getInt(readPosition);
+        final byte[] record = new byte[length];
+        buffer.get(readPosition + RECORD_HEADER_SIZE, record);
+        return record;
+    }
+
+    /**
+     * Mark the next record as read.
+     */
+    void skip() {
+        if (pending == 0) {
+            return;
+        }
+        readPosition += RECORD_HEADER_SIZE + buffer.getInt(readPosition);
+        buffer.putInt(READ_POSITION_OFFSET, readPosition);
+        pending--;
+    }
+
+    int pending() {
+        return pending;
+    }
+
+    /**
+     * @return the number of bytes of the records not read yet.
+     */
+    long pendingBytes() {
+        return writePosition - readPosition;
+    }
+
+    void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    Path path() {
+        return path;
+    }
+}
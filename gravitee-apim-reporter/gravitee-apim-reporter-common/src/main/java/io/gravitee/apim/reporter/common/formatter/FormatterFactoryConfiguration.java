@@ -31,6 +31,11 @@ public class FormatterFactoryConfiguration {
     @Builder.Default
     int elasticSearchVersion = 9;
 
+    /**
+     * Write the Elasticsearch request metrics with a streaming JSON generator instead of their FreeMarker template.
+     */
+    boolean elasticSearchStreamingWriter;
+
     @Singular
     Map<MetricsType, Rules> rules;
 
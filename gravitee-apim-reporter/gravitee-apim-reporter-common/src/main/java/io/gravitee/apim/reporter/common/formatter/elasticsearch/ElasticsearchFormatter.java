@@ -17,6 +17,7 @@ package io.gravitee.apim.reporter.common.formatter.elasticsearch;
 
 import io.gravitee.apim.reporter.common.formatter.AbstractFormatter;
 import io.gravitee.apim.reporter.common.formatter.util.ReportableSanitizationUtil;
+import io.gravitee.apim.reporter.common.rollup.MetricsRollup;
 import io.gravitee.common.templating.FreeMarkerComponent;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.node.api.Node;
@@ -75,6 +76,14 @@ public class ElasticsearchFormatter<T extends Reportable> extends AbstractFormat
     private final FreeMarkerComponent freeMarkerComponent;
 
     public ElasticsearchFormatter(Node node, int elasticSearchVersion) {
+        this(node, elasticSearchVersion, false);
+    }
+
+    /**
+     * @param streamingWriter <code>true</code> to write the request metrics with {@link ElasticsearchJsonWriter} rather than
+     *                        with their FreeMarker template.
+     */
+    public ElasticsearchFormatter(Node node, int elasticSearchVersion, boolean streamingWriter) {
         this.node = node;
         this.dtf = dtfWithDefaultZone("yyyy-MM-dd'T'HH:mm:ss.SSS[XXX]");
         this.sdf = dtfWithDefaultZone("yyyy.MM.dd");
@@ -86,7 +95,12 @@ public class ElasticsearchFormatter<T extends Reportable> extends AbstractFormat
 
         this.templatePath = String.format(TEMPLATES_PATH_PATTERN, elasticSearchVersion);
 
-        initFormatters();
+        final ElasticsearchJsonWriter jsonWriter = new ElasticsearchJsonWriter(node, dtf, sdf);
+        initFormatters(jsonWriter);
+
+        if (streamingWriter) {
+            initStreamingFormatters(jsonWriter);
+        }
     }
 
     private static DateTimeFormatter dtfWithDefaultZone(String format) {
@@ -420,7 +434,7 @@ public class ElasticsearchFormatter<T extends Reportable> extends AbstractFormat
         Buffer format(T reportable, Map<String, Object> esOptions);
     }
 
-    private void initFormatters() {
+    private void initFormatters(final ElasticsearchJsonWriter jsonWriter) {
         formatters.put(Metrics.class, (r, o) -> getSource((Metrics) r, o));
         formatters.put(EndpointStatus.class, (r, o) -> getSource((EndpointStatus) r, o));
         formatters.put(Monitor.class, (r, o) -> getSource((Monitor) r, o));
@@ -436,5 +450,14 @@ public class ElasticsearchFormatter<T extends Reportable> extends AbstractFormat
         formatters.put(ApplicationEventMetrics.class, (r, o) -> getSource((ApplicationEventMetrics) r, o));
         formatters.put(ApiEventMetrics.class, (r, o) -> getSource((ApiEventMetrics) r, o));
         formatters.put(AuthzEventMetrics.class, (r, o) -> getSource((AuthzEventMetrics) r, o));
+        // No template for the rollups: their latency histogram is much simpler to write with a generator.
+        formatters.put(MetricsRollup.class, (r, o) -> jsonWriter.write((MetricsRollup) r, o));
+    }
+
+    private void initStreamingFormatters(final ElasticsearchJsonWriter jsonWriter) {
+        formatters.put(Metrics.class, (r, o) -> jsonWriter.write((Metrics) r, o));
+        formatters.put(io.gravitee.reporter.api.v4.metric.Metrics.class, (r, o) ->
+            jsonWriter.write((io.gravitee.reporter.api.v4.metric.Metrics) r, o)
+        );
     }
 }
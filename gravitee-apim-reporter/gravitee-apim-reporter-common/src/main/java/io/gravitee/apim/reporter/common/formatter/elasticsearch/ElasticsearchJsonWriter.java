@@ -0,0 +1,431 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.apim.reporter.common.formatter.elasticsearch;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.gravitee.apim.reporter.common.formatter.util.ReportableSanitizationUtil;
+import io.gravitee.apim.reporter.common.rollup.LatencySketch;
+import io.gravitee.apim.reporter.common.rollup.MetricsRollup;
+import io.gravitee.node.api.Node;
+import io.gravitee.reporter.api.Reportable;
+import io.gravitee.reporter.api.http.Metrics;
+import io.gravitee.reporter.api.v4.metric.WithAdditional;
+import io.vertx.core.buffer.Buffer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Writes the request metrics as ES bulk lines with a streaming {@link JsonGenerator} instead of rendering
+ * <code>request.ftl</code> and <code>v4-metrics.ftl</code>. These are the documents reported for each request, so they
+ * are the ones paying for building the template data model and interpreting the template. Also writes the
+ * {@link MetricsRollup}s, which have no template.
+ *
+ * The documents are the same as the templated ones, field by field and in the same order. Values are always escaped,
+ * where some template fields are not.
+ *
+ * @author GraviteeSource Team
+ */
+final class ElasticsearchJsonWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().setRootValueSeparator(null);
+
+    /**
+     * Large enough for a typical request metrics document, to avoid growing the buffer while writing.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+
+    private static final char LINE_SEPARATOR = '\n';
+
+    private static final String INDEX_ACTION = "index";
+
+    /**
+     * The rollups are written to a data stream, which only accepts creations.
+     */
+    private static final String CREATE_ACTION = "create";
+
+    private final Node node;
+    private final DateTimeFormatter dtf;
+    private final DateTimeFormatter sdf;
+
+    ElasticsearchJsonWriter(Node node, DateTimeFormatter dtf, DateTimeFormatter sdf) {
+        this.node = node;
+        this.dtf = dtf;
+        this.sdf = sdf;
+    }
+
+    /**
+     * Convert a {@link Metrics} into an ES bulk line, as <code>request.ftl</code> does.
+     */
+    Buffer write(final Metrics metrics, final Map<String, Object> esOptions) {
+        ReportableSanitizationUtil.removeCustomMetricsWithNullValues(metrics);
+
+        return write(metrics, INDEX_ACTION, metrics.getRequestId(), esOptions, (generator, options) -> {
+            generator.writeStringField("gateway", node.id());
+            generator.writeStringField("@timestamp", dtf.format(metrics.timestamp()));
+            if (options.index() == null) {
+                generator.writeStringField("type", "request");
+                writeString(generator, "date", options.date());
+                writeString(generator, "_id", metrics.getRequestId());
+            }
+            writeString(generator, "transaction", metrics.getTransactionId());
+            if (metrics.getHttpMethod() != null) {
+                generator.writeNumberField("method", metrics.getHttpMethod().code());
+            }
+            writeString(generator, "uri", metrics.getUri());
+            generator.writeNumberField("status", metrics.getStatus());
+            generator.writeNumberField("response-time", metrics.getProxyResponseTimeMs());
+            writeWhenMeasured(generator, "api-response-time", metrics.getApiResponseTimeMs());
+            writeWhenMeasured(generator, "proxy-latency", metrics.getProxyLatencyMs());
+            writeWhenMeasured(generator, "request-content-length", metrics.getRequestContentLength());
+            writeWhenMeasured(generator, "response-content-length", metrics.getResponseContentLength());
+            writeString(generator, "plan", metrics.getPlan());
+            writeString(generator, "api", metrics.getApi());
+            writeString(generator, "api-name", metrics.getApiName());
+            writeString(generator, "org-id", metrics.getOrganizationId());
+            writeString(generator, "env-id", metrics.getEnvironmentId());
+            writeString(generator, "application", metrics.getApplication());
+            writeString(generator, "local-address", metrics.getLocalAddress());
+            writeString(generator, "remote-address", metrics.getRemoteAddress());
+            writeString(generator, "endpoint", metrics.getEndpoint());
+            writeString(generator, "tenant", metrics.getTenant());
+            writeString(generator, "path", metrics.getPath());
+            writeString(generator, "mapped-path", metrics.getMappedPath());
+            writeString(generator, "host", metrics.getHost());
+            writeUserAgent(generator, metrics.getUserAgent(), options);
+            writeString(generator, "user", metrics.getUser());
+            writeString(generator, "security-type", metrics.getSecurityType());
+            writeString(generator, "security-token", metrics.getSecurityToken());
+            writeString(generator, "subscription", metrics.getSubscription());
+            writeString(generator, "zone", metrics.getZone());
+            final var failure = metrics.getFailure();
+            if (failure != null) {
+                writeString(generator, "error-key", failure.getKey());
+                writeString(generator, "message", failure.getMessage());
+                writeString(generator, "error-component-type", failure.getComponentType());
+                writeString(generator, "error-component-name", failure.getComponentName());
+            }
+            final var warnings = metrics.getWarnings();
+            if (warnings != null && !warnings.isEmpty()) {
+                generator.writeArrayFieldStart("warnings");
+                for (var warning : warnings) {
+                    generator.writeStartObject();
+                    writeString(generator, "key", warning.getKey());
+                    writeString(generator, "message", warning.getMessage());
+                    writeString(generator, "component-type", warning.getComponentType());
+                    writeString(generator, "component-name", warning.getComponentName());
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+            writeCustomMetrics(generator, metrics.getCustomMetrics());
+            writeAdditionalMetrics(generator, metrics);
+        });
+    }
+
+    /**
+     * Convert a v4 {@link io.gravitee.reporter.api.v4.metric.Metrics} into an ES bulk line, as <code>v4-metrics.ftl</code> does.
+     */
+    Buffer write(final io.gravitee.reporter.api.v4.metric.Metrics metrics, final Map<String, Object> esOptions) {
+        ReportableSanitizationUtil.removeCustomMetricsWithNullValues(metrics);
+
+        return write(metrics, INDEX_ACTION, metrics.getRequestId(), esOptions, (generator, options) -> {
+            generator.writeStringField("gateway", node.id());
+            if (options.index() == null) {
+                writeString(generator, "_id", metrics.getRequestId());
+                generator.writeStringField("type", "v4-metrics");
+                writeString(generator, "date", options.date());
+            }
+            generator.writeStringField("@timestamp", dtf.format(metrics.timestamp()));
+            writeString(generator, "request-id", metrics.getRequestId());
+            writeString(generator, "client-identifier", metrics.getClientIdentifier());
+            writeString(generator, "transaction-id", metrics.getTransactionId());
+            writeString(generator, "api-id", metrics.getApiId());
+            writeString(generator, "api-name", metrics.getApiName());
+            writeString(generator, "api-product-id", metrics.getApiProductId());
+            writeString(generator, "org-id", metrics.getOrganizationId());
+            writeString(generator, "env-id", metrics.getEnvironmentId());
+            writeString(generator, "plan-id", metrics.getPlanId());
+            writeString(generator, "application-id", metrics.getApplicationId());
+            writeString(generator, "application-name", metrics.getApplicationName());
+            writeString(generator, "subscription-id", metrics.getSubscriptionId());
+            writeString(generator, "tenant", metrics.getTenant());
+            writeString(generator, "zone", metrics.getZone());
+            if (metrics.getHttpMethod() != null) {
+                generator.writeNumberField("http-method", metrics.getHttpMethod().code());
+            }
+            writeString(generator, "local-address", metrics.getLocalAddress());
+            writeString(generator, "remote-address", metrics.getRemoteAddress());
+            writeString(generator, "host", metrics.getHost());
+            writeString(generator, "uri", metrics.getUri());
+            writeString(generator, "path-info", metrics.getPathInfo());
+            writeString(generator, "mapped-path", metrics.getMappedPath());
+            writeUserAgent(generator, metrics.getUserAgent(), options);
+            writeWhenMeasured(generator, "request-content-length", metrics.getRequestContentLength());
+            generator.writeStringField("request-ended", String.valueOf(metrics.isRequestEnded()));
+            writeString(generator, "entrypoint-id", metrics.getEntrypointId());
+            writeString(generator, "endpoint", metrics.getEndpoint());
+            writeWhenMeasured(generator, "endpoint-response-time-ms", metrics.getEndpointResponseTimeMs());
+            writeWhenMeasured(generator, "endpoint-response-ttfb-ms", metrics.getEndpointResponseTtfbMs());
+            writeWhenMeasured(generator, "endpoint-connect-time-ms", metrics.getEndpointConnectTimeMs());
+            writeWhenMeasured(generator, "endpoint-response-time-ns", metrics.getEndpointResponseTimeNs());
+            writeWhenMeasured(generator, "endpoint-response-ttfb-ns", metrics.getEndpointResponseTtfbNs());
+            writeWhenMeasured(generator, "endpoint-connect-time-ns", metrics.getEndpointConnectTimeNs());
+            generator.writeNumberField("status", metrics.getStatus());
+            writeWhenMeasured(generator, "response-content-length", metrics.getResponseContentLength());
+            writeWhenMeasured(generator, "gateway-response-time-ms", metrics.getGatewayResponseTimeMs());
+            writeWhenMeasured(generator, "gateway-latency-ms", metrics.getGatewayLatencyMs());
+            writeWhenMeasured(generator, "gateway-response-time-ns", metrics.getGatewayResponseTimeNs());
+            writeWhenMeasured(generator, "gateway-latency-ns", metrics.getGatewayLatencyNs());
+            writeString(generator, "user", metrics.getUser());
+            writeString(generator, "security-type", metrics.getSecurityType());
+            writeString(generator, "security-token", metrics.getSecurityToken());
+            final var failure = metrics.getFailure();
+            if (failure != null) {
+                writeString(generator, "error-key", failure.getKey());
+                writeString(generator, "error-message", failure.getMessage());
+                writeString(generator, "error-component-type", failure.getComponentType());
+                writeString(generator, "error-component-name", failure.getComponentName());
+            }
+            final var warnings = metrics.getWarnings();
+            if (warnings != null && !warnings.isEmpty()) {
+                generator.writeArrayFieldStart("warnings");
+                for (var warning : warnings) {
+                    generator.writeStartObject();
+                    writeString(generator, "key", warning.getKey());
+                    writeString(generator, "message", warning.getMessage());
+                    writeString(generator, "component-type", warning.getComponentType());
+                    writeString(generator, "component-name", warning.getComponentName());
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+            writeCustomMetrics(generator, metrics.getCustomMetrics());
+            writeAdditionalMetrics(generator, metrics);
+        });
+    }
+
+    /**
+     * Convert a {@link MetricsRollup} into an ES bulk line. The latency sketch is written in the format of the
+     * <code>histogram</code> field type, whose percentiles Elasticsearch computes across all the rollups of a query.
+     */
+    Buffer write(final MetricsRollup rollup, final Map<String, Object> esOptions) {
+        return write(rollup, CREATE_ACTION, null, esOptions, (generator, options) -> {
+            generator.writeStringField("gateway", node.id());
+            generator.writeStringField("@timestamp", dtf.format(rollup.timestamp()));
+            // Always typed: without an index per type, the rollups share their index with the other documents.
+            generator.writeStringField("type", MetricsRollup.TYPE);
+            if (options.index() == null) {
+                writeString(generator, "date", options.date());
+            }
+            writeString(generator, "org-id", rollup.getOrganizationId());
+            writeString(generator, "env-id", rollup.getEnvironmentId());
+            writeString(generator, "api-id", rollup.getApiId());
+            writeString(generator, "plan-id", rollup.getPlanId());
+            writeString(generator, "application-id", rollup.getApplicationId());
+            generator.writeNumberField("status", rollup.getStatus());
+            generator.writeNumberField("interval-ms", rollup.getIntervalMs());
+            generator.writeNumberField("count", rollup.getCount());
+            generator.writeNumberField("sampled-count", rollup.getSampledCount());
+            generator.writeNumberField("gateway-response-time-ms-sum", rollup.getGatewayResponseTimeMsSum());
+            generator.writeNumberField("gateway-response-time-ms-max", rollup.getGatewayResponseTimeMsMax());
+            if (rollup.getGatewayResponseTimeMs() != null && rollup.getGatewayResponseTimeMs().count() > 0) {
+                writeHistogram(generator, "gateway-response-time-ms", rollup.getGatewayResponseTimeMs());
+            }
+            generator.writeNumberField("endpoint-response-count", rollup.getEndpointResponseCount());
+            generator.writeNumberField("endpoint-response-time-ms-sum", rollup.getEndpointResponseTimeMsSum());
+            generator.writeNumberField("request-content-length-sum", rollup.getRequestContentLengthSum());
+            generator.writeNumberField("response-content-length-sum", rollup.getResponseContentLengthSum());
+        });
+    }
+
+    private Buffer write(
+        final Reportable reportable,
+        final String action,
+        final String requestId,
+        final Map<String, Object> esOptions,
+        final DocumentWriter documentWriter
+    ) {
+        final Options options = Options.of(esOptions, sdf.format(reportable.timestamp()));
+        final Buffer buffer = Buffer.buffer(INITIAL_BUFFER_SIZE);
+
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(new BufferOutputStream(buffer))) {
+            if (options.index() != null) {
+                generator.writeStartObject();
+                generator.writeObjectFieldStart(action);
+                generator.writeStringField("_index", options.index());
+                writeString(generator, "_id", requestId);
+                if (INDEX_ACTION.equals(action)) {
+                    // The ingest pipeline enriches the request documents, it has nothing to parse in a rollup.
+                    writeString(generator, "pipeline", options.pipeline());
+                }
+                generator.writeEndObject();
+                generator.writeEndObject();
+                generator.writeRaw(LINE_SEPARATOR);
+            }
+
+            generator.writeStartObject();
+            documentWriter.write(generator, options);
+            generator.writeEndObject();
+            generator.writeRaw(LINE_SEPARATOR);
+        } catch (IOException e) {
+            return null;
+        }
+
+        return buffer;
+    }
+
+    private static void writeHistogram(final JsonGenerator generator, final String name, final LatencySketch sketch) throws IOException {
+        final double[] values = sketch.bucketValues();
+        final long[] counts = sketch.bucketCounts();
+        generator.writeObjectFieldStart(name);
+        generator.writeFieldName("values");
+        generator.writeArray(values, 0, values.length);
+        generator.writeFieldName("counts");
+        generator.writeArray(counts, 0, counts.length);
+        generator.writeEndObject();
+    }
+
+    private static void writeString(final JsonGenerator generator, final String name, final Object value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value.toString());
+        }
+    }
+
+    /**
+     * Same rule as the formatter: a negative value stands for "not measured" and the field is left out of the document.
+     */
+    private static void writeWhenMeasured(final JsonGenerator generator, final String name, final long value) throws IOException {
+        if (value >= 0) {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    /**
+     * The user agent is only worth sending when an ingest pipeline is there to parse it.
+     */
+    private static void writeUserAgent(final JsonGenerator generator, final String userAgent, final Options options) throws IOException {
+        final boolean parsed = userAgent != null && options.pipeline() != null && !options.pipeline().isEmpty();
+        generator.writeStringField("user-agent", parsed ? userAgent : "");
+    }
+
+    private static void writeCustomMetrics(final JsonGenerator generator, final Map<String, String> customMetrics) throws IOException {
+        if (customMetrics == null) {
+            return;
+        }
+        generator.writeObjectFieldStart("custom");
+        for (Map.Entry<String, String> entry : customMetrics.entrySet()) {
+            generator.writeStringField(entry.getKey(), entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeAdditionalMetrics(final JsonGenerator generator, final WithAdditional metrics) throws IOException {
+        final Map<String, Long> longs = metrics.longAdditionalMetrics();
+        final Map<String, Double> doubles = metrics.doubleAdditionalMetrics();
+        final Map<String, String> keywords = metrics.keywordAdditionalMetrics();
+        final Map<String, Boolean> bools = metrics.boolAdditionalMetrics();
+        final Map<String, Integer> ints = metrics.intAdditionalMetrics();
+        final Map<String, String> strings = metrics.stringAdditionalMetrics();
+        final Map<String, String> jsons = metrics.jsonAdditionalMetrics();
+
+        if (longs == null && doubles == null && keywords == null && bools == null && ints == null && strings == null && jsons == null) {
+            return;
+        }
+
+        generator.writeObjectFieldStart("additional-metrics");
+        if (longs != null) {
+            for (Map.Entry<String, Long> entry : longs.entrySet()) {
+                generator.writeNumberField(entry.getKey(), entry.getValue());
+            }
+        }
+        if (doubles != null) {
+            for (Map.Entry<String, Double> entry : doubles.entrySet()) {
+                generator.writeNumberField(entry.getKey(), entry.getValue());
+            }
+        }
+        writeStrings(generator, keywords);
+        if (bools != null) {
+            for (Map.Entry<String, Boolean> entry : bools.entrySet()) {
+                generator.writeBooleanField(entry.getKey(), entry.getValue());
+            }
+        }
+        if (ints != null) {
+            for (Map.Entry<String, Integer> entry : ints.entrySet()) {
+                generator.writeNumberField(entry.getKey(), entry.getValue());
+            }
+        }
+        writeStrings(generator, strings);
+        writeStrings(generator, jsons);
+        generator.writeEndObject();
+    }
+
+    private static void writeStrings(final JsonGenerator generator, final Map<String, String> values) throws IOException {
+        if (values != null) {
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                generator.writeStringField(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface DocumentWriter {
+        void write(JsonGenerator generator, Options options) throws IOException;
+    }
+
+    /**
+     * The bulk options, resolved the same way as for the templates.
+     */
+    private record Options(String index, String pipeline, String date) {
+        static Options of(final Map<String, Object> esOptions, final String date) {
+            if (esOptions == null) {
+                return new Options(null, null, date);
+            }
+            final Object index = esOptions.get("index");
+            final Object pipeline = esOptions.get("pipeline");
+            return new Options(
+                index != null ? index.toString() : null,
+                pipeline != null ? pipeline.toString() : null,
+                esOptions.get("date") == null ? date : null
+            );
+        }
+    }
+
+    /**
+     * Lets the generator write straight into the returned buffer: its own working buffer is recycled by the factory,
+     * so formatting a document allocates nothing more than the buffer holding the result.
+     */
+    private static final class BufferOutputStream extends OutputStream {
+
+        private final Buffer buffer;
+
+        private BufferOutputStream(Buffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.appendByte((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            buffer.appendBytes(bytes, offset, length);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.apim.reporter.common.rollup;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable sketch of a latency distribution, in the spirit of DDSketch: the values are counted in buckets whose bounds
+ * grow geometrically, so that any quantile is known within a relative accuracy, whatever the distribution. Two sketches
+ * with the same accuracy are merged by adding their bucket counts, which is what makes the per interval sketches of
+ * several gateways summable.
+ *
+ * Not thread-safe.
+ *
+ * @author GraviteeSource Team
+ */
+public final class LatencySketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    /**
+     * Values lower than 1 (e.g. a 0ms response time) have no logarithmic bucket.
+     */
+    private long zeroCount;
+    private long[] counts = new long[0];
+    private int minIndex;
+    private long count;
+
+    public LatencySketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public LatencySketch(final double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("The relative accuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(final long value) {
+        if (value < 1) {
+            zeroCount++;
+        } else {
+            final int index = (int) Math.ceil(Math.log(value) / logGamma);
+            ensureCapacity(index);
+            counts[index - minIndex]++;
+        }
+        count++;
+    }
+
+    public void merge(final LatencySketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Only sketches with the same relative accuracy can be merged");
+        }
+        zeroCount += other.zeroCount;
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] > 0) {
+                ensureCapacity(other.minIndex + i);
+                counts[other.minIndex + i - minIndex] += other.counts[i];
+            }
+        }
+        count += other.count;
+    }
+
+    /**
+     * @param quantile between 0 and 1, e.g. 0.99 for the 99th percentile.
+     * @return the value at the given quantile, or <code>0</code> when the sketch is empty.
+     */
+    public double quantile(final double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = (long) (quantile * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (rank < seen) {
+                return value(minIndex + i);
+            }
+        }
+        return value(minIndex + counts.length - 1);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double relativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * @return the value standing for each non empty bucket, by increasing value.
+     */
+    public double[] bucketValues() {
+        final double[] values = new double[nonEmptyBuckets()];
+        int j = 0;
+        if (zeroCount > 0) {
+            values[j++] = 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                values[j++] = value(minIndex + i);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return the count of each non empty bucket, in the same order as {@link #bucketValues()}.
+     */
+    public long[] bucketCounts() {
+        final long[] bucketCounts = new long[nonEmptyBuckets()];
+        int j = 0;
+        if (zeroCount > 0) {
+            bucketCounts[j++] = zeroCount;
+        }
+        for (long bucketCount : counts) {
+            if (bucketCount > 0) {
+                bucketCounts[j++] = bucketCount;
+            }
+        }
+        return bucketCounts;
+    }
+
+    private int nonEmptyBuckets() {
+        int buckets = zeroCount > 0 ? 1 : 0;
+        for (long bucketCount : counts) {
+            if (bucketCount > 0) {
+                buckets++;
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * The value of a bucket is the one minimizing the relative error for all the values it holds.
+     */
+    private double value(final int index) {
+        return (2 * Math.pow(gamma, index)) / (gamma + 1);
+    }
+
+    private void ensureCapacity(final int index) {
+        if (counts.length == 0) {
+            counts = new long[INITIAL_CAPACITY];
+            minIndex = index;
+        } else if (index < minIndex) {
+            final int shift = Math.max(minIndex - index, counts.length / 2);
+            final long[] grown = new long[counts.length + shift];
+            System.arraycopy(counts, 0, grown, shift, counts.length);
+            counts = grown;
+            minIndex -= shift;
+        } else if (index - minIndex >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index - minIndex + 1, counts.length * 2));
+        }
+    }
+}
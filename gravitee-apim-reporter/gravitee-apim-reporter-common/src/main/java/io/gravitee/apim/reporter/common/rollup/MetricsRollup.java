@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.apim.reporter.common.rollup;
+
+import io.gravitee.reporter.api.Reportable;
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The request metrics of an interval, aggregated by the gateway for an API, plan, application and response status,
+ * reported instead of one document per request.
+ *
+ * @author GraviteeSource Team
+ */
+@Getter
+@Builder
+public class MetricsRollup implements Reportable {
+
+    public static final String TYPE = "rollup";
+
+    /**
+     * Start of the interval.
+     */
+    private final Instant timestamp;
+
+    private final long intervalMs;
+    private final String organizationId;
+    private final String environmentId;
+    private final String apiId;
+    private final String planId;
+    private final String applicationId;
+    private final int status;
+
+    /**
+     * Number of requests of the interval.
+     */
+    private final long count;
+
+    /**
+     * Number of requests of the interval also reported as a raw metrics document.
+     */
+    private final long sampledCount;
+
+    private final long gatewayResponseTimeMsSum;
+    private final long gatewayResponseTimeMsMax;
+    private final LatencySketch gatewayResponseTimeMs;
+
+    /**
+     * Number of requests for which the endpoint response time has been measured.
+     */
+    private final long endpointResponseCount;
+
+    private final long endpointResponseTimeMsSum;
+    private final long requestContentLengthSum;
+    private final long responseContentLengthSum;
+
+    @Override
+    public Instant timestamp() {
+        return timestamp;
+    }
+}
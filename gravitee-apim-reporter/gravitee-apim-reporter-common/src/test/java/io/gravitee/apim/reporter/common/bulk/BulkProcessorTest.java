@@ -35,6 +35,8 @@ import io.gravitee.apim.reporter.common.bulk.compressor.NoneBulkCompressor;
 import io.gravitee.apim.reporter.common.bulk.exception.NonRetryableException;
 import io.gravitee.apim.reporter.common.bulk.exception.SendReportException;
 import io.gravitee.apim.reporter.common.bulk.sender.BulkSender;
+import io.gravitee.apim.reporter.common.bulk.spool.BulkSpool;
+import io.gravitee.apim.reporter.common.bulk.spool.SpoolConfiguration;
 import io.gravitee.apim.reporter.common.bulk.transformer.BulkFormatterTransformer;
 import io.gravitee.apim.reporter.common.bulk.transformer.BulkTransformer;
 import io.gravitee.apim.reporter.common.bulk.transformer.TransformedReport;
@@ -47,16 +49,20 @@ import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.vertx.core.buffer.Buffer;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -103,7 +109,7 @@ public class BulkProcessorTest {
     }
 
     private void initBulkProcessor(final int items, final long memorySize) throws Exception {
-        final BulkConfiguration bulkConfiguration = new BulkConfiguration(items, 5L, 1, 5, 10, 30, memorySize);
+        final BulkConfiguration bulkConfiguration = new BulkConfiguration(items, 5L, 1, 5, 10, 30, memorySize, 1);
         when(bulkSender.send(any())).thenReturn(Completable.complete());
         cut = new BulkProcessor(bulkSender, bulkConfiguration, bulkTransformer, bulkCompressor, bulkDropper);
         cut.start();
@@ -226,6 +232,56 @@ public class BulkProcessorTest {
             .untilAsserted(() -> verify(bulkSender, times(1)).send(any()));
     }
 
+    @Test
+    void should_spool_report_when_max_retries_is_reached_and_replay_it_once_sender_is_back(@TempDir Path spoolDirectory)
+        throws Exception {
+        final AtomicBoolean available = new AtomicBoolean(false);
+        when(bulkSender.send(any())).thenAnswer(invocation ->
+            available.get() ? Completable.complete() : Completable.error(new SendReportException("unavailable", new RuntimeException()))
+        );
+        cut = new BulkProcessor(
+            bulkSender,
+            new BulkConfiguration(1, 5L, 1, 1, 10, 30, 26214400L, 1),
+            bulkTransformer,
+            bulkCompressor,
+            bulkDropper,
+            new BulkSpool(new SpoolConfiguration(spoolDirectory, null, 1048576, 10L))
+        );
+        cut.start();
+
+        cut.process(buildMetrics());
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .until(() -> cut.spoolDepth() == 1);
+
+        available.set(true);
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .until(() -> cut.spoolDepth() == 0);
+    }
+
+    @Test
+    void should_spool_report_when_max_memory_size_is_reached(@TempDir Path spoolDirectory) throws Exception {
+        when(bulkSender.send(any())).thenReturn(Maybe.just(1).delay(1000, TimeUnit.MILLISECONDS).ignoreElement());
+        cut = new BulkProcessor(
+            bulkSender,
+            new BulkConfiguration(1, 5L, 1, 5, 10, 30, 0L, 1),
+            bulkTransformer,
+            bulkCompressor,
+            bulkDropper,
+            new BulkSpool(new SpoolConfiguration(spoolDirectory, null, 1048576, 60000L))
+        );
+        cut.start();
+
+        for (int i = 0; i < 10; i++) {
+            cut.process(buildMetrics());
+        }
+
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .until(() -> cut.spoolDepth() > 0);
+    }
+
     @Test
     void should_drain_pending_reports_when_stopping() throws Exception {
         initBulkProcessor(1, 0);
@@ -277,6 +333,44 @@ public class BulkProcessorTest {
             .untilAsserted(() -> verify(bulkSender, times(1)).send(any()));
     }
 
+    @Test
+    void should_send_all_the_reports_processed_concurrently_on_multiple_rails() throws Exception {
+        final AtomicInteger sentReports = new AtomicInteger();
+        when(bulkSender.send(any())).thenAnswer(invocation -> {
+            final CompressedBulk bulk = invocation.getArgument(0);
+            sentReports.addAndGet(bulk.countPerType().values().stream().mapToInt(Integer::intValue).sum());
+            return Completable.complete();
+        });
+        cut = new BulkProcessor(
+            bulkSender,
+            new BulkConfiguration(10, 1L, 1, 5, 10, 30, 26214400L, 4),
+            bulkTransformer,
+            bulkCompressor,
+            bulkDropper
+        );
+        cut.start();
+        assertThat(cut.queueDepths()).hasSize(4);
+
+        final List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final Thread producer = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    cut.process(buildMetrics());
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(sentReports).hasValue(8000));
+        assertThat(cut.queueDepths()).containsOnly(0);
+    }
+
     private static Metrics buildMetrics() {
         return Metrics.builder()
             .requestId("requestId")
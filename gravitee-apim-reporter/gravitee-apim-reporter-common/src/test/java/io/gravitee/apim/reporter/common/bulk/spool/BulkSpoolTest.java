@@ -0,0 +1,216 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.apim.reporter.common.bulk.spool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.apim.reporter.common.bulk.compressor.CompressedBulk;
+import io.vertx.core.buffer.Buffer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class BulkSpoolTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    @TempDir
+    Path directory;
+
+    private BulkSpool cut;
+
+    @AfterEach
+    void afterEach() {
+        if (cut != null) {
+            cut.close();
+        }
+    }
+
+    @Test
+    void should_replay_bulks_in_order() throws IOException {
+        cut = new BulkSpool(configuration(10L * SEGMENT_SIZE));
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(cut.append(bulk("bulk-" + i))).isTrue();
+        }
+
+        assertThat(cut.depth()).isEqualTo(10);
+        assertThat(drain()).containsExactly(
+            "bulk-0",
+            "bulk-1",
+            "bulk-2",
+            "bulk-3",
+            "bulk-4",
+            "bulk-5",
+            "bulk-6",
+            "bulk-7",
+            "bulk-8",
+            "bulk-9"
+        );
+        assertThat(cut.depth()).isZero();
+        assertThat(cut.size()).isZero();
+    }
+
+    @Test
+    void should_keep_the_count_per_type() throws IOException {
+        cut = new BulkSpool(configuration(SEGMENT_SIZE));
+
+        cut.append(new CompressedBulk(Buffer.buffer("content"), Map.of("metrics", 12, "log", 3)));
+
+        final CompressedBulk bulk = cut.peek();
+        assertThat(bulk.compressed().toString()).isEqualTo("content");
+        assertThat(bulk.countPerType()).containsOnly(Map.entry("metrics", 12), Map.entry("log", 3));
+    }
+
+    @Test
+    void should_not_remove_a_bulk_until_it_is_replayed() throws IOException {
+        cut = new BulkSpool(configuration(SEGMENT_SIZE));
+        cut.append(bulk("first"));
+        cut.append(bulk("second"));
+
+        assertThat(cut.peek().compressed().toString()).isEqualTo("first");
+        assertThat(cut.peek().compressed().toString()).isEqualTo("first");
+
+        cut.remove();
+
+        assertThat(cut.peek().compressed().toString()).isEqualTo("second");
+    }
+
+    @Test
+    void should_resume_from_the_last_replayed_bulk_after_a_restart() throws IOException {
+        cut = new BulkSpool(configuration(10L * SEGMENT_SIZE));
+        for (int i = 0; i < 20; i++) {
+            cut.append(bulk("bulk-" + i + "-" + "x".repeat(100)));
+        }
+        for (int i = 0; i < 8; i++) {
+            cut.remove();
+        }
+        cut.close();
+
+        cut = new BulkSpool(configuration(10L * SEGMENT_SIZE));
+
+        assertThat(cut.depth()).isEqualTo(12);
+        assertThat(drain()).hasSize(12).first().asString().startsWith("bulk-8-");
+    }
+
+    @Test
+    void should_refuse_bulks_once_the_max_size_is_reached() throws IOException {
+        cut = new BulkSpool(configuration(2L * SEGMENT_SIZE));
+
+        int spooled = 0;
+        while (cut.append(bulk("x".repeat(100)))) {
+            spooled++;
+        }
+
+        assertThat(spooled).isPositive();
+        assertThat(cut.depth()).isEqualTo(spooled);
+        assertThat(segments()).hasSize(2);
+
+        cut.remove();
+        cut.peek();
+
+        assertThat(cut.append(bulk("x".repeat(100)))).isFalse();
+    }
+
+    @Test
+    void should_refuse_a_bulk_larger_than_a_segment() throws IOException {
+        cut = new BulkSpool(configuration(10L * SEGMENT_SIZE));
+
+        assertThat(cut.append(bulk("x".repeat(SEGMENT_SIZE)))).isFalse();
+        assertThat(cut.depth()).isZero();
+    }
+
+    @Test
+    void should_delete_segments_once_replayed() throws IOException {
+        cut = new BulkSpool(configuration(10L * SEGMENT_SIZE));
+        for (int i = 0; i < 30; i++) {
+            cut.append(bulk("x".repeat(100)));
+        }
+        assertThat(segments()).hasSizeGreaterThan(1);
+
+        drain();
+
+        assertThat(segments()).hasSize(1);
+    }
+
+    @Test
+    void should_ignore_a_torn_bulk_after_a_crash() throws IOException {
+        cut = new BulkSpool(configuration(SEGMENT_SIZE));
+        cut.append(bulk("complete"));
+        cut.append(bulk("torn"));
+        cut.close();
+
+        final Path segment = segments().get(0);
+        final byte[] content = Files.readAllBytes(segment);
+        final int torn = new String(content, StandardCharsets.ISO_8859_1).indexOf("torn");
+        content[torn] = 0;
+        Files.write(segment, content);
+
+        cut = new BulkSpool(configuration(SEGMENT_SIZE));
+
+        assertThat(cut.depth()).isEqualTo(1);
+        assertThat(cut.append(bulk("after restart"))).isTrue();
+        assertThat(drain()).containsExactly("complete", "after restart");
+    }
+
+    @Test
+    void should_discard_a_file_which_is_not_a_segment() throws IOException {
+        Files.writeString(directory.resolve("00000000000000000000.spool"), "not a segment");
+
+        cut = new BulkSpool(configuration(SEGMENT_SIZE));
+
+        assertThat(cut.depth()).isZero();
+        assertThat(segments()).isEmpty();
+    }
+
+    private SpoolConfiguration configuration(long maxSize) {
+        return new SpoolConfiguration(directory, maxSize, SEGMENT_SIZE, null);
+    }
+
+    private static CompressedBulk bulk(String content) {
+        return new CompressedBulk(Buffer.buffer(content), Map.of("metrics", 1));
+    }
+
+    private List<String> drain() {
+        final List<String> bulks = new ArrayList<>();
+        CompressedBulk bulk;
+        while ((bulk = cut.peek()) != null) {
+            bulks.add(bulk.compressed().toString());
+            cut.remove();
+        }
+        return bulks;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
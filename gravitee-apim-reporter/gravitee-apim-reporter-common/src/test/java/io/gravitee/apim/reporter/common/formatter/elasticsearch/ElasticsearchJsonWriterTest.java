@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.apim.reporter.common.formatter.elasticsearch;
+
+import static io.gravitee.apim.reporter.common.formatter.Mappers.JSON;
+import static io.gravitee.apim.reporter.common.formatter.Mappers.JSON_LINES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.gravitee.apim.reporter.common.formatter.AbstractFormatterTest;
+import io.gravitee.apim.reporter.common.formatter.Type;
+import io.gravitee.apim.reporter.common.rollup.LatencySketch;
+import io.gravitee.apim.reporter.common.rollup.MetricsRollup;
+import io.gravitee.node.api.Node;
+import io.gravitee.reporter.api.Reportable;
+import io.gravitee.reporter.api.v4.metric.Metrics;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Replay the Elasticsearch golden files with the streaming writer, and compare its documents with the templated ones.
+ *
+ * @author GraviteeSource Team
+ */
+class ElasticsearchJsonWriterTest extends AbstractFormatterTest {
+
+    private static final Node NODE = when(mock(Node.class).id()).thenReturn("gateway-id").getMock();
+    private static final Map<String, Object> OPTIONS = Map.of("index", "gravitee-request-2023.08.28", "pipeline", "my-pipeline");
+
+    @Override
+    protected Type type() {
+        return Type.ELASTICSEARCH;
+    }
+
+    @Override
+    protected void resetFormatter() {
+        formatter = new ElasticsearchFormatter<>(NODE, 9, true);
+    }
+
+    @CsvSource(
+        {
+            "metrics, http.Metrics, metrics.json, elasticsearch/metrics.json",
+            "metrics with additional, http.Metrics, metrics-with-additional.json, elasticsearch/metrics-with-additional.json",
+            "v4 metrics, v4.metric.Metrics, v4/metrics.json, elasticsearch/v4/metrics.json",
+            "v4 metrics with invalid remote address, v4.metric.Metrics, v4/metrics-with-invalid-remote-address.json, elasticsearch/v4/metrics-with-invalid-remote-address.json",
+            "v4 metrics with null transaction id, v4.metric.Metrics, v4/metrics-with-null-transaction-id.json, elasticsearch/v4/metrics-with-null-transaction-id.json",
+            "v4 metrics with warnings, v4.metric.Metrics, v4/metrics-with-warnings.json, elasticsearch/v4/metrics-with-warnings.json",
+            "v4 metrics with additional, v4.metric.Metrics, v4/metrics-with-additional.json, elasticsearch/v4/metrics-with-additional.json",
+        }
+    )
+    @ParameterizedTest(name = "{0}")
+    void should_format(String testName, String className, String input, String output) throws IOException {
+        try (var javaTime = mockStatic(ZoneId.class)) {
+            javaTime.when(ZoneId::systemDefault).thenReturn(ZoneId.of("UTC"));
+
+            resetFormatter();
+
+            var given = readGiven(input, className);
+            var expected = readExpected(output);
+
+            assertThat(JSON.readTree(formatter.format(given).getBytes())).usingRecursiveComparison().isEqualTo(JSON.readTree(expected));
+        }
+    }
+
+    @CsvSource(
+        {
+            "metrics, http.Metrics, metrics.json, elasticsearch/metrics.jsonl",
+            "metrics with additional, http.Metrics, metrics-with-additional.json, elasticsearch/metrics-with-additional.jsonl",
+            "v4 metrics, v4.metric.Metrics, v4/metrics.json, elasticsearch/v4/metrics.jsonl",
+            "v4 metrics with invalid remote address, v4.metric.Metrics, v4/metrics-with-invalid-remote-address.json, elasticsearch/v4/metrics-with-invalid-remote-address.jsonl",
+            "v4 metrics with null transaction id, v4.metric.Metrics, v4/metrics-with-null-transaction-id.json, elasticsearch/v4/metrics-with-null-transaction-id.jsonl",
+        }
+    )
+    @ParameterizedTest(name = "{0}")
+    void should_format_with_options(String testName, String className, String input, String output) throws IOException {
+        try (var javaTime = mockStatic(ZoneId.class)) {
+            javaTime.when(ZoneId::systemDefault).thenReturn(ZoneId.of("UTC"));
+
+            resetFormatter();
+
+            var options = Map.<String, Object>of("index", "gravitee-" + className + "-2023.08.28", "pipeline", "my-pipeline");
+            var given = readGiven(input, className);
+            var expected = readExpected(output);
+
+            assertThat(JSON_LINES.readLines(formatter.format(given, options).getBytes()))
+                .usingRecursiveComparison()
+                .isEqualTo(JSON_LINES.readLines(expected));
+        }
+    }
+
+    @CsvSource(
+        {
+            "7, http.Metrics, metrics-with-additional.json",
+            "8, http.Metrics, metrics-with-additional.json",
+            "9, http.Metrics, metrics-with-additional.json",
+            "7, v4.metric.Metrics, v4/metrics-with-additional.json",
+            "8, v4.metric.Metrics, v4/metrics-with-warnings.json",
+            "9, v4.metric.Metrics, v4/metrics.json",
+        }
+    )
+    @ParameterizedTest(name = "es{0}x {1}")
+    void should_write_the_same_fields_in_the_same_order_as_the_template(int version, String className, String input) throws IOException {
+        var templated = new ElasticsearchFormatter<Reportable>(NODE, version, false);
+        var streamed = new ElasticsearchFormatter<Reportable>(NODE, version, true);
+
+        for (var options : List.of(Map.<String, Object>of(), OPTIONS)) {
+            var expected = JSON_LINES.readLines(templated.format(readGiven(input, className), options).getBytes());
+            var actual = JSON_LINES.readLines(streamed.format(readGiven(input, className), options).getBytes());
+
+            assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+            assertThat(actual)
+                .map(ElasticsearchJsonWriterTest::fieldNames)
+                .isEqualTo(expected.stream().map(ElasticsearchJsonWriterTest::fieldNames).toList());
+        }
+    }
+
+    @Test
+    void should_escape_the_values_left_unescaped_by_the_template() throws IOException {
+        var metrics = readGiven("v4/metrics.json", Metrics.class);
+        metrics.setHost("local\"host");
+        metrics.setPathInfo("/path\\with\nbreak");
+
+        var document = JSON.readTree(formatter.format(metrics).getBytes());
+
+        assertThat(document.get("host").asText()).isEqualTo("local\"host");
+        assertThat(document.get("path-info").asText()).isEqualTo("/path\\with\nbreak");
+    }
+
+    @Test
+    void should_end_each_bulk_line_with_a_line_separator() {
+        var metrics = readGiven("v4/metrics.json", Metrics.class);
+
+        var lines = formatter.format(metrics, OPTIONS).toString().split("\n", -1);
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("{\"index\":{\"_index\":\"gravitee-request-2023.08.28\"");
+        assertThat(lines[1]).startsWith("{\"gateway\":\"gateway-id\"");
+        assertThat(lines[2]).isEmpty();
+    }
+
+    @Test
+    void should_create_the_rollups_in_their_data_stream_with_a_latency_histogram() throws IOException {
+        var sketch = new LatencySketch();
+        sketch.add(0);
+        sketch.add(100);
+        sketch.add(100);
+        var rollup = MetricsRollup
+            .builder()
+            .timestamp(Instant.parse("2023-08-28T10:00:00Z"))
+            .intervalMs(60_000)
+            .apiId("api-id")
+            .status(200)
+            .count(3)
+            .sampledCount(1)
+            .gatewayResponseTimeMsSum(200)
+            .gatewayResponseTimeMsMax(100)
+            .gatewayResponseTimeMs(sketch)
+            .build();
+
+        var lines = JSON_LINES.readLines(formatter.format(rollup, Map.of("index", "gravitee-rollup")).getBytes());
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("create").get("_index").asText()).isEqualTo("gravitee-rollup");
+        assertThat(lines.get(0).get("create").has("pipeline")).isFalse();
+        var document = lines.get(1);
+        assertThat(document.get("type").asText()).isEqualTo("rollup");
+        assertThat(document.get("api-id").asText()).isEqualTo("api-id");
+        assertThat(document.get("count").asLong()).isEqualTo(3);
+        assertThat(document.get("gateway-response-time-ms").get("values")).hasSize(2);
+        assertThat(document.get("gateway-response-time-ms").get("counts").get(0).asLong()).isEqualTo(1);
+        assertThat(document.get("gateway-response-time-ms").get("counts").get(1).asLong()).isEqualTo(2);
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        var names = new ArrayList<String>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
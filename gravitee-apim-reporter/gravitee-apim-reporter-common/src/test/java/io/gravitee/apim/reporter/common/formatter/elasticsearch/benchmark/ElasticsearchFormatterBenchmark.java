@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.apim.reporter.common.formatter.elasticsearch.benchmark;
+
+import static io.gravitee.apim.reporter.common.formatter.Mappers.JSON;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.apim.reporter.common.formatter.elasticsearch.ElasticsearchFormatter;
+import io.gravitee.node.api.Node;
+import io.gravitee.reporter.api.Reportable;
+import io.gravitee.reporter.api.http.Metrics;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measure the time and the allocations needed to turn the request metrics into ES bulk lines, with the FreeMarker
+ * templates and with the streaming writer. Should be run with the gc profiler (<code>-prof gc</code>), as done by
+ * {@link #main(String[])}.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class ElasticsearchFormatterBenchmark {
+
+    private static final String GIVEN_PATH = "io/gravitee/reporter/common/formatter/given/";
+    private static final Map<String, Object> OPTIONS = Map.of("index", "gravitee-request-2023.08.28", "pipeline", "my-pipeline");
+
+    private ElasticsearchFormatter<Reportable> templatedFormatter;
+    private ElasticsearchFormatter<Reportable> streamingFormatter;
+    private Metrics metrics;
+    private io.gravitee.reporter.api.v4.metric.Metrics v4Metrics;
+
+    // used to run benchmark directly from IDE
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(ElasticsearchFormatterBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .build();
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        final Node node = when(mock(Node.class).id()).thenReturn("gateway-id").getMock();
+        templatedFormatter = new ElasticsearchFormatter<>(node, 9, false);
+        streamingFormatter = new ElasticsearchFormatter<>(node, 9, true);
+        metrics = read("metrics-with-additional.json", Metrics.class);
+        v4Metrics = read("v4/metrics-with-additional.json", io.gravitee.reporter.api.v4.metric.Metrics.class);
+    }
+
+    @Benchmark
+    public void templated_metrics(Blackhole blackhole) {
+        blackhole.consume(templatedFormatter.format(metrics, OPTIONS));
+    }
+
+    @Benchmark
+    public void streamed_metrics(Blackhole blackhole) {
+        blackhole.consume(streamingFormatter.format(metrics, OPTIONS));
+    }
+
+    @Benchmark
+    public void templated_v4_metrics(Blackhole blackhole) {
+        blackhole.consume(templatedFormatter.format(v4Metrics, OPTIONS));
+    }
+
+    @Benchmark
+    public void streamed_v4_metrics(Blackhole blackhole) {
+        blackhole.consume(streamingFormatter.format(v4Metrics, OPTIONS));
+    }
+
+    private static <T> T read(String path, Class<T> clazz) throws IOException {
+        return JSON.readValue(ElasticsearchFormatterBenchmark.class.getClassLoader().getResourceAsStream(GIVEN_PATH + path), clazz);
+    }
+}
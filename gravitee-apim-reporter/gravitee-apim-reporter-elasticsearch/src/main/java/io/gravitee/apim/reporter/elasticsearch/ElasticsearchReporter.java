@@ -19,9 +19,12 @@ import io.gravitee.apim.reporter.common.MetricsType;
 import io.gravitee.apim.reporter.common.bulk.BulkProcessor;
 import io.gravitee.apim.reporter.common.bulk.backpressure.BulkDropper;
 import io.gravitee.apim.reporter.common.bulk.compressor.NoneBulkCompressor;
+import io.gravitee.apim.reporter.common.bulk.spool.BulkSpool;
+import io.gravitee.apim.reporter.common.bulk.spool.SpoolConfiguration;
 import io.gravitee.apim.reporter.common.formatter.FormatterFactory;
 import io.gravitee.apim.reporter.common.formatter.FormatterFactoryConfiguration;
 import io.gravitee.apim.reporter.common.formatter.Type;
+import io.gravitee.apim.reporter.common.rollup.MetricsRollup;
 import io.gravitee.apim.reporter.elasticsearch.bulk.ElasticBulkSender;
 import io.gravitee.apim.reporter.elasticsearch.bulk.ElasticBulkTransformer;
 import io.gravitee.apim.reporter.elasticsearch.config.PipelineConfiguration;
@@ -35,6 +38,7 @@ import io.gravitee.elasticsearch.client.Client;
 import io.gravitee.node.api.Node;
 import io.gravitee.reporter.api.Reportable;
 import io.gravitee.reporter.api.Reporter;
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 import lombok.CustomLog;
@@ -73,6 +77,7 @@ public class ElasticsearchReporter extends AbstractService<Reporter> implements
             for (MetricsType type : MetricsType.values()) {
                 acceptableReportables.add(type.getClazz());
             }
+            acceptableReportables.add(MetricsRollup.class);
 
             IndexPreparer preparer = beanFactory.createIndexPreparer(
                 reporterConfiguration,
@@ -92,7 +97,9 @@ public class ElasticsearchReporter extends AbstractService<Reporter> implements
                 })
                 .subscribe();
 
-            FormatterFactoryConfiguration formatterFactoryConfiguration = beanFactory.createFormatterFactoryConfiguration();
+            FormatterFactoryConfiguration formatterFactoryConfiguration = beanFactory.createFormatterFactoryConfiguration(
+                reporterConfiguration
+            );
             bulkProcessor = new BulkProcessor(
                 new ElasticBulkSender(client),
                 reporterConfiguration.getBulkConfiguration(),
@@ -102,12 +109,30 @@ public class ElasticsearchReporter extends AbstractService<Reporter> implements
                     beanFactory.createIndexNameGenerator(reporterConfiguration)
                 ),
                 new NoneBulkCompressor(),
-                new BulkDropper()
+                new BulkDropper(),
+                createBulkSpool()
             );
             bulkProcessor.start();
         }
     }
 
+    private BulkSpool createBulkSpool() {
+        final SpoolConfiguration spoolConfiguration = reporterConfiguration.getSpoolConfiguration();
+        if (spoolConfiguration == null) {
+            return null;
+        }
+        try {
+            return new BulkSpool(spoolConfiguration);
+        } catch (IOException e) {
+            log.error(
+                "Unable to open the spool [{}], reports will be dropped while Elasticsearch is unavailable",
+                spoolConfiguration.directory(),
+                e
+            );
+            return null;
+        }
+    }
+
     @Override
     public void report(Reportable reportable) {
         if (reporterConfiguration.isEnabled()) {
@@ -18,8 +18,10 @@ package io.gravitee.apim.reporter.elasticsearch.config;
 import static java.lang.String.format;
 
 import io.gravitee.apim.reporter.common.bulk.BulkConfiguration;
+import io.gravitee.apim.reporter.common.bulk.spool.SpoolConfiguration;
 import io.gravitee.common.util.EnvironmentUtils;
 import io.gravitee.elasticsearch.config.Endpoint;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,6 +45,7 @@ public class ReporterConfiguration {
     public static final String DEFAULT_INDEX_MODE = "daily";
     public static final int DEFAULT_BULK_ACTIONS = 1000;
     public static final long DEFAULT_BULK_FLUSH_INTERVAL = 5L;
+    public static final int DEFAULT_BULK_WORKERS = 1;
     public static final long DEFAULT_REQUEST_TIMEOUT = 30000L;
     public static final String DEFAULT_PROXY_TYPE = "HTTP";
     public static final String DEFAULT_PROXY_HTTP_HOST = "localhost";
@@ -53,6 +56,8 @@ public class ReporterConfiguration {
     public static final int DEFAULT_NUMBER_OF_REPLICAS = 1;
     public static final String DEFAULT_REFRESH_INTERVAL = "5s";
     public static final boolean DEFAULT_ENABLED = true;
+    public static final boolean DEFAULT_STREAMING_WRITER_ENABLED = false;
+    public static final boolean DEFAULT_SPOOL_ENABLED = false;
     public static final String DEFAULT_INDEX_LIFECYCLE_POLICY_PROPERTY_NAME = "index.lifecycle.name";
     public static final String DEFAULT_INDEX_LIFECYCLE_ROLLOVER_ALIAS_PROPERTY_NAME = "index.lifecycle.rollover_alias";
 
@@ -89,6 +94,12 @@ public class ReporterConfiguration {
     @Value("${reporters.elasticsearch.bulk.flush_interval:" + DEFAULT_BULK_FLUSH_INTERVAL + "}")
     private Long flushInterval = DEFAULT_BULK_FLUSH_INTERVAL;
 
+    /**
+     * Number of workers transforming the reports into bulks, each of them building its own bulks
+     */
+    @Value("${reporters.elasticsearch.bulk.workers:" + DEFAULT_BULK_WORKERS + "}")
+    private Integer bulkWorkers = DEFAULT_BULK_WORKERS;
+
     /**
      * Elasticsearch basic oauth login.
      */
@@ -183,6 +194,30 @@ public class ReporterConfiguration {
     @Value("${reporters.elasticsearch.enabled:" + DEFAULT_ENABLED + "}")
     private boolean enabled = DEFAULT_ENABLED;
 
+    /**
+     * Write the request metrics with a streaming JSON generator instead of their FreeMarker template.
+     */
+    @Value("${reporters.elasticsearch.streaming_writer.enabled:" + DEFAULT_STREAMING_WRITER_ENABLED + "}")
+    private boolean streamingWriterEnabled = DEFAULT_STREAMING_WRITER_ENABLED;
+
+    /**
+     * Spool the bulks to disk while Elasticsearch is unavailable, instead of dropping them.
+     */
+    @Value("${reporters.elasticsearch.spool.enabled:" + DEFAULT_SPOOL_ENABLED + "}")
+    private boolean spoolEnabled = DEFAULT_SPOOL_ENABLED;
+
+    @Value("${reporters.elasticsearch.spool.path:#{systemProperties['gravitee.home'] ?: '.'}/data/reporter/elasticsearch}")
+    private String spoolPath;
+
+    @Value("${reporters.elasticsearch.spool.max_size:#{null}}")
+    private Long spoolMaxSize;
+
+    @Value("${reporters.elasticsearch.spool.segment_size:#{null}}")
+    private Integer spoolSegmentSize;
+
+    @Value("${reporters.elasticsearch.spool.replay_interval:#{null}}")
+    private Long spoolReplayInterval;
+
     /**
      * Elasticsearch endpoints
      */
@@ -255,7 +290,29 @@ public class ReporterConfiguration {
     }
 
     public BulkConfiguration getBulkConfiguration() {
-        return new BulkConfiguration(bulkActions, flushInterval, null, null, null, null, null);
+        return new BulkConfiguration(bulkActions, flushInterval, null, null, null, null, null, bulkWorkers);
+    }
+
+    /**
+     * @return the configuration of the spool, or <code>null</code> when it is disabled.
+     */
+    public SpoolConfiguration getSpoolConfiguration() {
+        if (!spoolEnabled) {
+            return null;
+        }
+        return new SpoolConfiguration(Path.of(spoolPath), spoolMaxSize, spoolSegmentSize, spoolReplayInterval);
+    }
+
+    public boolean isSpoolEnabled() {
+        return spoolEnabled;
+    }
+
+    public void setSpoolEnabled(boolean spoolEnabled) {
+        this.spoolEnabled = spoolEnabled;
+    }
+
+    public void setSpoolPath(String spoolPath) {
+        this.spoolPath = spoolPath;
     }
 
     public Integer getBulkActions() {
@@ -278,6 +335,14 @@ public class ReporterConfiguration {
         return flushInterval;
     }
 
+    public Integer getBulkWorkers() {
+        return bulkWorkers;
+    }
+
+    public void setBulkWorkers(Integer bulkWorkers) {
+        this.bulkWorkers = bulkWorkers;
+    }
+
     public String getIndexName() {
         return indexName;
     }
@@ -397,6 +462,14 @@ public class ReporterConfiguration {
         this.enabled = enabled;
     }
 
+    public boolean isStreamingWriterEnabled() {
+        return streamingWriterEnabled;
+    }
+
+    public void setStreamingWriterEnabled(boolean streamingWriterEnabled) {
+        this.streamingWriterEnabled = streamingWriterEnabled;
+    }
+
     public boolean isPerTypeIndex() {
         return perTypeIndex;
     }
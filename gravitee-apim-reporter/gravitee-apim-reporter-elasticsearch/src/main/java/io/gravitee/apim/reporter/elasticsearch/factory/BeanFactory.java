@@ -30,7 +30,7 @@ import io.gravitee.elasticsearch.client.Client;
 public interface BeanFactory {
     IndexNameGenerator createIndexNameGenerator(final ReporterConfiguration configuration);
 
-    FormatterFactoryConfiguration createFormatterFactoryConfiguration();
+    FormatterFactoryConfiguration createFormatterFactoryConfiguration(final ReporterConfiguration configuration);
 
     IndexPreparer createIndexPreparer(
         final ReporterConfiguration configuration,
@@ -41,8 +41,11 @@ public class Elastic8xBeanFactory implements BeanFactory {
     }
 
     @Override
-    public FormatterFactoryConfiguration createFormatterFactoryConfiguration() {
-        return FormatterFactoryConfiguration.builder().elasticSearchVersion(8).build();
+    public FormatterFactoryConfiguration createFormatterFactoryConfiguration(final ReporterConfiguration configuration) {
+        return FormatterFactoryConfiguration.builder()
+            .elasticSearchVersion(8)
+            .elasticSearchStreamingWriter(configuration.isStreamingWriterEnabled())
+            .build();
     }
 
     @Override
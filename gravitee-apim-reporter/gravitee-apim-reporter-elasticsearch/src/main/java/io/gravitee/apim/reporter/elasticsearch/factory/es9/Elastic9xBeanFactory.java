@@ -40,8 +40,11 @@ public class Elastic9xBeanFactory implements BeanFactory {
     }
 
     @Override
-    public FormatterFactoryConfiguration createFormatterFactoryConfiguration() {
-        return FormatterFactoryConfiguration.builder().elasticSearchVersion(9).build();
+    public FormatterFactoryConfiguration createFormatterFactoryConfiguration(final ReporterConfiguration configuration) {
+        return FormatterFactoryConfiguration.builder()
+            .elasticSearchVersion(9)
+            .elasticSearchStreamingWriter(configuration.isStreamingWriterEnabled())
+            .build();
     }
 
     @Override
@@ -43,8 +43,11 @@ public class OpenSearchBeanFactory implements BeanFactory {
     }
 
     @Override
-    public FormatterFactoryConfiguration createFormatterFactoryConfiguration() {
-        return FormatterFactoryConfiguration.builder().elasticSearchVersion(7).build();
+    public FormatterFactoryConfiguration createFormatterFactoryConfiguration(final ReporterConfiguration configuration) {
+        return FormatterFactoryConfiguration.builder()
+            .elasticSearchVersion(7)
+            .elasticSearchStreamingWriter(configuration.isStreamingWriterEnabled())
+            .build();
     }
 
     @Override
@@ -15,6 +15,7 @@
  */
 package io.gravitee.apim.reporter.elasticsearch.indexer;
 
+import io.gravitee.apim.reporter.common.rollup.MetricsRollup;
 import io.gravitee.apim.reporter.elasticsearch.config.ReporterConfiguration;
 import io.gravitee.elasticsearch.utils.Type;
 import io.gravitee.reporter.api.Reportable;
@@ -56,6 +57,8 @@ public abstract class AbstractPerTypeIndexNameGenerator extends AbstractIndexNam
             type = Type.V4_MESSAGE_LOG.getType();
         } else if (reportable instanceof io.gravitee.reporter.api.v4.metric.event.BaseEventMetrics) {
             type = Type.EVENT_METRICS.getType();
+        } else if (reportable instanceof MetricsRollup) {
+            type = MetricsRollup.TYPE;
         }
 
         return generate(type, reportable.timestamp());
@@ -15,6 +15,7 @@
  */
 package io.gravitee.apim.reporter.elasticsearch.mapping;
 
+import io.gravitee.apim.reporter.common.rollup.MetricsRollup;
 import io.gravitee.apim.reporter.elasticsearch.config.PipelineConfiguration;
 import io.gravitee.apim.reporter.elasticsearch.config.ReporterConfiguration;
 import io.gravitee.common.templating.FreeMarkerComponent;
@@ -53,21 +54,26 @@ public abstract class AbstractIndexPreparer implements IndexPreparer {
     private static final String FTL_EXTENSION = ".ftl";
 
     protected Completable indexMapping() {
-        return Completable.merge(Flowable.fromArray(Type.TYPES).map(indexTypeMapper()));
+        return Completable.merge(Flowable.fromArray(Type.TYPES).map(indexTypeMapper())).mergeWith(indexTemplate(MetricsRollup.TYPE, true));
     }
 
     /**
      * Index mapping for a single {@link Type}.
      */
     protected Function<Type, CompletableSource> indexTypeMapper() {
-        return type -> {
-            final String typeName = type.getType();
-            boolean dataStream = type.isDataStream();
+        return type -> indexTemplate(type.getType(), type.isDataStream());
+    }
+
+    /**
+     * Index mapping for a type of document, which may not be one of the {@link Type}s, e.g. the {@link MetricsRollup}s.
+     */
+    protected Completable indexTemplate(final String typeName, final boolean dataStream) {
+        return Completable.defer(() -> {
             final String templateName = configuration.getIndexName() + '-' + typeName;
             final String aliasName = configuration.getIndexName() + '-' + typeName;
 
             log.debug("Trying to put template mapping for type[{}] name[{}]", typeName, templateName);
-            final String template = generateIndexTemplate(type);
+            final String template = generateIndexTemplate(typeName);
 
             final Completable templateCreationCompletable = useOldClient(dataStream)
                 ? client.putTemplate(templateName, template)
@@ -77,7 +83,7 @@ public abstract class AbstractIndexPreparer implements IndexPreparer {
                 return templateCreationCompletable.andThen(ensureAlias(aliasName));
             }
             return templateCreationCompletable;
-        };
+        });
     }
 
     protected Completable pipeline() {
@@ -91,7 +97,10 @@ public abstract class AbstractIndexPreparer implements IndexPreparer {
     }
 
     public String generateIndexTemplate(Type type) {
-        final String typeName = type.getType();
+        return generateIndexTemplate(type.getType());
+    }
+
+    public String generateIndexTemplate(String typeName) {
         Map<String, Object> data = getTemplateData();
         data.put("indexName", configuration.getIndexName() + '-' + typeName);
 
@@ -0,0 +1,26 @@
+<#-- @ftlvariable name="histogramSupported" type="java.lang.Boolean" -->
+"properties": {
+    "gateway": { "type": "keyword" },
+    "type": { "type": "keyword" },
+    "@timestamp": { "type": "date" },
+    "org-id": { "type": "keyword" },
+    "env-id": { "type": "keyword" },
+    "api-id": { "type": "keyword" },
+    "plan-id": { "type": "keyword" },
+    "application-id": { "type": "keyword" },
+    "status": { "type": "integer" },
+    "interval-ms": { "type": "long" },
+    "count": { "type": "long" },
+    "sampled-count": { "type": "long" },
+    "gateway-response-time-ms-sum": { "type": "long" },
+    "gateway-response-time-ms-max": { "type": "long" },
+    <#if histogramSupported>
+    "gateway-response-time-ms": { "type": "histogram" },
+    <#else>
+    "gateway-response-time-ms": { "type": "object", "enabled": false },
+    </#if>
+    "endpoint-response-count": { "type": "long" },
+    "endpoint-response-time-ms-sum": { "type": "long" },
+    "request-content-length-sum": { "type": "long" },
+    "response-content-length-sum": { "type": "long" }
+}
@@ -0,0 +1,21 @@
+<#ftl output_format="JSON">
+<#-- OpenSearch has no histogram field type: the latency sketch is kept in the documents but not indexed -->
+<#assign histogramSupported = false>
+{
+    "index_patterns": ["${indexName}*"],
+    "data_stream": {},
+    "template": {
+        "settings": {
+            "index.number_of_shards":${numberOfShards},
+            "index.number_of_replicas":${numberOfReplicas},
+            "index.refresh_interval": "${refreshInterval}"
+        },
+        "mappings": {
+            <#include "../../common/mapping/rollup-mapping.ftl">
+        }
+    },
+    "priority": 9344594,
+    "_meta": {
+        "description": "Template for the request metrics rolled up by the gateways"
+    }
+}
@@ -17,6 +17,7 @@ package io.gravitee.apim.reporter.elasticsearch.mapping;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.gravitee.apim.reporter.common.rollup.MetricsRollup;
 import io.gravitee.apim.reporter.elasticsearch.config.PipelineConfiguration;
 import io.gravitee.apim.reporter.elasticsearch.config.ReporterConfiguration;
 import io.gravitee.apim.reporter.elasticsearch.mapping.es7.ES7IndexPreparer;
@@ -29,6 +30,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 /**
  * Asserts what the es{@code 7,8,9}x index templates actually render: the configured lifecycle property names
@@ -109,6 +111,15 @@ class IndexTemplateTest {
             .contains("\"bad\\\"policy\"");
     }
 
+    @ParameterizedTest(name = "{0} rollup template maps the latency sketch as a histogram")
+    @ValueSource(strings = { "es7x", "es8x", "es9x" })
+    void should_render_rollup_data_stream_template_with_histogram(String esDir) {
+        assertThat(preparerFor(esDir, configurationWithPolicies()).generateIndexTemplate(MetricsRollup.TYPE))
+            .contains("\"index_patterns\": [\"gravitee-rollup*\"]")
+            .contains("\"data_stream\": {}")
+            .contains("\"gateway-response-time-ms\": { \"type\": \"histogram\" }");
+    }
+
     private static ReporterConfiguration configurationWithPolicies() {
         var configuration = new ReporterConfiguration();
         configuration.setIndexLifecyclePolicyHealth("policy-health");
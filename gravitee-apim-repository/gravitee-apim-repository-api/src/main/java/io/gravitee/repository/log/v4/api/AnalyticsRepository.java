@@ -90,4 +90,9 @@ public interface AnalyticsRepository {
     TimeSeriesResult searchEventMetricsTimeSeries(QueryContext queryContext, TimeSeriesQuery query);
 
     FilterValuesResult searchFilterValues(QueryContext queryContext, FilterValuesQuery query);
+
+    /**
+     * Request metrics rolled up by the gateways, see {@code reporters.rollup} in the gateway configuration.
+     */
+    Optional<RollupAggregate> searchRollups(QueryContext queryContext, RollupQuery query);
 }
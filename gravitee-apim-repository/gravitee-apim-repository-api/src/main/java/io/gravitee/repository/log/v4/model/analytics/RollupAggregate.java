@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.log.v4.model.analytics;
+
+import java.util.Map;
+
+/**
+ * @param count number of requests, whether they have been reported as raw metrics or not.
+ * @param sampledCount number of requests also reported as raw metrics.
+ * @param gatewayResponseTimeMsPercentiles the gateway response time by percentile, empty when the storage cannot compute them.
+ * @param statusRanges number of requests by status range, e.g. <code>200.0-300.0</code>.
+ */
+public record RollupAggregate(
+    long count,
+    long sampledCount,
+    double averageGatewayResponseTimeMs,
+    long maxGatewayResponseTimeMs,
+    Map<Double, Double> gatewayResponseTimeMsPercentiles,
+    Map<String, Long> statusRanges
+) {}
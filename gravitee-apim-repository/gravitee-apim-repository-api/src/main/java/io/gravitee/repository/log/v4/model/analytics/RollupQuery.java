@@ -0,0 +1,26 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.log.v4.model.analytics;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Query of the request metrics rolled up by the gateways.
+ *
+ * @param percentiles the percentiles of the gateway response time to compute, e.g. 50, 95 and 99.
+ */
+public record RollupQuery(Optional<String> apiId, TimeRange timeRange, List<Double> percentiles) {}
@@ -18,6 +18,8 @@ package io.gravitee.repository.management.api;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.search.EventCriteria;
 import io.gravitee.repository.management.model.Event;
+import io.reactivex.rxjava3.core.Flowable;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,6 +27,11 @@ import java.util.List;
  * @author GraviteeSource Team
  */
 public interface EventLatestRepository {
+    /**
+     * Emitted first by {@link #changes()}, once the changes are actually listened to.
+     */
+    String CHANGES_LISTENED = "";
+
     /**
      * Search for latest {@link Event} matching the corresponding criteria for each event related to the specified group criteria (ex: 'api_id, 'dictionary_id').
      *
@@ -39,6 +46,45 @@ public interface EventLatestRepository {
      */
     List<Event> search(EventCriteria criteria, Event.EventProperties group, Long page, Long size);
 
+    /**
+     * Search for latest {@link Event} like {@link #search(EventCriteria, Event.EventProperties, Long, Long)}, one page at
+     * a time, but locating each page from the last event of the previous one (keyset pagination) rather than skipping
+     * all the previous pages: the cost of a page does not depend on its position.
+     *
+     * The events are sorted by update date then id, so the next page is made of the events updated after the given
+     * one, or updated at the same time with a greater id.
+     *
+     * The default implementation relies on the paged search and is only meant for repositories which do not support
+     * keyset pagination.
+     *
+     * @param criteria Event criteria to search for {@link Event}.
+     * @param group the property to search for in order to retrieve the latest event.
+     * @param after the last event of the previous page, <code>null</code> for the first page.
+     * @param size the number of events to retrieve.
+     *
+     * @return the page of latest events, with less than <code>size</code> events when it is the last one.
+     */
+    default List<Event> searchAfter(EventCriteria criteria, Event.EventProperties group, Event after, long size) {
+        if (after == null) {
+            return search(criteria, group, 0L, size);
+        }
+        final EventCriteria fromAfter = criteria.toBuilder().from(Math.max(criteria.getFrom(), after.getUpdatedAt().getTime())).build();
+        final List<Event> events = new ArrayList<>();
+        // The events updated at the same time as the last one of the previous page, but before it, must be skipped.
+        for (long page = 0; events.size() < size; page++) {
+            final List<Event> found = search(fromAfter, group, page, size);
+            for (Event event : found) {
+                if (events.size() < size && isAfter(event, after)) {
+                    events.add(event);
+                }
+            }
+            if (found.size() < size) {
+                break;
+            }
+        }
+        return events;
+    }
+
     /**
      * This method allows to create an event if it does not exist in database or update it if it's present (replace old values by new ones).
      *
@@ -69,4 +115,24 @@ public interface EventLatestRepository {
      * @return List of events
      */
     List<Event> findByOrganizationId(String organizationId);
+
+    /**
+     * Listen to the latest events being created, updated or deleted, so that they can be synchronized as soon as they
+     * are written instead of waiting for the next poll.
+     *
+     * Notifications are best effort: they may be coalesced, and the changes made while nobody is listening are not
+     * replayed. The returned flowable is blocking, it should be subscribed on a dedicated thread.
+     *
+     * @return a flowable emitting {@link #CHANGES_LISTENED} once the changes are listened to, then the id of each event
+     * written, failing when the connection used to listen is lost. It completes immediately when the repository is not
+     * able to notify changes, which is the default.
+     */
+    default Flowable<String> changes() {
+        return Flowable.empty();
+    }
+
+    private static boolean isAfter(final Event event, final Event after) {
+        final int comparison = event.getUpdatedAt().compareTo(after.getUpdatedAt());
+        return comparison > 0 || (comparison == 0 && event.getId().compareTo(after.getId()) > 0);
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.management.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compressed form of an {@link Event} payload: the deflated UTF-8 bytes of the payload, Base64 encoded so that it still
+ * fits the text column of every repository, behind the {@link #DEFLATE_PREFIX} marker.
+ *
+ * A JSON payload can never start with the marker, which makes {@link #decode(String)} safe to call on any payload,
+ * compressed or not, and lets the readers accept the events written before the compression was enabled.
+ *
+ * @author GraviteeSource Team
+ */
+public final class EventPayloadCodec {
+
+    public static final String DEFLATE_PREFIX = "gio+deflate:";
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private EventPayloadCodec() {}
+
+    public static boolean isCompressed(final String payload) {
+        return payload != null && payload.startsWith(DEFLATE_PREFIX);
+    }
+
+    /**
+     * @return the compressed payload, or the payload itself when it is <code>null</code> or already compressed.
+     */
+    public static String encode(final String payload) {
+        if (payload == null || isCompressed(payload)) {
+            return payload;
+        }
+        final byte[] input = payload.getBytes(StandardCharsets.UTF_8);
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(input.length / 4, 64));
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return DEFLATE_PREFIX + Base64.getEncoder().encodeToString(out.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @return the original payload of a compressed payload, or the payload itself when it is not compressed.
+     * @throws IllegalArgumentException when the payload has the compression marker but cannot be decompressed.
+     */
+    public static String decode(final String payload) {
+        if (!isCompressed(payload)) {
+            return payload;
+        }
+        final byte[] input = Base64.getDecoder().decode(payload.substring(DEFLATE_PREFIX.length()));
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                final int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated compressed event payload");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Invalid compressed event payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -17,6 +17,8 @@ package io.gravitee.repository.ratelimit.api;
 
 import io.gravitee.repository.ratelimit.model.RateLimit;
 import io.reactivex.rxjava3.core.Single;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
@@ -25,4 +27,42 @@ import java.util.function.Supplier;
  */
 public interface RateLimitRepository<T extends RateLimit> {
     Single<T> incrementAndGet(String key, long weight, Supplier<T> supplier);
+
+    /**
+     * Increment all the given counters at once, typically the different rate limits and quotas applied to the same request.
+     * Implementations talking to a remote store should override it to evaluate all the counters in a single round-trip,
+     * the default implementation issues the increments concurrently.
+     *
+     * @param increments the counters to increment.
+     * @return the counters, in the order of the increments; or a {@code null} reference when rate limiting is disabled
+     *         (the no-op backend), which callers must treat as pass-through — mirrors {@link #incrementAndGet}
+     */
+    @SuppressWarnings("unchecked")
+    default Single<List<T>> incrementAndGetAll(List<Increment<T>> increments) {
+        if (increments.isEmpty()) {
+            return Single.just(List.of());
+        }
+
+        final List<Single<T>> results = new ArrayList<>(increments.size());
+        for (Increment<T> increment : increments) {
+            final Single<T> result = incrementAndGet(increment.key(), increment.weight(), increment.supplier());
+            if (result == null) {
+                return null;
+            }
+            results.add(result);
+        }
+
+        return Single.zip(results, values -> {
+            final List<T> rateLimits = new ArrayList<>(values.length);
+            for (Object value : values) {
+                rateLimits.add((T) value);
+            }
+            return rateLimits;
+        });
+    }
+
+    /**
+     * An increment of {@link #incrementAndGetAll(List)}, same arguments as {@link #incrementAndGet(String, long, Supplier)}.
+     */
+    record Increment<T extends RateLimit>(String key, long weight, Supplier<T> supplier) {}
 }
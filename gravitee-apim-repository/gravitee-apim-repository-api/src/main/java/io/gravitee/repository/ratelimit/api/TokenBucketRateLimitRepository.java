@@ -17,6 +17,8 @@ package io.gravitee.repository.ratelimit.api;
 
 import io.gravitee.repository.ratelimit.model.TokenBucket;
 import io.reactivex.rxjava3.core.Single;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
@@ -55,4 +57,58 @@ public interface TokenBucketRateLimitRepository<T extends TokenBucket> {
         long nowMillis,
         Supplier<T> supplier
     );
+
+    /**
+     * Refill and try to consume all the given buckets at once, typically the different burst limits applied to the same
+     * request. Each bucket is evaluated independently, exactly as {@link #refillAndTryConsume} would do. Implementations
+     * talking to a remote store should override it to evaluate all the buckets in a single round-trip, the default
+     * implementation issues the operations concurrently.
+     *
+     * @param consumes  the buckets to consume.
+     * @param nowMillis caller-supplied current time, in epoch millis, shared by all the buckets
+     * @return the outcomes, in the order of the consumes; or a {@code null} reference when rate limiting is disabled
+     *         (the no-op backend), which callers must treat as pass-through
+     */
+    default Single<List<TokenBucketConsumeResult>> refillAndTryConsumeAll(List<Consume<T>> consumes, long nowMillis) {
+        if (consumes.isEmpty()) {
+            return Single.just(List.of());
+        }
+
+        final List<Single<TokenBucketConsumeResult>> results = new ArrayList<>(consumes.size());
+        for (Consume<T> consume : consumes) {
+            final Single<TokenBucketConsumeResult> result = refillAndTryConsume(
+                consume.key(),
+                consume.tokensRequested(),
+                consume.refillRate(),
+                consume.refillPeriodMillis(),
+                consume.capacity(),
+                nowMillis,
+                consume.supplier()
+            );
+            if (result == null) {
+                return null;
+            }
+            results.add(result);
+        }
+
+        return Single.zip(results, values -> {
+            final List<TokenBucketConsumeResult> outcomes = new ArrayList<>(values.length);
+            for (Object value : values) {
+                outcomes.add((TokenBucketConsumeResult) value);
+            }
+            return outcomes;
+        });
+    }
+
+    /**
+     * A bucket consumption of {@link #refillAndTryConsumeAll(List, long)}, same arguments as {@link #refillAndTryConsume}.
+     */
+    record Consume<T extends TokenBucket>(
+        String key,
+        long tokensRequested,
+        long refillRate,
+        long refillPeriodMillis,
+        long capacity,
+        Supplier<T> supplier
+    ) {}
 }
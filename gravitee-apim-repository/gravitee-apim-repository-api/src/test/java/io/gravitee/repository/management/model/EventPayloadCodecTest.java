@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.management.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class EventPayloadCodecTest {
+
+    private static final String PAYLOAD =
+        "{\"id\":\"api-id\",\"name\":\"My API é\",\"definition\":\"{\\\"plans\\\":[" +
+        "{\\\"id\\\":\\\"plan-1\\\",\\\"security\\\":\\\"KEY_LESS\\\"},".repeat(50) +
+        "{\\\"id\\\":\\\"plan-2\\\"}]}\"}";
+
+    @Test
+    void should_round_trip_payload() {
+        String encoded = EventPayloadCodec.encode(PAYLOAD);
+
+        assertThat(encoded).startsWith(EventPayloadCodec.DEFLATE_PREFIX);
+        assertThat(EventPayloadCodec.isCompressed(encoded)).isTrue();
+        assertThat(encoded.length()).isLessThan(PAYLOAD.length());
+        assertThat(EventPayloadCodec.decode(encoded)).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    void should_not_encode_twice() {
+        String encoded = EventPayloadCodec.encode(PAYLOAD);
+
+        assertThat(EventPayloadCodec.encode(encoded)).isEqualTo(encoded);
+    }
+
+    @Test
+    void should_leave_uncompressed_payload_untouched() {
+        assertThat(EventPayloadCodec.isCompressed(PAYLOAD)).isFalse();
+        assertThat(EventPayloadCodec.decode(PAYLOAD)).isSameAs(PAYLOAD);
+        assertThat(EventPayloadCodec.decode("")).isEmpty();
+    }
+
+    @Test
+    void should_keep_null_payload() {
+        assertThat(EventPayloadCodec.encode(null)).isNull();
+        assertThat(EventPayloadCodec.decode(null)).isNull();
+    }
+
+    @Test
+    void should_reject_corrupted_payload() {
+        String encoded = EventPayloadCodec.encode(PAYLOAD);
+        String truncated = encoded.substring(0, encoded.length() / 2 / 4 * 4);
+
+        assertThatThrownBy(() -> EventPayloadCodec.decode(truncated)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EventPayloadCodec.decode(EventPayloadCodec.DEFLATE_PREFIX + "not base64!")).isInstanceOf(
+            IllegalArgumentException.class
+        );
+    }
+}
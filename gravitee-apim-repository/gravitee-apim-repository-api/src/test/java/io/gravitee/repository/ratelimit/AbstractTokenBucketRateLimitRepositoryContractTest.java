@@ -17,6 +17,7 @@ package io.gravitee.repository.ratelimit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 import io.gravitee.repository.ratelimit.api.TokenBucketConsumeResult;
 import io.gravitee.repository.ratelimit.api.TokenBucketRateLimitRepository;
@@ -268,4 +269,33 @@ public abstract class AbstractTokenBucketRateLimitRepositoryContractTest {
 
         assertThat(allowed).hasValue(capacity);
     }
+
+    @Test
+    void batch_consumes_each_bucket_independently_and_keeps_the_order() {
+        // drain the single token of kb2 so that it rejects inside the batch while the other buckets allow
+        repository.refillAndTryConsume("kb2", 1, 0, 1_000L, 1, 1_000L, seed("kb2")).blockingGet();
+
+        List<TokenBucketConsumeResult> results = repository
+            .refillAndTryConsumeAll(
+                List.of(
+                    new TokenBucketRateLimitRepository.Consume<>("kb1", 1, 1, 1_000L, 5, seed("kb1")),
+                    new TokenBucketRateLimitRepository.Consume<>("kb2", 1, 0, 1_000L, 1, seed("kb2")),
+                    new TokenBucketRateLimitRepository.Consume<>("kb3", 3, 1, 1_000L, 10, seed("kb3"))
+                ),
+                1_000L
+            )
+            .blockingGet();
+
+        assertThat(results)
+            .extracting(TokenBucketConsumeResult::allowed, TokenBucketConsumeResult::remainingTokens)
+            .containsExactly(tuple(true, 4L), tuple(false, 0L), tuple(true, 7L));
+        // the batch and the single-key operations share the same buckets
+        TokenBucketConsumeResult next = repository.refillAndTryConsume("kb3", 1, 1, 1_000L, 10, 1_000L, seed("kb3")).blockingGet();
+        assertThat(next.remainingTokens()).isEqualTo(6);
+    }
+
+    @Test
+    void empty_batch_returns_no_result() {
+        assertThat(repository.refillAndTryConsumeAll(List.of(), 1_000L).blockingGet()).isEmpty();
+    }
 }
@@ -47,6 +47,11 @@ public class AnalyticsElasticsearchRepository extends AbstractElasticsearchRepos
     private final String[] clusters;
     private static final String KEYWORD = "keyword";
 
+    /**
+     * Type of the documents reported by the gateways when their request metrics are rolled up.
+     */
+    private static final String ROLLUP_TYPE = "rollup";
+
     private static final SearchResponseStatusOverTimeAdapter searchResponseStatusOverTimeAdapter =
         new SearchResponseStatusOverTimeAdapter();
 
@@ -458,6 +463,17 @@ public class AnalyticsElasticsearchRepository extends AbstractElasticsearchRepos
         return client.search(index, null, esQuery).map(filterValuesResponseAdapter::adapt).blockingGet();
     }
 
+    @Override
+    public Optional<RollupAggregate> searchRollups(QueryContext queryContext, RollupQuery query) {
+        // The rollups are written by the gateways in their own data stream, named after the metrics ones.
+        var index = this.indexNameGenerator.getWildcardIndexName(queryContext.placeholder(), Type.V4_METRICS, clusters)
+            .replace(Type.V4_METRICS.getType(), ROLLUP_TYPE);
+        var esQuery = SearchRollupsAdapter.adaptQuery(query);
+
+        log.debug("Search rollups query: {}", esQuery);
+        return client.search(index, null, esQuery).map(SearchRollupsAdapter::adaptResponse).blockingGet();
+    }
+
     private String getIndices(QueryContext queryContext, Collection<DefinitionVersion> definitionVersions) {
         var indexByVersion = Map.of(DefinitionVersion.V4, Type.V4_METRICS, DefinitionVersion.V2, Type.REQUEST);
         return definitionVersions
@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.elasticsearch.v4.analytics.adapter;
+
+import static io.gravitee.repository.elasticsearch.utils.ElasticsearchDsl.Aggs.MAX;
+import static io.gravitee.repository.elasticsearch.utils.ElasticsearchDsl.Aggs.SUM;
+import static io.gravitee.repository.elasticsearch.utils.ElasticsearchDsl.Keys.AGGS;
+import static io.gravitee.repository.elasticsearch.utils.ElasticsearchDsl.Keys.BOOL;
+import static io.gravitee.repository.elasticsearch.utils.ElasticsearchDsl.Keys.FILTER;
+import static io.gravitee.repository.elasticsearch.utils.ElasticsearchDsl.Keys.KEY;
+import static io.gravitee.repository.elasticsearch.utils.ElasticsearchDsl.Keys.QUERY;
+import static io.gravitee.repository.elasticsearch.utils.ElasticsearchDsl.Keys.SIZE;
+import static io.gravitee.repository.elasticsearch.utils.ElasticsearchDsl.Query.RANGE;
+import static io.gravitee.repository.elasticsearch.utils.ElasticsearchDsl.Query.TERM;
+import static io.gravitee.repository.elasticsearch.utils.ElasticsearchDsl.Tokens.FIELD;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.gravitee.elasticsearch.model.Aggregation;
+import io.gravitee.elasticsearch.model.SearchResponse;
+import io.gravitee.repository.log.v4.model.analytics.RollupAggregate;
+import io.gravitee.repository.log.v4.model.analytics.RollupQuery;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sum the rollups reported by the gateways. Each rollup stands for <code>count</code> requests, so the counts are summed
+ * rather than taken from the number of documents, and the percentiles are computed on the merged latency histograms.
+ * The rollups are filtered on their type, as they share their index with all the other documents when the reporter does
+ * not use an index per type.
+ *
+ * @author GraviteeSource Team
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SearchRollupsAdapter {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static final String COUNT_AGG = "count";
+    static final String SAMPLED_COUNT_AGG = "sampled_count";
+    static final String RESPONSE_TIME_SUM_AGG = "gateway_response_time_sum";
+    static final String RESPONSE_TIME_MAX_AGG = "gateway_response_time_max";
+    static final String RESPONSE_TIME_PERCENTILES_AGG = "gateway_response_time_percentiles";
+    static final String STATUS_RANGES_AGG = "status_ranges";
+    static final String ROLLUP_TYPE = "rollup";
+
+    public static String adaptQuery(RollupQuery query) {
+        var filters = array();
+        query.apiId().ifPresent(apiId -> filters.add(json().set(TERM, json().put("api-id", apiId))));
+        filters.add(TimeRangeAdapter.toRangeNode(query.timeRange()));
+        filters.add(json().set(TERM, json().put("type", ROLLUP_TYPE)));
+
+        var aggs = json()
+            .<ObjectNode>set(COUNT_AGG, sum("count"))
+            .<ObjectNode>set(SAMPLED_COUNT_AGG, sum("sampled-count"))
+            .<ObjectNode>set(RESPONSE_TIME_SUM_AGG, sum("gateway-response-time-ms-sum"))
+            .<ObjectNode>set(RESPONSE_TIME_MAX_AGG, json().set(MAX, json().put(FIELD, "gateway-response-time-ms-max")))
+            .set(STATUS_RANGES_AGG, statusRanges());
+        if (query.percentiles() != null && !query.percentiles().isEmpty()) {
+            var percents = array();
+            query.percentiles().forEach(percents::add);
+            aggs.set(
+                RESPONSE_TIME_PERCENTILES_AGG,
+                json().set("percentiles", json().put(FIELD, "gateway-response-time-ms").set("percents", percents))
+            );
+        }
+
+        return json()
+            .put(SIZE, 0)
+            .<ObjectNode>set(QUERY, json().set(BOOL, json().set(FILTER, filters)))
+            .set(AGGS, aggs)
+            .toString();
+    }
+
+    public static Optional<RollupAggregate> adaptResponse(SearchResponse response) {
+        if (response == null || response.getAggregations() == null || response.getAggregations().isEmpty()) {
+            return Optional.empty();
+        }
+        final Map<String, Aggregation> aggregations = response.getAggregations();
+        final long count = longValue(aggregations.get(COUNT_AGG));
+        final long responseTimeSum = longValue(aggregations.get(RESPONSE_TIME_SUM_AGG));
+
+        // Unmapped on OpenSearch, which has no histogram field: the percentiles come back without value.
+        final Map<Double, Double> percentiles = new LinkedHashMap<>();
+        final Aggregation percentilesAggregation = aggregations.get(RESPONSE_TIME_PERCENTILES_AGG);
+        if (percentilesAggregation != null && percentilesAggregation.getValues() != null) {
+            percentilesAggregation
+                .getValues()
+                .forEach((percentile, value) -> {
+                    if (value != null) {
+                        percentiles.put(Double.valueOf(percentile), value);
+                    }
+                });
+        }
+
+        final Map<String, Long> statusRanges = new LinkedHashMap<>();
+        final Aggregation statusRangesAggregation = aggregations.get(STATUS_RANGES_AGG);
+        if (statusRangesAggregation != null && statusRangesAggregation.getBuckets() != null) {
+            statusRangesAggregation
+                .getBuckets()
+                .forEach(bucket -> statusRanges.put(bucket.get(KEY).asText(), bucket.path(COUNT_AGG).path("value").asLong()));
+        }
+
+        return Optional.of(
+            new RollupAggregate(
+                count,
+                longValue(aggregations.get(SAMPLED_COUNT_AGG)),
+                count == 0 ? 0 : (double) responseTimeSum / count,
+                longValue(aggregations.get(RESPONSE_TIME_MAX_AGG)),
+                percentiles,
+                statusRanges
+            )
+        );
+    }
+
+    private static ObjectNode statusRanges() {
+        return json()
+            .<ObjectNode>set(
+                RANGE,
+                json()
+                    .put(FIELD, "status")
+                    .set(
+                        "ranges",
+                        array()
+                            .add(json().put("from", 100.0).put("to", 200.0))
+                            .add(json().put("from", 200.0).put("to", 300.0))
+                            .add(json().put("from", 300.0).put("to", 400.0))
+                            .add(json().put("from", 400.0).put("to", 500.0))
+                            .add(json().put("from", 500.0).put("to", 600.0))
+                    )
+            )
+            // A rollup stands for several requests: count them rather than the documents.
+            .set(AGGS, json().set(COUNT_AGG, sum("count")));
+    }
+
+    private static ObjectNode sum(String field) {
+        return json().set(SUM, json().put(FIELD, field));
+    }
+
+    private static long longValue(Aggregation aggregation) {
+        return aggregation == null || aggregation.getValue() == null ? 0 : aggregation.getValue().longValue();
+    }
+
+    private static ObjectNode json() {
+        return MAPPER.createObjectNode();
+    }
+
+    private static ArrayNode array() {
+        return MAPPER.createArrayNode();
+    }
+}
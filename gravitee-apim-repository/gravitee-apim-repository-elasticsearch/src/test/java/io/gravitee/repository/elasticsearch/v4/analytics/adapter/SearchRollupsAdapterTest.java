@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.elasticsearch.v4.analytics.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.elasticsearch.model.Aggregation;
+import io.gravitee.elasticsearch.model.SearchResponse;
+import io.gravitee.repository.log.v4.model.analytics.RollupQuery;
+import io.gravitee.repository.log.v4.model.analytics.TimeRange;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+class SearchRollupsAdapterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String API_ID = "api-123";
+    private static final long FROM = 1700000000000L;
+    private static final long TO = 1700003600000L;
+
+    @Nested
+    class AdaptQuery {
+
+        @Test
+        void should_sum_the_rollups_of_an_api() throws Exception {
+            var query = new RollupQuery(
+                Optional.of(API_ID),
+                new TimeRange(Instant.ofEpochMilli(FROM), Instant.ofEpochMilli(TO)),
+                List.of(50.0, 99.0)
+            );
+
+            JsonNode node = MAPPER.readTree(SearchRollupsAdapter.adaptQuery(query));
+
+            assertThat(node.get("size").asInt()).isZero();
+            assertThat(node.at("/query/bool/filter/0/term/api-id").asText()).isEqualTo(API_ID);
+            assertThat(node.at("/query/bool/filter/1/range/@timestamp/gte").asLong()).isEqualTo(FROM);
+            assertThat(node.at("/query/bool/filter/2/term/type").asText()).isEqualTo("rollup");
+            assertThat(node.at("/aggs/count/sum/field").asText()).isEqualTo("count");
+            assertThat(node.at("/aggs/gateway_response_time_max/max/field").asText()).isEqualTo("gateway-response-time-ms-max");
+            assertThat(node.at("/aggs/gateway_response_time_percentiles/percentiles/field").asText()).isEqualTo("gateway-response-time-ms");
+            assertThat(node.at("/aggs/gateway_response_time_percentiles/percentiles/percents")).hasSize(2);
+            assertThat(node.at("/aggs/status_ranges/aggs/count/sum/field").asText()).isEqualTo("count");
+        }
+
+        @Test
+        void should_not_compute_percentiles_when_none_is_requested() throws Exception {
+            var query = new RollupQuery(Optional.empty(), new TimeRange(Instant.ofEpochMilli(FROM), Instant.ofEpochMilli(TO)), List.of());
+
+            JsonNode node = MAPPER.readTree(SearchRollupsAdapter.adaptQuery(query));
+
+            assertThat(node.at("/query/bool/filter/0/range/@timestamp/lte").asLong()).isEqualTo(TO);
+            assertThat(node.at("/aggs").has("gateway_response_time_percentiles")).isFalse();
+        }
+
+        @Test
+        void should_only_aggregate_the_rollups_when_sharing_an_index_with_other_types() throws Exception {
+            var query = new RollupQuery(Optional.empty(), new TimeRange(Instant.ofEpochMilli(FROM), Instant.ofEpochMilli(TO)), List.of());
+
+            JsonNode node = MAPPER.readTree(SearchRollupsAdapter.adaptQuery(query));
+
+            assertThat(node.at("/query/bool/filter")).hasSize(2);
+            assertThat(node.at("/query/bool/filter/1/term/type").asText()).isEqualTo("rollup");
+        }
+    }
+
+    @Nested
+    class AdaptResponse {
+
+        @Test
+        void should_return_empty_without_aggregations() {
+            assertThat(SearchRollupsAdapter.adaptResponse(new SearchResponse())).isEmpty();
+        }
+
+        @Test
+        void should_adapt_the_summed_rollups() throws Exception {
+            var percentiles = new Aggregation();
+            var values = new LinkedHashMap<String, Double>();
+            values.put("50.0", 12.0);
+            values.put("99.0", 250.0);
+            percentiles.setValues(values);
+
+            var statusRanges = new Aggregation();
+            statusRanges.setBuckets(
+                List.of(
+                    MAPPER.readTree("{\"key\":\"200.0-300.0\",\"doc_count\":2,\"count\":{\"value\":90.0}}"),
+                    MAPPER.readTree("{\"key\":\"500.0-600.0\",\"doc_count\":1,\"count\":{\"value\":10.0}}")
+                )
+            );
+
+            var aggregations = new HashMap<String, Aggregation>();
+            aggregations.put("count", value(100.0));
+            aggregations.put("sampled_count", value(1.0));
+            aggregations.put("gateway_response_time_sum", value(2500.0));
+            aggregations.put("gateway_response_time_max", value(300.0));
+            aggregations.put("gateway_response_time_percentiles", percentiles);
+            aggregations.put("status_ranges", statusRanges);
+            var response = new SearchResponse();
+            response.setAggregations(aggregations);
+
+            var result = SearchRollupsAdapter.adaptResponse(response);
+
+            assertThat(result).isPresent();
+            var rollups = result.get();
+            assertThat(rollups.count()).isEqualTo(100);
+            assertThat(rollups.sampledCount()).isEqualTo(1);
+            assertThat(rollups.averageGatewayResponseTimeMs()).isEqualTo(25.0);
+            assertThat(rollups.maxGatewayResponseTimeMs()).isEqualTo(300);
+            assertThat(rollups.gatewayResponseTimeMsPercentiles()).isEqualTo(Map.of(50.0, 12.0, 99.0, 250.0));
+            assertThat(rollups.statusRanges()).isEqualTo(Map.of("200.0-300.0", 90L, "500.0-600.0", 10L));
+        }
+    }
+
+    private static Aggregation value(double value) {
+        var aggregation = new Aggregation();
+        aggregation.setValue(value);
+        return aggregation;
+    }
+}
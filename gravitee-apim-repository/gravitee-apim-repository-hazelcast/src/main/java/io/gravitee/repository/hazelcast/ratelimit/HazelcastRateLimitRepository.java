@@ -19,6 +19,10 @@ import com.hazelcast.map.IMap;
 import io.gravitee.repository.ratelimit.api.RateLimitRepository;
 import io.gravitee.repository.ratelimit.model.RateLimit;
 import io.reactivex.rxjava3.core.Single;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 import lombok.CustomLog;
 import lombok.RequiredArgsConstructor;
@@ -53,4 +57,42 @@ public final class HazelcastRateLimitRepository implements RateLimitRepository<R
             counters.submitToKey(key, new IncrementAndGetEntryProcessor(weight, defaultIfAbsent, now))
         ).doOnError(t -> log.warn("Hazelcast rate-limit increment failed for key={}", key, t));
     }
+
+    /**
+     * Increment all the counters with a single {@link IMap#submitToKeys} call running an
+     * {@link IncrementAllAndGetEntryProcessor}: one operation per partition owning some of the keys, all sent at once.
+     *
+     * <p>The {@code supplier} of a key is invoked once, for its first increment.
+     */
+    @Override
+    public Single<List<RateLimit>> incrementAndGetAll(List<Increment<RateLimit>> increments) {
+        if (increments.isEmpty()) {
+            return Single.just(List.of());
+        }
+
+        final Map<String, List<Long>> weightsByKey = new HashMap<>();
+        final Map<String, RateLimit> defaultsIfAbsent = new HashMap<>();
+        for (Increment<RateLimit> increment : increments) {
+            weightsByKey.computeIfAbsent(increment.key(), key -> new ArrayList<>()).add(increment.weight());
+            defaultsIfAbsent.computeIfAbsent(increment.key(), key -> increment.supplier().get());
+        }
+        final Map<String, long[]> weights = new HashMap<>();
+        weightsByKey.forEach((key, keyWeights) -> weights.put(key, keyWeights.stream().mapToLong(Long::longValue).toArray()));
+        long now = System.currentTimeMillis();
+
+        return Single.fromCompletionStage(
+            counters.submitToKeys(weights.keySet(), new IncrementAllAndGetEntryProcessor(weights, defaultsIfAbsent, now))
+        )
+            .map(results -> {
+                // Map the results back in the order of the increments, the n-th increment of a key getting its n-th result.
+                final Map<String, Integer> positions = new HashMap<>();
+                final List<RateLimit> rateLimits = new ArrayList<>(increments.size());
+                for (Increment<RateLimit> increment : increments) {
+                    final int position = positions.merge(increment.key(), 1, Integer::sum) - 1;
+                    rateLimits.add(results.get(increment.key())[position]);
+                }
+                return rateLimits;
+            })
+            .doOnError(t -> log.warn("Hazelcast rate-limit batch increment failed for keys={}", weights.keySet(), t));
+    }
 }
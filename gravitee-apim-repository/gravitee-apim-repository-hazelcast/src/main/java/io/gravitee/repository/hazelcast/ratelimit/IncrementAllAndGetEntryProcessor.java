@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.hazelcast.ratelimit;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
+import io.gravitee.repository.ratelimit.model.RateLimit;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch counterpart of {@link IncrementAndGetEntryProcessor}, submitted once with {@code IMap#submitToKeys} for all the
+ * counters touched by a request: Hazelcast runs a single operation per partition instead of one per counter.
+ *
+ * <p>A key may be incremented several times in the same batch, the increments are applied in order and the processor
+ * returns the counter as it was after each of them, exactly as successive {@link IncrementAndGetEntryProcessor} calls.
+ */
+public final class IncrementAllAndGetEntryProcessor implements EntryProcessor<String, RateLimit, RateLimit[]>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HashMap<String, long[]> weights;
+    private final HashMap<String, RateLimit> defaultsIfAbsent;
+    private final long now;
+
+    /**
+     * @param weights the weights of the increments of each key, in order.
+     * @param defaultsIfAbsent the seed of each key, used when no live entry exists.
+     * @param now the current time, captured by the caller so that backup members reach the same value as the primary.
+     */
+    public IncrementAllAndGetEntryProcessor(Map<String, long[]> weights, Map<String, RateLimit> defaultsIfAbsent, long now) {
+        this.weights = new HashMap<>(weights);
+        this.defaultsIfAbsent = new HashMap<>(defaultsIfAbsent);
+        this.now = now;
+    }
+
+    @Override
+    public RateLimit[] process(Map.Entry<String, RateLimit> entry) {
+        final long[] keyWeights = weights.get(entry.getKey());
+        RateLimit current = entry.getValue();
+        if (current == null || current.getResetTime() < now) {
+            current = new RateLimit(defaultsIfAbsent.get(entry.getKey())); // copy ctor; never mutate the seed
+        }
+
+        final RateLimit[] results = new RateLimit[keyWeights.length];
+        for (int i = 0; i < keyWeights.length; i++) {
+            current.setCounter(current.getCounter() + keyWeights[i]);
+            results[i] = new RateLimit(current);
+        }
+
+        // Same TTL rule as the single increment: floor at 1ms, Hazelcast treats a TTL <= 0 as "never expire".
+        long ttlMs = Math.max(1L, current.getResetTime() - now);
+        ((ExtendedMapEntry<String, RateLimit>) entry).setValue(current, ttlMs, TimeUnit.MILLISECONDS);
+        return results;
+    }
+}
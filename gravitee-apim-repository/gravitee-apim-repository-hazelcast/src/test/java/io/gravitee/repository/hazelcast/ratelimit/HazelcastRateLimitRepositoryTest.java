@@ -17,6 +17,7 @@ package io.gravitee.repository.hazelcast.ratelimit;
 
 import static io.gravitee.repository.hazelcast.ratelimit.RateLimitRepositoryConfiguration.RATE_LIMIT_MAP;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.awaitility.Awaitility.await;
 
 import com.hazelcast.config.Config;
@@ -25,7 +26,9 @@ import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.spi.properties.ClusterProperty;
 import io.gravitee.repository.ratelimit.api.RateLimitRepository;
+import io.gravitee.repository.ratelimit.api.RateLimitRepository.Increment;
 import io.gravitee.repository.ratelimit.model.RateLimit;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -147,6 +150,56 @@ class HazelcastRateLimitRepositoryTest {
         }
     }
 
+    @Test
+    void increments_a_batch_of_counters_in_order() {
+        repository.incrementAndGet("plan", 2, () -> initial("plan", 60_000)).blockingGet();
+
+        List<RateLimit> results = repository
+            .incrementAndGetAll(
+                List.of(
+                    new Increment<>("plan", 1, () -> initial("plan", 60_000)),
+                    new Increment<>("quota", 5, () -> initial("quota", 60_000)),
+                    new Increment<>("spike", 1, () -> initial("spike", 60_000))
+                )
+            )
+            .blockingGet();
+
+        assertThat(results)
+            .extracting(RateLimit::getKey, RateLimit::getCounter)
+            .containsExactly(tuple("plan", 3L), tuple("quota", 5L), tuple("spike", 1L));
+        assertThat(hazelcast.<String, RateLimit>getMap(RATE_LIMIT_MAP).get("quota").getCounter()).isEqualTo(5);
+    }
+
+    @Test
+    void applies_the_increments_of_a_same_key_one_after_the_other_in_a_batch() {
+        List<RateLimit> results = repository
+            .incrementAndGetAll(
+                List.of(
+                    new Increment<>("key", 1, () -> initial("key", 60_000)),
+                    new Increment<>("other", 1, () -> initial("other", 60_000)),
+                    new Increment<>("key", 3, () -> initial("key", 60_000))
+                )
+            )
+            .blockingGet();
+
+        assertThat(results).extracting(RateLimit::getCounter).containsExactly(1L, 1L, 4L);
+        assertThat(hazelcast.<String, RateLimit>getMap(RATE_LIMIT_MAP).get("key").getCounter()).isEqualTo(4);
+    }
+
+    @Test
+    void resets_expired_counters_in_a_batch() {
+        repository.incrementAndGet("key", 1, () -> initial("key", 100)).blockingGet();
+        await()
+            .atMost(2, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(hazelcast.<String, RateLimit>getMap(RATE_LIMIT_MAP).get("key")).isNull());
+
+        List<RateLimit> results = repository
+            .incrementAndGetAll(List.of(new Increment<>("key", 1, () -> initial("key", 60_000))))
+            .blockingGet();
+
+        assertThat(results).extracting(RateLimit::getCounter).containsExactly(1L);
+    }
+
     private static RateLimit initial(String key, long windowMs) {
         RateLimit rl = new RateLimit(key);
         rl.setCounter(0);
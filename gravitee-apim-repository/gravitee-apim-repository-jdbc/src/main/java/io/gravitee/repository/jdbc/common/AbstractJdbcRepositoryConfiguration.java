@@ -93,6 +93,14 @@ public abstract class AbstractJdbcRepositoryConfiguration implements Application
         return SQLSERVER_DRIVER_TYPE.equals(driverType);
     }
 
+    /**
+     * Returns {@code true} when the JDBC driver detected from the configured {@code jdbc.url} is PostgreSQL, the only
+     * database on which {@code LISTEN / NOTIFY} can be used to notify changes.
+     */
+    public static boolean isPostgreSql() {
+        return POSTGRESQL_DRIVER_TYPE.equals(driverType);
+    }
+
     public static String escapeReservedWord(final String word) {
         return escapeReservedWordsPrefixChar + word + escapeReservedWordsSufixChar;
     }
@@ -16,6 +16,7 @@
 package io.gravitee.repository.jdbc.management;
 
 import static io.gravitee.repository.jdbc.common.AbstractJdbcRepositoryConfiguration.createPagingClause;
+import static io.gravitee.repository.jdbc.common.AbstractJdbcRepositoryConfiguration.isPostgreSql;
 import static io.gravitee.repository.jdbc.management.JdbcEventRepository.CHILD_ADDER;
 import static io.gravitee.repository.jdbc.management.JdbcEventRepository.criteriaToString;
 import static io.gravitee.repository.jdbc.management.JdbcHelper.AND_CLAUSE;
@@ -31,6 +32,7 @@ import io.gravitee.repository.management.api.EventLatestRepository;
 import io.gravitee.repository.management.api.search.EventCriteria;
 import io.gravitee.repository.management.model.Event;
 import io.gravitee.repository.management.model.EventType;
+import io.reactivex.rxjava3.core.Flowable;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -78,6 +80,17 @@ public class JdbcEventLatestRepository extends JdbcAbstractRepository<Event> imp
         var pageNumber = page != null ? page : 0;
         var pageSize = size != null ? size : 10;
 
+        return searchPage(criteria, group, pageNumber, pageSize, null);
+    }
+
+    @Override
+    public List<Event> searchAfter(EventCriteria criteria, Event.EventProperties group, Event after, long size) {
+        log.debug("JdbcEventLatestRepository.searchAfter({}, {})", criteriaToString(criteria), after == null ? null : after.getId());
+
+        return searchPage(criteria, group, 0L, size, after);
+    }
+
+    private List<Event> searchPage(EventCriteria criteria, Event.EventProperties group, Long page, Long size, Event after) {
         final List<Object> args = new ArrayList<>();
         var select = """
             WITH PagedEvents AS (%s)
@@ -89,7 +102,7 @@ public class JdbcEventLatestRepository extends JdbcAbstractRepository<Event> imp
                 LEFT JOIN %s evo ON evt.id = evo.event_id
             ORDER BY evt.updated_at ASC, evt.id ASC
             """.formatted(
-                buildSelectIn(criteria, group, pageNumber, pageSize, args),
+                buildSelectIn(criteria, group, page, size, after, args),
                 tableName,
                 EVENT_PROPERTIES,
                 EVENT_ENVIRONMENTS,
@@ -109,12 +122,21 @@ public class JdbcEventLatestRepository extends JdbcAbstractRepository<Event> imp
      * @param group    the specific event property to filter by. If null, no event property filter is applied.
      * @param page     the page number used for pagination. If null, pagination is not applied.
      * @param size     the size of each page used for pagination. If null or less than or equal to zero, pagination is not applied.
+     * @param after    the last event of the previous page when paginating on the update date and id, rather than on the page number.
      * @return a SQL query string selecting event IDs with optional filtering and pagination.
      */
-    private String buildSelectIn(EventCriteria criteria, Event.EventProperties group, Long page, Long size, List<Object> args) {
+    private String buildSelectIn(
+        EventCriteria criteria,
+        Event.EventProperties group,
+        Long page,
+        Long size,
+        Event after,
+        List<Object> args
+    ) {
         if (group != null || !criteria.getProperties().isEmpty()) {
             final StringBuilder where = new StringBuilder();
             appendCriteria(where, criteria, args, "e1", "ee1", "eo1");
+            appendAfter(where, after, args);
 
             if (group != null) {
                 where.append(!where.isEmpty() ? AND_CLAUSE : WHERE_CLAUSE);
@@ -153,6 +175,7 @@ public class JdbcEventLatestRepository extends JdbcAbstractRepository<Event> imp
 
         var where = new StringBuilder();
         appendCriteria(where, criteria, args, "e1", "ee1", "eo1");
+        appendAfter(where, after, args);
 
         var selectIn = """
             select e1.id from %s e1
@@ -168,6 +191,20 @@ public class JdbcEventLatestRepository extends JdbcAbstractRepository<Event> imp
         return selectIn;
     }
 
+    /**
+     * Keyset condition selecting the events sorted after the given one, consistent with the <code>updated_at, id</code> sort.
+     */
+    private static void appendAfter(StringBuilder where, Event after, List<Object> args) {
+        if (after == null) {
+            return;
+        }
+        where.append(!where.isEmpty() ? AND_CLAUSE : WHERE_CLAUSE);
+        where.append("(e1.updated_at > ? or (e1.updated_at = ? and e1.id > ?)) ");
+        args.add(after.getUpdatedAt());
+        args.add(after.getUpdatedAt());
+        args.add(after.getId());
+    }
+
     private StringBuilder createSearchQueryBuilder() {
         return new StringBuilder(
             "select evt.*, evp.*, ev.*, evo.* from " +
@@ -306,6 +343,7 @@ public class JdbcEventLatestRepository extends JdbcAbstractRepository<Event> imp
             jdbcTemplate.update("delete from " + EVENT_ENVIRONMENTS + " where event_id = ?", id);
             jdbcTemplate.update("delete from " + EVENT_ORGANIZATIONS + " where event_id = ?", id);
             jdbcTemplate.update(getOrm().getDeleteSql(), id);
+            notifyChange(id);
         } catch (final Exception ex) {
             log.error("Failed to delete event by id [{}]", id);
             throw new TechnicalException("Failed to delete event", ex);
@@ -348,9 +386,28 @@ public class JdbcEventLatestRepository extends JdbcAbstractRepository<Event> imp
             storeEnvironments(event, true);
             storeOrganizations(event, true);
         }
+        notifyChange(event.getId());
         return event;
     }
 
+    /**
+     * On PostgreSQL, the changes are notified on a channel named after the table. As the notification is part of the
+     * transaction, it is only delivered once the change has been committed.
+     */
+    @Override
+    public Flowable<String> changes() {
+        if (!isPostgreSql()) {
+            return Flowable.empty();
+        }
+        return new PostgresChangeListener(jdbcTemplate.getDataSource(), tableName).changes();
+    }
+
+    private void notifyChange(final String id) {
+        if (isPostgreSql()) {
+            jdbcTemplate.queryForList("select pg_notify(?, ?)", tableName, id);
+        }
+    }
+
     protected static void appendCriteria(
         StringBuilder builder,
         EventCriteria filter,
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.jdbc.management;
+
+import static io.gravitee.repository.jdbc.common.AbstractJdbcRepositoryConfiguration.escapeReservedWord;
+
+import io.gravitee.repository.management.api.EventLatestRepository;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import lombok.CustomLog;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+/**
+ * Listen to the notifications sent on a PostgreSQL channel with <code>pg_notify</code>. Kept apart from the repositories
+ * so that the PostgreSQL driver classes are only loaded when running on PostgreSQL.
+ *
+ * A connection of the pool is dedicated to the listening as long as the flowable is subscribed. As the latest
+ * notification is kept when the subscriber is not able to keep up, some of them may be lost.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+class PostgresChangeListener {
+
+    /**
+     * How long to wait for a notification before checking whether the flowable is still subscribed.
+     */
+    private static final int NOTIFICATION_TIMEOUT_MS = 1000;
+
+    private final DataSource dataSource;
+    private final String channel;
+
+    PostgresChangeListener(final DataSource dataSource, final String channel) {
+        this.dataSource = dataSource;
+        this.channel = channel;
+    }
+
+    /**
+     * @return a flowable emitting {@link EventLatestRepository#CHANGES_LISTENED} once <code>LISTEN</code> has been
+     * executed, then the payload of each notification, failing when the connection is lost. It blocks the subscribing
+     * thread until it is cancelled.
+     */
+    Flowable<String> changes() {
+        return Flowable.create(
+            emitter -> {
+                final Connection connection = listen();
+                try {
+                    final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                    emitter.onNext(EventLatestRepository.CHANGES_LISTENED);
+                    while (!emitter.isCancelled()) {
+                        final PGNotification[] notifications = pgConnection.getNotifications(NOTIFICATION_TIMEOUT_MS);
+                        if (notifications != null) {
+                            for (PGNotification notification : notifications) {
+                                emitter.onNext(notification.getParameter());
+                            }
+                        }
+                    }
+                } finally {
+                    unlisten(connection);
+                }
+            },
+            BackpressureStrategy.LATEST
+        );
+    }
+
+    private Connection listen() throws SQLException {
+        final Connection connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + escapeReservedWord(channel));
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        log.debug("Listening to PostgreSQL notifications on channel [{}]", channel);
+        return connection;
+    }
+
+    /**
+     * The connection goes back to the pool, it must not keep listening.
+     */
+    private void unlisten(final Connection connection) {
+        try (connection; Statement statement = connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            log.debug("Unable to stop listening to PostgreSQL notifications on channel [{}]", channel, e);
+        }
+    }
+}
@@ -15,6 +15,10 @@
  */
 package io.gravitee.repository.mongodb.management;
 
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.EventLatestRepository;
 import io.gravitee.repository.management.api.search.EventCriteria;
@@ -22,10 +26,16 @@ import io.gravitee.repository.management.model.Event;
 import io.gravitee.repository.mongodb.management.internal.eventLatest.event.EventLatestMongoRepository;
 import io.gravitee.repository.mongodb.management.internal.model.EventLatestMongo;
 import io.gravitee.repository.mongodb.management.mapper.GraviteeMapper;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import lombok.CustomLog;
+import org.bson.BsonValue;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Component;
 
 /**
@@ -36,9 +46,17 @@ import org.springframework.stereotype.Component;
 @Component
 public class MongoEventLatestRepository implements EventLatestRepository {
 
+    /**
+     * How long the server waits for a change before answering, which bounds the time needed to stop listening.
+     */
+    private static final long CHANGE_STREAM_MAX_AWAIT_MS = 1000;
+
     @Autowired
     private EventLatestMongoRepository internalEventRepo;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @Autowired
     private GraviteeMapper mapper;
 
@@ -81,4 +99,43 @@ public class MongoEventLatestRepository implements EventLatestRepository {
         List<EventLatestMongo> eventsMongo = internalEventRepo.search(criteria, group, page, size);
         return mapper.mapEventLatests(eventsMongo);
     }
+
+    @Override
+    public List<Event> searchAfter(EventCriteria criteria, Event.EventProperties group, Event after, long size) {
+        List<EventLatestMongo> eventsMongo = internalEventRepo.searchAfter(criteria, group, after, size);
+        return mapper.mapEventLatests(eventsMongo);
+    }
+
+    /**
+     * Relies on a change stream, which is only available on a replica set or a sharded cluster: on a standalone server,
+     * the flowable fails as soon as it is subscribed.
+     */
+    @Override
+    public Flowable<String> changes() {
+        return Flowable.create(
+            emitter -> {
+                try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = openChangeStream()) {
+                    // The change stream is opened by the server when the cursor is created, it fails there on a standalone server.
+                    emitter.onNext(CHANGES_LISTENED);
+                    while (!emitter.isCancelled()) {
+                        final ChangeStreamDocument<Document> change = cursor.tryNext();
+                        if (change != null && change.getDocumentKey() != null) {
+                            final BsonValue id = change.getDocumentKey().get("_id");
+                            emitter.onNext(id.isString() ? id.asString().getValue() : id.toString());
+                        }
+                    }
+                }
+            },
+            BackpressureStrategy.LATEST
+        );
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openChangeStream() {
+        log.debug("Opening a change stream on the latest events");
+        return mongoTemplate
+            .getCollection(mongoTemplate.getCollectionName(EventLatestMongo.class))
+            .watch(List.of(Aggregates.match(Filters.in("operationType", List.of("insert", "update", "replace", "delete")))))
+            .maxAwaitTime(CHANGE_STREAM_MAX_AWAIT_MS, TimeUnit.MILLISECONDS)
+            .cursor();
+    }
 }
@@ -30,4 +30,6 @@ import java.util.List;
  */
 public interface EventLatestMongoRepositoryCustom {
     List<EventLatestMongo> search(EventCriteria criteria, Event.EventProperties group, Long page, Long size);
+
+    List<EventLatestMongo> searchAfter(EventCriteria criteria, Event.EventProperties group, Event after, long size);
 }
@@ -44,6 +44,14 @@ public class EventLatestMongoRepositoryImpl implements EventLatestMongoRepositor
     private MongoTemplate mongoTemplate;
 
     public List<EventLatestMongo> search(EventCriteria criteria, Event.EventProperties group, Long page, Long size) {
+        return search(criteria, group, page, size, null);
+    }
+
+    public List<EventLatestMongo> searchAfter(EventCriteria criteria, Event.EventProperties group, Event after, long size) {
+        return search(criteria, group, null, size, after);
+    }
+
+    private List<EventLatestMongo> search(EventCriteria criteria, Event.EventProperties group, Long page, Long size, Event after) {
         final String collectionName = mongoTemplate.getCollectionName(EventLatestMongo.class);
 
         Aggregation aggregation;
@@ -58,6 +66,18 @@ public class EventLatestMongoRepositoryImpl implements EventLatestMongoRepositor
             }
         }
 
+        // Keyset pagination: resume after the last event of the previous page, consistently with the sort below.
+        if (after != null) {
+            aggregationOperations.add(
+                Aggregation.match(
+                    new Criteria().orOperator(
+                        Criteria.where("updatedAt").gt(after.getUpdatedAt()),
+                        Criteria.where("updatedAt").is(after.getUpdatedAt()).and("_id").gt(after.getId())
+                    )
+                )
+            );
+        }
+
         // Project only useful field to avoid memory consumption during pipeline execution on mongodb side (this excludes the payload from sort and group and avoid 'Command failed with error 292').
         aggregationOperations.add(Aggregation.project(Aggregation.fields("_id", "updatedAt", "type", "properties")));
 
@@ -170,4 +170,9 @@ public class NoOpAnalyticsRepository implements AnalyticsRepository {
     public FilterValuesResult searchFilterValues(QueryContext queryContext, FilterValuesQuery query) {
         return new FilterValuesResult(Collections.emptyList(), null, 0);
     }
+
+    @Override
+    public Optional<RollupAggregate> searchRollups(QueryContext queryContext, RollupQuery query) {
+        return Optional.empty();
+    }
 }
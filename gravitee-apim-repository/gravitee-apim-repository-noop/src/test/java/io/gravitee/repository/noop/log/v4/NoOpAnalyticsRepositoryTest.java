@@ -29,6 +29,7 @@ import io.gravitee.repository.log.v4.model.analytics.RequestsCountQuery;
 import io.gravitee.repository.log.v4.model.analytics.ResponseStatusOverTimeQuery;
 import io.gravitee.repository.log.v4.model.analytics.ResponseStatusQueryCriteria;
 import io.gravitee.repository.log.v4.model.analytics.ResponseTimeRangeQuery;
+import io.gravitee.repository.log.v4.model.analytics.RollupQuery;
 import io.gravitee.repository.log.v4.model.analytics.SearchTermId;
 import io.gravitee.repository.log.v4.model.analytics.TimeRange;
 import io.gravitee.repository.log.v4.model.analytics.TopHitsQueryCriteria;
@@ -159,4 +160,18 @@ public class NoOpAnalyticsRepositoryTest extends AbstractNoOpRepositoryTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    public void testSearchRollups() {
+        var now = Instant.now();
+        var from = now.minus(Duration.ofDays(1)).truncatedTo(ChronoUnit.DAYS);
+        var to = now.plus(Duration.ofDays(1)).truncatedTo(ChronoUnit.DAYS);
+
+        var result = analyticsRepository.searchRollups(
+            queryContext,
+            new RollupQuery(Optional.of(API_ID), new TimeRange(from, to), List.of(50.0, 99.0))
+        );
+        assertNotNull(result);
+        assertTrue(result.isEmpty());
+    }
 }
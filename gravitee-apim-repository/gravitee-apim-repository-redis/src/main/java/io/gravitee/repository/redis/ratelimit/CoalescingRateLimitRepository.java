@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.redis.ratelimit;
+
+import io.gravitee.repository.ratelimit.api.RateLimitRepository;
+import io.gravitee.repository.ratelimit.model.RateLimit;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.core.SingleEmitter;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.CustomLog;
+
+/**
+ * {@link RateLimitRepository} decorator coalescing the concurrent increments of a same key, so that a hot key costs one
+ * delegate call per round-trip instead of one per request.
+ *
+ * <p>At most one call per key is in flight. The increments arriving meanwhile are queued and, once the call completes, sent
+ * together as a single increment of their summed weight. The resulting counter is split back to the waiters in arrival
+ * order, each one getting the value it would have observed with sequential increments. There is no added delay: an
+ * increment on an idle key is sent right away, and the coalescing window automatically widens with the latency of the
+ * delegate.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+public class CoalescingRateLimitRepository implements RateLimitRepository<RateLimit> {
+
+    private final RateLimitRepository<RateLimit> delegate;
+    private final Map<String, List<Waiter>> queues = new ConcurrentHashMap<>();
+
+    public CoalescingRateLimitRepository(final RateLimitRepository<RateLimit> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Single<RateLimit> incrementAndGet(String key, long weight, Supplier<RateLimit> supplier) {
+        return Single.create(emitter -> {
+            final Waiter waiter = new Waiter(weight, supplier, emitter, Vertx.currentContext());
+            final boolean[] idle = new boolean[1];
+
+            // A present queue means a call is in flight for the key: the waiter will be part of the next one.
+            queues.compute(key, (k, queue) -> {
+                if (queue == null) {
+                    idle[0] = true;
+                    return new ArrayList<>();
+                }
+                queue.add(waiter);
+                return queue;
+            });
+
+            if (idle[0]) {
+                send(key, List.of(waiter));
+            }
+        });
+    }
+
+    @Override
+    public Single<List<RateLimit>> incrementAndGetAll(List<Increment<RateLimit>> increments) {
+        // A batch is already a single round-trip, it is not worth queuing it behind the in-flight calls of its keys.
+        return delegate.incrementAndGetAll(increments);
+    }
+
+    private void send(String key, List<Waiter> batch) {
+        long weight = 0;
+        for (Waiter waiter : batch) {
+            weight += waiter.weight();
+        }
+        final long totalWeight = weight;
+
+        try {
+            delegate
+                .incrementAndGet(key, totalWeight, batch.get(0).supplier())
+                .subscribe(
+                    rateLimit -> complete(key, batch, totalWeight, rateLimit, null),
+                    throwable -> complete(key, batch, totalWeight, null, throwable)
+                );
+        } catch (Throwable throwable) {
+            complete(key, batch, totalWeight, null, throwable);
+        }
+    }
+
+    private void complete(String key, List<Waiter> batch, long totalWeight, RateLimit rateLimit, Throwable throwable) {
+        // Take the increments queued meanwhile, the key stays busy while they are sent.
+        final List<Waiter> next = new ArrayList<>();
+        queues.computeIfPresent(key, (k, queue) -> {
+            if (queue.isEmpty()) {
+                return null;
+            }
+            next.addAll(queue);
+            return new ArrayList<>();
+        });
+        if (!next.isEmpty()) {
+            send(key, next);
+        }
+
+        if (throwable != null) {
+            log.debug("Coalesced rate-limit increment failed for key={} ({} waiters)", key, batch.size());
+            batch.forEach(waiter -> waiter.emit(null, throwable));
+            return;
+        }
+
+        // Split the counter as if the increments had been applied one after the other, in arrival order.
+        long counter = rateLimit.getCounter() - totalWeight;
+        for (Waiter waiter : batch) {
+            counter += waiter.weight();
+            final RateLimit split = new RateLimit(key, rateLimit);
+            split.setCounter(counter);
+            waiter.emit(split, null);
+        }
+    }
+
+    private record Waiter(long weight, Supplier<RateLimit> supplier, SingleEmitter<RateLimit> emitter, Context context) {
+        void emit(RateLimit rateLimit, Throwable throwable) {
+            // The delegate completes on the event loop of the first waiter, answer the others on their own.
+            if (context != null && context != Vertx.currentContext()) {
+                context.runOnContext(v -> emitNow(rateLimit, throwable));
+            } else {
+                emitNow(rateLimit, throwable);
+            }
+        }
+
+        private void emitNow(RateLimit rateLimit, Throwable throwable) {
+            if (throwable != null) {
+                emitter.tryOnError(throwable);
+            } else {
+                emitter.onSuccess(rateLimit);
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.redis.ratelimit;
+
+import io.gravitee.repository.ratelimit.api.RateLimitRepository;
+import io.gravitee.repository.ratelimit.model.RateLimit;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.CustomLog;
+
+/**
+ * {@link RateLimitRepository} decorator answering most of the increments from node-local counters, so that the latency of
+ * the delegate is not added to each rate-limited request.
+ *
+ * <p>After each synchronization with the delegate, the node leases a slice of the quota: {@code quotaSlicePercent} percent
+ * of what remains before the limit. Increments fitting in the slice are granted locally and accumulated, the accumulated
+ * deltas being flushed to the delegate every {@code flushIntervalMs}. An increment exceeding the slice is sent synchronously,
+ * along with the accumulated delta, and refreshes the local view of the counter. An increment is never granted locally if,
+ * added to the last known counter and to the increments of the node not acknowledged yet, it would exceed the limit: it is
+ * sent synchronously instead. Across the cluster, a limit can thus only be exceeded by the slices leased by the other nodes
+ * since the last synchronization.
+ *
+ * <p>Once a limit is reached, the following increments are answered locally until the end of the window: a counter never
+ * decreases within a window, so they would be rejected anyway.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+public class LocalFirstRateLimitRepository implements RateLimitRepository<RateLimit>, AutoCloseable {
+
+    // The flushed commands are pipelined on the connections of the delegate.
+    private static final int FLUSH_CONCURRENCY = 256;
+    private static final long CLOSE_FLUSH_TIMEOUT_MS = 1_000L;
+
+    private final RateLimitRepository<RateLimit> delegate;
+    private final int quotaSlicePercent;
+    private final LongSupplier clock;
+    private final Map<String, LocalCounter> counters = new ConcurrentHashMap<>();
+    private final Disposable flushJob;
+
+    public LocalFirstRateLimitRepository(final RateLimitRepository<RateLimit> delegate, long flushIntervalMs, int quotaSlicePercent) {
+        this(delegate, flushIntervalMs, quotaSlicePercent, Schedulers.computation(), System::currentTimeMillis);
+    }
+
+    LocalFirstRateLimitRepository(
+        final RateLimitRepository<RateLimit> delegate,
+        long flushIntervalMs,
+        int quotaSlicePercent,
+        final Scheduler scheduler,
+        final LongSupplier clock
+    ) {
+        if (quotaSlicePercent <= 0 || quotaSlicePercent > 100) {
+            throw new IllegalArgumentException("The quota slice percent must be between 1 and 100, got " + quotaSlicePercent);
+        }
+        this.delegate = delegate;
+        this.quotaSlicePercent = quotaSlicePercent;
+        this.clock = clock;
+        this.flushJob = Flowable.interval(flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS, scheduler)
+            .onBackpressureDrop()
+            .concatMapCompletable(tick -> flush())
+            .subscribe(() -> {}, throwable -> log.error("Rate-limit counters are not flushed anymore", throwable));
+    }
+
+    @Override
+    public Single<RateLimit> incrementAndGet(String key, long weight, Supplier<RateLimit> supplier) {
+        final long now = clock.getAsLong();
+
+        while (true) {
+            final LocalCounter counter = counters.computeIfAbsent(key, LocalCounter::new);
+            final long delta;
+
+            synchronized (counter) {
+                if (counter.evicted) {
+                    // Evicted by a concurrent flush, retry with a fresh counter.
+                    continue;
+                }
+                if (counter.isActive(now)) {
+                    if (counter.isLimitReached() || counter.canGrantLocally(weight)) {
+                        counter.pending += weight;
+                        return Single.just(counter.toRateLimit());
+                    }
+                } else {
+                    // The window is over, the increments not flushed yet are obsolete.
+                    counter.pending = 0;
+                }
+                delta = counter.takePending() + weight;
+                counter.inFlight += weight;
+            }
+
+            return synchronize(counter, delta, delta - weight, supplier);
+        }
+    }
+
+    /**
+     * Send the increments accumulated for each key to the delegate.
+     */
+    Completable flush() {
+        final long now = clock.getAsLong();
+
+        return Flowable.fromIterable(counters.values()).flatMapCompletable(counter -> flush(counter, now), false, FLUSH_CONCURRENCY);
+    }
+
+    private Completable flush(LocalCounter counter, long now) {
+        final long delta;
+        final RateLimit seed;
+
+        synchronized (counter) {
+            if (!counter.isActive(now)) {
+                if (counter.inFlight == 0) {
+                    counter.evicted = true;
+                    counters.remove(counter.key, counter);
+                }
+                return Completable.complete();
+            }
+            if (counter.pending == 0) {
+                return Completable.complete();
+            }
+            delta = counter.takePending();
+            seed = new RateLimit(counter.key, counter.remote);
+        }
+
+        return synchronize(counter, delta, delta, () -> seed).ignoreElement().onErrorComplete();
+    }
+
+    @Override
+    public void close() {
+        flushJob.dispose();
+        try {
+            flush().blockingAwait(CLOSE_FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("Unable to flush the rate-limit counters on close", e);
+        }
+    }
+
+    private Single<RateLimit> synchronize(LocalCounter counter, long delta, long retriedOnFailure, Supplier<RateLimit> supplier) {
+        return delegate
+            .incrementAndGet(counter.key, delta, supplier)
+            .doOnSuccess(rateLimit -> counter.onSynchronized(delta, rateLimit))
+            .doOnError(throwable -> counter.onFailure(delta, retriedOnFailure));
+    }
+
+    private class LocalCounter {
+
+        private final String key;
+        private RateLimit remote;
+        private long pending;
+        private long inFlight;
+        private long slice;
+        private boolean evicted;
+
+        private LocalCounter(String key) {
+            this.key = key;
+        }
+
+        private boolean isActive(long now) {
+            return remote != null && now < remote.getResetTime();
+        }
+
+        private boolean isLimitReached() {
+            return estimate() >= remote.getLimit();
+        }
+
+        /**
+         * The increment fits in the leased slice and, added to the increments of the node not acknowledged yet, does not
+         * exceed the remaining quota.
+         */
+        private boolean canGrantLocally(long weight) {
+            return pending + weight <= slice && estimate() + weight <= remote.getLimit();
+        }
+
+        private long estimate() {
+            return remote.getCounter() + inFlight + pending;
+        }
+
+        private long takePending() {
+            final long taken = pending;
+            pending = 0;
+            inFlight += taken;
+            return taken;
+        }
+
+        private RateLimit toRateLimit() {
+            final RateLimit rateLimit = new RateLimit(key, remote);
+            rateLimit.setCounter(estimate());
+            return rateLimit;
+        }
+
+        private synchronized void onSynchronized(long delta, RateLimit rateLimit) {
+            inFlight -= delta;
+
+            // Responses may come out of order, keep the most recent view of the counter.
+            if (
+                remote == null ||
+                rateLimit.getResetTime() > remote.getResetTime() ||
+                (rateLimit.getResetTime() == remote.getResetTime() && rateLimit.getCounter() > remote.getCounter())
+            ) {
+                remote = new RateLimit(key, rateLimit);
+                slice = Math.max(0, remote.getLimit() - remote.getCounter()) * quotaSlicePercent / 100;
+            }
+        }
+
+        private synchronized void onFailure(long delta, long retried) {
+            inFlight -= delta;
+            // Keep the increments already granted locally, they are sent again on the next flush.
+            pending += retried;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.redis.ratelimit;
+
+import io.gravitee.repository.ratelimit.api.TokenBucketCalculator;
+import io.gravitee.repository.ratelimit.api.TokenBucketConsumeResult;
+import io.gravitee.repository.ratelimit.api.TokenBucketRateLimitRepository;
+import io.gravitee.repository.ratelimit.model.TokenBucket;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * {@link TokenBucketRateLimitRepository} decorator consuming tokens from the delegate by slices, so that most of the requests
+ * are granted without any call to the delegate.
+ *
+ * <p>When its local slice is exhausted, the node atomically consumes a new one from the delegate: {@code quotaSlicePercent}
+ * percent of the tokens remaining at the last call, at least the requested tokens. The tokens of a slice are consumed from
+ * the shared bucket before being granted, so the limit is never exceeded: a node holding tokens it does not use only delays
+ * the requests of the other nodes. When the delegate rejects a request, the following ones are rejected locally until the
+ * next token is due, as the bucket can't be refilled before.
+ *
+ * @author GraviteeSource Team
+ */
+public class LocalFirstTokenBucketRateLimitRepository implements TokenBucketRateLimitRepository<TokenBucket>, AutoCloseable {
+
+    private static final long EVICTION_INTERVAL_MS = 60_000L;
+
+    private final TokenBucketRateLimitRepository<TokenBucket> delegate;
+    private final int quotaSlicePercent;
+    private final LongSupplier clock;
+    private final Map<String, LocalBucket> buckets = new ConcurrentHashMap<>();
+    private final Disposable evictionJob;
+
+    public LocalFirstTokenBucketRateLimitRepository(final TokenBucketRateLimitRepository<TokenBucket> delegate, int quotaSlicePercent) {
+        this(delegate, quotaSlicePercent, Schedulers.computation(), System::currentTimeMillis);
+    }
+
+    LocalFirstTokenBucketRateLimitRepository(
+        final TokenBucketRateLimitRepository<TokenBucket> delegate,
+        int quotaSlicePercent,
+        final Scheduler scheduler,
+        final LongSupplier clock
+    ) {
+        if (quotaSlicePercent <= 0 || quotaSlicePercent > 100) {
+            throw new IllegalArgumentException("The quota slice percent must be between 1 and 100, got " + quotaSlicePercent);
+        }
+        this.delegate = delegate;
+        this.quotaSlicePercent = quotaSlicePercent;
+        this.clock = clock;
+        this.evictionJob = Flowable.interval(EVICTION_INTERVAL_MS, EVICTION_INTERVAL_MS, TimeUnit.MILLISECONDS, scheduler)
+            .subscribe(tick -> evictExpired());
+    }
+
+    @Override
+    public Single<TokenBucketConsumeResult> refillAndTryConsume(
+        String key,
+        long tokensRequested,
+        long refillRate,
+        long refillPeriodMillis,
+        long capacity,
+        long nowMillis,
+        Supplier<TokenBucket> supplier
+    ) {
+        TokenBucketCalculator.requireValidArgs(tokensRequested, refillPeriodMillis, capacity);
+
+        final long ttl = TokenBucketCalculator.ttlMillis(refillRate, refillPeriodMillis, capacity);
+        final LocalBucket bucket = buckets.computeIfAbsent(key, k -> new LocalBucket(capacity));
+        final long slice;
+
+        synchronized (bucket) {
+            bucket.expireAt = clock.getAsLong() + ttl;
+
+            if (tokensRequested > 0 && nowMillis < bucket.emptyUntil) {
+                return Single.just(new TokenBucketConsumeResult(false, 0, bucket.emptyUntil));
+            }
+            if (bucket.leased >= tokensRequested) {
+                bucket.leased -= tokensRequested;
+                return Single.just(new TokenBucketConsumeResult(true, bucket.remaining + bucket.leased, nowMillis));
+            }
+            slice = Math.max(tokensRequested, Math.min(capacity, bucket.remaining * quotaSlicePercent / 100));
+        }
+
+        return lease(bucket, key, slice, tokensRequested, refillRate, refillPeriodMillis, capacity, nowMillis, supplier)
+            .flatMap(result -> {
+                if (result.allowed() || slice == tokensRequested) {
+                    return Single.just(result);
+                }
+                // Not enough tokens for a whole slice, maybe for the request alone.
+                return lease(bucket, key, tokensRequested, tokensRequested, refillRate, refillPeriodMillis, capacity, nowMillis, supplier);
+            });
+    }
+
+    @Override
+    public void close() {
+        evictionJob.dispose();
+    }
+
+    private Single<TokenBucketConsumeResult> lease(
+        LocalBucket bucket,
+        String key,
+        long slice,
+        long tokensRequested,
+        long refillRate,
+        long refillPeriodMillis,
+        long capacity,
+        long nowMillis,
+        Supplier<TokenBucket> supplier
+    ) {
+        return delegate
+            .refillAndTryConsume(key, slice, refillRate, refillPeriodMillis, capacity, nowMillis, supplier)
+            .map(result -> {
+                synchronized (bucket) {
+                    bucket.remaining = result.remainingTokens();
+                    if (result.allowed()) {
+                        bucket.leased += slice - tokensRequested;
+                        bucket.emptyUntil = 0;
+                        return new TokenBucketConsumeResult(true, bucket.remaining + bucket.leased, result.nextAvailableAtMillis());
+                    }
+                    if (slice == tokensRequested) {
+                        bucket.emptyUntil = result.nextAvailableAtMillis();
+                    }
+                    return result;
+                }
+            });
+    }
+
+    private void evictExpired() {
+        final long now = clock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.expireAt < now);
+    }
+
+    private static class LocalBucket {
+
+        private long remaining;
+        private long leased;
+        private long emptyUntil;
+        private long expireAt;
+
+        private LocalBucket(long capacity) {
+            // A new bucket is full.
+            this.remaining = capacity;
+        }
+    }
+}
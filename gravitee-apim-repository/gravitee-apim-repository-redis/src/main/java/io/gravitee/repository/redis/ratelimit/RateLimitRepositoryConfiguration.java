@@ -16,7 +16,9 @@
 package io.gravitee.repository.redis.ratelimit;
 
 import io.gravitee.platform.repository.api.Scope;
+import io.gravitee.repository.ratelimit.api.RateLimitRepository;
 import io.gravitee.repository.ratelimit.api.TokenBucketRateLimitRepository;
+import io.gravitee.repository.ratelimit.model.RateLimit;
 import io.gravitee.repository.ratelimit.model.TokenBucket;
 import io.gravitee.repository.redis.common.RedisConnectionFactory;
 import io.gravitee.repository.redis.vertx.RedisClient;
@@ -37,6 +39,10 @@ public class RateLimitRepositoryConfiguration {
     public static final String SCRIPTS_RATELIMIT_LUA = "scripts/ratelimit/ratelimit.lua";
     public static final String SCRIPT_TOKEN_BUCKET_KEY = "token-bucket";
     public static final String SCRIPTS_TOKEN_BUCKET_LUA = "scripts/token-bucket/token-bucket.lua";
+    public static final String SCRIPT_RATELIMIT_BATCH_KEY = "ratelimit-batch";
+    public static final String SCRIPTS_RATELIMIT_BATCH_LUA = "scripts/ratelimit/ratelimit-batch.lua";
+    public static final String SCRIPT_TOKEN_BUCKET_BATCH_KEY = "token-bucket-batch";
+    public static final String SCRIPTS_TOKEN_BUCKET_BATCH_LUA = "scripts/token-bucket/token-bucket-batch.lua";
 
     @Bean("redisRateLimitClient")
     public RedisClient redisRedisClient(Environment environment, Vertx vertx) {
@@ -44,23 +50,49 @@ public class RateLimitRepositoryConfiguration {
             environment,
             vertx,
             Scope.RATE_LIMIT.getName(),
-            Map.of(SCRIPT_RATELIMIT_KEY, SCRIPTS_RATELIMIT_LUA, SCRIPT_TOKEN_BUCKET_KEY, SCRIPTS_TOKEN_BUCKET_LUA)
+            Map.of(
+                SCRIPT_RATELIMIT_KEY,
+                SCRIPTS_RATELIMIT_LUA,
+                SCRIPT_TOKEN_BUCKET_KEY,
+                SCRIPTS_TOKEN_BUCKET_LUA,
+                SCRIPT_RATELIMIT_BATCH_KEY,
+                SCRIPTS_RATELIMIT_BATCH_LUA,
+                SCRIPT_TOKEN_BUCKET_BATCH_KEY,
+                SCRIPTS_TOKEN_BUCKET_BATCH_LUA
+            )
         ).createRedisClient();
     }
 
     @Bean
-    public RedisRateLimitRepository redisRateLimitRepository(
+    public RateLimitRepository<RateLimit> redisRateLimitRepository(
         @Qualifier("redisRateLimitClient") RedisClient redisClient,
-        @Value("${ratelimit.redis.operation.timeout:10}") int operationTimeout
+        @Value("${ratelimit.redis.operation.timeout:10}") int operationTimeout,
+        @Value("${ratelimit.redis.localFirst.enabled:false}") boolean localFirst,
+        @Value("${ratelimit.redis.localFirst.flushInterval:10}") long flushInterval,
+        @Value("${ratelimit.redis.localFirst.quotaSlicePercent:10}") int quotaSlicePercent,
+        @Value("${ratelimit.redis.coalescing.enabled:false}") boolean coalescing
     ) {
-        return new RedisRateLimitRepository(redisClient, operationTimeout);
+        RateLimitRepository<RateLimit> repository = new RedisRateLimitRepository(redisClient, operationTimeout);
+        if (coalescing) {
+            repository = new CoalescingRateLimitRepository(repository);
+        }
+        if (localFirst) {
+            return new LocalFirstRateLimitRepository(repository, flushInterval, quotaSlicePercent);
+        }
+        return repository;
     }
 
     @Bean
     public TokenBucketRateLimitRepository<TokenBucket> tokenBucketRateLimitRepository(
         @Qualifier("redisRateLimitClient") RedisClient redisClient,
-        @Value("${ratelimit.redis.operation.timeout:10}") int operationTimeout
+        @Value("${ratelimit.redis.operation.timeout:10}") int operationTimeout,
+        @Value("${ratelimit.redis.localFirst.enabled:false}") boolean localFirst,
+        @Value("${ratelimit.redis.localFirst.quotaSlicePercent:10}") int quotaSlicePercent
     ) {
-        return new RedisTokenBucketRateLimitRepository(redisClient, operationTimeout);
+        final RedisTokenBucketRateLimitRepository repository = new RedisTokenBucketRateLimitRepository(redisClient, operationTimeout);
+        if (localFirst) {
+            return new LocalFirstTokenBucketRateLimitRepository(repository, quotaSlicePercent);
+        }
+        return repository;
     }
 }
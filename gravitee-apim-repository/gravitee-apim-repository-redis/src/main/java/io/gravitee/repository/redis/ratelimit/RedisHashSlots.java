@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.redis.ratelimit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Redis Cluster key to hash slot mapping ({@code CRC16(key) mod 16384}, honouring {@code {hash tags}}), used to group the
+ * keys of a batch so that each script call only touches keys of a single slot and can be routed to a single node.
+ *
+ * @author GraviteeSource Team
+ */
+final class RedisHashSlots {
+
+    static final int SLOTS = 16384;
+
+    private RedisHashSlots() {}
+
+    /**
+     * Group the indexes of the given keys by hash slot, keeping the order of the keys inside each group.
+     *
+     * @param keys the Redis keys.
+     * @param cluster <code>false</code> to put all the keys in the same group, keys are not sharded outside of a cluster.
+     *
+     * @return the groups of key indexes.
+     */
+    static List<List<Integer>> group(List<String> keys, boolean cluster) {
+        if (!cluster) {
+            return List.of(IntStream.range(0, keys.size()).boxed().toList());
+        }
+
+        final Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            groups.computeIfAbsent(slot(keys.get(i)), slot -> new ArrayList<>()).add(i);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    static int slot(String key) {
+        final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int start = 0;
+        int end = bytes.length;
+
+        // Only the part between the first '{' and the next '}' is hashed, when not empty.
+        for (int open = 0; open < bytes.length; open++) {
+            if (bytes[open] == '{') {
+                for (int close = open + 1; close < bytes.length; close++) {
+                    if (bytes[close] == '}') {
+                        if (close > open + 1) {
+                            start = open + 1;
+                            end = close;
+                        }
+                        break;
+                    }
+                }
+                break;
+            }
+        }
+
+        return crc16(bytes, start, end) % SLOTS;
+    }
+
+    // CRC16-CCITT (XMODEM): polynomial 0x1021, initial value 0, as specified by the Redis Cluster specification.
+    private static int crc16(byte[] bytes, int start, int end) {
+        int crc = 0;
+        for (int i = start; i < end; i++) {
+            crc ^= (bytes[i] & 0xFF) << 8;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+        }
+        return crc & 0xFFFF;
+    }
+}
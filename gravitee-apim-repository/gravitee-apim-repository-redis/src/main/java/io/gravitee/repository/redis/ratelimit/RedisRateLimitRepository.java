@@ -15,6 +15,7 @@
  */
 package io.gravitee.repository.redis.ratelimit;
 
+import static io.gravitee.repository.redis.ratelimit.RateLimitRepositoryConfiguration.SCRIPT_RATELIMIT_BATCH_KEY;
 import static io.gravitee.repository.redis.ratelimit.RateLimitRepositoryConfiguration.SCRIPT_RATELIMIT_KEY;
 
 import io.gravitee.repository.exception.RedisNotConnectedException;
@@ -26,14 +27,17 @@ import io.reactivex.rxjava3.core.Single;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.redis.client.RedisAPI;
 import io.vertx.redis.client.Response;
 import io.vertx.rxjava3.SingleHelper;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import lombok.CustomLog;
 
@@ -67,74 +71,135 @@ public class RedisRateLimitRepository implements RateLimitRepository<RateLimit>
 
         return SingleHelper.toSingle(
             (Consumer<Handler<AsyncResult<Response>>>) asyncResultHandler ->
+                redisClient
+                    .redisApi()
+                    .flatMap(redisAPI ->
+                        eval(redisAPI, SCRIPT_RATELIMIT_KEY, scriptRef -> convertToList(scriptRef, REDIS_KEY_PREFIX + key, weight, newRate))
+                    )
+                    .onFailure(this::onOperationFailure)
+                    .onComplete(asyncResultHandler)
+        ).map(response -> toRateLimit(key, response, newRate));
+    }
+
+    /**
+     * Increment all the counters with one script call per Redis Cluster hash slot (a single call outside a cluster), all the
+     * calls being sent at once: the whole batch costs a single network round-trip whatever the number of counters.
+     */
+    @Override
+    public Single<List<RateLimit>> incrementAndGetAll(List<Increment<RateLimit>> increments) {
+        if (increments.isEmpty()) {
+            return Single.just(List.of());
+        }
+
+        if (!redisClient.isConnected()) {
+            // Fail fast in case the connection to Redis is not available.
+            return Single.error(new RedisNotConnectedException());
+        }
+
+        final List<String> redisKeys = new ArrayList<>(increments.size());
+        final List<RateLimit> newRates = new ArrayList<>(increments.size());
+        for (Increment<RateLimit> increment : increments) {
+            redisKeys.add(REDIS_KEY_PREFIX + increment.key());
+            newRates.add(increment.supplier().get());
+        }
+        final List<List<Integer>> groups = RedisHashSlots.group(redisKeys, redisClient.isCluster());
+
+        return SingleHelper.toSingle(
+            (Consumer<Handler<AsyncResult<List<RateLimit>>>>) asyncResultHandler ->
                 redisClient
                     .redisApi()
                     .flatMap(redisAPI -> {
-                        // Timeout must start when the Redis command is dispatched, on the Vert.x context.
-                        // An RxJava timeout around the whole Single incorrectly includes event-loop queue
-                        // time and fires RedisOperationTimeoutException while Redis itself answered quickly.
-                        List<String> scriptArgs = convertToList(
-                            this.redisClient.scriptSha1(SCRIPT_RATELIMIT_KEY),
-                            REDIS_KEY_PREFIX + key,
-                            weight,
-                            newRate
-                        );
-                        return redisAPI
-                            .evalsha(scriptArgs)
-                            .recover(t -> {
-                                if (!isNoScript(t)) {
-                                    return Future.failedFuture(t);
-                                }
-                                final String source = this.redisClient.scriptSource(SCRIPT_RATELIMIT_KEY);
-                                if (source == null) {
-                                    return Future.failedFuture(
-                                        new IllegalStateException(
-                                            "Cannot recover from NOSCRIPT: rate-limit script source unavailable (script was never loaded)"
-                                        )
-                                    );
-                                }
-                                // On Redis Cluster, SCRIPT LOAD only reaches the contacted node, so an
-                                // EVALSHA routed by hash slot to another master returns NOSCRIPT. Fall back
-                                // to EVAL with the script source, which caches it on that node for next time.
-                                // NOSCRIPT means the script did not execute, so replaying via EVAL cannot double-count.
-                                log.debug(
-                                    "EVALSHA returned NOSCRIPT; falling back to EVAL to load the rate-limit script on the target node"
-                                );
-                                return redisAPI
-                                    .eval(convertToList(source, REDIS_KEY_PREFIX + key, weight, newRate))
-                                    .recover(evalError -> {
-                                        // Preserve the original NOSCRIPT cause for diagnostics under a fallback storm.
-                                        evalError.addSuppressed(t);
-                                        return Future.failedFuture(evalError);
-                                    });
-                            })
-                            .timeout(operationTimeout, TimeUnit.MILLISECONDS)
-                            .recover(this::mapTimeout);
-                    })
-                    .onFailure(t -> {
-                        logOperationFailure(t);
-                        // Timeouts are not connection failures; notifying would force unnecessary reconnects
-                        // (RxJava timeout previously sat outside this Vert.x chain and never notified).
-                        if (!(t instanceof RedisOperationTimeoutException)) {
-                            redisClient.notifyConnectionFailure(t);
+                        final List<Future<Response>> calls = new ArrayList<>(groups.size());
+                        for (List<Integer> group : groups) {
+                            calls.add(
+                                eval(redisAPI, SCRIPT_RATELIMIT_BATCH_KEY, scriptRef ->
+                                    convertToList(scriptRef, group, redisKeys, increments, newRates)
+                                )
+                            );
                         }
+                        return Future.all(calls).map(v -> {
+                            final RateLimit[] rateLimits = new RateLimit[increments.size()];
+                            for (int i = 0; i < groups.size(); i++) {
+                                final List<Integer> group = groups.get(i);
+                                final Response response = calls.get(i).result();
+                                for (int j = 0; j < group.size(); j++) {
+                                    final int index = group.get(j);
+                                    rateLimits[index] = toRateLimit(increments.get(index).key(), response.get(j), newRates.get(index));
+                                }
+                            }
+                            return Arrays.asList(rateLimits);
+                        });
                     })
+                    .onFailure(this::onOperationFailure)
                     .onComplete(asyncResultHandler)
-        ).map(response -> {
-            // It may happen when the rate has been expired while running the script
-            // expired values return a list of 'null'
-            if (response.size() > 0 && response.get(0) != null) {
-                RateLimit rateLimit = new RateLimit(key);
-                rateLimit.setCounter(response.get(0).toLong());
-                rateLimit.setLimit(response.get(1).toLong());
-                rateLimit.setResetTime(response.get(2).toLong());
-                rateLimit.setSubscription(response.get(3).toString());
-
-                return rateLimit;
-            }
+        );
+    }
 
-            return newRate;
-        });
+    /**
+     * Run the given script with <code>EVALSHA</code>, falling back to <code>EVAL</code> when the script is not known by the
+     * target node.
+     *
+     * @param scriptArgs the arguments of the call, built from the script reference: a SHA on the <code>EVALSHA</code> path and
+     * the script source on the <code>EVAL</code> fallback path.
+     */
+    private Future<Response> eval(RedisAPI redisAPI, String scriptKey, Function<String, List<String>> scriptArgs) {
+        // Timeout must start when the Redis command is dispatched, on the Vert.x context.
+        // An RxJava timeout around the whole Single incorrectly includes event-loop queue
+        // time and fires RedisOperationTimeoutException while Redis itself answered quickly.
+        return redisAPI
+            .evalsha(scriptArgs.apply(this.redisClient.scriptSha1(scriptKey)))
+            .recover(t -> {
+                if (!isNoScript(t)) {
+                    return Future.failedFuture(t);
+                }
+                final String source = this.redisClient.scriptSource(scriptKey);
+                if (source == null) {
+                    return Future.failedFuture(
+                        new IllegalStateException(
+                            "Cannot recover from NOSCRIPT: rate-limit script source unavailable (script was never loaded)"
+                        )
+                    );
+                }
+                // On Redis Cluster, SCRIPT LOAD only reaches the contacted node, so an
+                // EVALSHA routed by hash slot to another master returns NOSCRIPT. Fall back
+                // to EVAL with the script source, which caches it on that node for next time.
+                // NOSCRIPT means the script did not execute, so replaying via EVAL cannot double-count.
+                log.debug("EVALSHA returned NOSCRIPT; falling back to EVAL to load the rate-limit script on the target node");
+                return redisAPI
+                    .eval(scriptArgs.apply(source))
+                    .recover(evalError -> {
+                        // Preserve the original NOSCRIPT cause for diagnostics under a fallback storm.
+                        evalError.addSuppressed(t);
+                        return Future.failedFuture(evalError);
+                    });
+            })
+            .timeout(operationTimeout, TimeUnit.MILLISECONDS)
+            .recover(this::mapTimeout);
+    }
+
+    private void onOperationFailure(Throwable t) {
+        logOperationFailure(t);
+        // Timeouts are not connection failures; notifying would force unnecessary reconnects
+        // (RxJava timeout previously sat outside this Vert.x chain and never notified).
+        if (!(t instanceof RedisOperationTimeoutException)) {
+            redisClient.notifyConnectionFailure(t);
+        }
+    }
+
+    private static RateLimit toRateLimit(String key, Response response, RateLimit newRate) {
+        // It may happen when the rate has been expired while running the script
+        // expired values return a list of 'null'
+        if (response.size() > 0 && response.get(0) != null) {
+            RateLimit rateLimit = new RateLimit(key);
+            rateLimit.setCounter(response.get(0).toLong());
+            rateLimit.setLimit(response.get(1).toLong());
+            rateLimit.setResetTime(response.get(2).toLong());
+            rateLimit.setSubscription(response.get(3).toString());
+
+            return rateLimit;
+        }
+
+        return newRate;
     }
 
     private Future<Response> mapTimeout(Throwable t) {
@@ -187,4 +252,30 @@ public class RedisRateLimitRepository implements RateLimitRepository<RateLimit>
             rate.getSubscription()
         );
     }
+
+    // The batch script receives the keys of one hash slot group as KEYS, followed by the arguments of each key
+    // in the same order as the single-key script (weight, counter, limit, reset, subscription).
+    static List<String> convertToList(
+        String scriptRef,
+        List<Integer> group,
+        List<String> redisKeys,
+        List<Increment<RateLimit>> increments,
+        List<RateLimit> rates
+    ) {
+        final List<String> args = new ArrayList<>(2 + group.size() * 6);
+        args.add(scriptRef);
+        args.add(Integer.toString(group.size())); // numkeys
+        for (int index : group) {
+            args.add(redisKeys.get(index));
+        }
+        for (int index : group) {
+            final RateLimit rate = rates.get(index);
+            args.add(Long.toString(increments.get(index).weight()));
+            args.add(Long.toString(rate.getCounter()));
+            args.add(Long.toString(rate.getLimit()));
+            args.add(Long.toString(rate.getResetTime()));
+            args.add(rate.getSubscription());
+        }
+        return args;
+    }
 }
@@ -15,6 +15,7 @@
  */
 package io.gravitee.repository.redis.ratelimit;
 
+import static io.gravitee.repository.redis.ratelimit.RateLimitRepositoryConfiguration.SCRIPT_TOKEN_BUCKET_BATCH_KEY;
 import static io.gravitee.repository.redis.ratelimit.RateLimitRepositoryConfiguration.SCRIPT_TOKEN_BUCKET_KEY;
 
 import io.gravitee.repository.exception.RedisNotConnectedException;
@@ -28,13 +29,16 @@ import io.reactivex.rxjava3.core.Single;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.redis.client.RedisAPI;
 import io.vertx.redis.client.Response;
 import io.vertx.rxjava3.SingleHelper;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import lombok.CustomLog;
 
@@ -84,73 +88,131 @@ public class RedisTokenBucketRateLimitRepository implements TokenBucketRateLimit
                 redisClient
                     .redisApi()
                     .flatMap(redisAPI ->
-                        redisAPI
-                            .evalsha(
-                                args(
-                                    redisClient.scriptSha1(SCRIPT_TOKEN_BUCKET_KEY),
-                                    redisKey,
-                                    tokensRequested,
-                                    refillRate,
-                                    refillPeriodMillis,
-                                    capacity,
-                                    nowMillis,
-                                    subscription,
-                                    expireAt
-                                )
+                        eval(redisAPI, SCRIPT_TOKEN_BUCKET_KEY, scriptRef ->
+                            args(
+                                scriptRef,
+                                redisKey,
+                                tokensRequested,
+                                refillRate,
+                                refillPeriodMillis,
+                                capacity,
+                                nowMillis,
+                                subscription,
+                                expireAt
                             )
-                            .recover(t -> {
-                                if (!isNoScript(t)) {
-                                    return Future.failedFuture(t);
-                                }
-                                final String source = redisClient.scriptSource(SCRIPT_TOKEN_BUCKET_KEY);
-                                if (source == null) {
-                                    return Future.failedFuture(
-                                        new IllegalStateException(
-                                            "Cannot recover from NOSCRIPT: token-bucket script source unavailable (script was never loaded)"
-                                        )
-                                    );
-                                }
-                                // On Redis Cluster, SCRIPT LOAD only reaches the contacted node; an EVALSHA routed by
-                                // hash slot to another master returns NOSCRIPT. NOSCRIPT means the script did not run,
-                                // so replaying via EVAL (which caches it on that node) cannot double-consume.
-                                log.debug(
-                                    "EVALSHA returned NOSCRIPT; falling back to EVAL to load the token-bucket script on the target node"
-                                );
-                                return redisAPI
-                                    .eval(
-                                        args(
-                                            source,
-                                            redisKey,
-                                            tokensRequested,
-                                            refillRate,
-                                            refillPeriodMillis,
-                                            capacity,
-                                            nowMillis,
-                                            subscription,
-                                            expireAt
-                                        )
-                                    )
-                                    .recover(evalError -> {
-                                        evalError.addSuppressed(t);
-                                        return Future.failedFuture(evalError);
-                                    });
-                            })
+                        )
                     )
                     .onFailure(this::logOperationFailure)
                     .onComplete(asyncResultHandler)
         )
-            .map(response -> {
-                boolean allowed = response.get(0).toLong() == 1L;
-                long newTokens = response.get(1).toLong();
-                return new TokenBucketConsumeResult(
-                    allowed,
-                    newTokens,
-                    TokenBucketCalculator.nextAvailableAtMillis(newTokens, refillRate, refillPeriodMillis, nowMillis)
-                );
-            })
+            .map(response -> toResult(response, refillRate, refillPeriodMillis, nowMillis))
             .timeout(operationTimeout, TimeUnit.MILLISECONDS, Single.error(new RedisOperationTimeoutException(operationTimeout)));
     }
 
+    /**
+     * Consume all the buckets with one script call per Redis Cluster hash slot (a single call outside a cluster), all the
+     * calls being sent at once: the whole batch costs a single network round-trip whatever the number of buckets.
+     */
+    @Override
+    public Single<List<TokenBucketConsumeResult>> refillAndTryConsumeAll(List<Consume<TokenBucket>> consumes, long nowMillis) {
+        if (consumes.isEmpty()) {
+            return Single.just(List.of());
+        }
+        for (Consume<TokenBucket> consume : consumes) {
+            TokenBucketCalculator.requireValidArgs(consume.tokensRequested(), consume.refillPeriodMillis(), consume.capacity());
+        }
+        if (!redisClient.isConnected()) {
+            return Single.error(new RedisNotConnectedException());
+        }
+
+        final long currentTimeMillis = System.currentTimeMillis();
+        final List<String> redisKeys = new ArrayList<>(consumes.size());
+        final List<String> subscriptions = new ArrayList<>(consumes.size());
+        final List<Long> expireAts = new ArrayList<>(consumes.size());
+        for (Consume<TokenBucket> consume : consumes) {
+            redisKeys.add(REDIS_KEY_PREFIX + consume.key());
+            subscriptions.add(consume.supplier().get().getSubscription());
+            expireAts.add(
+                currentTimeMillis + TokenBucketCalculator.ttlMillis(consume.refillRate(), consume.refillPeriodMillis(), consume.capacity())
+            );
+        }
+        final List<List<Integer>> groups = RedisHashSlots.group(redisKeys, redisClient.isCluster());
+
+        return SingleHelper.toSingle(
+            (Consumer<Handler<AsyncResult<List<TokenBucketConsumeResult>>>>) asyncResultHandler ->
+                redisClient
+                    .redisApi()
+                    .flatMap(redisAPI -> {
+                        final List<Future<Response>> calls = new ArrayList<>(groups.size());
+                        for (List<Integer> group : groups) {
+                            calls.add(
+                                eval(redisAPI, SCRIPT_TOKEN_BUCKET_BATCH_KEY, scriptRef ->
+                                    args(scriptRef, group, redisKeys, consumes, subscriptions, expireAts, nowMillis)
+                                )
+                            );
+                        }
+                        return Future.all(calls).map(v -> {
+                            final TokenBucketConsumeResult[] results = new TokenBucketConsumeResult[consumes.size()];
+                            for (int i = 0; i < groups.size(); i++) {
+                                final List<Integer> group = groups.get(i);
+                                final Response response = calls.get(i).result();
+                                for (int j = 0; j < group.size(); j++) {
+                                    final Consume<TokenBucket> consume = consumes.get(group.get(j));
+                                    results[group.get(j)] =
+                                        toResult(response.get(j), consume.refillRate(), consume.refillPeriodMillis(), nowMillis);
+                                }
+                            }
+                            return Arrays.asList(results);
+                        });
+                    })
+                    .onFailure(this::logOperationFailure)
+                    .onComplete(asyncResultHandler)
+        ).timeout(operationTimeout, TimeUnit.MILLISECONDS, Single.error(new RedisOperationTimeoutException(operationTimeout)));
+    }
+
+    /**
+     * Run the given script with <code>EVALSHA</code>, falling back to <code>EVAL</code> when the script is not known by the
+     * target node. The arguments are built from the script reference: a SHA on the <code>EVALSHA</code> path and the script
+     * source on the <code>EVAL</code> fallback path.
+     */
+    private Future<Response> eval(RedisAPI redisAPI, String scriptKey, Function<String, List<String>> scriptArgs) {
+        return redisAPI
+            .evalsha(scriptArgs.apply(redisClient.scriptSha1(scriptKey)))
+            .recover(t -> {
+                if (!isNoScript(t)) {
+                    return Future.failedFuture(t);
+                }
+                final String source = redisClient.scriptSource(scriptKey);
+                if (source == null) {
+                    return Future.failedFuture(
+                        new IllegalStateException(
+                            "Cannot recover from NOSCRIPT: token-bucket script source unavailable (script was never loaded)"
+                        )
+                    );
+                }
+                // On Redis Cluster, SCRIPT LOAD only reaches the contacted node; an EVALSHA routed by
+                // hash slot to another master returns NOSCRIPT. NOSCRIPT means the script did not run,
+                // so replaying via EVAL (which caches it on that node) cannot double-consume.
+                log.debug("EVALSHA returned NOSCRIPT; falling back to EVAL to load the token-bucket script on the target node");
+                return redisAPI
+                    .eval(scriptArgs.apply(source))
+                    .recover(evalError -> {
+                        evalError.addSuppressed(t);
+                        return Future.failedFuture(evalError);
+                    });
+            });
+    }
+
+    private static TokenBucketConsumeResult toResult(Response response, long refillRate, long refillPeriodMillis, long nowMillis) {
+        boolean allowed = response.get(0).toLong() == 1L;
+        long newTokens = response.get(1).toLong();
+        return new TokenBucketConsumeResult(
+            allowed,
+            newTokens,
+            TokenBucketCalculator.nextAvailableAtMillis(newTokens, refillRate, refillPeriodMillis, nowMillis)
+        );
+    }
+
     // numkeys is "1": only the bucket key is a KEY, so all keys touched share one hash slot.
     // scriptRef is a SHA on the EVALSHA path and the script source on the EVAL fallback path.
     static List<String> args(
@@ -178,6 +240,37 @@ public class RedisTokenBucketRateLimitRepository implements TokenBucketRateLimit
         );
     }
 
+    // The batch script receives the keys of one hash slot group as KEYS, followed by the arguments of each key
+    // (tokensRequested, refillRate, refillPeriod, capacity, subscription, expireAt) and, last, the shared caller clock.
+    static List<String> args(
+        String scriptRef,
+        List<Integer> group,
+        List<String> redisKeys,
+        List<Consume<TokenBucket>> consumes,
+        List<String> subscriptions,
+        List<Long> expireAts,
+        long now
+    ) {
+        final List<String> args = new ArrayList<>(3 + group.size() * 7);
+        args.add(scriptRef);
+        args.add(Integer.toString(group.size())); // numkeys
+        for (int index : group) {
+            args.add(redisKeys.get(index));
+        }
+        for (int index : group) {
+            final Consume<TokenBucket> consume = consumes.get(index);
+            final String subscription = subscriptions.get(index);
+            args.add(Long.toString(consume.tokensRequested()));
+            args.add(Long.toString(consume.refillRate()));
+            args.add(Long.toString(consume.refillPeriodMillis()));
+            args.add(Long.toString(consume.capacity()));
+            args.add(subscription == null ? "" : subscription);
+            args.add(Long.toString(expireAts.get(index)));
+        }
+        args.add(Long.toString(now));
+        return args;
+    }
+
     // package-private for direct unit testing of the cause-chain matcher
     static boolean isNoScript(Throwable t) {
         int depth = 0;
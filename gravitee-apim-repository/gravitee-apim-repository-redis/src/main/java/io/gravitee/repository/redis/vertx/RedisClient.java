@@ -84,6 +84,13 @@ public class RedisClient {
             .anyMatch(l -> l.connected.get());
     }
 
+    /**
+     * @return <code>true</code> when connected to a Redis Cluster, where all the keys of a command must belong to the same hash slot.
+     */
+    public boolean isCluster() {
+        return clientOptions != null && clientOptions.getCluster() != null;
+    }
+
     public Future<RedisAPI> redisApi() {
         LoopRedis loop = resolveLoop();
         synchronized (loop.monitor) {
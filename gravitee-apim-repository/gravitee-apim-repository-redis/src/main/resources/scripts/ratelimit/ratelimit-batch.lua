@@ -0,0 +1,28 @@
+-- Batch version of ratelimit.lua: increments all the rate-limit KEYS in a single call.
+-- The arguments of KEYS[i] are ARGV[(i - 1) * 5 + 1 .. (i - 1) * 5 + 5], in the same order as ratelimit.lua
+-- (weight, counter, limit, reset, subscription). On Redis Cluster all KEYS must hash to the same slot, the caller
+-- groups the keys by slot and issues one call per group.
+local ARGS_PER_KEY = 5
+local result = {}
+
+for i, key in ipairs(KEYS) do
+    local offset = (i - 1) * ARGS_PER_KEY
+    local weight = tonumber(ARGV[offset + 1])
+
+    -- Check that the key already exists
+    local exists = redis.call('HEXISTS', key, 'limit')
+
+    -- Increment the counter
+    redis.call('HINCRBY', key, 'counter', weight)
+
+    if exists == 0 then
+        -- Create the rate-limit
+        redis.call('HMSET', key, 'limit', tonumber(ARGV[offset + 3]), 'reset', tonumber(ARGV[offset + 4]), 'subscription', ARGV[offset + 5])
+        redis.call('PEXPIREAT', key, tonumber(ARGV[offset + 4]))
+    end
+
+    result[i] = redis.call('HMGET', key, 'counter', 'limit', 'reset', 'subscription')
+end
+
+-- Finally, returns values from Redis, one entry per key
+return result
@@ -0,0 +1,66 @@
+-- Batch version of token-bucket.lua: refills and consumes all the bucket KEYS in a single call, each bucket being
+-- evaluated independently exactly as token-bucket.lua does.
+-- The arguments of KEYS[i] are ARGV[(i - 1) * 6 + 1 .. (i - 1) * 6 + 6] (requested, refillRate, refillPeriod, capacity,
+-- subscription, expireAt); the caller clock is shared by all the buckets and passed last, as ARGV[#KEYS * 6 + 1].
+-- On Redis Cluster all KEYS must hash to the same slot, the caller groups the keys by slot and issues one call per group.
+local ARGS_PER_KEY = 6
+local now = tonumber(ARGV[#KEYS * ARGS_PER_KEY + 1]) -- caller clock, epoch millis
+local result = {}
+
+for i, key in ipairs(KEYS) do
+    local offset = (i - 1) * ARGS_PER_KEY
+    local requested = tonumber(ARGV[offset + 1]) -- whole tokens to consume
+    local refillRate = tonumber(ARGV[offset + 2]) -- whole tokens added per refill period (0 disables refill)
+    local refillPeriod = tonumber(ARGV[offset + 3]) -- refill period, in milliseconds
+    local capacity = tonumber(ARGV[offset + 4]) -- burst capacity, whole tokens
+    local subscription = ARGV[offset + 5]
+    local expireAt = tonumber(ARGV[offset + 6]) -- PEXPIREAT target, epoch millis (real clock)
+
+    local tokens = tonumber(redis.call('HGET', key, 'tokens'))
+    local lastRefill = tonumber(redis.call('HGET', key, 'last_refill'))
+
+    -- A new bucket is initialised at capacity so a first-time consumer can burst immediately,
+    -- without waiting for tokens to accrue.
+    if tokens == nil then
+        tokens = capacity
+        lastRefill = now
+    end
+
+    -- Whole tokens accrued = floor(elapsed * refillRate / refillPeriod). Elapsed is clamped to 0 (out-of-order
+    -- timestamps never accrue negatively) and capped (a long-idle bucket never accrues past capacity) so the
+    -- multiplication stays exact in Lua's number type.
+    local elapsed = now - lastRefill
+    if elapsed < 0 then
+        elapsed = 0
+    end
+    local newLast = lastRefill
+    if refillRate > 0 and refillPeriod > 0 then
+        local maxUsefulElapsed = math.floor(capacity * refillPeriod / refillRate) + refillPeriod
+        if elapsed > maxUsefulElapsed then
+            elapsed = maxUsefulElapsed
+        end
+        local refill = math.floor(elapsed * refillRate / refillPeriod)
+        if refill > 0 then
+            tokens = tokens + refill
+            if tokens > capacity then
+                tokens = capacity
+            end
+            -- Anchor forward to now only once a whole token is credited; until then the elapsed time keeps
+            -- accumulating against the unchanged anchor (no accrual lost, no re-credit). Mirrors the calculator.
+            newLast = now
+        end
+    end
+
+    local allowed = 0
+    if tokens >= requested then
+        tokens = tokens - requested
+        allowed = 1
+    end
+
+    redis.call('HSET', key, 'tokens', tokens, 'last_refill', newLast, 'subscription', subscription)
+    redis.call('PEXPIREAT', key, expireAt)
+
+    result[i] = { allowed, tokens }
+end
+
+return result
@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.redis.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.gravitee.repository.ratelimit.api.RateLimitRepository;
+import io.gravitee.repository.ratelimit.model.RateLimit;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CoalescingRateLimitRepositoryTest {
+
+    private final ControlledRateLimitRepository redis = new ControlledRateLimitRepository();
+    private final CoalescingRateLimitRepository cut = new CoalescingRateLimitRepository(redis);
+
+    @Test
+    void should_send_the_increment_of_an_idle_key_right_away() {
+        final TestObserver<RateLimit> obs = increment("key", 2);
+
+        assertThat(redis.calls).extracting(Call::key, Call::weight).containsExactly(tuple("key", 2L));
+
+        redis.answer(0, 12);
+        obs.assertValue(rateLimit -> rateLimit.getCounter() == 12);
+    }
+
+    @Test
+    void should_merge_the_increments_received_while_a_call_is_in_flight() {
+        final TestObserver<RateLimit> first = increment("key", 1);
+        final TestObserver<RateLimit> second = increment("key", 1);
+        final TestObserver<RateLimit> third = increment("key", 3);
+        final TestObserver<RateLimit> fourth = increment("key", 1);
+
+        assertThat(redis.calls).hasSize(1);
+        redis.answer(0, 1);
+        first.assertValue(rateLimit -> rateLimit.getCounter() == 1);
+
+        // The three queued increments are sent as one call of their summed weight.
+        assertThat(redis.calls).hasSize(2);
+        assertThat(redis.calls.get(1).weight()).isEqualTo(5);
+
+        redis.answer(1, 6);
+        second.assertValue(rateLimit -> rateLimit.getCounter() == 2);
+        third.assertValue(rateLimit -> rateLimit.getCounter() == 5);
+        fourth.assertValue(rateLimit -> rateLimit.getCounter() == 6);
+        assertThat(redis.calls).hasSize(2);
+    }
+
+    @Test
+    void should_keep_the_limit_and_reset_time_of_the_delegate_counter() {
+        final TestObserver<RateLimit> first = increment("key", 1);
+        final TestObserver<RateLimit> second = increment("key", 1);
+        final TestObserver<RateLimit> third = increment("key", 1);
+        redis.answer(0, 1);
+
+        redis.answer(1, 3);
+
+        for (TestObserver<RateLimit> obs : List.of(first, second, third)) {
+            final RateLimit rateLimit = obs.values().get(0);
+            assertThat(rateLimit.getKey()).isEqualTo("key");
+            assertThat(rateLimit.getLimit()).isEqualTo(100);
+            assertThat(rateLimit.getResetTime()).isEqualTo(60_000L);
+        }
+    }
+
+    @Test
+    void should_not_merge_the_increments_of_different_keys() {
+        increment("key-1", 1);
+        increment("key-2", 1);
+
+        assertThat(redis.calls).extracting(Call::key).containsExactly("key-1", "key-2");
+    }
+
+    @Test
+    void should_fail_all_the_merged_increments_and_go_on_with_the_next_ones() {
+        increment("key", 1);
+        final TestObserver<RateLimit> second = increment("key", 1);
+        final TestObserver<RateLimit> third = increment("key", 1);
+        redis.answer(0, 1);
+        final TestObserver<RateLimit> fourth = increment("key", 1);
+
+        redis.calls.get(1).result().onError(new RuntimeException("Redis is down"));
+
+        second.assertError(RuntimeException.class);
+        third.assertError(RuntimeException.class);
+        // The increment queued during the failed call is sent on its own.
+        assertThat(redis.calls).hasSize(3);
+        assertThat(redis.calls.get(2).weight()).isEqualTo(1);
+        redis.answer(2, 2);
+        fourth.assertValue(rateLimit -> rateLimit.getCounter() == 2);
+    }
+
+    @Test
+    void should_release_the_key_once_idle() {
+        increment("key", 1);
+        redis.answer(0, 1);
+
+        increment("key", 1);
+
+        assertThat(redis.calls).hasSize(2);
+    }
+
+    private TestObserver<RateLimit> increment(String key, long weight) {
+        return cut.incrementAndGet(key, weight, () -> seed(key)).test();
+    }
+
+    private static RateLimit seed(String key) {
+        final RateLimit rateLimit = new RateLimit(key);
+        rateLimit.setLimit(100);
+        rateLimit.setResetTime(60_000L);
+        return rateLimit;
+    }
+
+    private record Call(String key, long weight, Supplier<RateLimit> supplier, SingleSubject<RateLimit> result) {}
+
+    /**
+     * Delegate whose calls stay in flight until the test answers them.
+     */
+    private static class ControlledRateLimitRepository implements RateLimitRepository<RateLimit> {
+
+        private final List<Call> calls = new ArrayList<>();
+
+        @Override
+        public Single<RateLimit> incrementAndGet(String key, long weight, Supplier<RateLimit> supplier) {
+            final SingleSubject<RateLimit> result = SingleSubject.create();
+            calls.add(new Call(key, weight, supplier, result));
+            return result;
+        }
+
+        void answer(int call, long counter) {
+            final RateLimit rateLimit = calls.get(call).supplier().get();
+            rateLimit.setCounter(counter);
+            calls.get(call).result().onSuccess(rateLimit);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.redis.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.gravitee.repository.ratelimit.api.RateLimitRepository;
+import io.gravitee.repository.ratelimit.model.RateLimit;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class LocalFirstRateLimitRepositoryTest {
+
+    private static final String KEY = "api-1";
+    private static final long FLUSH_INTERVAL_MS = 10;
+    private static final long WINDOW_END = 60_000L;
+
+    private final AtomicLong clock = new AtomicLong(1_000L);
+    private final TestScheduler scheduler = new TestScheduler();
+    private final InMemoryRateLimitRepository redis = new InMemoryRateLimitRepository();
+    private LocalFirstRateLimitRepository cut;
+
+    @BeforeEach
+    void setUp() {
+        cut = new LocalFirstRateLimitRepository(redis, FLUSH_INTERVAL_MS, 10, scheduler, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cut.close();
+    }
+
+    @Test
+    void should_synchronize_the_first_increment_of_a_window() {
+        final RateLimit rateLimit = increment(1, 100);
+
+        assertThat(rateLimit.getCounter()).isEqualTo(1);
+        assertThat(redis.weights).containsExactly(1L);
+    }
+
+    @Test
+    void should_grant_increments_from_the_leased_slice_locally() {
+        increment(1, 100);
+
+        // 99 remaining: a slice of 9.
+        for (int i = 2; i <= 10; i++) {
+            assertThat(increment(1, 100).getCounter()).isEqualTo(i);
+        }
+
+        assertThat(redis.weights).containsExactly(1L);
+    }
+
+    @Test
+    void should_synchronize_with_the_accumulated_delta_when_the_slice_is_exhausted() {
+        increment(1, 100);
+        for (int i = 0; i < 9; i++) {
+            increment(1, 100);
+        }
+
+        final RateLimit rateLimit = increment(1, 100);
+
+        assertThat(rateLimit.getCounter()).isEqualTo(11);
+        assertThat(redis.weights).containsExactly(1L, 10L);
+    }
+
+    @Test
+    void should_flush_the_accumulated_delta_periodically() {
+        increment(1, 100);
+        increment(2, 100);
+        increment(3, 100);
+
+        scheduler.advanceTimeBy(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        assertThat(redis.weights).containsExactly(1L, 5L);
+        assertThat(redis.counter(KEY)).isEqualTo(6);
+    }
+
+    @Test
+    void should_see_the_increments_of_the_other_nodes_after_a_flush() {
+        increment(1, 100);
+        redis.incrementAndGet(KEY, 20, () -> rateLimit(100)).blockingGet();
+        increment(1, 100);
+
+        scheduler.advanceTimeBy(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        assertThat(increment(1, 100).getCounter()).isEqualTo(23);
+    }
+
+    @Test
+    void should_answer_locally_once_the_limit_is_reached() {
+        for (int i = 0; i < 5; i++) {
+            increment(1, 5);
+        }
+        final int calls = redis.weights.size();
+
+        final RateLimit rateLimit = increment(1, 5);
+
+        assertThat(rateLimit.getCounter()).isGreaterThan(5);
+        assertThat(redis.weights).hasSize(calls);
+    }
+
+    @Test
+    void should_drop_the_pending_increments_of_an_expired_window() {
+        increment(1, 100);
+        increment(1, 100);
+        redis.clear();
+        clock.set(WINDOW_END);
+
+        final RateLimit rateLimit = increment(1, 100);
+
+        assertThat(rateLimit.getCounter()).isEqualTo(1);
+        assertThat(redis.weights).containsExactly(1L, 1L);
+    }
+
+    @Test
+    void should_retry_the_flush_of_the_increments_on_failure() {
+        increment(1, 100);
+        increment(2, 100);
+        redis.failing = true;
+        scheduler.advanceTimeBy(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        redis.failing = false;
+        scheduler.advanceTimeBy(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        assertThat(redis.counter(KEY)).isEqualTo(3);
+    }
+
+    @Test
+    void should_flush_the_pending_increments_on_close() {
+        increment(1, 100);
+        increment(2, 100);
+
+        cut.close();
+
+        assertThat(redis.counter(KEY)).isEqualTo(3);
+    }
+
+    @Test
+    void should_not_grant_locally_beyond_the_limit_with_increments_not_acknowledged_yet() {
+        cut.close();
+        cut = new LocalFirstRateLimitRepository(redis, FLUSH_INTERVAL_MS, 100, scheduler, clock::get);
+
+        // 9 remaining: a slice of 9.
+        increment(1, 10);
+        increment(3, 10);
+
+        // The flush of the 3 increments is not acknowledged yet.
+        redis.delayedOn = scheduler;
+        scheduler.advanceTimeBy(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        redis.delayedOn = null;
+
+        assertThat(increment(5, 10).getCounter()).isEqualTo(9);
+        assertThat(redis.weights).containsExactly(1L, 3L);
+
+        // Fits in the slice but exceeds the limit once added to the flushed increments.
+        final RateLimit rateLimit = increment(2, 10);
+
+        assertThat(rateLimit.getCounter()).isEqualTo(11);
+        assertThat(redis.weights).containsExactly(1L, 3L, 7L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { -1, 0, 101 })
+    void should_reject_an_invalid_quota_slice_percent(int quotaSlicePercent) {
+        assertThatThrownBy(() -> new LocalFirstRateLimitRepository(redis, FLUSH_INTERVAL_MS, quotaSlicePercent, scheduler, clock::get))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("between 1 and 100");
+    }
+
+    private RateLimit increment(long weight, long limit) {
+        return cut.incrementAndGet(KEY, weight, () -> rateLimit(limit)).blockingGet();
+    }
+
+    private static RateLimit rateLimit(long limit) {
+        final RateLimit rateLimit = new RateLimit(KEY);
+        rateLimit.setLimit(limit);
+        rateLimit.setResetTime(WINDOW_END);
+        rateLimit.setSubscription("sub-1");
+        return rateLimit;
+    }
+
+    /**
+     * Stand-in for Redis, with the semantics of the rate-limit script.
+     */
+    private static class InMemoryRateLimitRepository implements RateLimitRepository<RateLimit> {
+
+        private final Map<String, RateLimit> rateLimits = new ConcurrentHashMap<>();
+        private final List<Long> weights = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+        private volatile Scheduler delayedOn;
+
+        @Override
+        public Single<RateLimit> incrementAndGet(String key, long weight, Supplier<RateLimit> supplier) {
+            if (failing) {
+                return Single.error(new IllegalStateException("Redis is down"));
+            }
+            weights.add(weight);
+            final RateLimit rateLimit = rateLimits.compute(key, (k, existing) -> {
+                final RateLimit current = existing != null ? existing : new RateLimit(key, supplier.get());
+                if (existing == null) {
+                    current.setCounter(0);
+                }
+                current.setCounter(current.getCounter() + weight);
+                return current;
+            });
+            final Single<RateLimit> result = Single.just(new RateLimit(key, rateLimit));
+            return delayedOn != null ? result.delay(1, TimeUnit.HOURS, delayedOn) : result;
+        }
+
+        private long counter(String key) {
+            return rateLimits.get(key).getCounter();
+        }
+
+        private void clear() {
+            rateLimits.clear();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.redis.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.gravitee.repository.ratelimit.InMemoryTokenBucketRateLimitRepository;
+import io.gravitee.repository.ratelimit.api.TokenBucketConsumeResult;
+import io.gravitee.repository.ratelimit.model.TokenBucket;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class LocalFirstTokenBucketRateLimitRepositoryTest {
+
+    private static final String KEY = "api-1";
+
+    private final AtomicLong clock = new AtomicLong(0);
+    private final TestScheduler scheduler = new TestScheduler();
+    private InMemoryTokenBucketRateLimitRepository redis;
+    private LocalFirstTokenBucketRateLimitRepository cut;
+
+    @BeforeEach
+    void setUp() {
+        redis = spy(new InMemoryTokenBucketRateLimitRepository());
+        cut = new LocalFirstTokenBucketRateLimitRepository(redis, 10, scheduler, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cut.close();
+    }
+
+    @Test
+    void should_consume_a_slice_and_grant_its_tokens_locally() {
+        // Capacity 100: a slice of 10 tokens.
+        for (int i = 1; i <= 10; i++) {
+            final TokenBucketConsumeResult result = consume(1, 100, 0);
+
+            assertThat(result.allowed()).isTrue();
+            assertThat(result.remainingTokens()).isEqualTo(100 - i);
+        }
+
+        verify(redis, times(1)).refillAndTryConsume(eq(KEY), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any());
+        verify(redis).refillAndTryConsume(eq(KEY), eq(10L), anyLong(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void should_consume_a_new_slice_once_exhausted() {
+        for (int i = 0; i < 11; i++) {
+            consume(1, 100, 0);
+        }
+
+        // 90 remaining after the first slice: a slice of 9 tokens.
+        verify(redis).refillAndTryConsume(eq(KEY), eq(9L), anyLong(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void should_never_grant_more_than_the_capacity() {
+        int allowed = 0;
+        for (int i = 0; i < 200; i++) {
+            if (consume(1, 100, 0).allowed()) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(100);
+    }
+
+    @Test
+    void should_fall_back_to_the_requested_tokens_when_a_slice_is_not_available() {
+        // Capacity 10: slices of a single token, 1 token remaining after 9 requests.
+        for (int i = 0; i < 9; i++) {
+            consume(1, 10, 0);
+        }
+
+        assertThat(consume(1, 10, 0).allowed()).isTrue();
+        assertThat(consume(1, 10, 0).allowed()).isFalse();
+    }
+
+    @Test
+    void should_reject_locally_until_the_next_token_is_due() {
+        // Capacity 1, 1 token every 1000ms.
+        consume(1, 1, 0);
+        final TokenBucketConsumeResult rejected = consume(1, 1, 0);
+
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.nextAvailableAtMillis()).isEqualTo(1_000L);
+        assertThat(consume(1, 1, 500).allowed()).isFalse();
+        verify(redis, times(2)).refillAndTryConsume(eq(KEY), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any());
+
+        assertThat(consume(1, 1, 1_000).allowed()).isTrue();
+    }
+
+    @Test
+    void should_evict_expired_buckets() {
+        consume(1, 100, 0);
+
+        clock.set(TimeUnit.DAYS.toMillis(1));
+        scheduler.advanceTimeBy(1, TimeUnit.MINUTES);
+        consume(1, 100, 0);
+
+        verify(redis, times(2)).refillAndTryConsume(eq(KEY), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { -1, 0, 101 })
+    void should_reject_an_invalid_quota_slice_percent(int quotaSlicePercent) {
+        assertThatThrownBy(() -> new LocalFirstTokenBucketRateLimitRepository(redis, quotaSlicePercent, scheduler, clock::get))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("between 1 and 100");
+    }
+
+    private TokenBucketConsumeResult consume(long tokens, long capacity, long nowMillis) {
+        return cut
+            .refillAndTryConsume(KEY, tokens, 1, 1_000L, capacity, nowMillis, () -> {
+                final TokenBucket bucket = new TokenBucket(KEY);
+                bucket.setSubscription("sub-1");
+                return bucket;
+            })
+            .blockingGet();
+    }
+}
@@ -15,7 +15,9 @@
  */
 package io.gravitee.repository.redis.ratelimit;
 
+import static io.gravitee.repository.redis.ratelimit.RateLimitRepositoryConfiguration.SCRIPTS_RATELIMIT_BATCH_LUA;
 import static io.gravitee.repository.redis.ratelimit.RateLimitRepositoryConfiguration.SCRIPTS_RATELIMIT_LUA;
+import static io.gravitee.repository.redis.ratelimit.RateLimitRepositoryConfiguration.SCRIPT_RATELIMIT_BATCH_KEY;
 import static io.gravitee.repository.redis.ratelimit.RateLimitRepositoryConfiguration.SCRIPT_RATELIMIT_KEY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
@@ -24,10 +26,13 @@ import com.github.dockerjava.api.model.ExposedPort;
 import com.github.dockerjava.api.model.PortBinding;
 import com.github.dockerjava.api.model.Ports;
 import io.gravitee.platform.repository.api.Scope;
+import io.gravitee.repository.ratelimit.api.RateLimitRepository.Increment;
 import io.gravitee.repository.ratelimit.model.RateLimit;
 import io.gravitee.repository.redis.common.RedisConnectionFactory;
 import io.gravitee.repository.redis.vertx.RedisClient;
 import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterAll;
@@ -103,7 +108,7 @@ class RedisClusterRateLimitRepositoryTest {
             env,
             vertx,
             Scope.RATE_LIMIT.getName(),
-            Map.of(SCRIPT_RATELIMIT_KEY, SCRIPTS_RATELIMIT_LUA)
+            Map.of(SCRIPT_RATELIMIT_KEY, SCRIPTS_RATELIMIT_LUA, SCRIPT_RATELIMIT_BATCH_KEY, SCRIPTS_RATELIMIT_BATCH_LUA)
         ).createRedisClient();
         awaitConnected(redisClient);
 
@@ -151,6 +156,42 @@ class RedisClusterRateLimitRepositoryTest {
         }
     }
 
+    @Test
+    void increments_a_batch_of_counters_spread_over_many_slots_without_crossslot() {
+        // The batch script declares all its keys as KEYS: they are grouped by hash slot, one call per slot.
+        long reset = 1_900_000_000_000L;
+        List<Increment<RateLimit>> increments = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String key = "batch-api-" + i;
+            increments.add(new Increment<>(key, i + 1, () -> seed(key, reset, "sub-" + key)));
+            // Keys sharing a hash tag land in the same slot and are evaluated by the same call.
+            String taggedKey = "{batch-sub}-quota-" + i;
+            increments.add(new Increment<>(taggedKey, 1, () -> seed(taggedKey, reset, "sub-" + taggedKey)));
+        }
+
+        repository.incrementAndGetAll(increments).blockingGet();
+        List<RateLimit> rateLimits = repository.incrementAndGetAll(increments).blockingGet();
+
+        assertThat(rateLimits).hasSameSizeAs(increments);
+        for (int i = 0; i < increments.size(); i++) {
+            Increment<RateLimit> increment = increments.get(i);
+            RateLimit rateLimit = rateLimits.get(i);
+            assertThat(rateLimit.getKey()).isEqualTo(increment.key());
+            assertThat(rateLimit.getCounter()).isEqualTo(2 * increment.weight());
+            assertThat(rateLimit.getLimit()).isEqualTo(1000);
+            assertThat(rateLimit.getResetTime()).isEqualTo(reset);
+            assertThat(rateLimit.getSubscription()).isEqualTo("sub-" + increment.key());
+        }
+    }
+
+    private static RateLimit seed(String key, long reset, String subscription) {
+        RateLimit rate = new RateLimit(key);
+        rate.setLimit(1000);
+        rate.setResetTime(reset);
+        rate.setSubscription(subscription);
+        return rate;
+    }
+
     private static void awaitConnected(RedisClient client) throws InterruptedException {
         long deadline = System.currentTimeMillis() + 30_000;
         while (!client.isConnected() && System.currentTimeMillis() < deadline) {
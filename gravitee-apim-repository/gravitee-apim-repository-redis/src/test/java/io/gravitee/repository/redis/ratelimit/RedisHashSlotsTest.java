@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.redis.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class RedisHashSlotsTest {
+
+    @Test
+    void computes_the_slot_as_specified_by_redis_cluster() {
+        // Reference values of the Redis Cluster specification (CLUSTER KEYSLOT).
+        assertThat(RedisHashSlots.slot("123456789")).isEqualTo(0x31C3);
+        assertThat(RedisHashSlots.slot("foo")).isEqualTo(12182);
+    }
+
+    @Test
+    void hashes_only_the_hash_tag_when_present() {
+        assertThat(RedisHashSlots.slot("{user1000}.following")).isEqualTo(RedisHashSlots.slot("user1000"));
+        assertThat(RedisHashSlots.slot("foo{bar}{zap}")).isEqualTo(RedisHashSlots.slot("bar"));
+        // An empty hash tag is ignored, the whole key is hashed.
+        assertThat(RedisHashSlots.slot("foo{}{bar}")).isNotEqualTo(RedisHashSlots.slot("bar"));
+    }
+
+    @Test
+    void groups_keys_by_slot_keeping_their_order() {
+        List<String> keys = List.of("ratelimit:{sub-1}:plan", "ratelimit:{sub-2}:plan", "ratelimit:{sub-1}:quota");
+
+        assertThat(RedisHashSlots.group(keys, true)).containsExactly(List.of(0, 2), List.of(1));
+    }
+
+    @Test
+    void puts_all_keys_in_a_single_group_outside_a_cluster() {
+        List<String> keys = List.of("ratelimit:{sub-1}:plan", "ratelimit:{sub-2}:plan", "ratelimit:{sub-1}:quota");
+
+        assertThat(RedisHashSlots.group(keys, false)).containsExactly(List.of(0, 1, 2));
+    }
+}
@@ -17,9 +17,11 @@ package io.gravitee.repository.redis.ratelimit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -27,6 +29,7 @@ import io.gravitee.node.vertx.client.redis.VertxRedisClientFactory;
 import io.gravitee.plugin.configurations.redis.RedisClientOptions;
 import io.gravitee.repository.exception.RedisNotConnectedException;
 import io.gravitee.repository.exception.RedisOperationTimeoutException;
+import io.gravitee.repository.ratelimit.api.RateLimitRepository.Increment;
 import io.gravitee.repository.ratelimit.model.RateLimit;
 import io.gravitee.repository.redis.vertx.RedisClient;
 import io.reactivex.rxjava3.core.Single;
@@ -54,6 +57,7 @@ import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.mockito.ArgumentCaptor;
 
 /**
  * Covers APIM-14455: operation.timeout must measure Redis command time on the Vert.x
@@ -379,6 +383,96 @@ class RedisRateLimitRepositoryTest {
         assertThat(errors).isEmpty();
     }
 
+    @Test
+    void batch_increments_all_counters_with_a_single_script_call_outside_a_cluster() {
+        RedisClient redisClient = mockBatchRedisClient(false);
+        RedisAPI redisAPI = redisClient.redisApi().result();
+        when(redisAPI.evalsha(anyList())).thenReturn(
+            Future.succeededFuture(arrayResponse(List.of(rateResponse(1L, 10L, 100L, "sub-1"), rateResponse(2L, 20L, 200L, "sub-2"))))
+        );
+
+        var repository = new RedisRateLimitRepository(redisClient, 2000);
+        List<RateLimit> result = repository
+            .incrementAndGetAll(
+                List.of(
+                    new Increment<>("plan", 1, () -> new RateLimit("plan")),
+                    new Increment<>("quota", 2, () -> new RateLimit("quota"))
+                )
+            )
+            .blockingGet();
+
+        assertThat(result).extracting(RateLimit::getKey, RateLimit::getCounter).containsExactly(tuple("plan", 1L), tuple("quota", 2L));
+        ArgumentCaptor<List<String>> command = ArgumentCaptor.forClass(List.class);
+        verify(redisAPI, times(1)).evalsha(command.capture());
+        // EVALSHA <sha> <numkeys> <key...> <weight, counter, limit, reset, subscription...>
+        assertThat(command.getValue()).startsWith("the-batch-sha", "2", "ratelimit:plan", "ratelimit:quota", "1");
+        assertThat(command.getValue().get(9)).isEqualTo("2");
+    }
+
+    @Test
+    void batch_issues_one_script_call_per_hash_slot_on_a_cluster() {
+        RedisClient redisClient = mockBatchRedisClient(true);
+        RedisAPI redisAPI = redisClient.redisApi().result();
+        // Answer each call with one counter per key, the counter being the position of the key in the call.
+        when(redisAPI.evalsha(anyList())).thenAnswer(invocation -> {
+            List<String> command = invocation.getArgument(0);
+            int keys = Integer.parseInt(command.get(1));
+            List<Response> rates = new ArrayList<>();
+            for (int i = 0; i < keys; i++) {
+                rates.add(rateResponse(i, 10L, 100L, command.get(2 + i)));
+            }
+            return Future.succeededFuture(arrayResponse(rates));
+        });
+
+        var repository = new RedisRateLimitRepository(redisClient, 2000);
+        List<RateLimit> result = repository
+            .incrementAndGetAll(
+                List.of(
+                    new Increment<>("{sub-1}:plan", 1, () -> new RateLimit("{sub-1}:plan")),
+                    new Increment<>("{sub-2}:plan", 1, () -> new RateLimit("{sub-2}:plan")),
+                    new Increment<>("{sub-1}:quota", 1, () -> new RateLimit("{sub-1}:quota"))
+                )
+            )
+            .blockingGet();
+
+        verify(redisAPI, times(2)).evalsha(anyList());
+        // Results are mapped back in the order of the increments, whatever the order of the calls.
+        assertThat(result)
+            .extracting(RateLimit::getCounter, RateLimit::getSubscription)
+            .containsExactly(
+                tuple(0L, "ratelimit:{sub-1}:plan"),
+                tuple(0L, "ratelimit:{sub-2}:plan"),
+                tuple(1L, "ratelimit:{sub-1}:quota")
+            );
+    }
+
+    @Test
+    void batch_falls_back_to_eval_when_cluster_node_returns_noscript() {
+        RedisClient redisClient = mockBatchRedisClient(false);
+        RedisAPI redisAPI = redisClient.redisApi().result();
+        when(redisClient.scriptSource("ratelimit-batch")).thenReturn("the-batch-source");
+        when(redisAPI.evalsha(anyList())).thenReturn(Future.failedFuture(new RuntimeException("NOSCRIPT No matching script")));
+        when(redisAPI.eval(anyList())).thenReturn(Future.succeededFuture(arrayResponse(List.of(rateResponse(7L, 10L, 100L, "sub-1")))));
+
+        var repository = new RedisRateLimitRepository(redisClient, 2000);
+        List<RateLimit> result = repository
+            .incrementAndGetAll(List.of(new Increment<>("plan", 1, () -> new RateLimit("plan"))))
+            .blockingGet();
+
+        assertThat(result).extracting(RateLimit::getCounter).containsExactly(7L);
+        verify(redisAPI).eval(argThatStartsWith("the-batch-source"));
+    }
+
+    @Test
+    void empty_batch_does_not_call_redis() {
+        RedisClient redisClient = mock(RedisClient.class);
+
+        var repository = new RedisRateLimitRepository(redisClient, 2000);
+
+        assertThat(repository.incrementAndGetAll(List.of()).blockingGet()).isEmpty();
+        verify(redisClient, never()).redisApi();
+    }
+
     @Test
     @Timeout(5)
     void propagates_non_timeout_redis_failures() {
@@ -464,6 +558,40 @@ class RedisRateLimitRepositoryTest {
         };
     }
 
+    private static Response arrayResponse(List<Response> items) {
+        return new Response() {
+            @Override
+            public ResponseType type() {
+                return ResponseType.MULTI;
+            }
+
+            @Override
+            public String toString() {
+                return items.toString();
+            }
+
+            @Override
+            public Response get(int index) {
+                return items.get(index);
+            }
+
+            @Override
+            public int size() {
+                return items.size();
+            }
+        };
+    }
+
+    private static RedisClient mockBatchRedisClient(boolean cluster) {
+        RedisClient redisClient = mock(RedisClient.class);
+        RedisAPI redisAPI = mock(RedisAPI.class);
+        when(redisClient.isConnected()).thenReturn(true);
+        when(redisClient.isCluster()).thenReturn(cluster);
+        when(redisClient.scriptSha1("ratelimit-batch")).thenReturn("the-batch-sha");
+        when(redisClient.redisApi()).thenReturn(Future.succeededFuture(redisAPI));
+        return redisClient;
+    }
+
     private static Response longResponse(long value) {
         return new Response() {
             @Override
@@ -15,7 +15,9 @@
  */
 package io.gravitee.repository.redis.ratelimit;
 
+import static io.gravitee.repository.redis.ratelimit.RateLimitRepositoryConfiguration.SCRIPTS_TOKEN_BUCKET_BATCH_LUA;
 import static io.gravitee.repository.redis.ratelimit.RateLimitRepositoryConfiguration.SCRIPTS_TOKEN_BUCKET_LUA;
+import static io.gravitee.repository.redis.ratelimit.RateLimitRepositoryConfiguration.SCRIPT_TOKEN_BUCKET_BATCH_KEY;
 import static io.gravitee.repository.redis.ratelimit.RateLimitRepositoryConfiguration.SCRIPT_TOKEN_BUCKET_KEY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
@@ -67,7 +69,7 @@ class RedisTokenBucketRateLimitRepositoryTest extends AbstractTokenBucketRateLim
             env,
             vertx,
             Scope.RATE_LIMIT.getName(),
-            Map.of(SCRIPT_TOKEN_BUCKET_KEY, SCRIPTS_TOKEN_BUCKET_LUA)
+            Map.of(SCRIPT_TOKEN_BUCKET_KEY, SCRIPTS_TOKEN_BUCKET_LUA, SCRIPT_TOKEN_BUCKET_BATCH_KEY, SCRIPTS_TOKEN_BUCKET_BATCH_LUA)
         ).createRedisClient();
         awaitConnected(redisClient);
 
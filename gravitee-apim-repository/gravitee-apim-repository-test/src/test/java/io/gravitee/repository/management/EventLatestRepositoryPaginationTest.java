@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.repository.management;
+
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.search.EventCriteria;
+import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.CustomLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Page through a large number of latest events, the way the gateway synchronization does, and report the latency of the
+ * first and last pages with the keyset pagination and with the offset pagination.
+ *
+ * Loading the events takes a while, so this scenario only runs when the <code>gravitee.repository.test.large</code>
+ * system property is set to <code>true</code>.
+ *
+ * @author GraviteeSource Team
+ */
+@CustomLog
+@EnabledIfSystemProperty(named = "gravitee.repository.test.large", matches = "true")
+public class EventLatestRepositoryPaginationTest extends AbstractManagementRepositoryTest {
+
+    private static final int EVENTS = 50_000;
+    private static final long PAGE_SIZE = 100;
+    private static final int MEASURED_PAGES = 10;
+    /**
+     * Several events share the same update date, so that the id has to break the tie between them.
+     */
+    private static final int EVENTS_PER_UPDATE_DATE = 10;
+    private static final long FIRST_UPDATE_DATE = 1704067200000L;
+
+    @Override
+    protected String getTestCasesPath() {
+        return null;
+    }
+
+    @Override
+    protected void createModel(Object object) {}
+
+    @Test
+    public void should_page_through_all_events_with_search_after() throws TechnicalException {
+        createEvents();
+        final EventCriteria criteria = EventCriteria.builder().types(singleton(EventType.PUBLISH_API)).build();
+
+        final List<String> ids = new ArrayList<>(EVENTS);
+        final List<Long> pageLatencies = new ArrayList<>();
+        Event last = null;
+        List<Event> events;
+        do {
+            final long start = System.nanoTime();
+            events = eventLatestRepository.searchAfter(criteria, Event.EventProperties.API_ID, last, PAGE_SIZE);
+            pageLatencies.add(System.nanoTime() - start);
+            if (!events.isEmpty()) {
+                events.forEach(event -> ids.add(event.getId()));
+                last = events.get(events.size() - 1);
+            }
+        } while (events.size() == PAGE_SIZE);
+
+        assertThat(ids).hasSize(EVENTS).doesNotHaveDuplicates().isSorted();
+
+        final long[] keyset = pageLatencies.stream().mapToLong(Long::longValue).toArray();
+        final long[] offset = new long[keyset.length];
+        for (int page = 0; page < offset.length; page++) {
+            if (page < MEASURED_PAGES || page >= offset.length - MEASURED_PAGES) {
+                final long start = System.nanoTime();
+                eventLatestRepository.search(criteria, Event.EventProperties.API_ID, (long) page, PAGE_SIZE);
+                offset[page] = System.nanoTime() - start;
+            }
+        }
+
+        log.info(
+            "{} events, pages of {}: keyset first pages {}ms, last pages {}ms / offset first pages {}ms, last pages {}ms",
+            EVENTS,
+            PAGE_SIZE,
+            median(Arrays.copyOfRange(keyset, 0, MEASURED_PAGES)),
+            median(Arrays.copyOfRange(keyset, keyset.length - MEASURED_PAGES, keyset.length)),
+            median(Arrays.copyOfRange(offset, 0, MEASURED_PAGES)),
+            median(Arrays.copyOfRange(offset, offset.length - MEASURED_PAGES, offset.length))
+        );
+    }
+
+    private void createEvents() throws TechnicalException {
+        for (int i = 0; i < EVENTS; i++) {
+            final String id = String.format("event-%05d", i);
+            final Date date = new Date(FIRST_UPDATE_DATE + (i / EVENTS_PER_UPDATE_DATE) * 1000L);
+            eventLatestRepository.createOrUpdate(
+                Event.builder()
+                    .id(id)
+                    .environments(singleton("DEFAULT"))
+                    .organizations(singleton("DEFAULT"))
+                    .type(EventType.PUBLISH_API)
+                    .payload("{}")
+                    .properties(Map.of(Event.EventProperties.API_ID.getValue(), "api-" + id))
+                    .createdAt(date)
+                    .updatedAt(date)
+                    .build()
+            );
+        }
+    }
+
+    private static long median(final long[] latencies) {
+        Arrays.sort(latencies);
+        return TimeUnit.NANOSECONDS.toMillis(latencies[latencies.length / 2]);
+    }
+}
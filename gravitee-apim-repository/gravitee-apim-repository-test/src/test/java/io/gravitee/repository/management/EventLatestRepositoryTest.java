@@ -185,6 +185,46 @@ public class EventLatestRepositoryTest extends AbstractManagementRepositoryTest
         assertThat(events).hasSize(5).extracting(Event::getId).containsExactly("api-1", "api-2", "api-3", "api-4", "api-5");
     }
 
+    @Test
+    public void shouldReturnApiEventsInSameOrderWhenSearchAfter() {
+        final EventCriteria eventCriteria = EventCriteria.builder().build();
+
+        List<Event> events = eventLatestRepository.searchAfter(eventCriteria, Event.EventProperties.API_ID, null, 3L);
+        assertThat(events).hasSize(3).extracting(Event::getId).containsExactly("api-1", "api-2", "api-3");
+
+        events = eventLatestRepository.searchAfter(eventCriteria, Event.EventProperties.API_ID, events.get(2), 3L);
+        assertThat(events).hasSize(3).extracting(Event::getId).containsExactly("api-4", "api-5", "api-6");
+
+        events = eventLatestRepository.searchAfter(eventCriteria, Event.EventProperties.API_ID, events.get(2), 3L);
+        assertThat(events).hasSize(2).extracting(Event::getId).containsExactly("api-7", "api-8");
+
+        events = eventLatestRepository.searchAfter(eventCriteria, Event.EventProperties.API_ID, events.get(1), 3L);
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    public void shouldReturnApiEventsUpdatedAtTheSameTimeWhenSearchAfter() {
+        // api-4 and api-5 have been updated at the same time, the id breaks the tie
+        final EventCriteria eventCriteria = EventCriteria.builder().build();
+
+        List<Event> events = eventLatestRepository.searchAfter(eventCriteria, Event.EventProperties.API_ID, null, 4L);
+        assertThat(events).hasSize(4).extracting(Event::getId).containsExactly("api-1", "api-2", "api-3", "api-4");
+
+        events = eventLatestRepository.searchAfter(eventCriteria, Event.EventProperties.API_ID, events.get(3), 1L);
+        assertThat(events).hasSize(1).extracting(Event::getId).containsExactly("api-5");
+    }
+
+    @Test
+    public void shouldReturnApiEventsWhenSearchAfterWithCriteria() {
+        final EventCriteria eventCriteria = EventCriteria.builder().environments(singleton("DEFAULT")).build();
+
+        List<Event> events = eventLatestRepository.searchAfter(eventCriteria, Event.EventProperties.API_ID, null, 2L);
+        assertThat(events).hasSize(2).extracting(Event::getId).containsExactly("api-1", "api-2");
+
+        events = eventLatestRepository.searchAfter(eventCriteria, Event.EventProperties.API_ID, events.get(1), 10L);
+        assertThat(events).extracting(Event::getId).containsExactly("api-3", "api-4", "api-5", "api-6", "api-8");
+    }
+
     @Test
     public void shouldReturnApiEventsWhenSearchingWithTime() {
         List<Event> events = eventLatestRepository.search(
@@ -18,14 +18,17 @@ package io.gravitee.rest.api.management.v2.rest.mapper;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.gravitee.apim.core.exception.ValidationDomainException;
 import io.gravitee.definition.jackson.datatype.GraviteeMapper;
 import io.gravitee.rest.api.management.v2.rest.model.EndpointGroupV2;
 import io.gravitee.rest.api.management.v2.rest.model.EndpointGroupV4;
 import io.gravitee.rest.api.management.v2.rest.model.EndpointV2;
 import io.gravitee.rest.api.management.v2.rest.model.EndpointV4;
 import io.gravitee.rest.api.management.v2.rest.model.HttpEndpointV2;
+import io.gravitee.rest.api.management.v2.rest.model.LoadBalancer;
 import io.gravitee.rest.api.service.exceptions.TechnicalManagementException;
 import java.util.List;
+import java.util.Map;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
@@ -152,4 +155,21 @@ public interface EndpointMapper {
 
     EndpointGroupV2 mapEndpointGroup(io.gravitee.definition.model.EndpointGroup endpointGroup);
     io.gravitee.definition.model.EndpointGroup mapEndpointGroup(EndpointGroupV2 endpointGroup);
+
+    default io.gravitee.definition.model.LoadBalancerType mapLoadBalancerTypeV2(LoadBalancer.TypeEnum type) {
+        if (type == null) {
+            return null;
+        }
+        return switch (type) {
+            case ROUND_ROBIN -> io.gravitee.definition.model.LoadBalancerType.ROUND_ROBIN;
+            case RANDOM -> io.gravitee.definition.model.LoadBalancerType.RANDOM;
+            case WEIGHTED_ROUND_ROBIN -> io.gravitee.definition.model.LoadBalancerType.WEIGHTED_ROUND_ROBIN;
+            case WEIGHTED_RANDOM -> io.gravitee.definition.model.LoadBalancerType.WEIGHTED_RANDOM;
+            // Load-aware load balancers are only implemented by the V4 gateway
+            case LEAST_REQUESTS, PEAK_EWMA -> throw new ValidationDomainException(
+                "Load balancer type " + type + " is not supported by V2 APIs",
+                Map.of("loadBalancer", type.name())
+            );
+        };
+    }
 }
@@ -16,12 +16,14 @@
 package io.gravitee.rest.api.management.v2.rest.mapper;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import fixtures.EndpointFixtures;
 import fixtures.EndpointModelFixtures;
+import io.gravitee.apim.core.exception.ValidationDomainException;
 import io.gravitee.definition.jackson.datatype.GraviteeMapper;
 import io.gravitee.definition.model.v4.endpointgroup.Endpoint;
 import io.gravitee.definition.model.v4.nativeapi.NativeEndpoint;
@@ -30,6 +32,8 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.mapstruct.factory.Mappers;
 
 public class EndpointMapperTest {
@@ -327,6 +331,17 @@ public class EndpointMapperTest {
         assertThat(endpointGroupEntityV2.getHeaders()).isNotNull().isEmpty();
     }
 
+    @ParameterizedTest
+    @EnumSource(value = LoadBalancer.TypeEnum.class, names = { "LEAST_REQUESTS", "PEAK_EWMA" })
+    void shouldRejectV4OnlyLoadBalancerForEndpointGroupV2(LoadBalancer.TypeEnum type) {
+        var endpointGroupV2 = EndpointFixtures.anEndpointGroupV2();
+        endpointGroupV2.setLoadBalancer(new LoadBalancer().type(type));
+
+        assertThatThrownBy(() -> endpointMapper.mapEndpointGroup(endpointGroupV2))
+            .isInstanceOf(ValidationDomainException.class)
+            .hasMessage("Load balancer type " + type + " is not supported by V2 APIs");
+    }
+
     private static void assertV2EndpointsAreEquals(
         List<io.gravitee.definition.model.Endpoint> endpointEntityV2List,
         List<EndpointV2> endpointV2List
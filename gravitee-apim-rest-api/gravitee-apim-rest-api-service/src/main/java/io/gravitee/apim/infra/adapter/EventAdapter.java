@@ -16,6 +16,7 @@
 package io.gravitee.apim.infra.adapter;
 
 import io.gravitee.apim.core.event.model.Event;
+import io.gravitee.repository.management.model.EventPayloadCodec;
 import io.gravitee.rest.api.model.EventEntity;
 import java.util.EnumMap;
 import java.util.Map;
@@ -25,11 +26,12 @@ import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 import org.mapstruct.factory.Mappers;
 
-@Mapper
+@Mapper(imports = { EventPayloadCodec.class })
 public interface EventAdapter {
     EventAdapter INSTANCE = Mappers.getMapper(EventAdapter.class);
 
     @Mapping(target = "properties", expression = "java(computeEventProperties(source.getProperties()))")
+    @Mapping(target = "payload", expression = "java(EventPayloadCodec.decode(source.getPayload()))")
     Event map(io.gravitee.repository.management.model.Event source);
 
     @Mapping(target = "properties", expression = "java(computeEventProperties(source.getProperties()))")
@@ -23,6 +23,7 @@ import io.gravitee.apim.infra.adapter.GraviteeJacksonMapper;
 import io.gravitee.repository.management.api.EventLatestRepository;
 import io.gravitee.repository.management.api.search.EventCriteria;
 import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventPayloadCodec;
 import java.util.Optional;
 import java.util.Set;
 import lombok.CustomLog;
@@ -58,7 +59,7 @@ public class ApiEventQueryServiceImpl implements ApiEventQueryService {
         return latestEvent.flatMap(event -> {
             try {
                 final io.gravitee.repository.management.model.Api api = GraviteeJacksonMapper.getInstance().readValue(
-                    event.getPayload(),
+                    EventPayloadCodec.decode(event.getPayload()),
                     io.gravitee.repository.management.model.Api.class
                 );
                 return Optional.ofNullable(apiAdapter.toCoreModel(api));
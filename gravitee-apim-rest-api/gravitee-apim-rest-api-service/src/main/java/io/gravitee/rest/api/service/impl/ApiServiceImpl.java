@@ -80,6 +80,7 @@ import io.gravitee.repository.management.model.Api;
 import io.gravitee.repository.management.model.ApiLifecycleState;
 import io.gravitee.repository.management.model.Audit;
 import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventPayloadCodec;
 import io.gravitee.repository.management.model.GroupEvent;
 import io.gravitee.repository.management.model.LifecycleState;
 import io.gravitee.repository.management.model.NotificationReferenceType;
@@ -1783,7 +1784,7 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
                 Event lastEvent = events.getFirst();
                 boolean sync = false;
                 if (EnumSet.of(PUBLISH_API, STOP_API, START_API).contains(lastEvent.getType())) {
-                    Api payloadEntity = objectMapper.readValue(lastEvent.getPayload(), Api.class);
+                    Api payloadEntity = objectMapper.readValue(EventPayloadCodec.decode(lastEvent.getPayload()), Api.class);
                     if (payloadEntity != null && getOrV2(api::getDefinitionVersion) != getOrV2(payloadEntity::getDefinitionVersion)) {
                         return false;
                     }
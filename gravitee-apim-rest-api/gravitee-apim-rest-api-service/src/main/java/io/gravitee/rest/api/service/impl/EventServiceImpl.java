@@ -40,6 +40,7 @@ import io.gravitee.repository.management.api.search.builder.PageableBuilder;
 import io.gravitee.repository.management.model.Api;
 import io.gravitee.repository.management.model.Dictionary;
 import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventPayloadCodec;
 import io.gravitee.repository.management.model.flow.FlowReferenceType;
 import io.gravitee.rest.api.model.EventEntity;
 import io.gravitee.rest.api.model.EventQuery;
@@ -63,6 +64,7 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Collection;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -70,6 +72,7 @@ import java.util.Optional;
 import java.util.Set;
 import lombok.CustomLog;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
@@ -80,6 +83,16 @@ import org.springframework.stereotype.Component;
 @Component
 public class EventServiceImpl extends TransactionalService implements EventService {
 
+    /**
+     * Events whose payload is the API definition read by the gateways, the only ones which may be stored compressed.
+     */
+    private static final Set<io.gravitee.repository.management.model.EventType> COMPRESSIBLE_EVENT_TYPES = EnumSet.of(
+        io.gravitee.repository.management.model.EventType.PUBLISH_API,
+        io.gravitee.repository.management.model.EventType.UNPUBLISH_API,
+        io.gravitee.repository.management.model.EventType.START_API,
+        io.gravitee.repository.management.model.EventType.STOP_API
+    );
+
     @Lazy
     @Autowired
     private EventRepository eventRepository;
@@ -118,6 +131,13 @@ public class EventServiceImpl extends TransactionalService implements EventServi
     @Autowired
     private ObjectMapper objectMapper;
 
+    /**
+     * Gateways not aware of {@link EventPayloadCodec} cannot read compressed payloads, so it must only be enabled once all
+     * of them have been upgraded.
+     */
+    @Value("${gateway.events.compression.enabled:false}")
+    private boolean payloadCompressionEnabled;
+
     @Override
     public EventEntity findById(ExecutionContext executionContext, String id) {
         try {
@@ -393,7 +413,7 @@ public class EventServiceImpl extends TransactionalService implements EventServi
         EventEntity eventEntity = new EventEntity();
         eventEntity.setId(event.getId());
         eventEntity.setType(io.gravitee.rest.api.model.EventType.valueOf(event.getType().toString()));
-        eventEntity.setPayload(event.getPayload());
+        eventEntity.setPayload(EventPayloadCodec.decode(event.getPayload()));
         eventEntity.setParentId(event.getParentId());
         eventEntity.setProperties(event.getProperties());
         eventEntity.setCreatedAt(event.getCreatedAt());
@@ -420,7 +440,7 @@ public class EventServiceImpl extends TransactionalService implements EventServi
     private Event convert(NewEventEntity newEventEntity) {
         Event event = new Event();
         event.setType(io.gravitee.repository.management.model.EventType.valueOf(newEventEntity.getType().toString()));
-        event.setPayload(newEventEntity.getPayload());
+        event.setPayload(encodePayload(event.getType(), newEventEntity.getPayload()));
         event.setParentId(newEventEntity.getParentId());
         event.setProperties(new HashMap<>(newEventEntity.getProperties()));
 
@@ -591,11 +611,18 @@ public class EventServiceImpl extends TransactionalService implements EventServi
         event.setParentId(eventEntity.getParentId());
         event.setEnvironments(eventEntity.getEnvironments());
         event.setType(io.gravitee.repository.management.model.EventType.valueOf(eventEntity.getType().toString()));
-        event.setPayload(eventEntity.getPayload());
+        event.setPayload(encodePayload(event.getType(), eventEntity.getPayload()));
         event.setProperties(new HashMap<>(eventEntity.getProperties()));
         event.setCreatedAt(eventEntity.getCreatedAt());
         event.setUpdatedAt(eventEntity.getUpdatedAt());
 
         return event;
     }
+
+    private String encodePayload(io.gravitee.repository.management.model.EventType type, String payload) {
+        if (payloadCompressionEnabled && COMPRESSIBLE_EVENT_TYPES.contains(type)) {
+            return EventPayloadCodec.encode(payload);
+        }
+        return payload;
+    }
 }
@@ -33,6 +33,7 @@ import io.gravitee.repository.management.api.EventLatestRepository;
 import io.gravitee.repository.management.api.search.EventCriteria;
 import io.gravitee.repository.management.model.Api;
 import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventPayloadCodec;
 import io.gravitee.repository.management.model.LifecycleState;
 import io.gravitee.rest.api.model.EventEntity;
 import io.gravitee.rest.api.model.EventQuery;
@@ -552,7 +553,7 @@ public class ApiStateServiceImpl implements ApiStateService {
                     io.gravitee.repository.management.model.EventType.START_API.equals(lastEvent.getType()) ||
                     io.gravitee.repository.management.model.EventType.STOP_API.equals(lastEvent.getType())
                 ) {
-                    Api payloadEntity = objectMapper.readValue(lastEvent.getPayload(), Api.class);
+                    Api payloadEntity = objectMapper.readValue(EventPayloadCodec.decode(lastEvent.getPayload()), Api.class);
                     if (
                         payloadEntity != null &&
                         getOrV2(genericApiEntity::getDefinitionVersion) != getOrV2(payloadEntity::getDefinitionVersion)
@@ -18,6 +18,7 @@ package io.gravitee.apim.infra.adapter;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.gravitee.apim.core.event.model.Event;
+import io.gravitee.repository.management.model.EventPayloadCodec;
 import io.gravitee.rest.api.model.EventEntity;
 import io.gravitee.rest.api.model.EventType;
 import java.util.EnumMap;
@@ -82,4 +83,17 @@ class EventAdapterTest {
                 Map.of(Event.EventProperties.API_ID.getLabel(), "api-id", Event.EventProperties.GATEWAY_ID.getLabel(), "gateway-id")
             );
     }
+
+    @Test
+    void should_decompress_payload_of_repository_event() {
+        var event = io.gravitee.repository.management.model.Event.builder()
+            .id("id")
+            .type(io.gravitee.repository.management.model.EventType.PUBLISH_API)
+            .payload(EventPayloadCodec.encode("{\"id\":\"api-id\"}"))
+            .properties(Map.of())
+            .build();
+
+        final Event result = cut.map(event);
+        assertThat(result.getPayload()).isEqualTo("{\"id\":\"api-id\"}");
+    }
 }
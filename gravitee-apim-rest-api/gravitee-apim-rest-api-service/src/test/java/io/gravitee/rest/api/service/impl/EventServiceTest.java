@@ -44,6 +44,7 @@ import io.gravitee.repository.management.api.search.EventCriteria;
 import io.gravitee.repository.management.api.search.builder.PageableBuilder;
 import io.gravitee.repository.management.model.Api;
 import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventPayloadCodec;
 import io.gravitee.repository.management.model.EventType;
 import io.gravitee.repository.management.model.flow.FlowReferenceType;
 import io.gravitee.rest.api.model.EventEntity;
@@ -765,6 +766,51 @@ public class EventServiceTest {
         assertEquals(ApiType.EDGE, payloadApiDefinition.getType());
     }
 
+    @Test
+    public void create_api_event_with_compressed_payload_when_compression_is_enabled() throws TechnicalException, JsonProcessingException {
+        ObjectMapper realObjectMapper = new ObjectMapper();
+        ReflectionTestUtils.setField(eventService, "objectMapper", realObjectMapper);
+        ReflectionTestUtils.setField(eventService, "payloadCompressionEnabled", true);
+        when(eventRepository.create(any())).thenAnswer(i -> i.getArguments()[0]);
+
+        Api api = new Api();
+        api.setId(API_ID);
+        api.setDefinitionVersion(DefinitionVersion.V4);
+        api.setType(ApiType.EDGE);
+        api.setDefinition("{ \"type\": \"edge\" }");
+
+        EventEntity eventEntity = eventService.createApiEvent(
+            GraviteeContext.getExecutionContext(),
+            Set.of(ENVIRONMENT_ID),
+            ORGANIZATION_ID,
+            io.gravitee.rest.api.model.EventType.PUBLISH_API,
+            api,
+            Map.of()
+        );
+
+        ArgumentCaptor<Event> createdEvent = ArgumentCaptor.forClass(Event.class);
+        verify(eventRepository).create(createdEvent.capture());
+        ArgumentCaptor<Event> latestEvent = ArgumentCaptor.forClass(Event.class);
+        verify(eventLatestRepository).createOrUpdate(latestEvent.capture());
+
+        assertTrue(EventPayloadCodec.isCompressed(createdEvent.getValue().getPayload()));
+        assertEquals(createdEvent.getValue().getPayload(), latestEvent.getValue().getPayload());
+        assertFalse(EventPayloadCodec.isCompressed(eventEntity.getPayload()));
+        Api payloadApi = realObjectMapper.readValue(eventEntity.getPayload(), Api.class);
+        assertEquals(API_ID, payloadApi.getId());
+    }
+
+    @Test
+    public void find_event_by_id_with_decompressed_payload() throws TechnicalException {
+        when(event.getType()).thenReturn(EventType.PUBLISH_API);
+        when(event.getPayload()).thenReturn(EventPayloadCodec.encode(EVENT_PAYLOAD));
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
+
+        final EventEntity eventEntity = eventService.findById(GraviteeContext.getExecutionContext(), EVENT_ID);
+
+        assertEquals(EVENT_PAYLOAD, eventEntity.getPayload());
+    }
+
     private PlanEntity buildPlanEntity(String id, PlanStatus status) {
         PlanEntity plan = new PlanEntity();
         plan.setId(id);
@@ -31,6 +31,7 @@ import io.gravitee.repository.management.api.search.EventCriteria;
 import io.gravitee.repository.management.api.search.LicenseCriteria;
 import io.gravitee.repository.management.model.Api;
 import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventPayloadCodec;
 import io.gravitee.repository.management.model.EventType;
 import io.gravitee.repository.management.model.License;
 import io.gravitee.rest.api.service.EnvironmentService;
@@ -223,7 +224,7 @@ public class SyncManager {
             case START_API, PUBLISH_API:
                 try {
                     // Read API definition from event
-                    Api apiToDeploy = objectMapper.readValue(apiEvent.getPayload(), Api.class);
+                    Api apiToDeploy = objectMapper.readValue(EventPayloadCodec.decode(apiEvent.getPayload()), Api.class);
 
                     if (apiToDeploy != null) {
                         // Get deployed API